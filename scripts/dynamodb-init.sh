@@ -77,7 +77,10 @@ aws dynamodb create-table \
   --attribute-definitions \
     AttributeName=bookId,AttributeType=S \
     AttributeName=isbn,AttributeType=S \
+    AttributeName=isbnShard,AttributeType=S \
     AttributeName=accountNumber,AttributeType=S \
+    AttributeName=overdueBucket,AttributeType=S \
+    AttributeName=dueDate,AttributeType=S \
   --key-schema \
     AttributeName=bookId,KeyType=HASH \
   --global-secondary-indexes '[
@@ -86,16 +89,50 @@ aws dynamodb create-table \
       "KeySchema": [{"AttributeName":"isbn","KeyType":"HASH"}],
       "Projection": {"ProjectionType":"ALL"}
     },
+    {
+      "IndexName": "isbn-shard-index",
+      "KeySchema": [{"AttributeName":"isbnShard","KeyType":"HASH"}],
+      "Projection": {"ProjectionType":"ALL"}
+    },
     {
       "IndexName": "account-index",
-      "KeySchema": [{"AttributeName":"accountNumber","KeyType":"HASH"}],
+      "KeySchema": [
+        {"AttributeName":"accountNumber","KeyType":"HASH"},
+        {"AttributeName":"dueDate","KeyType":"RANGE"}
+      ],
       "Projection": {"ProjectionType":"ALL"}
+    },
+    {
+      "IndexName": "overdue-index",
+      "KeySchema": [
+        {"AttributeName":"overdueBucket","KeyType":"HASH"},
+        {"AttributeName":"dueDate","KeyType":"RANGE"}
+      ],
+      "Projection": {
+        "ProjectionType":"INCLUDE",
+        "NonKeyAttributes":["isbn","accountNumber","checkOutDate"]
+      }
     }
   ]' \
   --billing-mode PAY_PER_REQUEST \
   --endpoint-url http://dynamodb-local:8000 \
   --region us-west-2
 
+echo "Creating Idempotency table..."
+aws dynamodb create-table \
+  --table-name dev_Idempotency \
+  --attribute-definitions AttributeName=idempotencyKey,AttributeType=S \
+  --key-schema AttributeName=idempotencyKey,KeyType=HASH \
+  --billing-mode PAY_PER_REQUEST \
+  --endpoint-url http://dynamodb-local:8000 \
+  --region us-west-2
+
+aws dynamodb update-time-to-live \
+  --table-name dev_Idempotency \
+  --time-to-live-specification Enabled=true,AttributeName=expiresAt \
+  --endpoint-url http://dynamodb-local:8000 \
+  --region us-west-2
+
 # Optional seed data for Activity table (create /seed/activity-seed.json if needed). maybe laater
 # echo "Populating Activity table..."
 # aws dynamodb batch-write-item \
@@ -0,0 +1,40 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.dao.catalog.CatalogSearchExpressionBuilder;
+import com.loudent.library.oas.codegen.model.CatalogSearchRequest;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+
+/** Building the scan filter for catalog searches with no, one and both author criteria. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CatalogSearchExpressionBuilderBenchmark {
+
+  private final CatalogSearchExpressionBuilder builder = new CatalogSearchExpressionBuilder();
+  private final CatalogSearchRequest empty = new CatalogSearchRequest();
+  private final CatalogSearchRequest lastName = new CatalogSearchRequest().authorLastName("Knuth");
+  private final CatalogSearchRequest fullName =
+      new CatalogSearchRequest().authorFirstName("Donald").authorLastName("Knuth");
+
+  @Benchmark
+  public Expression noCriteria() {
+    return builder.from(empty);
+  }
+
+  @Benchmark
+  public Expression oneCriterion() {
+    return builder.from(lastName);
+  }
+
+  @Benchmark
+  public Expression twoCriteria() {
+    return builder.from(fullName);
+  }
+}
@@ -0,0 +1,55 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.util.ConcurrentUtils;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Fan-out overhead of {@link ConcurrentUtils#parallelMap} for the list sizes a checkout or search
+ * sees, against mapping the same list sequentially. The mapper is trivial, so the difference is
+ * the cost of the futures and the hop onto the pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConcurrentUtilsBenchmark {
+
+  @Param({"1", "5", "50"})
+  public int size;
+
+  private ExecutorService executor;
+  private List<String> input;
+
+  @Setup
+  public void setUp() {
+    executor = Executors.newWorkStealingPool();
+    input = IntStream.range(0, size).mapToObj(i -> "9780131103627." + i).toList();
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public List<Integer> parallelMap() {
+    return ConcurrentUtils.parallelMap(input, String::length, executor);
+  }
+
+  @Benchmark
+  public List<Integer> sequentialMap() {
+    return input.stream().map(String::length).toList();
+  }
+}
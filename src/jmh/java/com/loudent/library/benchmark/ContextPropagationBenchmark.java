@@ -0,0 +1,72 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.context.ContextSnapshot;
+import com.loudent.library.context.RequestContext;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-task cost of carrying request context across an executor hop: the {@link ContextSnapshot}
+ * used by the thread pools, against copying the Log4j {@code ThreadContext} map into the worker,
+ * and against no propagation at all. Tasks run inline so only the wrapping is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContextPropagationBenchmark {
+
+  private RequestContext.Scope scope;
+  private Runnable task;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    scope = RequestContext.attach(new RequestContext("0af7651916cd43dd", "POST", "/checkout"));
+    ThreadContext.put("requestId", "0af7651916cd43dd");
+    ThreadContext.put("method", "POST");
+    ThreadContext.put("path", "/checkout");
+    task = () -> blackhole.consume(RequestContext.current());
+  }
+
+  @TearDown
+  public void tearDown() {
+    scope.close();
+    ThreadContext.clearAll();
+  }
+
+  @Benchmark
+  public void unwrapped() {
+    task.run();
+  }
+
+  @Benchmark
+  public void contextSnapshot() {
+    ContextSnapshot.wrap(task).run();
+  }
+
+  @Benchmark
+  public void threadContextCopy() {
+    Map<String, String> captured = ThreadContext.getImmutableContext();
+    Runnable wrapped =
+        () -> {
+          Map<String, String> previous = ThreadContext.getImmutableContext();
+          ThreadContext.putAll(captured);
+          try {
+            task.run();
+          } finally {
+            ThreadContext.clearMap();
+            ThreadContext.putAll(previous);
+          }
+        };
+    wrapped.run();
+  }
+}
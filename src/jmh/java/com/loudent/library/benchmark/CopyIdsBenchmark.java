@@ -0,0 +1,65 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.dao.catalog.Catalog;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Mapping a catalog item whose copy ids are stored as a list of strings against one stored in the
+ * compact encoding, for a typical title and a popular one. Run with {@code -prof gc} to compare
+ * the bytes each read allocates as well as the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CopyIdsBenchmark {
+
+  private static final String ISBN = "9780201896831";
+
+  @Param({"4", "300"})
+  public int copies;
+
+  private Map<String, AttributeValue> listItem;
+  private Map<String, AttributeValue> compactItem;
+
+  @Setup
+  public void setUp() {
+    List<String> bookIds = new ArrayList<>(copies);
+    for (int copy = 0; copy < copies; copy++) {
+      bookIds.add(ISBN + "." + copy);
+    }
+    Catalog catalog = new Catalog();
+    catalog.setIsbn(ISBN);
+    catalog.setTitle("The Art of Computer Programming");
+    catalog.setAuthorFirstName("Donald");
+    catalog.setAuthorLastName("Knuth");
+    catalog.setBookIds(bookIds);
+
+    compactItem = Catalog.TABLE_SCHEMA.itemToMap(catalog, true);
+    listItem = new HashMap<>(compactItem);
+    listItem.put(
+        "bookIds", AttributeValue.fromL(bookIds.stream().map(AttributeValue::fromS).toList()));
+  }
+
+  @Benchmark
+  public int listMapToItem() {
+    return Catalog.TABLE_SCHEMA.mapToItem(listItem).totalCopies();
+  }
+
+  @Benchmark
+  public int compactMapToItem() {
+    return Catalog.TABLE_SCHEMA.mapToItem(compactItem).totalCopies();
+  }
+}
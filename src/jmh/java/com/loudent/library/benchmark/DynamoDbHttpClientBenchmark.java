@@ -0,0 +1,92 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.config.DynamoDbHttpClients;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+/**
+ * Compares the selectable SDK HTTP clients on a catalog GetItem against DynamoDB Local. Start it
+ * with {@code make compose-up} (or point {@code -Ddynamodb.endpoint} elsewhere) and run {@code
+ * ./gradlew jmh -PjmhIncludes=DynamoDbHttpClientBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class DynamoDbHttpClientBenchmark {
+
+  private static final GetItemRequest REQUEST =
+      GetItemRequest.builder()
+          .tableName(System.getProperty("dynamodb.table", "dev_Catalog"))
+          .key(Map.of("isbn", AttributeValue.fromS("9781234567890")))
+          .build();
+
+  @Param({DynamoDbHttpClients.NETTY, DynamoDbHttpClients.CRT})
+  public String asyncClient;
+
+  @Param({DynamoDbHttpClients.APACHE, DynamoDbHttpClients.URL_CONNECTION})
+  public String syncClient;
+
+  private DynamoDbAsyncClient async;
+  private DynamoDbClient sync;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    DynamoDbHttpClients.Settings settings =
+        DynamoDbHttpClients.Settings.defaults().withClients(asyncClient, syncClient);
+    URI endpoint = URI.create(System.getProperty("dynamodb.endpoint", "http://localhost:8000"));
+    StaticCredentialsProvider credentials =
+        StaticCredentialsProvider.create(AwsBasicCredentials.create("dummy", "dummy"));
+
+    async =
+        DynamoDbAsyncClient.builder()
+            .endpointOverride(endpoint)
+            .region(Region.US_WEST_2)
+            .credentialsProvider(credentials)
+            .httpClient(DynamoDbHttpClients.asyncClient(settings))
+            .build();
+    sync =
+        DynamoDbClient.builder()
+            .endpointOverride(endpoint)
+            .region(Region.US_WEST_2)
+            .credentialsProvider(credentials)
+            .httpClient(DynamoDbHttpClients.syncClient(settings))
+            .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    async.close();
+    sync.close();
+  }
+
+  @Benchmark
+  public GetItemResponse asyncGetItem() {
+    return async.getItem(REQUEST).join();
+  }
+
+  @Benchmark
+  public GetItemResponse syncGetItem() {
+    return sync.getItem(REQUEST);
+  }
+}
@@ -0,0 +1,103 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.model.Isbn;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Heap per million ISBN-keyed entries: a {@code HashMap} keyed by ISBN strings, the same map keyed
+ * by boxed {@link Isbn#value()}s and an open-addressing table of primitive {@code long} keys. Each
+ * invocation builds a pre-sized table of one million entries, so with {@code -prof gc} the {@code
+ * gc.alloc.rate.norm} of each benchmark is the heap its table retains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IsbnKeyBenchmark {
+
+  private static final int ENTRIES = 1_000_000;
+
+  private long[] isbns;
+
+  @Setup
+  public void setUp() {
+    isbns = new long[ENTRIES];
+    for (int i = 0; i < ENTRIES; i++) {
+      isbns[i] = isbn(i);
+    }
+  }
+
+  @Benchmark
+  public Map<String, Integer> stringKeys() {
+    Map<String, Integer> table = new HashMap<>(capacity(ENTRIES));
+    for (long isbn : isbns) {
+      table.put(Long.toString(isbn), 1);
+    }
+    return table;
+  }
+
+  @Benchmark
+  public Map<Long, Integer> boxedLongKeys() {
+    Map<Long, Integer> table = new HashMap<>(capacity(ENTRIES));
+    for (long isbn : isbns) {
+      table.put(isbn, 1);
+    }
+    return table;
+  }
+
+  @Benchmark
+  public LongIntTable primitiveLongKeys() {
+    LongIntTable table = new LongIntTable(ENTRIES);
+    for (long isbn : isbns) {
+      table.put(isbn, 1);
+    }
+    return table;
+  }
+
+  private static int capacity(int entries) {
+    return (int) (entries / 0.75f) + 1;
+  }
+
+  /** A valid 979-prefixed ISBN-13 for {@code index}, as the data generator produces them. */
+  private static long isbn(int index) {
+    long twelveDigits = 979_000_000_000L + index;
+    long sum = 0;
+    long rest = twelveDigits;
+    for (int i = 0; i < 12; i++) {
+      sum += (rest % 10) * (i % 2 == 0 ? 3 : 1);
+      rest /= 10;
+    }
+    return new Isbn(twelveDigits * 10 + (10 - sum % 10) % 10).value();
+  }
+
+  /** Linear-probing map from non-zero {@code long} keys to {@code int} values, at most half full. */
+  public static final class LongIntTable {
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    LongIntTable(int entries) {
+      int capacity = Integer.highestOneBit(Math.max(2, entries) * 2 - 1) << 1;
+      keys = new long[capacity];
+      values = new int[capacity];
+      mask = capacity - 1;
+    }
+
+    void put(long key, int value) {
+      int slot = (int) (key ^ (key >>> 32)) * 0x9E3779B9 & mask;
+      while (keys[slot] != 0 && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = key;
+      values[slot] = value;
+    }
+  }
+}
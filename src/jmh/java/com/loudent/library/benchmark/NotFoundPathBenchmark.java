@@ -0,0 +1,77 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.api.error.ErrorStatus;
+import com.loudent.library.api.error.ExceptionUtils;
+import com.loudent.library.api.error.NotFoundException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of a catalog miss on the way to a 404: building the exception chain the service and the
+ * future produce, unwrapping it and classifying the status. {@code legacy*} reproduces the old
+ * path (a stack-filled exception wrapped in {@code RuntimeException}, unwrapped through a {@code
+ * HashSet}); run with {@code -prof gc} to see the allocation difference as well as the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotFoundPathBenchmark {
+
+  private static final String MESSAGE = "Book not found for ISBN: 9780000000000";
+
+  private Throwable legacyChain;
+  private Throwable chain;
+
+  @Setup
+  public void setUp() {
+    legacyChain = legacyMiss();
+    chain = miss();
+  }
+
+  @Benchmark
+  public Object legacyNotFoundPath() {
+    return ErrorStatus.of(legacyUnwrap(legacyMiss()));
+  }
+
+  @Benchmark
+  public Object notFoundPath() {
+    return ErrorStatus.of(ExceptionUtils.unwrap(miss()));
+  }
+
+  @Benchmark
+  public Throwable legacyUnwrapOnly() {
+    return legacyUnwrap(legacyChain);
+  }
+
+  @Benchmark
+  public Throwable unwrapOnly() {
+    return ExceptionUtils.unwrap(chain);
+  }
+
+  private static Throwable legacyMiss() {
+    Throwable miss = new RuntimeException(MESSAGE); // fills its stack trace like the old type did
+    return new CompletionException(new RuntimeException("Failed to retrieve book", miss));
+  }
+
+  private static Throwable miss() {
+    return new CompletionException(new NotFoundException(MESSAGE));
+  }
+
+  private static Throwable legacyUnwrap(Throwable t) {
+    Set<Throwable> visited = new HashSet<>();
+    while (t.getCause() != null && !visited.contains(t.getCause())) {
+      visited.add(t);
+      t = t.getCause();
+    }
+    return t;
+  }
+}
@@ -0,0 +1,73 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.dao.catalog.Catalog;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Reflective {@code TableSchema.fromBean} against the hand-built {@link Catalog#TABLE_SCHEMA}:
+ * building the schema, which each service does once at startup, and mapping one item each way,
+ * which a catalog search scan does for every item it returns. {@code bean*} is the old path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TableSchemaBenchmark {
+
+  private TableSchema<Catalog> beanSchema;
+  private Catalog item;
+  private Map<String, AttributeValue> attributes;
+
+  @Setup
+  public void setUp() {
+    beanSchema = TableSchema.fromBean(Catalog.class);
+    item = new Catalog();
+    item.setIsbn("9780201896831");
+    item.setTitle("The Art of Computer Programming");
+    item.setAuthorFirstName("Donald");
+    item.setAuthorLastName("Knuth");
+    item.setBookIds(
+        List.of("9780201896831.0", "9780201896831.1", "9780201896831.2", "9780201896831.3"));
+    attributes = Catalog.TABLE_SCHEMA.itemToMap(item, true);
+  }
+
+  @Benchmark
+  public TableSchema<Catalog> beanSchemaCreation() {
+    return TableSchema.fromBean(Catalog.class);
+  }
+
+  @Benchmark
+  public TableSchema<Catalog> staticSchemaCreation() {
+    return Catalog.buildTableSchema();
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> beanItemToMap() {
+    return beanSchema.itemToMap(item, true);
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> staticItemToMap() {
+    return Catalog.TABLE_SCHEMA.itemToMap(item, true);
+  }
+
+  @Benchmark
+  public Catalog beanMapToItem() {
+    return beanSchema.mapToItem(attributes);
+  }
+
+  @Benchmark
+  public Catalog staticMapToItem() {
+    return Catalog.TABLE_SCHEMA.mapToItem(attributes);
+  }
+}
@@ -0,0 +1,82 @@
+package com.loudent.library.benchmark;
+
+import com.loudent.library.aspect.AsyncMethodTimer;
+import com.loudent.library.aspect.SyncMethodTimer;
+import com.loudent.library.aspect.TimedAsync;
+import com.loudent.library.aspect.TimedSync;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Per-call overhead of {@code @TimedSync} and {@code @TimedAsync}: the same target invoked directly
+ * and through a Spring AOP proxy carrying the timing aspects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimingAspectBenchmark {
+
+  public static class Target {
+    private static final CompletableFuture<ResponseEntity<String>> DONE =
+        CompletableFuture.completedFuture(ResponseEntity.ok("ok"));
+
+    @TimedSync(
+        metric = "bench.sync",
+        tags = {"component:benchmark"})
+    public String sync() {
+      return "ok";
+    }
+
+    @TimedAsync(
+        metric = "bench.async",
+        tags = {"component:benchmark"})
+    public CompletableFuture<ResponseEntity<String>> async() {
+      return DONE;
+    }
+  }
+
+  private Target direct;
+  private Target timed;
+
+  @Setup
+  public void setUp() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    direct = new Target();
+
+    AspectJProxyFactory factory = new AspectJProxyFactory(new Target());
+    factory.setProxyTargetClass(true);
+    factory.addAspect(new SyncMethodTimer(registry));
+    factory.addAspect(new AsyncMethodTimer(registry));
+    timed = factory.getProxy();
+  }
+
+  @Benchmark
+  public String directSync() {
+    return direct.sync();
+  }
+
+  @Benchmark
+  public String timedSync() {
+    return timed.sync();
+  }
+
+  @Benchmark
+  public CompletableFuture<ResponseEntity<String>> directAsync() {
+    return direct.async();
+  }
+
+  @Benchmark
+  public CompletableFuture<ResponseEntity<String>> timedAsync() {
+    return timed.async();
+  }
+}
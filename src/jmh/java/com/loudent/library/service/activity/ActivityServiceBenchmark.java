@@ -0,0 +1,95 @@
+package com.loudent.library.service.activity;
+
+import static org.mockito.Mockito.mock;
+
+import com.loudent.library.config.DynamoDbConfig;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.HedgedReads;
+import com.loudent.library.service.account.AccountService;
+import com.loudent.library.service.availability.AvailabilityIndex;
+import com.loudent.library.service.catalog.CatalogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+
+/**
+ * The pure helpers on the checkout, checkin and availability paths: splitting the ISBN off a book
+ * ID and flattening query pages into one list, across one to several pages of results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ActivityServiceBenchmark {
+
+  @Param({"1", "4"})
+  public int pages;
+
+  @Param({"4", "25"})
+  public int itemsPerPage;
+
+  private ExecutorService executor;
+  private ActivityService service;
+  private List<Page<Activity>> results;
+
+  @Setup
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    DynamoDbEnhancedClient client = mock(DynamoDbEnhancedClient.class);
+    service =
+        new ActivityService(
+            client,
+            mock(DynamoDbConfig.class),
+            mock(CatalogService.class),
+            mock(AccountService.class),
+            executor,
+            executor,
+            new HedgedReads(new SimpleMeterRegistry(), false, 0.95, 5, 100, 1024, 64),
+            new CircuitBreakerRegistry(
+                new SimpleMeterRegistry(), CircuitBreaker.Settings.defaults()),
+            mock(AvailabilityIndex.class),
+            1,
+            1);
+
+    results = new ArrayList<>(pages);
+    for (int p = 0; p < pages; p++) {
+      List<Activity> items = new ArrayList<>(itemsPerPage);
+      for (int i = 0; i < itemsPerPage; i++) {
+        Activity activity = new Activity();
+        activity.setBookId("9780131103627." + (p * itemsPerPage + i));
+        items.add(activity);
+      }
+      results.add(Page.create(items));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public String extractIsbn() {
+    return service.extractIsbn("9780131103627.17");
+  }
+
+  @Benchmark
+  public List<Activity> collectItems() {
+    return service.collectItems(results);
+  }
+}
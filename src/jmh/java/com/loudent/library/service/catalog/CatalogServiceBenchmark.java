@@ -0,0 +1,88 @@
+package com.loudent.library.service.catalog;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.loudent.library.config.DynamoDbConfig;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CatalogSearchExpressionBuilder;
+import com.loudent.library.oas.codegen.model.CatalogResponse;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.HedgedReads;
+import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.service.availability.AvailabilityIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+
+/**
+ * The per-book mapping work behind every catalog response: converting the DynamoDB item and
+ * enriching it with availability from a mocked {@link ActivityService}, so only the service's own
+ * logic is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CatalogServiceBenchmark {
+
+  private static final String ISBN = "9780131103627";
+
+  private ExecutorService executor;
+  private CatalogService service;
+  private Catalog catalog;
+
+  @Setup
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    DynamoDbEnhancedAsyncClient client = mock(DynamoDbEnhancedAsyncClient.class);
+    ActivityService activityService = mock(ActivityService.class);
+    when(activityService.getByIsbn(ISBN)).thenReturn(List.of(new Activity(), new Activity()));
+
+    service =
+        new CatalogService(
+            client,
+            mock(DynamoDbConfig.class),
+            activityService,
+            new CatalogSearchExpressionBuilder(),
+            executor,
+            new HedgedReads(new SimpleMeterRegistry(), false, 0.95, 5, 100, 1024, 64),
+            new CircuitBreakerRegistry(
+                new SimpleMeterRegistry(), CircuitBreaker.Settings.defaults()),
+            mock(AvailabilityIndex.class));
+
+    catalog = new Catalog();
+    catalog.setIsbn(ISBN);
+    catalog.setTitle("The C Programming Language");
+    catalog.setAuthorFirstName("Brian");
+    catalog.setAuthorLastName("Kernighan");
+    catalog.setBookIds(List.of(ISBN + ".1", ISBN + ".2", ISBN + ".3", ISBN + ".4"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public CatalogResponse mapToCatalogResponse() {
+    return service.mapToCatalogResponse(catalog);
+  }
+
+  @Benchmark
+  public CatalogResponse enrichWithAvailability() {
+    return service.enrichWithAvailability(service.mapToCatalogResponse(catalog), ISBN);
+  }
+}
@@ -0,0 +1,48 @@
+package com.loudent.library.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/** {@code --name=value} command line arguments, as the Gradle tasks pass their properties. */
+final class Arguments {
+  private final Map<String, String> values;
+
+  private Arguments(Map<String, String> values) {
+    this.values = values;
+  }
+
+  /** Parses {@code args}; a later value for the same name wins. */
+  static Arguments parse(Set<String> known, String... args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value but found '" + arg + "'");
+      }
+      values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    Set<String> unknown = new TreeSet<>(values.keySet());
+    unknown.removeAll(known);
+    if (!unknown.isEmpty()) {
+      throw new IllegalArgumentException("Unknown settings: " + unknown);
+    }
+    return new Arguments(values);
+  }
+
+  String get(String name, String defaultValue) {
+    return values.getOrDefault(name, defaultValue);
+  }
+
+  int getInt(String name, int defaultValue) {
+    return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+  }
+
+  long getLong(String name, long defaultValue) {
+    return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+  }
+
+  double getDouble(String name, double defaultValue) {
+    return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+  }
+}
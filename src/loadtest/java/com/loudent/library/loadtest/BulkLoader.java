@@ -0,0 +1,188 @@
+package com.loudent.library.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Writes a stream of items through {@code BatchWriteItem} from a pool of writers.
+ *
+ * <p>Batches go through a bounded queue, so the producer blocks instead of buffering the whole
+ * data set when the table cannot keep up. Unprocessed items are resubmitted by the same writer
+ * after an exponential backoff with full jitter, which is what DynamoDB asks for when it sheds
+ * part of a batch. Progress is printed at a fixed interval.
+ */
+public class BulkLoader {
+  static final int BATCH_SIZE = 25;
+  static final Duration BASE_BACKOFF = Duration.ofMillis(25);
+  static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+  /** Outcome of loading one table. */
+  public record Result(String table, long written, long failed, long retries, Duration elapsed) {
+    public double itemsPerSecond() {
+      return written / Math.max(1e-3, elapsed.toMillis() / 1000.0);
+    }
+  }
+
+  private static final List<WriteRequest> END = List.of();
+
+  private final DynamoDbClient client;
+  private final int parallelism;
+  private final int maxAttempts;
+  private final Duration reportInterval;
+  private final PrintStream out;
+
+  public BulkLoader(
+      DynamoDbClient client,
+      int parallelism,
+      int maxAttempts,
+      Duration reportInterval,
+      PrintStream out) {
+    this.client = client;
+    this.parallelism = parallelism;
+    this.maxAttempts = maxAttempts;
+    this.reportInterval = reportInterval;
+    this.out = out;
+  }
+
+  public Result load(String table, Stream<Map<String, AttributeValue>> items)
+      throws InterruptedException {
+    BlockingQueue<List<WriteRequest>> batches = new ArrayBlockingQueue<>(parallelism * 2);
+    AtomicLong written = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+    AtomicLong retries = new AtomicLong();
+    long start = System.nanoTime();
+
+    ExecutorService writers = Executors.newFixedThreadPool(parallelism);
+    for (int i = 0; i < parallelism; i++) {
+      writers.execute(
+          () -> {
+            try {
+              List<WriteRequest> batch;
+              while ((batch = batches.take()) != END) {
+                write(table, batch, written, failed, retries);
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+    }
+    ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+    AtomicLong lastWritten = new AtomicLong();
+    long intervalMillis = reportInterval.toMillis();
+    progress.scheduleAtFixedRate(
+        () -> {
+          long now = written.get();
+          out.printf(
+              "%s: %,d written (%,.0f items/s), %,d retried, %,d failed%n",
+              table,
+              now,
+              (now - lastWritten.getAndSet(now)) * 1000.0 / intervalMillis,
+              retries.get(),
+              failed.get());
+        },
+        intervalMillis,
+        intervalMillis,
+        TimeUnit.MILLISECONDS);
+
+    try {
+      List<WriteRequest> batch = new ArrayList<>(BATCH_SIZE);
+      Iterable<Map<String, AttributeValue>> iterable = items::iterator;
+      for (Map<String, AttributeValue> item : iterable) {
+        batch.add(WriteRequest.builder().putRequest(p -> p.item(item)).build());
+        if (batch.size() == BATCH_SIZE) {
+          batches.put(batch);
+          batch = new ArrayList<>(BATCH_SIZE);
+        }
+      }
+      if (!batch.isEmpty()) {
+        batches.put(batch);
+      }
+      for (int i = 0; i < parallelism; i++) {
+        batches.put(END);
+      }
+      writers.shutdown();
+      while (!writers.awaitTermination(1, TimeUnit.SECONDS)) {
+        // Writers drain the queue and stop at END
+      }
+    } finally {
+      writers.shutdownNow();
+      progress.shutdownNow();
+    }
+    Result result =
+        new Result(
+            table,
+            written.get(),
+            failed.get(),
+            retries.get(),
+            Duration.ofNanos(System.nanoTime() - start));
+    out.printf(
+        "%s: done, %,d written in %ds (%,.0f items/s), %,d retried, %,d failed%n",
+        table,
+        result.written(),
+        result.elapsed().toSeconds(),
+        result.itemsPerSecond(),
+        result.retries(),
+        result.failed());
+    return result;
+  }
+
+  private void write(
+      String table,
+      List<WriteRequest> batch,
+      AtomicLong written,
+      AtomicLong failed,
+      AtomicLong retries)
+      throws InterruptedException {
+    List<WriteRequest> pending = batch;
+    for (int attempt = 1; ; attempt++) {
+      List<WriteRequest> unprocessed;
+      try {
+        Map<String, List<WriteRequest>> request = Map.of(table, pending);
+        BatchWriteItemResponse response = client.batchWriteItem(r -> r.requestItems(request));
+        unprocessed = response.unprocessedItems().getOrDefault(table, List.of());
+      } catch (SdkException e) {
+        // The SDK has already retried throttling and transient errors
+        if (attempt >= maxAttempts) {
+          out.printf("%s: dropping %d items after %s%n", table, pending.size(), e);
+          failed.addAndGet(pending.size());
+          return;
+        }
+        unprocessed = pending;
+      }
+      written.addAndGet(pending.size() - unprocessed.size());
+      if (unprocessed.isEmpty()) {
+        return;
+      }
+      if (attempt >= maxAttempts) {
+        failed.addAndGet(unprocessed.size());
+        return;
+      }
+      retries.addAndGet(unprocessed.size());
+      pending = unprocessed;
+      Thread.sleep(backoff(attempt).toMillis());
+    }
+  }
+
+  /** Full jitter: uniform up to the capped exponential delay for this attempt. */
+  static Duration backoff(int attempt) {
+    long cap = Math.min(MAX_BACKOFF.toMillis(), BASE_BACKOFF.toMillis() << Math.min(attempt, 20));
+    return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+  }
+}
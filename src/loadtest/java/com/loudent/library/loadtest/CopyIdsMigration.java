@@ -0,0 +1,89 @@
+package com.loudent.library.loadtest;
+
+import com.loudent.library.dao.catalog.CopyIdsConverter;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Entry point of {@code ./gradlew migrateCopyIds}: rewrites catalog items that still store {@code
+ * bookIds} as a list of strings in the compact {@link com.loudent.library.dao.catalog.CopyIds}
+ * encoding, and adds {@code copyCount} to every item without one. Every other attribute is written
+ * back unchanged.
+ *
+ * <p>Run it only once every service instance reads both encodings. It only touches items still
+ * stored as lists or without a count, so it is safe to re-run after an interruption. Lists that
+ * cannot be encoded compactly stay lists but still get their count.
+ */
+public final class CopyIdsMigration {
+  private static final Set<String> KNOWN =
+      Set.of("endpoint", "region", "table-prefix", "parallelism", "max-attempts", "report-seconds");
+
+  private static final CopyIdsConverter CONVERTER = new CopyIdsConverter();
+
+  private CopyIdsMigration() {}
+
+  public static void main(String[] args) throws Exception {
+    Arguments arguments = Arguments.parse(KNOWN, args);
+    String table = arguments.get("table-prefix", "dev_") + "Catalog";
+    int parallelism = arguments.getInt("parallelism", 16);
+    AtomicLong kept = new AtomicLong();
+
+    BulkLoader.Result result;
+    try (DynamoDbClient client = DataLoad.client(arguments, parallelism)) {
+      BulkLoader loader =
+          new BulkLoader(
+              client,
+              parallelism,
+              arguments.getInt("max-attempts", 10),
+              Duration.ofSeconds(arguments.getLong("report-seconds", 5)),
+              System.out);
+      Stream<Map<String, AttributeValue>> migrated =
+          client
+              .scanPaginator(
+                  r ->
+                      r.tableName(table)
+                          .filterExpression(
+                              "attribute_type(bookIds, :list)"
+                                  + " OR (attribute_exists(bookIds)"
+                                  + " AND attribute_not_exists(copyCount))")
+                          .expressionAttributeValues(Map.of(":list", AttributeValue.fromS("L"))))
+              .items()
+              .stream()
+              .flatMap(
+                  item -> {
+                    Map<String, AttributeValue> migrated = migrate(item);
+                    if (migrated.get("bookIds").b() == null) {
+                      kept.incrementAndGet();
+                    }
+                    // Lists already counted by an earlier run have nothing left to write.
+                    return migrated.equals(item) ? Stream.empty() : Stream.of(migrated);
+                  });
+      result = loader.load(table, migrated);
+    }
+
+    System.out.printf(
+        "Migrated %,d items, left ids of %,d as lists that cannot be encoded compactly%n",
+        result.written(),
+        kept.get());
+    if (result.failed() > 0) {
+      System.err.printf("%,d items could not be written%n", result.failed());
+      System.exit(1);
+    }
+  }
+
+  /** {@code item} with its copy ids re-encoded where they can be and its copy count set. */
+  static Map<String, AttributeValue> migrate(Map<String, AttributeValue> item) {
+    Map<String, AttributeValue> migrated = new HashMap<>(item);
+    List<String> bookIds = CONVERTER.transformTo(item.get("bookIds"));
+    migrated.put("bookIds", CONVERTER.transformFrom(bookIds));
+    migrated.put("copyCount", AttributeValue.fromN(Integer.toString(bookIds.size())));
+    return migrated;
+  }
+}
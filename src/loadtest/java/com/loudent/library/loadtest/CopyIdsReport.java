@@ -0,0 +1,115 @@
+package com.loudent.library.loadtest;
+
+import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CopyIds;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Entry point of {@code ./gradlew copyIdsReport}: stores the catalog {@link DataGenerator} produces
+ * with its copy ids as a list of strings and as {@link CopyIds}, and compares the item size, the
+ * read capacity of fetching one item and the heap the mapped ids occupy.
+ *
+ * <p>Heap sizes are estimated for a 64-bit JVM with compressed references and compact strings: 12
+ * byte object headers, 16 byte array headers and 8 byte alignment.
+ */
+public final class CopyIdsReport {
+  private static final Set<String> KNOWN = Set.of("books", "seed");
+
+  /** Means per catalog item for one way of storing the copy ids. */
+  record Encoding(String name, double itemBytes, double readUnits, double heapBytes) {}
+
+  private CopyIdsReport() {}
+
+  public static void main(String[] args) {
+    Arguments arguments = Arguments.parse(KNOWN, args);
+    int books = arguments.getInt("books", 400_000);
+    DataGenerator generator = new DataGenerator(arguments.getLong("seed", 42), books, 1, 0);
+    print(measure(generator, books), books, System.out);
+  }
+
+  static List<Encoding> measure(DataGenerator generator, int books) {
+    long listBytes = 0;
+    long compactBytes = 0;
+    double listUnits = 0;
+    double compactUnits = 0;
+    long listHeap = 0;
+    long compactHeap = 0;
+    for (int i = 0; i < books; i++) {
+      Catalog catalog = generator.catalog(i);
+      Map<String, AttributeValue> compact = Catalog.TABLE_SCHEMA.itemToMap(catalog, true);
+      Map<String, AttributeValue> list = new HashMap<>(compact);
+      list.put("bookIds", AttributeValue.fromL(strings(catalog.getBookIds())));
+
+      long listSize = ItemSize.of(list);
+      long compactSize = ItemSize.of(compact);
+      listBytes += listSize;
+      compactBytes += compactSize;
+      listUnits += ItemSize.readUnits(listSize);
+      compactUnits += ItemSize.readUnits(compactSize);
+      listHeap += listHeap(catalog.getBookIds());
+      compactHeap += CopyIds.of(catalog.getBookIds()).map(CopyIdsReport::compactHeap).orElse(0L);
+    }
+    return List.of(
+        new Encoding(
+            "list", listBytes / (double) books, listUnits / books, listHeap / (double) books),
+        new Encoding(
+            "compact",
+            compactBytes / (double) books,
+            compactUnits / books,
+            compactHeap / (double) books));
+  }
+
+  static void print(List<Encoding> encodings, int books, PrintStream out) {
+    out.printf("%,d books%n", books);
+    out.printf(
+        "%-8s %12s %10s %12s %14s%n",
+        "bookIds",
+        "bytes/item",
+        "RCU/get",
+        "heap/item",
+        "heap total");
+    for (Encoding encoding : encodings) {
+      out.printf(
+          "%-8s %,12.0f %10.3f %,12.0f %,11.1f MB%n",
+          encoding.name(),
+          encoding.itemBytes(),
+          encoding.readUnits(),
+          encoding.heapBytes(),
+          encoding.heapBytes() * books / (1024 * 1024));
+    }
+  }
+
+  /** An immutable list of strings, as the converter returns for items stored as lists. */
+  static long listHeap(List<String> ids) {
+    long heap = align(12 + 4) + align(16 + 4L * ids.size());
+    for (String id : ids) {
+      heap += string(id);
+    }
+    return heap;
+  }
+
+  /** The {@link CopyIds} object, its prefix string and its retired bitmap. */
+  static long compactHeap(CopyIds ids) {
+    long words = ids.registered() == ids.size() ? 0 : (ids.registered() + 63) / 64;
+    long bitSet = align(12 + 4 + 4 + 1) + align(16 + 8 * words);
+    return align(12 + 4 + 4 + 4 + 4) + string(ids.prefix()) + bitSet;
+  }
+
+  private static List<AttributeValue> strings(List<String> values) {
+    return values.stream().map(AttributeValue::fromS).toList();
+  }
+
+  private static long string(String value) {
+    return align(12 + 4 + 4 + 1 + 1) + align(16 + value.getBytes(StandardCharsets.UTF_8).length);
+  }
+
+  private static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+}
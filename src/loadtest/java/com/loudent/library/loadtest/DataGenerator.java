@@ -0,0 +1,217 @@
+package com.loudent.library.loadtest;
+
+import com.loudent.library.dao.account.Account;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.dao.catalog.Catalog;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deterministic synthetic library data at production scale.
+ *
+ * <p>Book and account {@code i} depend only on the seed and {@code i}, so any slice can be
+ * regenerated without the rest. Authors and title words are Zipf distributed, so a few authors
+ * write many books and common words recur across titles, and the most popular books carry the
+ * most copies. Checkouts favour popular books too and never reuse a copy, since a copy's {@code
+ * bookId} keys the Activity table. Generated ISBNs use the 979 prefix, so they never collide with
+ * the hand-written seeds.
+ */
+public class DataGenerator {
+  static final double SKEW = 1.1;
+  private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+  private static final String[] FIRST_NAMES = {
+    "Ada", "Alan", "Alice", "Amara", "Ben", "Carla", "Chen", "Dara", "Diego", "Elena", "Emil",
+    "Farah", "Grace", "Hana", "Ian", "Ines", "Jon", "Kai", "Lena", "Luis", "Maya", "Mei", "Nia",
+    "Noor", "Omar", "Priya", "Quinn", "Rosa", "Sam", "Sofia", "Tariq", "Uma", "Victor", "Wen",
+    "Yara", "Zoe"
+  };
+  private static final String[] LAST_NAMES = {
+    "Abbott", "Baker", "Castro", "Dubois", "Evans", "Fischer", "Garcia", "Hughes", "Ivanova",
+    "Jensen", "Kim", "Lopez", "Moreau", "Nakamura", "Okafor", "Patel", "Quinn", "Rossi", "Silva",
+    "Tanaka", "Usman", "Varga", "Wright", "Xu", "Young", "Zhang", "Novak", "Haddad", "Kowalski",
+    "Murphy", "Olsen", "Singh", "Berg", "Costa", "Diaz", "Ali"
+  };
+  private static final String[] WORDS = {
+    "The", "Night", "House", "River", "Garden", "Secret", "Last", "City", "Shadow", "Light",
+    "Winter", "Summer", "Road", "Sea", "Stone", "Queen", "King", "Silent", "Lost", "Glass",
+    "Fire", "Star", "Island", "Memory", "Code", "Data", "Clean", "Design", "Patterns", "Systems",
+    "History", "Journey", "Empire", "Storm", "Wolf", "Bird", "Letters", "Dream", "Machine",
+    "Mountain", "Forest", "Promise", "Song", "Distance", "Mirror", "Harbor", "Kingdom", "Echo"
+  };
+  private static final LocalDate MEMBERSHIP_START = LocalDate.of(2010, 1, 1);
+
+  private final long seed;
+  private final int books;
+  private final int accounts;
+  private final int checkouts;
+  private final Zipf authors;
+  private final Zipf words;
+
+  public DataGenerator(long seed, int books, int accounts, int checkouts) {
+    if (books < 1 || accounts < 1 || checkouts < 0) {
+      throw new IllegalArgumentException("Need at least one book and one account");
+    }
+    this.seed = seed;
+    this.books = books;
+    this.accounts = accounts;
+    this.checkouts = checkouts;
+    this.authors = new Zipf(Math.max(1, books / 8), SKEW);
+    this.words = new Zipf(WORDS.length, SKEW);
+  }
+
+  /** ISBN-13 of book {@code index}: 979, nine digits of the index and a check digit. */
+  public static String isbn(int index) {
+    String body = String.format("979%09d", index);
+    int sum = 0;
+    for (int i = 0; i < body.length(); i++) {
+      sum += (body.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+    }
+    return body + (10 - sum % 10) % 10;
+  }
+
+  public static String accountNumber(int index) {
+    return String.format("ACC%07d", index);
+  }
+
+  /** Copies of book {@code index}: mostly one to three, up to a few dozen for bestsellers. */
+  public int copies(int index) {
+    SplittableRandom random = random(1, index);
+    int copies = 1;
+    while (copies < 4 && random.nextDouble() < 0.45) {
+      copies++;
+    }
+    double popularity = 1 - (double) index / books;
+    if (random.nextDouble() < Math.pow(popularity, 40)) {
+      copies += random.nextInt(10, 40);
+    }
+    return copies;
+  }
+
+  public Catalog catalog(int index) {
+    SplittableRandom random = random(2, index);
+    int author = authors.sample(random);
+    int length = random.nextInt(1, 5);
+    StringBuilder title = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      title.append(i == 0 ? "" : " ").append(WORDS[words.sample(random)]);
+    }
+    Catalog catalog = new Catalog();
+    catalog.setIsbn(isbn(index));
+    catalog.setTitle(title.toString());
+    catalog.setAuthorFirstName(FIRST_NAMES[author % FIRST_NAMES.length]);
+    catalog.setAuthorLastName(LAST_NAMES[(author / FIRST_NAMES.length) % LAST_NAMES.length]);
+    int copies = copies(index);
+    List<String> bookIds = new ArrayList<>(copies);
+    for (int copy = 0; copy < copies; copy++) {
+      bookIds.add(bookId(index, copy));
+    }
+    catalog.setBookIds(bookIds);
+    return catalog;
+  }
+
+  public Account account(int index) {
+    SplittableRandom random = random(3, index);
+    Account account = new Account();
+    account.setAccountNumber(accountNumber(index));
+    account.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+    account.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+    account.setMemberSince(MEMBERSHIP_START.plusDays(random.nextInt(15 * 365)));
+    return account;
+  }
+
+  public Stream<Catalog> catalog() {
+    return IntStream.range(0, books).mapToObj(this::catalog);
+  }
+
+  public Stream<Account> accounts() {
+    return IntStream.range(0, accounts).mapToObj(this::account);
+  }
+
+  /**
+   * Open checkouts, due 14 days after a checkout date in the last 60 days, so some are overdue.
+   * Stops early if every copy is already out.
+   */
+  public Stream<Activity> activity(LocalDate today) {
+    return activity(today, 1);
+  }
+
+  /** {@link #activity(LocalDate)} keyed for an isbn-shard-index spread over {@code isbnShards}. */
+  public Stream<Activity> activity(LocalDate today, int isbnShards) {
+    Iterator<Activity> iterator =
+        new Iterator<>() {
+          private final SplittableRandom random = random(4, 0);
+          private final Zipf popularity = new Zipf(books, SKEW);
+          private final int[] checkedOut = new int[books];
+          private int emitted;
+          private int nextFree;
+          private Activity next = advance();
+
+          @Override
+          public boolean hasNext() {
+            return next != null;
+          }
+
+          @Override
+          public Activity next() {
+            if (next == null) {
+              throw new NoSuchElementException();
+            }
+            Activity current = next;
+            next = advance();
+            return current;
+          }
+
+          private Activity advance() {
+            if (emitted == checkouts) {
+              return null;
+            }
+            int book = popularity.sample(random);
+            // Popular books run out of copies; fall back to the next book with one on the shelf
+            while (checkedOut[book] == copies(book)) {
+              while (nextFree < books && checkedOut[nextFree] == copies(nextFree)) {
+                nextFree++;
+              }
+              if (nextFree == books) {
+                return null;
+              }
+              book = nextFree;
+            }
+            emitted++;
+            LocalDate checkOutDate = today.minusDays(random.nextInt(60));
+            Activity activity = new Activity();
+            activity.setBookId(bookId(book, checkedOut[book]++));
+            activity.setIsbn(isbn(book));
+            activity.setIsbnShard(Activity.isbnShardOf(activity.getBookId(), isbnShards));
+            activity.setTitle(catalog(book).getTitle());
+            activity.setAccountNumber(accountNumber(random.nextInt(accounts)));
+            activity.setCheckOutDate(checkOutDate);
+            activity.setDueDate(checkOutDate.plusDays(14));
+            activity.setOverdueBucket(Activity.overdueBucket(activity.getDueDate()));
+            return activity;
+          }
+        };
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  private static String bookId(int book, int copy) {
+    return isbn(book) + "." + copy;
+  }
+
+  /** An independent random stream per kind of item and index. */
+  private SplittableRandom random(int kind, int index) {
+    long state = (seed * GOLDEN + kind) * GOLDEN + index;
+    return new SplittableRandom(state);
+  }
+}
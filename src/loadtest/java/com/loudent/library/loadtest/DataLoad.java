@@ -0,0 +1,101 @@
+package com.loudent.library.loadtest;
+
+import com.loudent.library.dao.account.Account;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.dao.catalog.Catalog;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+
+/**
+ * Entry point of {@code ./gradlew loadData}: generates a synthetic catalog, accounts and open
+ * checkouts with {@link DataGenerator} and bulk loads them into existing tables. The defaults add
+ * up to a million items against DynamoDB Local as created by {@code scripts/dynamodb-init.sh}; an
+ * empty {@code endpoint} targets AWS with the default credentials.
+ */
+public final class DataLoad {
+  private static final Set<String> KNOWN =
+      Set.of(
+          "endpoint",
+          "region",
+          "table-prefix",
+          "books",
+          "accounts",
+          "checkouts",
+          "isbn-shards",
+          "seed",
+          "parallelism",
+          "max-attempts",
+          "report-seconds");
+
+  private DataLoad() {}
+
+  public static void main(String[] args) throws Exception {
+    Arguments arguments = Arguments.parse(KNOWN, args);
+    String prefix = arguments.get("table-prefix", "dev_");
+    int parallelism = arguments.getInt("parallelism", 32);
+    DataGenerator generator =
+        new DataGenerator(
+            arguments.getLong("seed", 42),
+            arguments.getInt("books", 400_000),
+            arguments.getInt("accounts", 200_000),
+            arguments.getInt("checkouts", 400_000));
+
+    List<BulkLoader.Result> results = new ArrayList<>();
+    try (DynamoDbClient client = client(arguments, parallelism)) {
+      BulkLoader loader =
+          new BulkLoader(
+              client,
+              parallelism,
+              arguments.getInt("max-attempts", 10),
+              Duration.ofSeconds(arguments.getLong("report-seconds", 5)),
+              System.out);
+      results.add(
+          loader.load(
+              prefix + "Catalog",
+              generator.catalog().map(i -> Catalog.TABLE_SCHEMA.itemToMap(i, true))));
+      results.add(
+          loader.load(
+              prefix + "Accounts",
+              generator.accounts().map(i -> Account.TABLE_SCHEMA.itemToMap(i, true))));
+      results.add(
+          loader.load(
+              prefix + Activity.BASE_TABLE_NAME,
+              generator
+                  .activity(LocalDate.now(), arguments.getInt("isbn-shards", 1))
+                  .map(i -> Activity.TABLE_SCHEMA.itemToMap(i, true))));
+    }
+
+    long failed = results.stream().mapToLong(BulkLoader.Result::failed).sum();
+    if (failed > 0) {
+      System.err.printf("%,d items could not be written%n", failed);
+      System.exit(1);
+    }
+  }
+
+  static DynamoDbClient client(Arguments arguments, int parallelism) {
+    String endpoint = arguments.get("endpoint", "http://localhost:8000");
+    DynamoDbClientBuilder builder =
+        DynamoDbClient.builder()
+            .region(Region.of(arguments.get("region", "us-west-2")))
+            .httpClient(ApacheHttpClient.builder().maxConnections(parallelism).build());
+    if (endpoint.isBlank()) {
+      return builder.credentialsProvider(DefaultCredentialsProvider.create()).build();
+    }
+    return builder
+        .endpointOverride(URI.create(endpoint))
+        .credentialsProvider(
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("dummy", "dummy")))
+        .build();
+  }
+}
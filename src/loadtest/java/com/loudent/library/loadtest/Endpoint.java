@@ -0,0 +1,38 @@
+package com.loudent.library.loadtest;
+
+import java.util.Locale;
+
+/**
+ * The REST operations the load test drives, named as they appear in the request mix, with the
+ * OpenAPI operation ID the service tags their metrics with.
+ */
+public enum Endpoint {
+  ISBN("getBookByISBN"),
+  TITLE("getBookByTitle"),
+  SEARCH("searchCatalog"),
+  USER("getUserByAccountNumber"),
+  CHECKOUT("checkoutBooks"),
+  CHECKIN("checkinBooks");
+
+  private final String operationId;
+
+  Endpoint(String operationId) {
+    this.operationId = operationId;
+  }
+
+  public String operationId() {
+    return operationId;
+  }
+
+  public String key() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  public static Endpoint of(String key) {
+    try {
+      return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown endpoint in request mix: " + key);
+    }
+  }
+}
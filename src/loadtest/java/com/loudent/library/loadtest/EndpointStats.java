@@ -0,0 +1,71 @@
+package com.loudent.library.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histograms and outcome counts for one endpoint, safe to record into from any thread.
+ *
+ * <p>Two latencies are kept per request. The response time runs from when the request was
+ * <em>meant</em> to be sent, so a stalled service is charged for the requests it kept the
+ * generator from sending (coordinated-omission correction). The service time runs from when it
+ * was actually sent, which is what a naive client would report; the gap between the two shows how
+ * much queueing the test saw.
+ */
+public class EndpointStats {
+  static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+  private final Recorder responseTime = new Recorder(MAX_LATENCY_MICROS, 3);
+  private final Recorder serviceTime = new Recorder(MAX_LATENCY_MICROS, 3);
+  private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+  /**
+   * @param intendedNanos {@link System#nanoTime()} at which the schedule wanted the request sent
+   * @param sentNanos when it was sent
+   * @param status HTTP status, or 0 if the request failed without a response
+   */
+  public void record(long intendedNanos, long sentNanos, long doneNanos, int status) {
+    responseTime.recordValue(micros(doneNanos - intendedNanos));
+    serviceTime.recordValue(micros(doneNanos - sentNanos));
+    outcomes.computeIfAbsent(outcome(status), k -> new LongAdder()).increment();
+  }
+
+  /** Discards everything recorded so far, e.g. at the end of the warmup. */
+  public void reset() {
+    responseTime.reset();
+    serviceTime.reset();
+    outcomes.clear();
+  }
+
+  /** What has been recorded since the last snapshot or reset. */
+  public Snapshot snapshot() {
+    Map<String, Long> counts = new TreeMap<>();
+    outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+    return new Snapshot(
+        responseTime.getIntervalHistogram(), serviceTime.getIntervalHistogram(), counts);
+  }
+
+  /** Latencies in microseconds, and request counts by status class. */
+  public record Snapshot(
+      Histogram responseTime, Histogram serviceTime, Map<String, Long> outcomes) {
+    public long errors() {
+      return outcomes.entrySet().stream()
+          .filter(e -> !"2xx".equals(e.getKey()))
+          .mapToLong(Map.Entry::getValue)
+          .sum();
+    }
+  }
+
+  static String outcome(int status) {
+    return status <= 0 ? "failed" : (status / 100) + "xx";
+  }
+
+  private static long micros(long nanos) {
+    return Math.min(MAX_LATENCY_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+  }
+}
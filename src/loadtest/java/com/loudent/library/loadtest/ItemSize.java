@@ -0,0 +1,53 @@
+package com.loudent.library.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Item sizes as DynamoDB counts them for read and write capacity: attribute names plus values,
+ * with numbers at one byte per two significant digits and three bytes of overhead per list or map.
+ */
+final class ItemSize {
+  /** Bytes covered by one read capacity unit of a strongly consistent read. */
+  static final int READ_UNIT_BYTES = 4096;
+
+  private ItemSize() {}
+
+  static long of(Map<String, AttributeValue> item) {
+    long size = 0;
+    for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+      size += utf8(attribute.getKey()) + of(attribute.getValue());
+    }
+    return size;
+  }
+
+  /** Read capacity of an eventually consistent read of {@code bytes}, as GetItem and Query use. */
+  static double readUnits(long bytes) {
+    return Math.max(1, (bytes + READ_UNIT_BYTES - 1) / READ_UNIT_BYTES) * 0.5;
+  }
+
+  private static long of(AttributeValue value) {
+    return switch (value.type()) {
+      case S -> utf8(value.s());
+      case N -> number(value.n());
+      case B -> value.b().asByteArray().length;
+      case BOOL, NUL -> 1;
+      case SS -> value.ss().stream().mapToLong(ItemSize::utf8).sum();
+      case NS -> value.ns().stream().mapToLong(ItemSize::number).sum();
+      case BS -> value.bs().stream().mapToLong(b -> b.asByteArray().length).sum();
+      case L -> 3 + value.l().stream().mapToLong(element -> 1 + of(element)).sum();
+      case M -> 3 + value.m().size() + of(value.m());
+      default -> 0;
+    };
+  }
+
+  private static long utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static long number(String value) {
+    String digits = value.replaceAll("[^0-9]", "").replaceAll("^0+", "").replaceAll("0+$", "");
+    return Math.max(1, (digits.length() + 1) / 2) + 1;
+  }
+}
@@ -0,0 +1,160 @@
+package com.loudent.library.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the service with the configured mix, as an open or a closed workload model.
+ *
+ * <p>Both models work from a schedule of intended send times and measure response time from the
+ * intended time, so a request delayed behind a slow one is charged for the wait. In the open model
+ * one dispatcher keeps to the schedule and never waits for responses. In the closed model each
+ * user sends its next request only after the previous one returned; unpaced ({@code rps <= 0}) it
+ * sends as fast as it can and there is no schedule to fall behind.
+ */
+public class LoadGenerator {
+  private final LoadTestSettings settings;
+  private final Workload workload;
+  private final HttpClient client;
+  private final ExecutorService clientExecutor;
+  private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+  private final AtomicLong inFlight = new AtomicLong();
+
+  public LoadGenerator(LoadTestSettings settings, Workload workload) {
+    this.settings = settings;
+    this.workload = workload;
+    this.clientExecutor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread = new Thread(runnable, "loadtest-http");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.client =
+        HttpClient.newBuilder()
+            .executor(clientExecutor)
+            .connectTimeout(settings.timeout())
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    for (Endpoint endpoint : Endpoint.values()) {
+      stats.put(endpoint, new EndpointStats());
+    }
+  }
+
+  /** Runs the warmup and the measured period, returning the measured statistics per endpoint. */
+  public Map<Endpoint, EndpointStats> run() throws InterruptedException {
+    long start = System.nanoTime();
+    long measureFrom = start + settings.warmup().toNanos();
+    long end = measureFrom + settings.duration().toNanos();
+    try {
+      if (LoadTestSettings.OPEN.equals(settings.model())) {
+        runOpen(start, measureFrom, end);
+      } else {
+        runClosed(start, measureFrom, end);
+      }
+    } finally {
+      clientExecutor.shutdown();
+    }
+    return Collections.unmodifiableMap(stats);
+  }
+
+  private void runOpen(long start, long measureFrom, long end) throws InterruptedException {
+    double interval = TimeUnit.SECONDS.toNanos(1) / settings.rps();
+    for (long n = 0; ; n++) {
+      long intended = start + (long) (n * interval);
+      if (intended >= end) {
+        break;
+      }
+      parkUntil(intended);
+      sendAsync(intended, intended >= measureFrom);
+    }
+    long deadline = System.nanoTime() + settings.timeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private void sendAsync(long intended, boolean measured) {
+    Workload.Request request = workload.next(settings.mix().next());
+    inFlight.incrementAndGet();
+    long sent = System.nanoTime();
+    client
+        .sendAsync(request.http(), HttpResponse.BodyHandlers.discarding())
+        .whenComplete(
+            (response, error) -> {
+              int status = response == null ? 0 : response.statusCode();
+              complete(request, intended, sent, status, measured);
+              inFlight.decrementAndGet();
+            });
+  }
+
+  private void runClosed(long start, long measureFrom, long end) throws InterruptedException {
+    int users = settings.concurrency();
+    double interval =
+        settings.rps() > 0 ? users * TimeUnit.SECONDS.toNanos(1) / settings.rps() : 0;
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            users,
+            runnable -> {
+              Thread thread = new Thread(runnable, "loadtest-user");
+              thread.setDaemon(true);
+              return thread;
+            });
+    for (int user = 0; user < users; user++) {
+      long offset = (long) (interval * user / users);
+      pool.execute(() -> user(start + offset, interval, measureFrom, end));
+    }
+    pool.shutdown();
+    long grace = settings.timeout().toNanos() * 2;
+    if (!pool.awaitTermination(end - System.nanoTime() + grace, TimeUnit.NANOSECONDS)) {
+      pool.shutdownNow();
+    }
+  }
+
+  private void user(long start, double interval, long measureFrom, long end) {
+    for (long n = 0; !Thread.currentThread().isInterrupted(); n++) {
+      long intended = interval > 0 ? start + (long) (n * interval) : System.nanoTime();
+      if (intended >= end) {
+        return;
+      }
+      parkUntil(intended);
+      Workload.Request request = workload.next(settings.mix().next());
+      long sent = System.nanoTime();
+      int status;
+      try {
+        status = client.send(request.http(), HttpResponse.BodyHandlers.discarding()).statusCode();
+      } catch (IOException e) {
+        status = 0;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      complete(request, intended, sent, status, intended >= measureFrom);
+    }
+  }
+
+  /** Settles the book pools and, outside the warmup, records the sample. */
+  private void complete(
+      Workload.Request request, long intended, long sent, int status, boolean measured) {
+    long done = System.nanoTime();
+    request.onOutcome().accept(status / 100 == 2);
+    if (measured) {
+      stats.get(request.endpoint()).record(intended, sent, done, status);
+    }
+  }
+
+  private static void parkUntil(long deadline) {
+    for (long wait = deadline - System.nanoTime(); wait > 0; wait = deadline - System.nanoTime()) {
+      LockSupport.parkNanos(wait);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.loudent.library.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Entry point of {@code ./gradlew loadTest}: runs one load test against an already running
+ * service and writes its report. Exits non-zero if no request succeeded, which usually means the
+ * service or its base URL is wrong.
+ */
+public final class LoadTest {
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadTestSettings settings = LoadTestSettings.parse(args);
+    Workload workload = Workload.fromSeedFiles(settings);
+    System.out.printf(
+        "Load test: %s model, %s rps, %d users, %ds warmup + %ds against %s%n",
+        settings.model(),
+        settings.rps() > 0 ? settings.rps() : "unpaced",
+        settings.concurrency(),
+        settings.warmup().toSeconds(),
+        settings.duration().toSeconds(),
+        settings.baseUrl());
+
+    Map<Endpoint, EndpointStats.Snapshot> results = new EnumMap<>(Endpoint.class);
+    new LoadGenerator(settings, workload)
+        .run()
+        .forEach((endpoint, stats) -> results.put(endpoint, stats.snapshot()));
+    LoadTestReport report = new LoadTestReport(settings, results);
+    Path written = report.write(settings.reportDir());
+
+    System.out.println(report.toJson().path("endpoints").toPrettyString());
+    System.out.println("Report written to " + written.toAbsolutePath());
+    long succeeded =
+        results.values().stream().mapToLong(s -> s.outcomes().getOrDefault("2xx", 0L)).sum();
+    if (succeeded == 0) {
+      System.err.println("No request succeeded");
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.loudent.library.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Writes a run's results as {@code report.json}, for comparing releases, and {@code report.html},
+ * for reading. Latencies are in milliseconds; {@code responseTime} is corrected for coordinated
+ * omission and {@code serviceTime} is not (see {@link EndpointStats}).
+ */
+public class LoadTestReport {
+  static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private final LoadTestSettings settings;
+  private final Map<String, EndpointStats.Snapshot> results = new LinkedHashMap<>();
+
+  /** {@code results} holds the endpoints that saw traffic; a {@code total} row is added. */
+  public LoadTestReport(LoadTestSettings settings, Map<Endpoint, EndpointStats.Snapshot> results) {
+    this.settings = settings;
+    Histogram responseTime = new Histogram(EndpointStats.MAX_LATENCY_MICROS, 3);
+    Histogram serviceTime = new Histogram(EndpointStats.MAX_LATENCY_MICROS, 3);
+    Map<String, Long> outcomes = new TreeMap<>();
+    results.forEach(
+        (endpoint, snapshot) -> {
+          if (snapshot.responseTime().getTotalCount() == 0) {
+            return;
+          }
+          this.results.put(endpoint.key(), snapshot);
+          responseTime.add(snapshot.responseTime());
+          serviceTime.add(snapshot.serviceTime());
+          snapshot
+              .outcomes()
+              .forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+        });
+    this.results.put("total", new EndpointStats.Snapshot(responseTime, serviceTime, outcomes));
+  }
+
+  public ObjectNode toJson() {
+    ObjectNode report = MAPPER.createObjectNode();
+    report.put("timestamp", Instant.now().toString());
+    ObjectNode config = report.putObject("settings");
+    config.put("baseUrl", settings.baseUrl().toString());
+    config.put("model", settings.model());
+    config.put("rps", settings.rps());
+    config.put("concurrency", settings.concurrency());
+    config.put("durationSeconds", settings.duration().toSeconds());
+    config.put("warmupSeconds", settings.warmup().toSeconds());
+    ObjectNode mix = config.putObject("mix");
+    settings.mix().getWeights().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+
+    ObjectNode endpoints = report.putObject("endpoints");
+    double seconds = settings.duration().toMillis() / 1000.0;
+    results.forEach(
+        (name, snapshot) -> {
+          ObjectNode node = endpoints.putObject(name);
+          node.put("requests", snapshot.responseTime().getTotalCount());
+          node.put("throughputRps", snapshot.responseTime().getTotalCount() / seconds);
+          node.put("errors", snapshot.errors());
+          ObjectNode outcomes = node.putObject("outcomes");
+          snapshot.outcomes().forEach(outcomes::put);
+          latency(node.putObject("responseTime"), snapshot.responseTime());
+          latency(node.putObject("serviceTime"), snapshot.serviceTime());
+        });
+    return report;
+  }
+
+  /** Writes both reports into {@code dir}, returning the JSON one. */
+  public Path write(Path dir) throws IOException {
+    Files.createDirectories(dir);
+    ObjectNode json = toJson();
+    Path jsonFile = dir.resolve("report.json");
+    MAPPER.writeValue(jsonFile.toFile(), json);
+    Files.writeString(dir.resolve("report.html"), toHtml(json));
+    return jsonFile;
+  }
+
+  static String toHtml(ObjectNode json) {
+    StringBuilder html = new StringBuilder();
+    html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Load test</title>")
+        .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+        .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}</style>")
+        .append("</head><body>\n<h1>Load test ")
+        .append(escape(json.path("timestamp").asText()))
+        .append("</h1>\n<pre>")
+        .append(escape(json.path("settings").toPrettyString()))
+        .append("</pre>\n");
+    table(html, json, "responseTime", "Response time (ms, corrected for coordinated omission)");
+    table(html, json, "serviceTime", "Service time (ms, uncorrected)");
+    return html.append("</body></html>\n").toString();
+  }
+
+  private static void table(StringBuilder html, ObjectNode json, String latency, String caption) {
+    html.append("<h2>").append(caption).append("</h2>\n<table><tr><th>endpoint</th>")
+        .append("<th>requests</th><th>rps</th><th>errors</th>");
+    for (double percentile : PERCENTILES) {
+      html.append("<th>p").append(label(percentile)).append("</th>");
+    }
+    html.append("<th>max</th><th>mean</th></tr>\n");
+    Iterator<Map.Entry<String, JsonNode>> endpoints = json.path("endpoints").fields();
+    while (endpoints.hasNext()) {
+      Map.Entry<String, JsonNode> endpoint = endpoints.next();
+      JsonNode node = endpoint.getValue();
+      html.append("<tr><th>").append(escape(endpoint.getKey())).append("</th>");
+      cell(html, node.path("requests").asText());
+      cell(html, String.format("%.1f", node.path("throughputRps").asDouble()));
+      cell(html, node.path("errors").asText());
+      for (double percentile : PERCENTILES) {
+        cell(html, node.path(latency).path("p" + label(percentile)).asText());
+      }
+      cell(html, node.path(latency).path("max").asText());
+      cell(html, node.path(latency).path("mean").asText());
+      html.append("</tr>\n");
+    }
+    html.append("</table>\n");
+  }
+
+  private static void latency(ObjectNode node, Histogram histogram) {
+    for (double percentile : PERCENTILES) {
+      node.put("p" + label(percentile), millis(histogram.getValueAtPercentile(percentile)));
+    }
+    node.put("max", millis(histogram.getMaxValue()));
+    node.put("mean", millis(histogram.getMean()));
+  }
+
+  /** {@code 99.9} becomes {@code 999}, matching the usual p999 naming. */
+  static String label(double percentile) {
+    String text = String.valueOf(percentile);
+    return (text.endsWith(".0") ? text.substring(0, text.length() - 2) : text).replace(".", "");
+  }
+
+  private static double millis(double micros) {
+    return Math.round(micros) / 1000.0;
+  }
+
+  private static void cell(StringBuilder html, String value) {
+    html.append("<td>").append(escape(value)).append("</td>");
+  }
+
+  private static String escape(String text) {
+    return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+  }
+}
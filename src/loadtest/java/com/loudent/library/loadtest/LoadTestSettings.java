@@ -0,0 +1,73 @@
+package com.loudent.library.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Load test parameters, read from {@code --name=value} arguments. {@code ./gradlew loadTest}
+ * passes every {@code -PloadTest.name=value} property through as one of these.
+ *
+ * @param model {@code open} sends at {@code rps} regardless of how the service keeps up; {@code
+ *     closed} runs {@code concurrency} users that each wait for their response, paced to {@code
+ *     rps} in total when it is positive
+ * @param warmup run before measuring; its latencies are discarded
+ */
+public record LoadTestSettings(
+    URI baseUrl,
+    String model,
+    double rps,
+    int concurrency,
+    Duration duration,
+    Duration warmup,
+    Duration timeout,
+    RequestMix mix,
+    Path seedDir,
+    Path reportDir) {
+
+  public static final String OPEN = "open";
+  public static final String CLOSED = "closed";
+
+  static final String DEFAULT_MIX = "isbn:40,title:15,search:10,user:20,checkout:8,checkin:7";
+
+  private static final Set<String> KNOWN =
+      Set.of(
+          "base-url",
+          "model",
+          "rps",
+          "concurrency",
+          "duration-seconds",
+          "warmup-seconds",
+          "timeout-ms",
+          "mix",
+          "seed-dir",
+          "report-dir");
+
+  public LoadTestSettings {
+    if (!OPEN.equals(model) && !CLOSED.equals(model)) {
+      throw new IllegalArgumentException("model must be open or closed but was " + model);
+    }
+    if (OPEN.equals(model) && rps <= 0) {
+      throw new IllegalArgumentException("The open model needs a positive rps");
+    }
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("concurrency must be at least 1");
+    }
+  }
+
+  public static LoadTestSettings parse(String... args) {
+    Arguments arguments = Arguments.parse(KNOWN, args);
+    return new LoadTestSettings(
+        URI.create(arguments.get("base-url", "http://localhost:8080/api/v1")),
+        arguments.get("model", OPEN),
+        arguments.getDouble("rps", 100),
+        arguments.getInt("concurrency", 32),
+        Duration.ofSeconds(arguments.getLong("duration-seconds", 60)),
+        Duration.ofSeconds(arguments.getLong("warmup-seconds", 10)),
+        Duration.ofMillis(arguments.getLong("timeout-ms", 5000)),
+        RequestMix.parse(arguments.get("mix", DEFAULT_MIX)),
+        Path.of(arguments.get("seed-dir", "scripts/seed")),
+        Path.of(arguments.get("report-dir", "build/reports/loadtest")));
+  }
+}
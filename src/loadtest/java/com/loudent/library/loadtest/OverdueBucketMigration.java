@@ -0,0 +1,101 @@
+package com.loudent.library.loadtest;
+
+import com.loudent.library.dao.activity.Activity;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Entry point of {@code ./gradlew migrateOverdueBuckets}: adds {@code overdueBucket} to Activity
+ * items written before the overdue index existed, so their checkouts are listed as overdue.
+ *
+ * <p>Each item is updated in place, on the condition that it still has the due date it was scanned
+ * with and no bucket yet: a checkout that was checked in or replaced meanwhile is left alone rather
+ * than written back. It only touches items without a bucket, so it is safe to re-run after an
+ * interruption. Pass the service's {@code overdue-shards} so backfilled checkouts are spread over
+ * the same buckets as new ones.
+ */
+public final class OverdueBucketMigration {
+  private static final Set<String> KNOWN =
+      Set.of("endpoint", "region", "table-prefix", "parallelism", "overdue-shards");
+
+  private OverdueBucketMigration() {}
+
+  public static void main(String[] args) throws Exception {
+    Arguments arguments = Arguments.parse(KNOWN, args);
+    String table = arguments.get("table-prefix", "dev_") + "Activity";
+    int parallelism = arguments.getInt("parallelism", 16);
+    int shards = arguments.getInt("overdue-shards", 1);
+    AtomicLong updated = new AtomicLong();
+    AtomicLong changed = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+
+    try (DynamoDbClient client = DataLoad.client(arguments, parallelism)) {
+      // Callers run the update themselves once the queue is full, so the scan cannot run ahead.
+      ThreadPoolExecutor writers =
+          new ThreadPoolExecutor(
+              parallelism,
+              parallelism,
+              0,
+              TimeUnit.SECONDS,
+              new ArrayBlockingQueue<>(parallelism * 2),
+              new ThreadPoolExecutor.CallerRunsPolicy());
+      client
+          .scanPaginator(
+              r ->
+                  r.tableName(table)
+                      .projectionExpression("bookId, dueDate")
+                      .filterExpression(
+                          "attribute_exists(dueDate) AND attribute_not_exists(overdueBucket)"))
+          .items()
+          .forEach(
+              item ->
+                  writers.execute(
+                      () -> {
+                        try {
+                          client.updateItem(backfill(table, item, shards));
+                          updated.incrementAndGet();
+                        } catch (ConditionalCheckFailedException e) {
+                          changed.incrementAndGet();
+                        } catch (RuntimeException e) {
+                          failed.incrementAndGet();
+                          System.err.printf(
+                              "Could not update %s: %s%n", item.get("bookId").s(), e.getMessage());
+                        }
+                      }));
+      writers.shutdown();
+      writers.awaitTermination(1, TimeUnit.DAYS);
+    }
+
+    System.out.printf(
+        "Added overdue buckets to %,d checkouts, skipped %,d checked in or replaced meanwhile%n",
+        updated.get(),
+        changed.get());
+    if (failed.get() > 0) {
+      System.err.printf("%,d checkouts could not be updated%n", failed.get());
+      System.exit(1);
+    }
+  }
+
+  /** Sets the bucket of the checkout {@code item}, if it is still the one that was scanned. */
+  static UpdateItemRequest backfill(String table, Map<String, AttributeValue> item, int shards) {
+    AttributeValue dueDate = item.get("dueDate");
+    String bucket =
+        Activity.overdueBucketOf(item.get("bookId").s(), LocalDate.parse(dueDate.s()), shards);
+    return UpdateItemRequest.builder()
+        .tableName(table)
+        .key(Map.of("bookId", item.get("bookId")))
+        .updateExpression("SET overdueBucket = :bucket")
+        .conditionExpression("dueDate = :due AND attribute_not_exists(overdueBucket)")
+        .expressionAttributeValues(Map.of(":bucket", AttributeValue.fromS(bucket), ":due", dueDate))
+        .build();
+  }
+}
@@ -0,0 +1,135 @@
+package com.loudent.library.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A named set of performance metrics, stored as JSON so a baseline can be committed and diffed,
+ * and the comparison of a run against such a baseline.
+ */
+public class PerformanceBaseline {
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  /**
+   * @param noiseFloor smallest change that can count as a regression, so that sub-millisecond
+   *     jitter on a fast endpoint is not reported as a 50% slowdown
+   */
+  public record Metric(String unit, double value, boolean higherIsBetter, double noiseFloor) {}
+
+  /** One metric of the run next to its baseline value; {@code baseline} is NaN if it is new. */
+  public record Comparison(String name, Metric current, double baseline, boolean regressed) {
+    public double change() {
+      return baseline == 0 ? 0 : (current.value() - baseline) / Math.abs(baseline);
+    }
+  }
+
+  private final Map<String, Metric> metrics = new TreeMap<>();
+
+  public void put(String name, Metric metric) {
+    metrics.put(name, metric);
+  }
+
+  public Map<String, Metric> getMetrics() {
+    return metrics;
+  }
+
+  /** Reads a baseline; a missing file is an empty baseline, so every metric counts as new. */
+  public static PerformanceBaseline read(Path file) throws IOException {
+    PerformanceBaseline baseline = new PerformanceBaseline();
+    if (!Files.exists(file)) {
+      return baseline;
+    }
+    Iterator<Map.Entry<String, JsonNode>> entries =
+        MAPPER.readTree(file.toFile()).path("metrics").fields();
+    while (entries.hasNext()) {
+      Map.Entry<String, JsonNode> entry = entries.next();
+      JsonNode node = entry.getValue();
+      baseline.put(
+          entry.getKey(),
+          new Metric(
+              node.path("unit").asText(),
+              node.path("value").asDouble(),
+              node.path("higherIsBetter").asBoolean(),
+              node.path("noiseFloor").asDouble()));
+    }
+    return baseline;
+  }
+
+  public void write(Path file) throws IOException {
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    ObjectNode root = MAPPER.createObjectNode();
+    ObjectNode nodes = root.putObject("metrics");
+    metrics.forEach(
+        (name, metric) -> {
+          ObjectNode node = nodes.putObject(name);
+          node.put("unit", metric.unit());
+          node.put("value", metric.value());
+          node.put("higherIsBetter", metric.higherIsBetter());
+          node.put("noiseFloor", metric.noiseFloor());
+        });
+    MAPPER.writeValue(file.toFile(), root);
+  }
+
+  /**
+   * Compares this run against {@code baseline}. A metric regresses when it moved in its worse
+   * direction by more than {@code threshold(name)} of the baseline value and by more than its noise
+   * floor. Metrics missing from the baseline never regress.
+   */
+  public List<Comparison> compareTo(
+      PerformanceBaseline baseline, ToDoubleFunction<String> threshold) {
+    List<Comparison> comparisons = new ArrayList<>();
+    metrics.forEach(
+        (name, current) -> {
+          Metric previous = baseline.metrics.get(name);
+          if (previous == null) {
+            comparisons.add(new Comparison(name, current, Double.NaN, false));
+            return;
+          }
+          double worseBy =
+              current.higherIsBetter()
+                  ? previous.value() - current.value()
+                  : current.value() - previous.value();
+          boolean regressed =
+              worseBy > current.noiseFloor()
+                  && worseBy > threshold.applyAsDouble(name) * Math.abs(previous.value());
+          comparisons.add(new Comparison(name, current, previous.value(), regressed));
+        });
+    return comparisons;
+  }
+
+  /** A fixed-width table of {@code comparisons}, one line per metric. */
+  public static String format(List<Comparison> comparisons) {
+    StringBuilder table = new StringBuilder();
+    table.append(String.format("%-90s %12s %12s %9s%n", "metric", "baseline", "current", "change"));
+    for (Comparison comparison : comparisons) {
+      String baseline =
+          Double.isNaN(comparison.baseline())
+              ? "new"
+              : String.format("%.3f", comparison.baseline());
+      table.append(
+          String.format(
+              "%-90s %12s %12.3f %+8.1f%% %s %s%n",
+              comparison.name(),
+              baseline,
+              comparison.current().value(),
+              comparison.change() * 100,
+              comparison.current().unit(),
+              comparison.regressed() ? "REGRESSED" : ""));
+    }
+    return table.toString();
+  }
+}
@@ -0,0 +1,224 @@
+package com.loudent.library.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loudent.library.LibraryApplication;
+import com.loudent.library.loadtest.PerformanceBaseline.Comparison;
+import com.loudent.library.loadtest.PerformanceBaseline.Metric;
+import com.loudent.library.metrics.DynamoDbCallsPerRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entry point of {@code ./gradlew perfGate}. Starts the service in process on the {@code
+ * in-memory} profile with a fixed DynamoDB latency, runs a fixed open-model scenario against it,
+ * adds the JMH results of the same build and compares everything with the committed baseline.
+ * Exits non-zero if any metric regressed past its threshold.
+ *
+ * <p>Per endpoint it records p50 and p99 response time, throughput, error rate and DynamoDB calls
+ * per request; the last comes from {@link DynamoDbCallsPerRequest} inside the service, which makes
+ * it exact rather than inferred. Calls per request have their own, tighter threshold. The warmup
+ * runs on its own before the measured period, and its calls are subtracted from the service's
+ * totals.
+ *
+ * <p>There is no vacuous pass: without a recorded baseline the gate fails and says how to record
+ * one.
+ */
+public final class PerformanceGate {
+  private static final Set<String> KNOWN =
+      Set.of(
+          "baseline",
+          "update-baseline",
+          "threshold",
+          "calls-threshold",
+          "jmh-results",
+          "report-dir",
+          "rps",
+          "duration-seconds",
+          "warmup-seconds",
+          "dynamodb-latency-ms");
+  private static final String CALLS_SUFFIX = ".dynamoDbCallsPerRequest";
+
+  /** The running totals of one endpoint's calls-per-request summary. */
+  private record Calls(long count, double total) {
+    static final Calls NONE = new Calls(0, 0);
+  }
+
+  private PerformanceGate() {}
+
+  public static void main(String[] args) throws Exception {
+    Arguments arguments = Arguments.parse(KNOWN, args);
+    Path baselineFile = Path.of(arguments.get("baseline", "perf/baseline.json"));
+    Path reportDir = Path.of(arguments.get("report-dir", "build/reports/perf"));
+    double threshold = arguments.getDouble("threshold", 0.25);
+    double callsThreshold = arguments.getDouble("calls-threshold", 0.1);
+
+    PerformanceBaseline current = new PerformanceBaseline();
+    runScenario(arguments, reportDir, current);
+    addJmhResults(Path.of(arguments.get("jmh-results", "build/results/jmh/results.json")), current);
+    current.write(reportDir.resolve("current.json"));
+
+    if (Boolean.parseBoolean(arguments.get("update-baseline", "false"))) {
+      current.write(baselineFile);
+      System.out.println("Baseline updated: " + baselineFile.toAbsolutePath());
+      return;
+    }
+    PerformanceBaseline baseline = PerformanceBaseline.read(baselineFile);
+    if (baseline.getMetrics().isEmpty()) {
+      System.err.printf(
+          "No baseline recorded at %s. Record one on the reference machine with"
+              + " ./gradlew perfGate -PperfGate.update-baseline=true and commit it.%n",
+          baselineFile);
+      System.exit(1);
+    }
+    List<Comparison> comparisons =
+        current.compareTo(
+            baseline, name -> name.endsWith(CALLS_SUFFIX) ? callsThreshold : threshold);
+    String table = PerformanceBaseline.format(comparisons);
+    Files.writeString(reportDir.resolve("comparison.txt"), table);
+    System.out.print(table);
+
+    long regressions = comparisons.stream().filter(Comparison::regressed).count();
+    if (regressions > 0) {
+      System.err.printf("%d metric(s) regressed against %s%n", regressions, baselineFile);
+      System.exit(1);
+    }
+  }
+
+  private static void runScenario(
+      Arguments arguments, Path reportDir, PerformanceBaseline current) throws Exception {
+    ConfigurableApplicationContext service =
+        new SpringApplicationBuilder(LibraryApplication.class)
+            .profiles("in-memory")
+            .properties(
+                "server.port=0",
+                "aws.dynamodb.in-memory.latency.distribution=fixed",
+                "aws.dynamodb.in-memory.latency.median-ms="
+                    + arguments.get("dynamodb-latency-ms", "2"),
+                "aws.dynamodb.in-memory.throttle-probability=0",
+                "aws.dynamodb.in-memory.unprocessed-probability=0")
+            .run();
+    try {
+      String port = service.getEnvironment().getProperty("local.server.port");
+      String contextPath = service.getEnvironment().getProperty("server.servlet.context-path", "");
+      URI baseUrl = URI.create("http://localhost:" + port + contextPath);
+      LoadTestSettings warmup =
+          settings(baseUrl, arguments, reportDir, arguments.getLong("warmup-seconds", 10));
+      LoadTestSettings settings =
+          settings(baseUrl, arguments, reportDir, arguments.getLong("duration-seconds", 30));
+      Workload workload = Workload.fromSeedFiles(settings);
+      MeterRegistry registry = service.getBean(MeterRegistry.class);
+
+      // A run of its own, drained before measuring, so no warmup request is counted below
+      new LoadGenerator(warmup, workload).run();
+      Map<String, Calls> warmupCalls = calls(registry);
+
+      Map<Endpoint, EndpointStats.Snapshot> results = new EnumMap<>(Endpoint.class);
+      new LoadGenerator(settings, workload)
+          .run()
+          .forEach((endpoint, stats) -> results.put(endpoint, stats.snapshot()));
+      new LoadTestReport(settings, results).write(reportDir);
+      Map<String, Calls> totalCalls = calls(registry);
+
+      double seconds = settings.duration().toMillis() / 1000.0;
+      results.forEach(
+          (endpoint, snapshot) -> {
+            Histogram latency = snapshot.responseTime();
+            long requests = latency.getTotalCount();
+            if (requests == 0) {
+              return;
+            }
+            String prefix = "loadtest." + endpoint.key();
+            current.put(
+                prefix + ".responseTimeP50",
+                new Metric("ms", latency.getValueAtPercentile(50) / 1000.0, false, 1));
+            current.put(
+                prefix + ".responseTimeP99",
+                new Metric("ms", latency.getValueAtPercentile(99) / 1000.0, false, 2));
+            current.put(prefix + ".throughput", new Metric("rps", requests / seconds, true, 1));
+            current.put(
+                prefix + ".errorRate",
+                new Metric("ratio", snapshot.errors() / (double) requests, false, 0.01));
+            Calls before = warmupCalls.getOrDefault(endpoint.operationId(), Calls.NONE);
+            Calls after = totalCalls.getOrDefault(endpoint.operationId(), Calls.NONE);
+            long measured = after.count() - before.count();
+            if (measured > 0) {
+              double mean = (after.total() - before.total()) / measured;
+              current.put(prefix + CALLS_SUFFIX, new Metric("calls", mean, false, 0.05));
+            }
+          });
+    } finally {
+      service.close();
+    }
+  }
+
+  /** The fixed scenario, without a warmup of its own, running for {@code seconds}. */
+  private static LoadTestSettings settings(
+      URI baseUrl, Arguments arguments, Path reportDir, long seconds) {
+    return new LoadTestSettings(
+        baseUrl,
+        LoadTestSettings.OPEN,
+        arguments.getDouble("rps", 200),
+        1,
+        Duration.ofSeconds(seconds),
+        Duration.ZERO,
+        Duration.ofSeconds(5),
+        RequestMix.parse(LoadTestSettings.DEFAULT_MIX),
+        Path.of("scripts/seed"),
+        reportDir);
+  }
+
+  private static Map<String, Calls> calls(MeterRegistry registry) {
+    Map<String, Calls> calls = new TreeMap<>();
+    for (DistributionSummary summary :
+        registry.find(DynamoDbCallsPerRequest.METRIC).summaries()) {
+      calls.put(
+          summary.getId().getTag("endpoint"), new Calls(summary.count(), summary.totalAmount()));
+    }
+    return calls;
+  }
+
+  /**
+   * Adds each JMH benchmark's score, named by benchmark and parameters. Throughput scores are
+   * better higher, time scores lower.
+   */
+  static void addJmhResults(Path file, PerformanceBaseline current) throws IOException {
+    if (!Files.exists(file)) {
+      System.out.println("No JMH results at " + file + "; comparing the load scenario only");
+      return;
+    }
+    for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+      StringBuilder name = new StringBuilder("jmh.").append(result.path("benchmark").asText());
+      Map<String, String> params = new TreeMap<>();
+      Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> param = fields.next();
+        params.put(param.getKey(), param.getValue().asText());
+      }
+      params.forEach(
+          (key, value) -> name.append('[').append(key).append('=').append(value).append(']'));
+      JsonNode score = result.path("primaryMetric");
+      current.put(
+          name.toString(),
+          new Metric(
+              score.path("scoreUnit").asText(),
+              score.path("score").asDouble(),
+              "thrpt".equals(result.path("mode").asText()),
+              0));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.loudent.library.loadtest;
+
+import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CatalogProjection;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Entry point of {@code ./gradlew projectionReport}: sizes the catalog items {@link DataGenerator}
+ * produces and reports, per endpoint that reads the catalog, the bytes each read returned with the
+ * whole item and with its {@link CatalogProjection}, and the read capacity either way.
+ */
+public final class ProjectionReport {
+  private static final Set<String> KNOWN = Set.of("books", "seed");
+
+  /** An endpoint's catalog read, per item, before and after projecting it. */
+  record Read(Endpoint endpoint, boolean scan, CatalogProjection projection) {
+    String operation() {
+      return scan ? "Scan" : "Query";
+    }
+  }
+
+  static final List<Read> READS =
+      List.of(
+          new Read(Endpoint.ISBN, false, CatalogProjection.SUMMARY),
+          new Read(Endpoint.TITLE, true, CatalogProjection.SUMMARY),
+          new Read(Endpoint.SEARCH, true, CatalogProjection.SUMMARY),
+          new Read(Endpoint.CHECKOUT, false, CatalogProjection.TITLE),
+          new Read(Endpoint.CHECKIN, false, CatalogProjection.TITLE));
+
+  /**
+   * Mean bytes returned and read units consumed per catalog item for one {@link Read}. The units
+   * are the same with and without the projection: DynamoDB charges for the stored item.
+   */
+  record Row(Read read, double fullBytes, double projectedBytes, double readUnits) {
+
+    double bytesSaved() {
+      return fullBytes == 0 ? 0 : 1 - projectedBytes / fullBytes;
+    }
+  }
+
+  private ProjectionReport() {}
+
+  public static void main(String[] args) {
+    Arguments arguments = Arguments.parse(KNOWN, args);
+    int books = arguments.getInt("books", 100_000);
+    DataGenerator generator = new DataGenerator(arguments.getLong("seed", 42), books, 1, 0);
+    print(rows(generator, books), System.out);
+  }
+
+  static List<Row> rows(DataGenerator generator, int books) {
+    Map<CatalogProjection, Long> bytes = new EnumMap<>(CatalogProjection.class);
+    double queryUnits = 0;
+    long scannedBytes = 0;
+    for (int i = 0; i < books; i++) {
+      Map<String, AttributeValue> item = Catalog.TABLE_SCHEMA.itemToMap(generator.catalog(i), true);
+      for (CatalogProjection projection : CatalogProjection.values()) {
+        bytes.merge(projection, ItemSize.of(project(item, projection)), Long::sum);
+      }
+      long size = ItemSize.of(item);
+      queryUnits += ItemSize.readUnits(size);
+      scannedBytes += size;
+    }
+    // A query rounds each item up to whole units; a scan rounds the sum of what it read.
+    double perQuery = queryUnits / books;
+    double perScannedItem = scannedBytes * 0.5 / ItemSize.READ_UNIT_BYTES / books;
+    double fullBytes = bytes.get(CatalogProjection.FULL) / (double) books;
+    return READS.stream()
+        .map(
+            read ->
+                new Row(
+                    read,
+                    fullBytes,
+                    bytes.get(read.projection()) / (double) books,
+                    read.scan() ? perScannedItem : perQuery))
+        .toList();
+  }
+
+  static Map<String, AttributeValue> project(
+      Map<String, AttributeValue> item, CatalogProjection projection) {
+    if (projection.attributes().isEmpty()) {
+      return item;
+    }
+    Map<String, AttributeValue> projected = new HashMap<>();
+    for (String attribute : projection.attributes()) {
+      AttributeValue value = item.get(attribute);
+      if (value != null) {
+        projected.put(attribute, value);
+      }
+    }
+    return projected;
+  }
+
+  static void print(List<Row> rows, PrintStream out) {
+    out.printf(
+        "%-24s %-6s %-10s %12s %12s %8s %10s%n",
+        "endpoint",
+        "read",
+        "projection",
+        "bytes/item",
+        "projected",
+        "saved",
+        "RCU/item");
+    for (Row row : rows) {
+      out.printf(
+          "%-24s %-6s %-10s %,12.0f %,12.0f %7.1f%% %10.3f%n",
+          row.read().endpoint().operationId(),
+          row.read().operation(),
+          row.read().projection().name().toLowerCase(Locale.ROOT),
+          row.fullBytes(),
+          row.projectedBytes(),
+          row.bytesSaved() * 100,
+          row.readUnits());
+    }
+    out.println(
+        "DynamoDB charges reads on the stored item size, so projections save transfer and "
+            + "mapping, not read capacity.");
+  }
+}
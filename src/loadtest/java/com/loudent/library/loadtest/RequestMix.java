@@ -0,0 +1,65 @@
+package com.loudent.library.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of the next {@link Endpoint}. Every request draws independently, so the mix is
+ * kept at any rate and concurrency, and in every window long enough to be measured.
+ */
+public class RequestMix {
+  private final Map<Endpoint, Integer> weights;
+  private final Endpoint[] endpoints;
+  private final int[] cumulative;
+
+  public RequestMix(Map<Endpoint, Integer> weights) {
+    this.weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+    this.endpoints =
+        this.weights.entrySet().stream()
+            .filter(e -> e.getValue() > 0)
+            .map(Map.Entry::getKey)
+            .toArray(Endpoint[]::new);
+    if (endpoints.length == 0) {
+      throw new IllegalArgumentException("Request mix needs at least one positive weight");
+    }
+    this.cumulative = new int[endpoints.length];
+    int total = 0;
+    for (int i = 0; i < endpoints.length; i++) {
+      total += this.weights.get(endpoints[i]);
+      cumulative[i] = total;
+    }
+  }
+
+  /** Parses {@code isbn:40,title:15,...}; endpoints that are left out get no traffic. */
+  public static RequestMix parse(String spec) {
+    Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+    for (String part : spec.split(",")) {
+      String[] pair = part.split(":");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("Expected endpoint:weight but found '" + part + "'");
+      }
+      int weight = Integer.parseInt(pair[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Negative weight for " + pair[0]);
+      }
+      weights.put(Endpoint.of(pair[0]), weight);
+    }
+    return new RequestMix(weights);
+  }
+
+  public Map<Endpoint, Integer> getWeights() {
+    return weights;
+  }
+
+  public Endpoint next() {
+    int draw = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+    for (int i = 0; i < cumulative.length; i++) {
+      if (draw < cumulative[i]) {
+        return endpoints[i];
+      }
+    }
+    throw new IllegalStateException("unreachable");
+  }
+}
@@ -0,0 +1,153 @@
+package com.loudent.library.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Builds requests from the seed data the service was loaded with. Checkouts draw from books that
+ * are believed to be on the shelf and checkins from books the test checked out itself, so the
+ * write paths mostly exercise success rather than conflict handling; when a pool runs dry a
+ * random book is used and the response is counted like any other.
+ */
+public class Workload {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /** An HTTP request plus what to do with the book pools once its outcome is known. */
+  public record Request(Endpoint endpoint, HttpRequest http, Consumer<Boolean> onOutcome) {}
+
+  record Book(String isbn, String title, String authorLastName, List<String> bookIds) {}
+
+  private final String baseUrl;
+  private final Duration timeout;
+  private final List<Book> books;
+  private final List<String> accounts;
+  private final List<String> allBookIds;
+  private final Queue<String> onShelf = new ConcurrentLinkedQueue<>();
+  private final Queue<String> checkedOut = new ConcurrentLinkedQueue<>();
+
+  Workload(URI baseUrl, Duration timeout, List<Book> books, List<String> accounts) {
+    if (books.isEmpty() || accounts.isEmpty()) {
+      throw new IllegalArgumentException("The seed data needs at least one book and one account");
+    }
+    String base = baseUrl.toString();
+    this.baseUrl = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+    this.timeout = timeout;
+    this.books = List.copyOf(books);
+    this.accounts = List.copyOf(accounts);
+    List<String> ids = new ArrayList<>();
+    books.forEach(book -> ids.addAll(book.bookIds()));
+    this.allBookIds = List.copyOf(ids);
+    Collections.shuffle(ids);
+    onShelf.addAll(ids);
+  }
+
+  /** Reads books and accounts from the BatchWriteItem files in {@code seedDir}. */
+  public static Workload fromSeedFiles(LoadTestSettings settings) throws IOException {
+    List<Book> books = new ArrayList<>();
+    List<String> accounts = new ArrayList<>();
+    try (Stream<Path> files = Files.list(settings.seedDir())) {
+      for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().toList()) {
+        for (JsonNode requests : MAPPER.readTree(file.toFile())) {
+          for (JsonNode request : requests) {
+            JsonNode item = request.path("PutRequest").path("Item");
+            if (item.has("isbn") && item.has("title")) {
+              List<String> bookIds = new ArrayList<>();
+              item.path("bookIds").path("L").forEach(id -> bookIds.add(id.path("S").asText()));
+              books.add(
+                  new Book(
+                      item.path("isbn").path("S").asText(),
+                      item.path("title").path("S").asText(),
+                      item.path("authorLastName").path("S").asText(),
+                      bookIds));
+            } else if (item.has("accountNumber")) {
+              accounts.add(item.path("accountNumber").path("S").asText());
+            }
+          }
+        }
+      }
+    }
+    return new Workload(settings.baseUrl(), settings.timeout(), books, accounts);
+  }
+
+  public Request next(Endpoint endpoint) {
+    Book book = random(books);
+    return switch (endpoint) {
+      case ISBN -> get(endpoint, "/catalog/isbn/" + book.isbn());
+      case TITLE -> post(endpoint, "/catalog/title", body().put("title", book.title()), null);
+      case SEARCH ->
+          post(
+              endpoint,
+              "/catalog/search",
+              body().put("authorLastName", book.authorLastName()),
+              null);
+      case USER -> get(endpoint, "/user/" + random(accounts));
+      case CHECKOUT -> checkout();
+      case CHECKIN -> checkin();
+    };
+  }
+
+  private Request checkout() {
+    String bookId = onShelf.poll();
+    ObjectNode body = body().put("accountNumber", random(accounts));
+    body.putArray("bookIds").add(bookId != null ? bookId : random(allBookIds));
+    return post(
+        Endpoint.CHECKOUT,
+        "/activity/checkout",
+        body,
+        bookId == null ? null : ok -> (ok ? checkedOut : onShelf).add(bookId));
+  }
+
+  private Request checkin() {
+    String bookId = checkedOut.poll();
+    ObjectNode body = body();
+    body.putArray("bookIds").add(bookId != null ? bookId : random(allBookIds));
+    return post(
+        Endpoint.CHECKIN,
+        "/activity/checkin",
+        body,
+        bookId == null ? null : ok -> (ok ? onShelf : checkedOut).add(bookId));
+  }
+
+  private Request get(Endpoint endpoint, String path) {
+    return new Request(endpoint, request(path).GET().build(), ok -> {});
+  }
+
+  private Request post(
+      Endpoint endpoint, String path, ObjectNode body, Consumer<Boolean> onOutcome) {
+    HttpRequest http =
+        request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+    return new Request(endpoint, http, onOutcome != null ? onOutcome : ok -> {});
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(timeout)
+        .header("Accept", "application/json");
+  }
+
+  private static ObjectNode body() {
+    return MAPPER.createObjectNode();
+  }
+
+  private static <T> T random(List<T> values) {
+    return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+  }
+}
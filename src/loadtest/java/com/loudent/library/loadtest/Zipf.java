@@ -0,0 +1,35 @@
+package com.loudent.library.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over {@code 0..n-1}: rank {@code k} is drawn with probability proportional to
+ * {@code 1 / (k + 1)^exponent}, so a few low ranks dominate, as bestsellers and prolific authors
+ * do in a real catalog.
+ */
+final class Zipf {
+  private final double[] cumulative;
+
+  Zipf(int n, double exponent) {
+    if (n < 1) {
+      throw new IllegalArgumentException("Zipf needs at least one rank");
+    }
+    cumulative = new double[n];
+    double total = 0;
+    for (int k = 0; k < n; k++) {
+      total += 1 / Math.pow(k + 1, exponent);
+      cumulative[k] = total;
+    }
+  }
+
+  int size() {
+    return cumulative.length;
+  }
+
+  int sample(SplittableRandom random) {
+    double draw = random.nextDouble() * cumulative[cumulative.length - 1];
+    int index = Arrays.binarySearch(cumulative, draw);
+    return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+  }
+}
@@ -0,0 +1,28 @@
+package com.loudent.library.api;
+
+import com.loudent.library.api.error.ServiceOverloadedException;
+import com.loudent.library.resilience.LoadShedder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** Rejects requests with 503 before they reach a controller when {@link LoadShedder} says so. */
+@Component
+@RequiredArgsConstructor
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+  private final LoadShedder loadShedder;
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod method
+        && loadShedder.shouldShed(method.getMethod().getName())) {
+      throw new ServiceOverloadedException(method.getMethod().getName());
+    }
+    return true;
+  }
+}
@@ -1,11 +1,11 @@
 package com.loudent.library.api;
 
+import com.loudent.library.context.RequestContext;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
 import lombok.extern.log4j.Log4j2;
-import org.apache.logging.log4j.ThreadContext;
 import org.springframework.stereotype.Component;
 
 @Log4j2
@@ -17,17 +17,18 @@ public class LoggingContextFilter implements Filter {
       throws IOException, ServletException {
 
     HttpServletRequest httpRequest = (HttpServletRequest) request;
-    String requestId = UUID.randomUUID().toString();
+    String requestId =
+        RequestContext.requestId(httpRequest.getHeader(RequestContext.REQUEST_ID_HEADER));
+    if (response instanceof HttpServletResponse httpResponse) {
+      httpResponse.setHeader(RequestContext.REQUEST_ID_HEADER, requestId);
+    }
 
-    // Add contextual metadata
-    ThreadContext.put("requestId", requestId);
-    ThreadContext.put("method", httpRequest.getMethod());
-    ThreadContext.put("path", httpRequest.getRequestURI());
+    // Add contextual metadata; executors carry it to worker threads and Log4j reads it from there
+    RequestContext context =
+        new RequestContext(requestId, httpRequest.getMethod(), httpRequest.getRequestURI());
 
-    try {
+    try (RequestContext.Scope ignored = RequestContext.attach(context)) {
       chain.doFilter(request, response);
-    } finally {
-      ThreadContext.clearAll(); // Prevent context leakage across threads
     }
   }
 }
@@ -0,0 +1,68 @@
+package com.loudent.library.api;
+
+import com.loudent.library.oas.codegen.model.CatalogResponse;
+import com.loudent.library.oas.codegen.model.UserResponse;
+import com.loudent.library.resilience.CircuitOpenException;
+import com.loudent.library.resilience.StaleCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Last known good read responses. Controllers record every successful read here and, while the
+ * circuit breaker for the backing table is open, answer from it with a staleness header instead of
+ * failing the request.
+ */
+@Log4j2
+@Component
+public class ResponseFallbackStore {
+  public static final String STALE_HEADER = "X-Library-Stale";
+  static final String SERVED_METRIC = "fallback.served";
+  static final String SIZE_METRIC = "fallback.size";
+
+  private final MeterRegistry meterRegistry;
+  @Getter private final StaleCache<CatalogResponse> catalog;
+  @Getter private final StaleCache<UserResponse> users;
+
+  public ResponseFallbackStore(
+      MeterRegistry meterRegistry,
+      @Value("${service.fallback.maximum-size:10000}") long maximumSize,
+      @Value("${service.fallback.maximum-age-ms:3600000}") long maximumAgeMs) {
+    this.meterRegistry = meterRegistry;
+    this.catalog = new StaleCache<>(maximumSize, Duration.ofMillis(maximumAgeMs));
+    this.users = new StaleCache<>(maximumSize, Duration.ofMillis(maximumAgeMs));
+
+    Gauge.builder(SIZE_METRIC, catalog, StaleCache::size)
+        .tag("store", "catalog")
+        .register(meterRegistry);
+    Gauge.builder(SIZE_METRIC, users, StaleCache::size)
+        .tag("store", "users")
+        .register(meterRegistry);
+  }
+
+  /** Returns the stored response when {@code cause} is an open circuit and a value is cached. */
+  public <T> Optional<ResponseEntity<T>> serveStale(
+      StaleCache<T> cache, String key, Throwable cause) {
+    if (!(cause instanceof CircuitOpenException)) {
+      return Optional.empty();
+    }
+    return cache
+        .get(key)
+        .map(
+            entry -> {
+              log.warn("Serving stale response for {} ({}s old)", key, entry.age().toSeconds());
+              meterRegistry.counter(SERVED_METRIC).increment();
+              return ResponseEntity.ok()
+                  .header(HttpHeaders.AGE, String.valueOf(entry.age().toSeconds()))
+                  .header(STALE_HEADER, "true")
+                  .body(entry.value());
+            });
+  }
+}
@@ -8,7 +8,10 @@ import com.loudent.library.oas.codegen.model.BookOperationResult;
 import com.loudent.library.oas.codegen.model.CheckinRequest;
 import com.loudent.library.oas.codegen.model.CheckoutRequest;
 import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.service.idempotency.IdempotencyStore;
+import com.loudent.library.util.SampledLogger;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -19,9 +22,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @Log4j2
 public class ActivityLibraryController implements ActivityLibrary {
+  private static final SampledLogger failures = SampledLogger.of(log);
 
   private final LibraryConfig libraryConfig;
   private final ActivityService activityService;
+  private final IdempotencyStore idempotencyStore;
   private final ExecutorService controllerThreadPool;
 
   @Override
@@ -29,19 +34,24 @@ public class ActivityLibraryController implements ActivityLibrary {
       metric = "checkoutBooks",
       tags = {"component:api"})
   public CompletableFuture<ResponseEntity<List<BookOperationResult>>> checkoutBooks(
-      CheckoutRequest request) {
+      Optional<String> idempotencyKey, CheckoutRequest request) {
     return CompletableFuture.supplyAsync(
-            () -> activityService.checkoutBooks(request.getAccountNumber(), request.getBookIds()),
+            () ->
+                idempotencyStore.execute(
+                    "checkout",
+                    idempotencyKey.orElse(null),
+                    request.getAccountNumber() + "|" + request.getBookIds(),
+                    () ->
+                        activityService.checkoutBooks(
+                            request.getAccountNumber(), request.getBookIds())),
             controllerThreadPool)
         .orTimeout(libraryConfig.getRequestTimeout(), TimeUnit.MILLISECONDS)
         .handleAsync(
             (result, throwable) -> {
               if (throwable != null) {
                 Throwable cause = ExceptionUtils.unwrap(throwable);
-                log.error(
-                    "Checkout failed for account {}: {}",
-                    request.getAccountNumber(),
-                    cause.toString());
+                failures.failure(
+                    cause, "Checkout failed for account {}", request.getAccountNumber());
                 throw new CompletionException(cause);
               }
 
@@ -55,16 +65,21 @@ public class ActivityLibraryController implements ActivityLibrary {
       metric = "checkinBooks",
       tags = {"component:api"})
   public CompletableFuture<ResponseEntity<List<BookOperationResult>>> checkinBooks(
-      CheckinRequest request) {
+      Optional<String> idempotencyKey, CheckinRequest request) {
     return CompletableFuture.supplyAsync(
-            () -> activityService.checkinBooks(request.getBookIds()), controllerThreadPool)
+            () ->
+                idempotencyStore.execute(
+                    "checkin",
+                    idempotencyKey.orElse(null),
+                    String.valueOf(request.getBookIds()),
+                    () -> activityService.checkinBooks(request.getBookIds())),
+            controllerThreadPool)
         .orTimeout(libraryConfig.getRequestTimeout(), TimeUnit.MILLISECONDS)
         .handleAsync(
             (result, throwable) -> {
               if (throwable != null) {
                 Throwable cause = ExceptionUtils.unwrap(throwable);
-                log.error(
-                    "Checkin failed for bookIds {}: {}", request.getBookIds(), cause.toString());
+                failures.failure(cause, "Checkin failed for bookIds {}", request.getBookIds());
                 throw new CompletionException(cause);
               }
 
@@ -0,0 +1,170 @@
+package com.loudent.library.api.activity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loudent.library.api.error.ErrorStatus;
+import com.loudent.library.api.error.InvalidRequestException;
+import com.loudent.library.context.ContextSnapshot;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.service.activity.OverdueCursor;
+import com.loudent.library.util.SampledLogger;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams overdue checkouts as newline-delimited JSON, one object per line, straight from the
+ * overdue index as pages arrive. When {@code limit} is reached the last line is {@code
+ * {"nextCursor": ...}}; pass it back as {@code cursor} to continue. Only checkouts due from the
+ * month in the {@value #SINCE_HEADER} header on are listed: {@code since} when given, otherwise
+ * {@code lookback-months} before {@code asOf}. A failure mid-stream cannot change the status, so
+ * it ends the stream with an {@code {"error": ..., "status": ...}} line, worded as the error
+ * responses are, carrying the cursor to resume from. Hand-written rather than generated because
+ * the OpenAPI interface cannot return a streamed body.
+ */
+@RestController
+@Log4j2
+public class OverdueActivityController {
+  static final String NDJSON = "application/x-ndjson";
+  static final String SINCE_HEADER = "X-Overdue-Since";
+
+  private static final SampledLogger failures = SampledLogger.of(log);
+
+  /** One line of the report. */
+  record OverdueBook(
+      String bookId,
+      String isbn,
+      String accountNumber,
+      LocalDate checkOutDate,
+      LocalDate dueDate,
+      long daysOverdue) {
+
+    static OverdueBook of(Activity activity, LocalDate asOf) {
+      return new OverdueBook(
+          activity.getBookId(),
+          activity.getIsbn(),
+          activity.getAccountNumber(),
+          activity.getCheckOutDate(),
+          activity.getDueDate(),
+          ChronoUnit.DAYS.between(activity.getDueDate(), asOf));
+    }
+  }
+
+  private final ActivityService activityService;
+  private final ObjectMapper objectMapper;
+  private final int defaultLimit;
+  private final int maxLimit;
+  private final int lookbackMonths;
+
+  public OverdueActivityController(
+      ActivityService activityService,
+      ObjectMapper objectMapper,
+      @Value("${service.overdue.default-limit:1000}") int defaultLimit,
+      @Value("${service.overdue.max-limit:10000}") int maxLimit,
+      @Value("${service.overdue.lookback-months:24}") int lookbackMonths) {
+    this.activityService = activityService;
+    this.objectMapper = objectMapper;
+    this.defaultLimit = defaultLimit;
+    this.maxLimit = maxLimit;
+    this.lookbackMonths = lookbackMonths;
+  }
+
+  @GetMapping(value = "/activity/overdue", produces = NDJSON)
+  public ResponseEntity<StreamingResponseBody> getOverdueBooks(
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate asOf,
+      @RequestParam(required = false) YearMonth since) {
+    int max = limit != null ? limit : defaultLimit;
+    if (max < 1 || max > maxLimit) {
+      throw new InvalidRequestException("limit must be between 1 and " + maxLimit);
+    }
+    OverdueCursor after = cursor != null ? OverdueCursor.decode(cursor) : null;
+    LocalDate day = asOf != null ? asOf : LocalDate.now();
+    YearMonth oldest = since != null ? since : YearMonth.from(day).minusMonths(lookbackMonths);
+    if (oldest.isAfter(YearMonth.from(day))) {
+      throw new InvalidRequestException("since must not be after the month of asOf");
+    }
+
+    StreamingResponseBody report =
+        out -> {
+          Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+          AtomicReference<OverdueCursor> last = new AtomicReference<>(after);
+          try {
+            Optional<OverdueCursor> next =
+                activityService.forEachOverdue(
+                    day,
+                    oldest,
+                    after,
+                    max,
+                    activity -> {
+                      writeLine(writer, OverdueBook.of(activity, day));
+                      last.set(OverdueCursor.of(activity));
+                    });
+            if (next.isPresent()) {
+              writeLine(writer, Map.of("nextCursor", next.get().encode()));
+            }
+          } catch (UncheckedIOException e) {
+            throw e.getCause();
+          } catch (RuntimeException e) {
+            failures.failure(e, "Overdue report failed after cursor {}", last.get());
+            writeLine(writer, errorLine(e, last.get()));
+          }
+          writer.flush();
+        };
+    // The body is written on an MVC async thread; carry the request over, as executors do.
+    ContextSnapshot context = ContextSnapshot.capture();
+    StreamingResponseBody body =
+        context == null
+            ? report
+            : out -> {
+              try (ContextSnapshot.Scope ignored = context.attach()) {
+                report.writeTo(out);
+              }
+            };
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(NDJSON))
+        .header(SINCE_HEADER, oldest.toString())
+        .body(body);
+  }
+
+  private static Map<String, Object> errorLine(RuntimeException e, OverdueCursor resumeFrom) {
+    ErrorStatus.Response response = ErrorStatus.responseOf(e);
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("error", response.message());
+    line.put("status", response.status().value());
+    if (resumeFrom != null) {
+      line.put("nextCursor", resumeFrom.encode());
+    }
+    return line;
+  }
+
+  private void writeLine(Writer writer, Object line) {
+    try {
+      writer.write(objectMapper.writeValueAsString(line));
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.loudent.library.api.catalog;
 
+import com.loudent.library.api.ResponseFallbackStore;
 import com.loudent.library.api.error.ExceptionUtils;
 import com.loudent.library.api.error.NotFoundException;
 import com.loudent.library.aspect.TimedAsync;
@@ -9,7 +10,9 @@ import com.loudent.library.oas.codegen.model.CatalogResponse;
 import com.loudent.library.oas.codegen.model.CatalogSearchRequest;
 import com.loudent.library.oas.codegen.model.GetBookByTitleRequest;
 import com.loudent.library.service.catalog.CatalogService;
+import com.loudent.library.util.SampledLogger;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
@@ -24,9 +27,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @Log4j2
 public class CatalogLibraryController implements CatalogLibrary {
+  private static final SampledLogger failures = SampledLogger.of(log);
+
   private final LibraryConfig libraryConfig;
   private final CatalogService catalogService;
   private final ExecutorService controllerThreadPool;
+  private final ResponseFallbackStore fallbackStore;
 
   @Override
   @TimedAsync(
@@ -39,13 +45,19 @@ public class CatalogLibraryController implements CatalogLibrary {
             (response, throwable) -> {
               if (throwable != null) {
                 Throwable cause = ExceptionUtils.unwrap(throwable);
-                log.error("Problem getting book for isbn# {}", isbn, cause);
+                Optional<ResponseEntity<CatalogResponse>> stale =
+                    fallbackStore.serveStale(fallbackStore.getCatalog(), "isbn:" + isbn, cause);
+                if (stale.isPresent()) {
+                  return stale.get();
+                }
+                failures.failure(cause, "Problem getting book for isbn# {}", isbn);
                 throw new CompletionException(cause);
               }
               if (response == null) {
                 throw new CompletionException(
                     new NotFoundException("Book not found for ISBN: " + isbn));
               }
+              fallbackStore.getCatalog().put("isbn:" + isbn, response);
               return ResponseEntity.ok(response);
             },
             controllerThreadPool);
@@ -62,9 +74,16 @@ public class CatalogLibraryController implements CatalogLibrary {
         .orTimeout(libraryConfig.getRequestTimeout(), TimeUnit.MILLISECONDS)
         .handleAsync(
             (booksResponse, throwable) -> {
+              String key = "title:" + titleRequest.getTitle();
               if (throwable != null) {
-                log.error("Problem getting book for Title# {}", titleRequest.getTitle(), throwable);
                 Throwable cause = ExceptionUtils.unwrap(throwable);
+                Optional<ResponseEntity<CatalogResponse>> stale =
+                    fallbackStore.serveStale(fallbackStore.getCatalog(), key, cause);
+                if (stale.isPresent()) {
+                  return stale.get();
+                }
+                failures.failure(
+                    cause, "Problem getting book for Title# {}", titleRequest.getTitle());
                 throw new CompletionException(cause);
               }
               if (null == booksResponse) {
@@ -72,6 +91,7 @@ public class CatalogLibraryController implements CatalogLibrary {
                     new NotFoundException(
                         "No catalog entry found for title: " + titleRequest.getTitle()));
               }
+              fallbackStore.getCatalog().put(key, booksResponse);
               return new ResponseEntity<>(booksResponse, HttpStatus.OK);
             },
             controllerThreadPool);
@@ -89,7 +109,7 @@ public class CatalogLibraryController implements CatalogLibrary {
             (result, throwable) -> {
               if (throwable != null) {
                 Throwable cause = ExceptionUtils.unwrap(throwable);
-                log.error("Catalog search failed: {}", request, cause);
+                failures.failure(cause, "Catalog search failed: {}", request);
                 throw new CompletionException(cause);
               }
 
@@ -0,0 +1,109 @@
+package com.loudent.library.api.error;
+
+import com.loudent.library.resilience.CircuitOpenException;
+import jakarta.validation.ConstraintViolationException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+/**
+ * The one table of how exceptions are answered: the HTTP status and the message the client sees.
+ * {@link GlobalControllerAdvice} builds its responses from it, and callers such as the timing
+ * aspects read the status without going through the MVC exception resolvers.
+ */
+public final class ErrorStatus {
+  static final String OVERLOADED = "The service is overloaded. Please retry shortly.";
+
+  /** What an exception is answered with. */
+  public record Response(HttpStatus status, String message) {}
+
+  /** Exceptions of {@code type} are answered with {@code status} and {@code message}. */
+  private record Rule<T extends Throwable>(
+      Class<T> type, HttpStatus status, Function<T, String> message) {
+
+    String messageOf(Throwable t) {
+      return message.apply(type.cast(t));
+    }
+  }
+
+  private static final List<Rule<?>> RULES =
+      List.of(
+          new Rule<>(NotFoundException.class, HttpStatus.NOT_FOUND, Throwable::getMessage),
+          new Rule<>(
+              TimeoutException.class,
+              HttpStatus.REQUEST_TIMEOUT,
+              e -> "The request timed out. Please try again later."),
+          new Rule<>(
+              CircuitOpenException.class,
+              HttpStatus.SERVICE_UNAVAILABLE,
+              e -> "The service is temporarily unavailable. Please retry."),
+          new Rule<>(
+              ServiceOverloadedException.class, HttpStatus.SERVICE_UNAVAILABLE, e -> OVERLOADED),
+          new Rule<>(
+              RejectedExecutionException.class, HttpStatus.SERVICE_UNAVAILABLE, e -> OVERLOADED),
+          new Rule<>(
+              MethodArgumentNotValidException.class,
+              HttpStatus.BAD_REQUEST,
+              e -> "Validation error: " + firstFieldError(e)),
+          new Rule<>(
+              ConstraintViolationException.class,
+              HttpStatus.BAD_REQUEST,
+              e -> "Validation error: " + firstViolation(e)),
+          new Rule<>(
+              IllegalArgumentException.class,
+              HttpStatus.BAD_REQUEST,
+              e -> "Argument error: " + e.getMessage()));
+
+  private static final Response UNHANDLED =
+      new Response(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.");
+
+  private ErrorStatus() {
+    // Utility class — prevent instantiation
+  }
+
+  /** Classifies {@code t}, falling back to its unwrapped cause when {@code t} itself is unknown. */
+  public static HttpStatus of(Throwable t) {
+    Rule<?> rule = ruleFor(t);
+    if (rule == null) {
+      rule = ruleFor(ExceptionUtils.unwrap(t));
+    }
+    return rule == null ? UNHANDLED.status() : rule.status();
+  }
+
+  /** The status and message for {@code t}, classified as {@link #of} does. */
+  public static Response responseOf(Throwable t) {
+    Throwable matched = t;
+    Rule<?> rule = ruleFor(t);
+    if (rule == null) {
+      matched = ExceptionUtils.unwrap(t);
+      rule = ruleFor(matched);
+    }
+    return rule == null ? UNHANDLED : new Response(rule.status(), rule.messageOf(matched));
+  }
+
+  private static Rule<?> ruleFor(Throwable t) {
+    for (Rule<?> rule : RULES) {
+      if (rule.type().isInstance(t)) {
+        return rule;
+      }
+    }
+    return null;
+  }
+
+  private static String firstFieldError(MethodArgumentNotValidException e) {
+    return e.getBindingResult().getFieldErrors().stream()
+        .map(err -> err.getField() + ": " + err.getDefaultMessage())
+        .findFirst()
+        .orElse("Invalid request");
+  }
+
+  private static String firstViolation(ConstraintViolationException e) {
+    return e.getConstraintViolations().stream()
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .findFirst()
+        .orElse("Invalid request");
+  }
+}
@@ -1,22 +1,24 @@
 package com.loudent.library.api.error;
 
-import java.util.HashSet;
-import java.util.Set;
-
 public final class ExceptionUtils {
 
   private ExceptionUtils() {
     // Utility class — prevent instantiation
   }
 
-  /** Unwraps CompletionException or ExecutionException to get the underlying cause. */
+  /**
+   * Unwraps CompletionException or ExecutionException to get the underlying cause. Cycles are
+   * detected by rescanning the chain walked so far, which for the few links real chains have is
+   * cheaper than tracking them in a set and allocates nothing.
+   */
   public static Throwable unwrap(Throwable t) {
-    Set<Throwable> visited = new HashSet<>();
-    while (t.getCause() != null && !visited.contains(t.getCause())) {
-      visited.add(t);
-      t = t.getCause();
+    Throwable current = t;
+    Throwable cause = current.getCause();
+    while (cause != null && !visited(t, current, cause)) {
+      current = cause;
+      cause = current.getCause();
     }
-    return t;
+    return current;
   }
 
   /** Unwraps and casts to the given type, or returns null if it doesn't match. */
@@ -26,6 +28,18 @@ public final class ExceptionUtils {
     return type.isInstance(unwrapped) ? (T) unwrapped : null;
   }
 
+  /** Whether {@code candidate} appears in the chain from {@code head} to {@code tail}. */
+  private static boolean visited(Throwable head, Throwable tail, Throwable candidate) {
+    for (Throwable link = head; ; link = link.getCause()) {
+      if (link == candidate) {
+        return true;
+      }
+      if (link == tail) {
+        return false;
+      }
+    }
+  }
+
   /** Checks if the unwrapped exception is of a certain type. */
   public static boolean isCausedBy(Throwable t, Class<? extends Throwable> type) {
     return type.isInstance(unwrap(t));
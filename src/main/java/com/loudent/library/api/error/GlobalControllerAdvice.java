@@ -1,8 +1,10 @@
 package com.loudent.library.api.error;
 
 import com.loudent.library.oas.codegen.model.ErrorResponse;
+import com.loudent.library.resilience.CircuitOpenException;
+import com.loudent.library.util.SampledLogger;
 import jakarta.validation.ConstraintViolationException;
-import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.core.Ordered;
@@ -18,67 +20,78 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Order(Ordered.LOWEST_PRECEDENCE)
 public class GlobalControllerAdvice {
 
+  private static final SampledLogger failures = SampledLogger.of(log);
+
   @ExceptionHandler(TimeoutException.class)
   public ResponseEntity<ErrorResponse> handleTimeout(TimeoutException ex) {
-    log.warn("Request timed out", ex);
-    return buildError(HttpStatus.REQUEST_TIMEOUT, "The request timed out. Please try again later.");
+    failures.failure(ex, "Request timed out");
+    return respond(ex);
   }
 
   @ExceptionHandler(NotFoundException.class)
   public ResponseEntity<ErrorResponse> handleNotFound(NotFoundException ex) {
-    log.warn("Not found: {}", ex.getMessage());
-    return buildError(HttpStatus.NOT_FOUND, ex.getMessage());
+    failures.failure(ex, "Not found");
+    return respond(ex);
+  }
+
+  @ExceptionHandler(CircuitOpenException.class)
+  public ResponseEntity<ErrorResponse> handleCircuitOpen(CircuitOpenException ex) {
+    failures.failure(ex, "Failing fast");
+    return respond(ex);
+  }
+
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleOverloaded(ServiceOverloadedException ex) {
+    failures.failure(ex, "Shedding load");
+    return respond(ex);
+  }
+
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex) {
+    failures.failure(ex, "Executor rejected work");
+    return respond(ex);
   }
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
-    String message =
-        ex.getBindingResult().getFieldErrors().stream()
-            .map(err -> err.getField() + ": " + err.getDefaultMessage())
-            .findFirst()
-            .orElse("Invalid request");
-
-    log.warn("Validation failed: {}", message, ex);
-    return buildError(HttpStatus.BAD_REQUEST, "Validation error: " + message);
+    ErrorStatus.Response response = ErrorStatus.responseOf(ex);
+    failures.failure(ex, "Validation failed: {}", response.message());
+    return buildError(response.status(), response.message());
   }
 
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<ErrorResponse> handleIllegalArguments(IllegalArgumentException ex) {
-    String message = ex.getMessage();
-    log.warn("Validation failed: {}", message, ex);
-    return buildError(HttpStatus.BAD_REQUEST, "Argument error: " + message);
+    failures.failure(ex, "Validation failed: {}", ex.getMessage());
+    return respond(ex);
   }
 
   @ExceptionHandler(ConstraintViolationException.class)
   public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex) {
-    String message =
-        ex.getConstraintViolations().stream()
-            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-            .findFirst()
-            .orElse("Invalid request");
-
-    log.warn("Constraint violation: {}", message, ex);
-    return buildError(HttpStatus.BAD_REQUEST, "Validation error: " + message);
+    ErrorStatus.Response response = ErrorStatus.responseOf(ex);
+    failures.failure(ex, "Constraint violation: {}", response.message());
+    return buildError(response.status(), response.message());
   }
 
+  /** Wrapped exceptions are answered by their cause, through the same {@link ErrorStatus} table. */
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponse> handleUnhandled(Exception ex) {
     Throwable cause = ExceptionUtils.unwrap(ex);
+    ErrorStatus.Response response = ErrorStatus.responseOf(ex);
 
-    if (cause instanceof NotFoundException nf) {
-      return handleNotFound(nf); // Delegate
+    if (response.status() == HttpStatus.INTERNAL_SERVER_ERROR) {
+      failures.failure(
+          cause,
+          "Unhandled exception [errorCode=UNHANDLED_EXCEPTION, status={}]",
+          HttpStatus.INTERNAL_SERVER_ERROR.value());
+    } else {
+      failures.failure(cause, "Request failed [status={}]", response.status().value());
     }
+    return buildError(response.status(), response.message());
+  }
 
-    log.error(
-        "Unhandled exception",
-        Map.of(
-            "errorCode", "UNHANDLED_EXCEPTION",
-            "exception", cause.getClass().getSimpleName(),
-            "message", cause.getMessage(),
-            "status", HttpStatus.INTERNAL_SERVER_ERROR.value()),
-        ex);
-
-    return buildError(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred.");
+  private static ResponseEntity<ErrorResponse> respond(Throwable ex) {
+    ErrorStatus.Response response = ErrorStatus.responseOf(ex);
+    return buildError(response.status(), response.message());
   }
 
   public static ResponseEntity<ErrorResponse> buildError(HttpStatus status, String message) {
@@ -0,0 +1,16 @@
+package com.loudent.library.api.error;
+
+/**
+ * A request rejected by service-level validation. Like {@link NotFoundException} it is an expected
+ * outcome answered with a 400, so it carries no stack trace.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+  public InvalidRequestException(String message) {
+    super(message);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
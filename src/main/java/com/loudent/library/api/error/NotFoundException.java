@@ -3,9 +3,13 @@ package com.loudent.library.api.error;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * An expected miss on a catalog or account lookup. Misses are a routine outcome rather than a
+ * fault, so the exception skips stack trace capture and suppression tracking.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class NotFoundException extends RuntimeException {
   public NotFoundException(String message) {
-    super(message);
+    super(message, null, false, false);
   }
 }
@@ -0,0 +1,11 @@
+package com.loudent.library.api.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+  public ServiceOverloadedException(String endpoint) {
+    super("Request shed under load: " + endpoint, null, false, false);
+  }
+}
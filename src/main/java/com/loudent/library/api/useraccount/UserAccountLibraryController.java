@@ -1,5 +1,6 @@
 package com.loudent.library.api.useraccount;
 
+import com.loudent.library.api.ResponseFallbackStore;
 import com.loudent.library.api.error.ExceptionUtils;
 import com.loudent.library.api.error.NotFoundException;
 import com.loudent.library.aspect.TimedAsync;
@@ -7,6 +8,8 @@ import com.loudent.library.config.LibraryConfig;
 import com.loudent.library.oas.codegen.api.UserLibrary;
 import com.loudent.library.oas.codegen.model.UserResponse;
 import com.loudent.library.service.account.AccountService;
+import com.loudent.library.util.SampledLogger;
+import java.util.Optional;
 import java.util.concurrent.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -19,25 +22,36 @@ import org.springframework.web.bind.annotation.RestController;
 @Log4j2
 @Validated
 public class UserAccountLibraryController implements UserLibrary {
+  private static final SampledLogger failures = SampledLogger.of(log);
 
   private final LibraryConfig libraryConfig;
   private final AccountService accountService;
   private final ExecutorService controllerThreadPool;
+  private final ResponseFallbackStore fallbackStore;
 
   @Override
   @TimedAsync(
       metric = "getUserByAccountNumber",
       tags = {"component:api"})
   public CompletableFuture<ResponseEntity<UserResponse>> getUserByAccountNumber(
-      String accountNumber) {
+      String accountNumber, Optional<Integer> limit, Optional<String> cursor) {
+    String fallbackKey = fallbackKey(accountNumber, limit, cursor);
     return CompletableFuture.supplyAsync(
-            () -> accountService.getByAccountNumber(accountNumber), controllerThreadPool)
+            () ->
+                accountService.getByAccountNumber(
+                    accountNumber, limit.orElse(null), cursor.orElse(null)),
+            controllerThreadPool)
         .orTimeout(libraryConfig.getRequestTimeout(), TimeUnit.MILLISECONDS)
         .handleAsync(
             (userResponse, throwable) -> {
               if (throwable != null) {
                 Throwable cause = ExceptionUtils.unwrap(throwable);
-                log.error("Problem getting account #{}", accountNumber, cause);
+                Optional<ResponseEntity<UserResponse>> stale =
+                    fallbackStore.serveStale(fallbackStore.getUsers(), fallbackKey, cause);
+                if (stale.isPresent()) {
+                  return stale.get();
+                }
+                failures.failure(cause, "Problem getting account #{}", accountNumber);
                 throw new CompletionException(cause);
               }
 
@@ -46,8 +60,18 @@ public class UserAccountLibraryController implements UserLibrary {
                     new NotFoundException("User not found for account #: " + accountNumber));
               }
 
+              fallbackStore.getUsers().put(fallbackKey, userResponse);
               return ResponseEntity.ok(userResponse);
             },
             controllerThreadPool);
   }
+
+  /** Stale responses are per page, so a later page is never answered with the first one. */
+  private static String fallbackKey(
+      String accountNumber, Optional<Integer> limit, Optional<String> cursor) {
+    if (limit.isEmpty() && cursor.isEmpty()) {
+      return accountNumber;
+    }
+    return accountNumber + "?limit=" + limit.orElse(null) + "&cursor=" + cursor.orElse(null);
+  }
 }
@@ -1,27 +1,80 @@
 package com.loudent.library.aspect;
 
+import com.loudent.library.api.error.ErrorStatus;
+import com.loudent.library.api.error.ExceptionUtils;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
 
+/**
+ * Shared plumbing for the timing aspects. Metric names and annotation tags are resolved once per
+ * method, and the timer/counter pair for each (metric, status, exception) is registered once and
+ * cached, so the per-call cost is two map lookups and the recording itself. Client errors (4xx) are
+ * timed under a separate {@code .client.error.duration} timer so they do not skew the latency
+ * percentiles of the main {@code .duration} timer.
+ */
 public abstract class AbstractMethodTimer {
+  /** Inside the tracing aspect, which opens its span first. */
+  public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+
   protected static final String DURATION_SUFFIX = ".duration";
   protected static final String SUCCESS_SUFFIX = ".success";
   protected static final String FAILURE_SUFFIX = ".failure";
+  protected static final String CLIENT_ERROR_SUFFIX = ".client.error.duration";
+  protected static final String EXCEPTION_TAG = "exception";
+  protected static final String NO_EXCEPTION = "none";
+  protected static final String OTHER_EXCEPTION = "Other";
+  static final int MAX_EXCEPTION_TAGS = 32;
   protected static final String STATUS_TAG = "http_status";
   protected static final String STATUS_GROUP = "status_group";
   protected static final String SEPARATOR = ":";
 
+  /** The metric name and static tags of one annotated method. */
+  protected record TimedMethod(String metric, Tags tags) {}
+
+  /** Pre-registered meters for one (metric, status) combination. */
+  protected record Meters(Timer timer, Counter counter) {
+    void record(long durationNanos) {
+      timer.record(durationNanos, TimeUnit.NANOSECONDS);
+      counter.increment();
+    }
+  }
+
+  private record MeterKey(TimedMethod method, int status, String exception) {}
+
   protected final MeterRegistry meterRegistry;
+  private final TimerHistograms histograms;
+  private final int maxExceptionTags;
+  private final ConcurrentMap<Method, TimedMethod> timedMethods = new ConcurrentHashMap<>();
+  private final ConcurrentMap<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, String> exceptionTags = new ConcurrentHashMap<>();
 
   protected AbstractMethodTimer(MeterRegistry meterRegistry) {
+    this(meterRegistry, TimerHistograms.none());
+  }
+
+  protected AbstractMethodTimer(MeterRegistry meterRegistry, TimerHistograms histograms) {
+    this(meterRegistry, histograms, MAX_EXCEPTION_TAGS);
+  }
+
+  AbstractMethodTimer(
+      MeterRegistry meterRegistry, TimerHistograms histograms, int maxExceptionTags) {
     this.meterRegistry = meterRegistry;
+    this.histograms = histograms;
+    this.maxExceptionTags = maxExceptionTags;
   }
 
   protected Method getMethod(ProceedingJoinPoint invocation) {
@@ -29,6 +82,51 @@ public abstract class AbstractMethodTimer {
     return signature.getMethod();
   }
 
+  protected TimedMethod timedMethod(Method method, Function<Method, TimedMethod> resolver) {
+    TimedMethod timed = timedMethods.get(method);
+    return timed != null ? timed : timedMethods.computeIfAbsent(method, resolver);
+  }
+
+  /** Returns the cached meters for a call that completed normally with {@code status}. */
+  protected Meters meters(TimedMethod method, int status) {
+    return meters(method, status, NO_EXCEPTION);
+  }
+
+  /** Returns the cached meters for a call that failed with {@code error}. */
+  protected Meters meters(TimedMethod method, Throwable error) {
+    return meters(method, mapExceptionToStatus(error), exceptionTag(error));
+  }
+
+  private Meters meters(TimedMethod method, int status, String exception) {
+    MeterKey key = new MeterKey(method, status, exception);
+    Meters cached = meters.get(key);
+    return cached != null ? cached : meters.computeIfAbsent(key, this::register);
+  }
+
+  private Meters register(MeterKey key) {
+    String metric = key.method().metric();
+    Tags tags =
+        statusTags(key.method().tags(), key.status()).and(EXCEPTION_TAG, key.exception());
+    String timerSuffix = key.status() / 100 == 4 ? CLIENT_ERROR_SUFFIX : DURATION_SUFFIX;
+    Timer timer =
+        histograms
+            .apply(Timer.builder(metric + timerSuffix).tags(tags))
+            .register(meterRegistry);
+    String suffix = isSuccess(key.status()) ? SUCCESS_SUFFIX : FAILURE_SUFFIX;
+    return new Meters(timer, meterRegistry.counter(metric + suffix, tags));
+  }
+
+  /** Adds the status tags for {@code status} to the method's static tags. */
+  protected abstract Tags statusTags(Tags methodTags, int status);
+
+  protected static boolean isSuccess(int status) {
+    return status / 100 == 2;
+  }
+
+  protected static String statusGroup(int status) {
+    return (status / 100) + "xx";
+  }
+
   protected Tags getMetricTags(String[] tagsInAnnotation) {
     if (tagsInAnnotation == null || tagsInAnnotation.length == 0) {
       return Tags.empty();
@@ -47,7 +145,25 @@ public abstract class AbstractMethodTimer {
     return pair.length == 2 ? Optional.of(Tag.of(pair[0], pair[1])) : Optional.empty();
   }
 
+  /** Maps {@code ex} to the status {@code GlobalControllerAdvice} would answer with. */
   protected int mapExceptionToStatus(Throwable ex) {
-    return 500; // Future-proof if you want to refine later
+    return ErrorStatus.of(ex).value();
+  }
+
+  /**
+   * The unwrapped exception's simple class name. Only the first {@value #MAX_EXCEPTION_TAGS}
+   * distinct classes get their own tag value; later ones report as {@code Other}.
+   */
+  protected String exceptionTag(Throwable ex) {
+    Class<?> type = ExceptionUtils.unwrap(ex).getClass();
+    String known = exceptionTags.get(type);
+    if (known != null) {
+      return known;
+    }
+    if (exceptionTags.size() >= maxExceptionTags) {
+      return OTHER_EXCEPTION;
+    }
+    return exceptionTags.computeIfAbsent(
+        type, t -> t.getSimpleName().isEmpty() ? t.getName() : t.getSimpleName());
   }
 }
@@ -1,7 +1,7 @@
 package com.loudent.library.aspect;
 
+import com.loudent.library.util.SampledLogger;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import java.lang.reflect.Method;
 import java.util.concurrent.CompletableFuture;
@@ -9,86 +9,65 @@ import lombok.extern.log4j.Log4j2;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Aspect
+@Order(AbstractMethodTimer.ORDER)
 @Component
 @Log4j2
 public class AsyncMethodTimer extends AbstractMethodTimer {
 
+  private static final SampledLogger failures = SampledLogger.of(log);
+
   public AsyncMethodTimer(MeterRegistry meterRegistry) {
     super(meterRegistry);
   }
 
+  @Autowired
+  public AsyncMethodTimer(MeterRegistry meterRegistry, TimerHistograms histograms) {
+    super(meterRegistry, histograms);
+  }
+
   @Around("@annotation(timedAsync)")
   public Object timeAroundAsyncMethod(ProceedingJoinPoint joinPoint, TimedAsync timedAsync)
       throws Throwable {
-    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
-    String metricName = timedAsync.metric().isEmpty() ? method.getName() : timedAsync.metric();
-    Tags dynamicTags = getMetricTags(timedAsync.tags()).and(Tags.of("method_type", "async"));
-
-    var timer = startTimer();
+    TimedMethod timed = timedMethod(getMethod(joinPoint), method -> describe(method, timedAsync));
+    long startTime = System.nanoTime();
 
     try {
       CompletableFuture<?> future = (CompletableFuture<?>) joinPoint.proceed();
       future.whenComplete(
           (result, error) -> {
-            String status = "200";
-            String statusGroup = "2xx";
-
-            if (result instanceof ResponseEntity<?> response) {
-              int code = response.getStatusCode().value();
-              status = String.valueOf(code);
-              statusGroup = code / 100 + "xx";
-            }
-
+            long duration = System.nanoTime() - startTime;
             if (error != null) {
-              log.warn("Async error in {}: {}", metricName, error.toString());
-              status = "500";
-              statusGroup = "5xx";
+              failures.warn(error, "Async error in {}", timed.metric());
+              meters(timed, error).record(duration);
+              return;
             }
-
-            recordTimer(
-                metricName, timer, dynamicTags.and("status", status, "status_group", statusGroup));
+            int status = 200;
+            if (result instanceof ResponseEntity<?> response) {
+              status = response.getStatusCode().value();
+            }
+            meters(timed, status).record(duration);
           });
       return future;
     } catch (Throwable t) {
-      recordTimer(metricName, timer, dynamicTags.and("status", "500", "status_group", "5xx"));
+      meters(timed, t).record(System.nanoTime() - startTime);
       throw t;
     }
   }
 
-  private TimerContext startTimer() {
-    return new TimerContext(System.nanoTime());
+  @Override
+  protected Tags statusTags(Tags methodTags, int status) {
+    return methodTags.and("status", String.valueOf(status), STATUS_GROUP, statusGroup(status));
   }
 
-  private void recordTimer(String name, TimerContext context, Tags tags) {
-    long duration = System.nanoTime() - context.startTime;
-    meterRegistry
-        .timer(name + ".duration", tags)
-        .record(duration, java.util.concurrent.TimeUnit.NANOSECONDS);
-
-    String status =
-        tags.stream()
-            .filter(tag -> "status".equals(tag.getKey()))
-            .map(Tag::getValue)
-            .findFirst()
-            .orElse("500");
-
-    if ("200".equals(status)) {
-      meterRegistry.counter(name + ".success", tags).increment();
-    } else {
-      meterRegistry.counter(name + ".failure", tags).increment();
-    }
-  }
-
-  private static class TimerContext {
-    private final long startTime;
-
-    TimerContext(long startTime) {
-      this.startTime = startTime;
-    }
+  private TimedMethod describe(Method method, TimedAsync timedAsync) {
+    String metric = timedAsync.metric().isEmpty() ? method.getName() : timedAsync.metric();
+    return new TimedMethod(
+        metric, getMetricTags(timedAsync.tags()).and(Tags.of("method_type", "async")));
   }
 }
@@ -4,44 +4,48 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Aspect
+@Order(AbstractMethodTimer.ORDER)
 @Component
 public class SyncMethodTimer extends AbstractMethodTimer {
+  private static final int OK = 200;
 
   public SyncMethodTimer(MeterRegistry meterRegistry) {
     super(meterRegistry);
   }
 
+  @Autowired
+  public SyncMethodTimer(MeterRegistry meterRegistry, TimerHistograms histograms) {
+    super(meterRegistry, histograms);
+  }
+
   @Around("@annotation(timed)")
   public Object timeSyncMethod(ProceedingJoinPoint pjp, TimedSync timed) throws Throwable {
-    String metric = timed.metric();
-    Tags tags = getMetricTags(timed.tags()).and(Tags.of("method_type", "sync"));
-
-    long startTime = System.currentTimeMillis();
+    TimedMethod method =
+        timedMethod(
+            getMethod(pjp),
+            m ->
+                new TimedMethod(
+                    timed.metric(),
+                    getMetricTags(timed.tags()).and(Tags.of("method_type", "sync"))));
+
+    long startTime = System.nanoTime();
     try {
       Object result = pjp.proceed();
-
-      meterRegistry.counter(metric + SUCCESS_SUFFIX, tags).increment();
-      meterRegistry
-          .timer(metric + DURATION_SUFFIX, tags)
-          .record(
-              System.currentTimeMillis() - startTime, java.util.concurrent.TimeUnit.MILLISECONDS);
-
+      meters(method, OK).record(System.nanoTime() - startTime);
       return result;
     } catch (Throwable ex) {
-      int status = mapExceptionToStatus(ex);
-      Tags failureTags =
-          tags.and(STATUS_TAG, String.valueOf(status), STATUS_GROUP, (status / 100) + "xx");
-
-      meterRegistry.counter(metric + FAILURE_SUFFIX, failureTags).increment();
-      meterRegistry
-          .timer(metric + DURATION_SUFFIX, failureTags)
-          .record(
-              System.currentTimeMillis() - startTime, java.util.concurrent.TimeUnit.MILLISECONDS);
-
+      meters(method, ex).record(System.nanoTime() - startTime);
       throw ex;
     }
   }
+
+  @Override
+  protected Tags statusTags(Tags methodTags, int status) {
+    return methodTags.and(STATUS_TAG, String.valueOf(status), STATUS_GROUP, statusGroup(status));
+  }
 }
@@ -0,0 +1,40 @@
+package com.loudent.library.aspect;
+
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Histogram options applied to every timer registered by the timing aspects. */
+@Component
+public class TimerHistograms {
+  private final boolean percentileHistogram;
+  private final double[] percentiles;
+  private final Duration[] serviceLevelObjectives;
+
+  public TimerHistograms(
+      @Value("${service.metrics.timers.percentile-histogram:false}") boolean percentileHistogram,
+      @Value("${service.metrics.timers.percentiles:}") double[] percentiles,
+      @Value("${service.metrics.timers.slo-ms:}") long[] sloMs) {
+    this.percentileHistogram = percentileHistogram;
+    this.percentiles = percentiles.clone();
+    this.serviceLevelObjectives =
+        Arrays.stream(sloMs).sorted().mapToObj(Duration::ofMillis).toArray(Duration[]::new);
+  }
+
+  public static TimerHistograms none() {
+    return new TimerHistograms(false, new double[0], new long[0]);
+  }
+
+  Timer.Builder apply(Timer.Builder builder) {
+    builder.publishPercentileHistogram(percentileHistogram);
+    if (percentiles.length > 0) {
+      builder.publishPercentiles(percentiles);
+    }
+    if (serviceLevelObjectives.length > 0) {
+      builder.serviceLevelObjectives(serviceLevelObjectives);
+    }
+    return builder;
+  }
+}
@@ -2,11 +2,20 @@ package com.loudent.library.config;
 
 import static software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR;
 
+import com.loudent.library.context.ContextPropagatingExecutorService;
+import com.loudent.library.inmemory.InMemoryDynamoDb;
+import com.loudent.library.metrics.ConnectionPoolMetricPublisher;
+import com.loudent.library.metrics.DynamoDbCallsPerRequest;
+import com.loudent.library.metrics.DynamoDbMetricsInterceptor;
+import com.loudent.library.tracing.TracingExecutionInterceptor;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import java.net.URI;
+import java.time.Duration;
 import java.util.concurrent.*;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,32 +50,103 @@ public class DynamoDbConfig {
   @Value("${aws.dynamodb.secret-key:dummy}")
   private String secretKey;
 
+  @Value("${aws.dynamodb.executor.queue-capacity:1000}")
+  private int executorQueueCapacity;
+
+  @Value("${aws.dynamodb.executor.rejection-policy:abort}")
+  private String executorRejectionPolicy;
+
+  @Value("${aws.dynamodb.http.async-client:netty}")
+  private String asyncHttpClient;
+
+  @Value("${aws.dynamodb.http.sync-client:apache}")
+  private String syncHttpClient;
+
+  @Value("${aws.dynamodb.http.max-connections:200}")
+  private int maxConnections;
+
+  @Value("${aws.dynamodb.http.max-pending-acquires:10000}")
+  private int maxPendingAcquires;
+
+  @Value("${aws.dynamodb.http.connection-acquisition-timeout-ms:2000}")
+  private long connectionAcquisitionTimeoutMs;
+
+  @Value("${aws.dynamodb.http.connection-timeout-ms:2000}")
+  private long connectionTimeoutMs;
+
+  @Value("${aws.dynamodb.http.connection-ttl-ms:60000}")
+  private long connectionTtlMs;
+
+  @Value("${aws.dynamodb.http.connection-max-idle-ms:30000}")
+  private long connectionMaxIdleMs;
+
+  @Value("${aws.dynamodb.http.tcp-keep-alive:true}")
+  private boolean tcpKeepAlive;
+
+  @Value("${aws.dynamodb.http.use-idle-connection-reaper:true}")
+  private boolean useIdleConnectionReaper;
+
+  @Value("${aws.dynamodb.metrics.return-consumed-capacity:false}")
+  private boolean returnConsumedCapacity;
+
+  @Value("${aws.dynamodb.metrics.max-tables:32}")
+  private int metricsMaxTables;
+
   private final MeterRegistry meterRegistry;
+  private final InMemoryDynamoDb inMemoryDynamoDb;
+  private ThreadPoolExecutor dynamoAsyncThreadPool;
 
   public DynamoDbConfig(MeterRegistry meterRegistry) {
+    this(meterRegistry, (InMemoryDynamoDb) null);
+  }
+
+  /** The in-memory stand-in is only available under the {@code in-memory} profile. */
+  @Autowired
+  public DynamoDbConfig(MeterRegistry meterRegistry, ObjectProvider<InMemoryDynamoDb> inMemory) {
+    this(meterRegistry, inMemory.getIfAvailable());
+  }
+
+  DynamoDbConfig(MeterRegistry meterRegistry, InMemoryDynamoDb inMemoryDynamoDb) {
     this.meterRegistry = meterRegistry;
+    this.inMemoryDynamoDb = inMemoryDynamoDb;
   }
 
   @Bean
   public DynamoDbEnhancedClient enhancedSyncClient() {
-    boolean isLocal = !dynamoDbEndpoint.isBlank();
+    boolean isLocal = isLocal();
+    DynamoDbHttpClients.Settings http = httpSettings();
+    var clientBuilder =
+        DynamoDbClient.builder()
+            .region(Region.of(awsRegion))
+            .httpClient(
+                inMemoryDynamoDb != null
+                    ? inMemoryDynamoDb.syncHttpClient()
+                    : DynamoDbHttpClients.syncClient(http))
+            .overrideConfiguration(
+                ClientOverrideConfiguration.builder()
+                    .addExecutionInterceptor(metricsInterceptor())
+                    .addExecutionInterceptor(dynamoDbCallsPerRequest())
+                    .addExecutionInterceptor(new TracingExecutionInterceptor())
+                    .addMetricPublisher(
+                        new ConnectionPoolMetricPublisher(
+                            meterRegistry, httpClientName(http.syncClient())))
+                    .build());
+    if (!dynamoDbEndpoint.isBlank()) {
+      clientBuilder.endpointOverride(URI.create(dynamoDbEndpoint));
+    }
     DynamoDbClient client =
         isLocal
-            ? DynamoDbClient.builder()
-                .endpointOverride(URI.create(dynamoDbEndpoint))
-                .region(Region.of(awsRegion))
+            ? clientBuilder
                 .credentialsProvider(
                     StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKey, secretKey)))
                 .build()
-            : DynamoDbClient.builder()
-                .region(Region.of(awsRegion))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+            : clientBuilder.credentialsProvider(DefaultCredentialsProvider.create()).build();
 
     if (isLocal) {
-      log.info("Using local DynamoDB sync endpoint: {}", dynamoDbEndpoint);
+      log.info("Using local DynamoDB sync endpoint: {}", localEndpoint());
     }
+    log.info("DynamoDB sync HTTP client: {}", httpClientName(http.syncClient()));
 
     return DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
   }
@@ -83,39 +163,122 @@ public class DynamoDbConfig {
             max,
             10,
             TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(1000),
-            new ThreadFactoryBuilder().threadNamePrefix("dynamodb-async-").build());
+            new LinkedBlockingQueue<>(executorQueueCapacity),
+            new ThreadFactoryBuilder().threadNamePrefix("dynamodb-async-").build(),
+            rejectionHandler(executorRejectionPolicy));
     executor.allowCoreThreadTimeOut(true);
-    return ExecutorServiceMetrics.monitor(meterRegistry, executor, "dynamodbAsyncExecutor");
+    dynamoAsyncThreadPool = executor;
+    return new ContextPropagatingExecutorService(
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "dynamodbAsyncExecutor"));
+  }
+
+  /**
+   * Maps the configured policy onto a JDK handler and counts every rejection. Note that this pool
+   * completes SDK futures: {@code caller-runs} executes the completion on the SDK I/O thread and
+   * {@code drop-oldest} discards a queued completion, leaving that request to the controller
+   * timeout.
+   */
+  RejectedExecutionHandler rejectionHandler(String policy) {
+    RejectedExecutionHandler delegate =
+        switch (policy) {
+          case "caller-runs" -> new ThreadPoolExecutor.CallerRunsPolicy();
+          case "drop-oldest" -> new ThreadPoolExecutor.DiscardOldestPolicy();
+          case "abort" -> new ThreadPoolExecutor.AbortPolicy();
+          default -> throw new IllegalArgumentException("Unknown rejection policy: " + policy);
+        };
+    var rejected = meterRegistry.counter("dynamodbAsyncExecutor.rejected", "policy", policy);
+    return (task, executor) -> {
+      rejected.increment();
+      delegate.rejectedExecution(task, executor);
+    };
+  }
+
+  /** The unwrapped pool behind {@link #dynamoAsyncExecutor()}, for saturation checks. */
+  public ThreadPoolExecutor getDynamoAsyncThreadPool() {
+    return dynamoAsyncThreadPool;
   }
 
   @Bean
   public DynamoDbEnhancedAsyncClient enhancedAsyncClient(ExecutorService dynamoAsyncExecutor) {
-    boolean isLocal = !dynamoDbEndpoint.isBlank();
+    boolean isLocal = isLocal();
+    DynamoDbHttpClients.Settings http = httpSettings();
 
     var asyncClientBuilder =
         DynamoDbAsyncClient.builder()
             .region(Region.of(awsRegion))
+            .httpClient(
+                inMemoryDynamoDb != null
+                    ? inMemoryDynamoDb.asyncHttpClient()
+                    : DynamoDbHttpClients.asyncClient(http))
             .credentialsProvider(
                 isLocal
                     ? StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKey, secretKey))
                     : DefaultCredentialsProvider.create())
             .overrideConfiguration(
-                ClientOverrideConfiguration.builder().retryPolicy(RetryMode.STANDARD).build())
+                ClientOverrideConfiguration.builder()
+                    .retryPolicy(RetryMode.STANDARD)
+                    .addExecutionInterceptor(metricsInterceptor())
+                    .addExecutionInterceptor(dynamoDbCallsPerRequest())
+                    .addExecutionInterceptor(new TracingExecutionInterceptor())
+                    .addMetricPublisher(
+                        new ConnectionPoolMetricPublisher(
+                            meterRegistry, httpClientName(http.asyncClient())))
+                    .build())
             .asyncConfiguration(
                 ClientAsyncConfiguration.builder()
                     .advancedOption(FUTURE_COMPLETION_EXECUTOR, dynamoAsyncExecutor)
                     .build());
 
     if (isLocal) {
-      log.warn("Using local DynamoDB async endpoint: {}", dynamoDbEndpoint);
+      log.warn("Using local DynamoDB async endpoint: {}", localEndpoint());
+    }
+    if (!dynamoDbEndpoint.isBlank()) {
       asyncClientBuilder.endpointOverride(URI.create(dynamoDbEndpoint));
     }
+    log.info("DynamoDB async HTTP client: {}", httpClientName(http.asyncClient()));
 
     return DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(asyncClientBuilder.build()).build();
   }
 
+  /** Whether requests stay off AWS: a configured endpoint or the in-memory stand-in. */
+  private boolean isLocal() {
+    return inMemoryDynamoDb != null || !dynamoDbEndpoint.isBlank();
+  }
+
+  /** The HTTP client requests actually go through, for pool metric tags and logs. */
+  String httpClientName(String configured) {
+    return inMemoryDynamoDb != null ? "in-memory" : configured;
+  }
+
+  private String localEndpoint() {
+    return inMemoryDynamoDb != null ? "in-memory" : dynamoDbEndpoint;
+  }
+
+  /** Shared by both clients and the web layer, which records the per-request totals. */
+  @Bean
+  public DynamoDbCallsPerRequest dynamoDbCallsPerRequest() {
+    return new DynamoDbCallsPerRequest(meterRegistry);
+  }
+
+  DynamoDbMetricsInterceptor metricsInterceptor() {
+    return new DynamoDbMetricsInterceptor(meterRegistry, returnConsumedCapacity, metricsMaxTables);
+  }
+
+  DynamoDbHttpClients.Settings httpSettings() {
+    return new DynamoDbHttpClients.Settings(
+        asyncHttpClient,
+        syncHttpClient,
+        maxConnections,
+        maxPendingAcquires,
+        Duration.ofMillis(connectionAcquisitionTimeoutMs),
+        Duration.ofMillis(connectionTimeoutMs),
+        Duration.ofMillis(connectionTtlMs),
+        Duration.ofMillis(connectionMaxIdleMs),
+        tcpKeepAlive,
+        useIdleConnectionReaper);
+  }
+
   public String getPrefixedTableName(String baseName) {
     return tablePrefix + baseName;
   }
@@ -0,0 +1,106 @@
+package com.loudent.library.config;
+
+import java.time.Duration;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+/**
+ * Builds the SDK HTTP clients used by {@link DynamoDbConfig}. Kept free of Spring so the JMH
+ * benchmarks can construct exactly the same clients.
+ */
+public final class DynamoDbHttpClients {
+  public static final String NETTY = "netty";
+  public static final String CRT = "crt";
+  public static final String APACHE = "apache";
+  public static final String URL_CONNECTION = "url-connection";
+
+  public record Settings(
+      String asyncClient,
+      String syncClient,
+      int maxConnections,
+      int maxPendingAcquires,
+      Duration acquisitionTimeout,
+      Duration connectionTimeout,
+      Duration connectionTimeToLive,
+      Duration connectionMaxIdleTime,
+      boolean tcpKeepAlive,
+      boolean reapIdleConnections) {
+
+    public static Settings defaults() {
+      return new Settings(
+          NETTY,
+          APACHE,
+          200,
+          10_000,
+          Duration.ofSeconds(2),
+          Duration.ofSeconds(2),
+          Duration.ofMinutes(1),
+          Duration.ofSeconds(30),
+          true,
+          true);
+    }
+
+    public Settings withClients(String async, String sync) {
+      return new Settings(
+          async,
+          sync,
+          maxConnections,
+          maxPendingAcquires,
+          acquisitionTimeout,
+          connectionTimeout,
+          connectionTimeToLive,
+          connectionMaxIdleTime,
+          tcpKeepAlive,
+          reapIdleConnections);
+    }
+  }
+
+  private DynamoDbHttpClients() {
+    // utility class
+  }
+
+  public static SdkAsyncHttpClient asyncClient(Settings settings) {
+    return switch (settings.asyncClient()) {
+      case NETTY -> NettyNioAsyncHttpClient.builder()
+          .maxConcurrency(settings.maxConnections())
+          .maxPendingConnectionAcquires(settings.maxPendingAcquires())
+          .connectionAcquisitionTimeout(settings.acquisitionTimeout())
+          .connectionTimeout(settings.connectionTimeout())
+          .connectionTimeToLive(settings.connectionTimeToLive())
+          .connectionMaxIdleTime(settings.connectionMaxIdleTime())
+          .useIdleConnectionReaper(settings.reapIdleConnections())
+          .tcpKeepAlive(settings.tcpKeepAlive())
+          .build();
+      case CRT -> AwsCrtAsyncHttpClient.builder()
+          .maxConcurrency(settings.maxConnections())
+          .connectionTimeout(settings.connectionTimeout())
+          .connectionMaxIdleTime(settings.connectionMaxIdleTime())
+          .build();
+      default -> throw new IllegalArgumentException(
+          "Unknown async HTTP client: " + settings.asyncClient());
+    };
+  }
+
+  public static SdkHttpClient syncClient(Settings settings) {
+    return switch (settings.syncClient()) {
+      case APACHE -> ApacheHttpClient.builder()
+          .maxConnections(settings.maxConnections())
+          .connectionAcquisitionTimeout(settings.acquisitionTimeout())
+          .connectionTimeout(settings.connectionTimeout())
+          .connectionTimeToLive(settings.connectionTimeToLive())
+          .connectionMaxIdleTime(settings.connectionMaxIdleTime())
+          .useIdleConnectionReaper(settings.reapIdleConnections())
+          .tcpKeepAlive(settings.tcpKeepAlive())
+          .build();
+      case URL_CONNECTION -> UrlConnectionHttpClient.builder()
+          .connectionTimeout(settings.connectionTimeout())
+          .build();
+      default -> throw new IllegalArgumentException(
+          "Unknown sync HTTP client: " + settings.syncClient());
+    };
+  }
+}
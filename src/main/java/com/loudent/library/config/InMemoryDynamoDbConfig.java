@@ -0,0 +1,105 @@
+package com.loudent.library.config;
+
+import com.loudent.library.dao.account.Account;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.idempotency.IdempotencyRecord;
+import com.loudent.library.inmemory.FaultInjector;
+import com.loudent.library.inmemory.InMemoryDynamoDb;
+import com.loudent.library.inmemory.InMemoryDynamoDb.KeySchema;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+
+/**
+ * Replaces DynamoDB with an {@link InMemoryDynamoDb} under the {@code in-memory} profile, for load
+ * tests that should exercise the service rather than a database. Tables are created from the
+ * entity schemas and optionally seeded from the same files {@code scripts/dynamodb-init.sh} uses.
+ */
+@Log4j2
+@Configuration
+@Profile("in-memory")
+public class InMemoryDynamoDbConfig {
+
+  @Value("${aws.dynamodb.table-prefix:dev}")
+  private String tablePrefix;
+
+  @Value("${aws.dynamodb.in-memory.latency.distribution:none}")
+  private String latencyDistribution;
+
+  @Value("${aws.dynamodb.in-memory.latency.median-ms:0}")
+  private double medianLatencyMs;
+
+  @Value("${aws.dynamodb.in-memory.latency.p99-ms:0}")
+  private double p99LatencyMs;
+
+  @Value("${aws.dynamodb.in-memory.throttle-probability:0}")
+  private double throttleProbability;
+
+  @Value("${aws.dynamodb.in-memory.unprocessed-probability:0}")
+  private double unprocessedProbability;
+
+  @Value("${aws.dynamodb.in-memory.seed-files:}")
+  private List<String> seedFiles;
+
+  @Bean
+  public InMemoryDynamoDb inMemoryDynamoDb() throws IOException {
+    FaultInjector.Settings faults =
+        new FaultInjector.Settings(
+            latencyDistribution,
+            medianLatencyMs,
+            p99LatencyMs,
+            throttleProbability,
+            unprocessedProbability);
+    InMemoryDynamoDb db = new InMemoryDynamoDb(new FaultInjector(faults));
+    createTable(db, "Catalog", Catalog.TABLE_SCHEMA);
+    createTable(db, "Accounts", Account.TABLE_SCHEMA);
+    createTable(db, Activity.BASE_TABLE_NAME, Activity.TABLE_SCHEMA);
+    createTable(db, IdempotencyRecord.BASE_TABLE_NAME, IdempotencyRecord.TABLE_SCHEMA);
+
+    for (String file : seedFiles) {
+      if (file.isBlank()) {
+        continue;
+      }
+      Path path = Path.of(file.trim());
+      if (!Files.isRegularFile(path)) {
+        log.warn("In-memory DynamoDB seed file not found: {}", path.toAbsolutePath());
+        continue;
+      }
+      log.info("Loaded {} items into in-memory DynamoDB from {}", db.load(path), path);
+    }
+    log.warn("Using in-memory DynamoDB with {}", faults);
+    return db;
+  }
+
+  private void createTable(InMemoryDynamoDb db, String baseName, TableSchema<?> schema) {
+    TableMetadata metadata = schema.tableMetadata();
+    Map<String, KeySchema> indexes = new HashMap<>();
+    metadata
+        .indices()
+        .forEach(
+            index -> {
+              if (!TableMetadata.primaryIndexName().equals(index.name())) {
+                indexes.put(
+                    index.name(),
+                    new KeySchema(
+                        index.partitionKey().orElseThrow().name(),
+                        index.sortKey().map(key -> key.name()).orElse(null)));
+              }
+            });
+    db.createTable(
+        tablePrefix + baseName,
+        new KeySchema(metadata.primaryPartitionKey(), metadata.primarySortKey().orElse(null)),
+        indexes);
+  }
+}
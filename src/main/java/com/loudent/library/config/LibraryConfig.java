@@ -1,5 +1,6 @@
 package com.loudent.library.config;
 
+import com.loudent.library.context.ContextPropagatingExecutorService;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
@@ -21,6 +22,7 @@ public class LibraryConfig {
 
   private ExecutorService controllerExecutor;
   private ExecutorService serviceExecutor;
+  private ExecutorService queryExecutor;
 
   @Value("${info.component:library}")
   private String componentName;
@@ -31,6 +33,9 @@ public class LibraryConfig {
   @Value("${service.concurrency.threads:125}")
   private int numberOfThreads;
 
+  @Value("${service.concurrency.query-threads:64}")
+  private int numberOfQueryThreads;
+
   @Value("${service.requestTimeoutMs:8000}")
   private long requestTimeout;
 
@@ -43,19 +48,38 @@ public class LibraryConfig {
   @Bean(name = "controllerThreadPool")
   public ExecutorService getControllerExecutorService(MeterRegistry meterRegistry) {
     controllerExecutor =
-        ExecutorServiceMetrics.monitor(
-            meterRegistry, Executors.newFixedThreadPool(numberOfThreads), "controllerThreadPool");
+        new ContextPropagatingExecutorService(
+            ExecutorServiceMetrics.monitor(
+                meterRegistry,
+                Executors.newFixedThreadPool(numberOfThreads),
+                "controllerThreadPool"));
     return controllerExecutor;
   }
 
   @Bean(name = "serviceThreadPool")
   public ExecutorService getServiceExecutorService(MeterRegistry meterRegistry) {
     serviceExecutor =
-        ExecutorServiceMetrics.monitor(
-            meterRegistry, Executors.newWorkStealingPool(), "serviceThreadPool");
+        new ContextPropagatingExecutorService(
+            ExecutorServiceMetrics.monitor(
+                meterRegistry, Executors.newWorkStealingPool(), "serviceThreadPool"));
     return serviceExecutor;
   }
 
+  /**
+   * Runs the DynamoDB queries a single read fans out to. Its tasks only issue one query each and
+   * never wait on other tasks, so callers already on the service pool cannot starve it.
+   */
+  @Bean(name = "queryThreadPool")
+  public ExecutorService getQueryExecutorService(MeterRegistry meterRegistry) {
+    queryExecutor =
+        new ContextPropagatingExecutorService(
+            ExecutorServiceMetrics.monitor(
+                meterRegistry,
+                Executors.newFixedThreadPool(numberOfQueryThreads),
+                "queryThreadPool"));
+    return queryExecutor;
+  }
+
   @PreDestroy
   public void shutdownExecutors() {
     if (controllerExecutor != null) {
@@ -64,5 +88,8 @@ public class LibraryConfig {
     if (serviceExecutor != null) {
       serviceExecutor.shutdown();
     }
+    if (queryExecutor != null) {
+      queryExecutor.shutdown();
+    }
   }
 }
@@ -0,0 +1,22 @@
+package com.loudent.library.config;
+
+import com.loudent.library.api.LoadSheddingInterceptor;
+import com.loudent.library.metrics.DynamoDbCallsPerRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final LoadSheddingInterceptor loadSheddingInterceptor;
+  private final DynamoDbCallsPerRequest dynamoDbCallsPerRequest;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(loadSheddingInterceptor);
+    registry.addInterceptor(dynamoDbCallsPerRequest);
+  }
+}
@@ -0,0 +1,62 @@
+package com.loudent.library.context;
+
+import com.loudent.library.tracing.Span;
+import com.loudent.library.tracing.SpanContext;
+import java.util.concurrent.Callable;
+
+/**
+ * The request context and active span of one thread, captured so a task can run with them on
+ * another thread. Capturing is two thread-local reads; nothing is copied. Tasks submitted outside a
+ * request are returned unwrapped.
+ */
+public record ContextSnapshot(RequestContext request, Span span) {
+
+  /** Restores the thread's previous request context and span when closed. */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  public static ContextSnapshot capture() {
+    RequestContext request = RequestContext.current();
+    Span span = SpanContext.current();
+    return request == null && span == null ? null : new ContextSnapshot(request, span);
+  }
+
+  public static Runnable wrap(Runnable task) {
+    ContextSnapshot snapshot = capture();
+    if (snapshot == null) {
+      return task;
+    }
+    return () -> {
+      try (Scope ignored = snapshot.attach()) {
+        task.run();
+      }
+    };
+  }
+
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    ContextSnapshot snapshot = capture();
+    if (snapshot == null) {
+      return task;
+    }
+    return () -> {
+      try (Scope ignored = snapshot.attach()) {
+        return task.call();
+      }
+    };
+  }
+
+  /**
+   * Makes this request context and span current on the calling thread, for work that cannot be
+   * handed over as a task, such as a response body written on another thread.
+   */
+  public Scope attach() {
+    RequestContext.Scope request = RequestContext.attach(this.request);
+    SpanContext.Scope span = SpanContext.activate(this.span);
+    return () -> {
+      span.close();
+      request.close();
+    };
+  }
+}
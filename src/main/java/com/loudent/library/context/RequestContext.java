@@ -0,0 +1,103 @@
+package com.loudent.library.context;
+
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request logging context. It lives in a single thread-local so that handing it to another
+ * thread is one reference copy; {@link RequestContextDataProvider} exposes it to Log4j. Apart from
+ * {@link #dynamoDbCalls}, which counts the DynamoDB calls made on the request's behalf on whichever
+ * thread they happen, it is immutable. Two contexts are equal when their request ID, method and
+ * path are; the counter is state, not identity, so it takes no part in equality.
+ */
+public final class RequestContext {
+  public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+  private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+  private static final HexFormat HEX = HexFormat.of();
+  private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+  private final String requestId;
+  private final String method;
+  private final String path;
+  private final AtomicInteger dynamoDbCalls = new AtomicInteger();
+
+  public RequestContext(String requestId, String method, String path) {
+    this.requestId = requestId;
+    this.method = method;
+    this.path = path;
+  }
+
+  public String requestId() {
+    return requestId;
+  }
+
+  public String method() {
+    return method;
+  }
+
+  public String path() {
+    return path;
+  }
+
+  public AtomicInteger dynamoDbCalls() {
+    return dynamoDbCalls;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof RequestContext other
+        && Objects.equals(requestId, other.requestId)
+        && Objects.equals(method, other.method)
+        && Objects.equals(path, other.path);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(requestId, method, path);
+  }
+
+  @Override
+  public String toString() {
+    return "RequestContext[requestId=" + requestId + ", method=" + method + ", path=" + path + "]";
+  }
+
+  /** Restores the previous context when closed. */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /** The context of the request this thread is working on, or null. */
+  public static RequestContext current() {
+    return CURRENT.get();
+  }
+
+  public static Scope attach(RequestContext context) {
+    RequestContext previous = CURRENT.get();
+    CURRENT.set(context);
+    if (previous != null) {
+      return () -> CURRENT.set(previous);
+    }
+    return () -> {
+      CURRENT.remove();
+      RequestContextDataProvider.forget();
+    };
+  }
+
+  /**
+   * Returns {@code candidate} when it is a safe caller-supplied ID, otherwise a new random ID. IDs
+   * come from {@link ThreadLocalRandom} rather than {@code UUID.randomUUID()}, which would contend
+   * on a shared {@code SecureRandom}; they only need to be unique, not unguessable.
+   */
+  public static String requestId(String candidate) {
+    if (candidate != null && VALID_REQUEST_ID.matcher(candidate).matches()) {
+      return candidate;
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong());
+  }
+}
@@ -0,0 +1,66 @@
+package com.loudent.library.context;
+
+import com.loudent.library.tracing.Span;
+import com.loudent.library.tracing.SpanContext;
+import com.loudent.library.tracing.Trace;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.core.util.ContextDataProvider;
+
+/**
+ * Adds the current {@link RequestContext} and trace ID to every log event, on whichever thread the
+ * event is logged. Registered with Log4j through {@code META-INF/services}.
+ *
+ * <p>Every log event asks for the data, so each thread keeps the last map it built and hands it
+ * out again while its request and trace are unchanged. The maps are immutable, which Log4j accepts
+ * without copying. The map is dropped when the thread leaves its outermost request, so a pooled
+ * thread does not keep a finished request and trace alive.
+ */
+public class RequestContextDataProvider implements ContextDataProvider {
+  static final String REQUEST_ID = "requestId";
+  static final String METHOD = "method";
+  static final String PATH = "path";
+  static final String TRACE_ID = "traceId";
+
+  /** The data last supplied on a thread and the request and trace it was built from. */
+  private record Supplied(RequestContext request, Trace trace, Map<String, String> data) {}
+
+  private static final ThreadLocal<Supplied> LAST = new ThreadLocal<>();
+
+  @Override
+  public Map<String, String> supplyContextData() {
+    RequestContext request = RequestContext.current();
+    Span span = SpanContext.current();
+    if (request == null && span == null) {
+      return Map.of();
+    }
+
+    Trace trace = span == null ? null : span.getTrace();
+    Supplied last = LAST.get();
+    if (last != null && last.request() == request && last.trace() == trace) {
+      return last.data();
+    }
+    Map<String, String> data = build(request, trace);
+    LAST.set(new Supplied(request, trace, data));
+    return data;
+  }
+
+  /** Drops the data kept for this thread; called when it leaves its outermost request. */
+  static void forget() {
+    LAST.remove();
+  }
+
+  private static Map<String, String> build(RequestContext request, Trace trace) {
+    Map<String, String> data = new HashMap<>(8);
+    if (request != null) {
+      data.put(REQUEST_ID, request.requestId());
+      data.put(METHOD, request.method());
+      data.put(PATH, request.path());
+    }
+    if (trace != null) {
+      data.put(TRACE_ID, trace.getTraceId());
+    }
+    return Collections.unmodifiableMap(data);
+  }
+}
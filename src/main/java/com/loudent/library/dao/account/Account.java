@@ -1,7 +1,11 @@
 package com.loudent.library.dao.account;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
 import java.time.LocalDate;
 import lombok.Data;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 
@@ -9,6 +13,36 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbParti
 @Data
 public class Account {
   public static final String BASE_TABLE_NAME = "Account";
+
+  /** Hand-built equivalent of {@code TableSchema.fromBean(Account.class)}. */
+  public static final TableSchema<Account> TABLE_SCHEMA = buildTableSchema();
+
+  /** Builds a new instance of {@link #TABLE_SCHEMA}. */
+  public static TableSchema<Account> buildTableSchema() {
+    return StaticTableSchema.builder(Account.class)
+        .newItemSupplier(Account::new)
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("accountNumber")
+                    .getter(Account::getAccountNumber)
+                    .setter(Account::setAccountNumber)
+                    .tags(primaryPartitionKey()))
+        .addAttribute(
+            String.class,
+            a -> a.name("firstName").getter(Account::getFirstName).setter(Account::setFirstName))
+        .addAttribute(
+            String.class,
+            a -> a.name("lastName").getter(Account::getLastName).setter(Account::setLastName))
+        .addAttribute(
+            LocalDate.class,
+            a ->
+                a.name("memberSince")
+                    .getter(Account::getMemberSince)
+                    .setter(Account::setMemberSince))
+        .build();
+  }
+
   private String accountNumber;
   private String firstName;
   private String lastName;
@@ -1,27 +1,153 @@
 package com.loudent.library.dao.activity;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
+
+import com.loudent.library.model.BookId;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 import lombok.Data;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
 
 @DynamoDbBean
 @Data
 public class Activity {
   public static final String BASE_TABLE_NAME = "Activity";
+  /** Checkouts by title, keyed on the plain {@link #isbn}; read when titles are not sharded. */
   public static final String ISBN_INDEX = "isbn-index";
+
+  /**
+   * Checkouts by title, keyed on {@link #isbnShard} so a bestseller's checkouts spread over several
+   * partitions instead of one hot key; read instead of {@link #ISBN_INDEX} when titles are sharded.
+   */
+  public static final String ISBN_SHARD_INDEX = "isbn-shard-index";
+  /** An account's checkouts, sorted by due date so they can be listed in pages. */
   public static final String ACCOUNT_INDEX = "account-index";
 
+  /**
+   * Index of checkouts by the month they fall due ({@link #overdueBucket}), sorted by due date, so
+   * overdue books are found by querying past months instead of scanning the table. Every checkout
+   * carries a bucket, so the index holds them all, not only the overdue ones. A month's checkouts
+   * may be spread over several buckets, {@code yyyy-MM#n}, so this month's writes do not all land
+   * on one partition.
+   */
+  public static final String OVERDUE_INDEX = "overdue-index";
+
+  /** Hand-built equivalent of {@code TableSchema.fromBean(Activity.class)}, indexes included. */
+  public static final TableSchema<Activity> TABLE_SCHEMA = buildTableSchema();
+
+  /** Builds a new instance of {@link #TABLE_SCHEMA}. */
+  public static TableSchema<Activity> buildTableSchema() {
+    return StaticTableSchema.builder(Activity.class)
+        .newItemSupplier(Activity::new)
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("bookId")
+                    .getter(Activity::getBookId)
+                    .setter(Activity::setBookId)
+                    .tags(primaryPartitionKey()))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("isbn")
+                    .getter(Activity::getIsbn)
+                    .setter(Activity::setIsbn)
+                    .tags(secondaryPartitionKey(ISBN_INDEX)))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("isbnShard")
+                    .getter(Activity::getIsbnShard)
+                    .setter(Activity::setIsbnShard)
+                    .tags(secondaryPartitionKey(ISBN_SHARD_INDEX)))
+        .addAttribute(
+            String.class,
+            a -> a.name("title").getter(Activity::getTitle).setter(Activity::setTitle))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("accountNumber")
+                    .getter(Activity::getAccountNumber)
+                    .setter(Activity::setAccountNumber)
+                    .tags(secondaryPartitionKey(ACCOUNT_INDEX)))
+        .addAttribute(
+            LocalDate.class,
+            a ->
+                a.name("checkOutDate")
+                    .getter(Activity::getCheckOutDate)
+                    .setter(Activity::setCheckOutDate))
+        .addAttribute(
+            LocalDate.class,
+            a ->
+                a.name("dueDate")
+                    .getter(Activity::getDueDate)
+                    .setter(Activity::setDueDate)
+                    .tags(secondarySortKey(List.of(ACCOUNT_INDEX, OVERDUE_INDEX))))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("overdueBucket")
+                    .getter(Activity::getOverdueBucket)
+                    .setter(Activity::setOverdueBucket)
+                    .tags(secondaryPartitionKey(OVERDUE_INDEX)))
+        .build();
+  }
+
   private String bookId; // e.g. 9781234567897-2
   private String isbn;
+  private String isbnShard; // e.g. 9781234567897#2, the isbn and the shard of the copy
   private String title;
   private String accountNumber;
   private LocalDate checkOutDate;
   private LocalDate dueDate;
+  private String overdueBucket; // e.g. 2025-07#3, the month dueDate falls in and its shard
 
   public static String fullTableName(String prefix) {
     return prefix + BASE_TABLE_NAME;
   }
 
+  /** The {@link #ISBN_SHARD_INDEX} partition for {@code shard} of a title's checkouts. */
+  public static String isbnShard(String isbn, int shard) {
+    return isbn + "#" + shard;
+  }
+
+  /**
+   * The {@link #ISBN_SHARD_INDEX} partition for a checkout of {@code bookId} when titles are spread
+   * over {@code shards}: copies go round-robin by copy number, so a title's copies fill every shard
+   * evenly. Ids without a copy number are placed by hash.
+   */
+  public static String isbnShardOf(String bookId, int shards) {
+    int copy = BookId.copyOf(bookId);
+    int shard = copy >= 0 ? copy % shards : Math.floorMod(bookId.hashCode(), shards);
+    return isbnShard(BookId.isbnOf(bookId), shard);
+  }
+
+  /**
+   * The {@link #OVERDUE_INDEX} partition for {@code shard} of the checkouts due in {@code month}.
+   * Shard 0 is the plain month, so buckets written unsharded stay the first shard of any count.
+   */
+  public static String overdueBucket(YearMonth month, int shard) {
+    return shard == 0 ? month.toString() : month + "#" + shard;
+  }
+
+  /** The unsharded {@link #OVERDUE_INDEX} partition for a checkout due on {@code dueDate}. */
+  public static String overdueBucket(LocalDate dueDate) {
+    return overdueBucket(YearMonth.from(dueDate), 0);
+  }
+
+  /**
+   * The {@link #OVERDUE_INDEX} partition for a checkout of {@code bookId} due on {@code dueDate}
+   * when each month is spread over {@code shards}, placed by a hash of the id.
+   */
+  public static String overdueBucketOf(String bookId, LocalDate dueDate, int shards) {
+    return overdueBucket(YearMonth.from(dueDate), Math.floorMod(bookId.hashCode(), shards));
+  }
+
   @DynamoDbPartitionKey
   public String getBookId() {
     return bookId;
@@ -32,8 +158,23 @@ public class Activity {
     return isbn;
   }
 
+  @DynamoDbSecondaryPartitionKey(indexNames = ISBN_SHARD_INDEX)
+  public String getIsbnShard() {
+    return isbnShard;
+  }
+
   @DynamoDbSecondaryPartitionKey(indexNames = ACCOUNT_INDEX)
   public String getAccountNumber() {
     return accountNumber;
   }
+
+  @DynamoDbSecondarySortKey(indexNames = {ACCOUNT_INDEX, OVERDUE_INDEX})
+  public LocalDate getDueDate() {
+    return dueDate;
+  }
+
+  @DynamoDbSecondaryPartitionKey(indexNames = OVERDUE_INDEX)
+  public String getOverdueBucket() {
+    return overdueBucket;
+  }
 }
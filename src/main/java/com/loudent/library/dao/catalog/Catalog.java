@@ -1,8 +1,14 @@
 package com.loudent.library.dao.catalog;
 
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
 import java.util.List;
 import lombok.Data;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbConvertedBy;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 
 @DynamoDbBean
@@ -10,12 +16,59 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbParti
 public class Catalog {
   public static final String BASE_TABLE_NAME = "Catalog";
 
+  /**
+   * Hand-built equivalent of {@code TableSchema.fromBean(Catalog.class)}: no introspection at
+   * startup and plain method references instead of reflective bean access for every item.
+   */
+  public static final TableSchema<Catalog> TABLE_SCHEMA = buildTableSchema();
+
+  /** Builds a new instance of {@link #TABLE_SCHEMA}. */
+  public static TableSchema<Catalog> buildTableSchema() {
+    return StaticTableSchema.builder(Catalog.class)
+        .newItemSupplier(Catalog::new)
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("isbn")
+                    .getter(Catalog::getIsbn)
+                    .setter(Catalog::setIsbn)
+                    .tags(primaryPartitionKey()))
+        .addAttribute(
+            String.class, a -> a.name("title").getter(Catalog::getTitle).setter(Catalog::setTitle))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("authorFirstName")
+                    .getter(Catalog::getAuthorFirstName)
+                    .setter(Catalog::setAuthorFirstName))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("authorLastName")
+                    .getter(Catalog::getAuthorLastName)
+                    .setter(Catalog::setAuthorLastName))
+        .addAttribute(
+            EnhancedType.listOf(String.class),
+            a ->
+                a.name("bookIds")
+                    .getter(Catalog::getBookIds)
+                    .setter(Catalog::setBookIds)
+                    .attributeConverter(new CopyIdsConverter()))
+        .addAttribute(
+            Integer.class,
+            a -> a.name("copyCount").getter(Catalog::getCopyCount).setter(Catalog::setCopyCount))
+        .build();
+  }
+
   private String isbn;
   private String title;
   private String authorFirstName;
   private String authorLastName;
   private List<String> bookIds; // Each physical copy has a bookId, e.g. "9781234567897-0"
 
+  /** Size of {@link #bookIds}, stored so summaries can be read without the list. */
+  private Integer copyCount;
+
   public static String fullTableName(String prefix) {
     return prefix + BASE_TABLE_NAME;
   }
@@ -24,4 +77,24 @@ public class Catalog {
   public String getIsbn() {
     return isbn;
   }
+
+  /** Copy ids, stored compactly; see {@link CopyIds}. */
+  @DynamoDbConvertedBy(CopyIdsConverter.class)
+  public List<String> getBookIds() {
+    return bookIds;
+  }
+
+  /** Sets the copy ids and keeps {@link #copyCount} in step with them. */
+  public void setBookIds(List<String> bookIds) {
+    this.bookIds = bookIds;
+    this.copyCount = bookIds == null ? null : bookIds.size();
+  }
+
+  /** Number of copies, from the stored count or, for items written before it, from the list. */
+  public int totalCopies() {
+    if (copyCount != null) {
+      return copyCount;
+    }
+    return bookIds == null ? 0 : bookIds.size();
+  }
 }
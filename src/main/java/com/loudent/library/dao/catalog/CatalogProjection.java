@@ -0,0 +1,32 @@
+package com.loudent.library.dao.catalog;
+
+import java.util.List;
+
+/**
+ * The attributes of a {@link Catalog} item each kind of read needs. Projecting trims the response
+ * and the mapping work; DynamoDB still charges read capacity for the whole item.
+ */
+public enum CatalogProjection {
+  /** Just enough to name a book, as checkout and checkin do. */
+  TITLE("isbn", "title"),
+
+  /**
+   * Everything a {@code CatalogResponse} shows. The compact id list is a few bytes, and it counts
+   * the copies of items written before the copy count was stored without a second read.
+   */
+  SUMMARY("isbn", "title", "authorFirstName", "authorLastName", "copyCount", "bookIds"),
+
+  /** The whole item. */
+  FULL;
+
+  private final List<String> attributes;
+
+  CatalogProjection(String... attributes) {
+    this.attributes = List.of(attributes);
+  }
+
+  /** The attributes to project, or an empty list for the whole item. */
+  public List<String> attributes() {
+    return attributes;
+  }
+}
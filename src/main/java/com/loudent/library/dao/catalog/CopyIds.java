@@ -0,0 +1,182 @@
+package com.loudent.library.dao.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * The copy ids of one title held compactly: their shared prefix (the ISBN and separator), one past
+ * the highest copy number and a bitmap of the retired copy numbers below it. Ids are only built as
+ * strings when an element is read, so counting copies or checking one id allocates nothing.
+ *
+ * <p>Encoded as a version byte, the prefix length and UTF-8 bytes, the copy count and the retired
+ * bitmap, which is empty while no copy has been retired.
+ */
+public final class CopyIds extends AbstractList<String> {
+  private static final byte VERSION = 1;
+  private static final int MAX_DIGITS = 9;
+
+  /** Lists with more gaps than this stay lists; the bitmap would cost more than it saves. */
+  private static final int MAX_SPARSENESS = 2;
+
+  private static final int SPARSE_SLACK = 64;
+
+  private final String prefix;
+  private final int count;
+  private final BitSet retired;
+  private final int size;
+
+  private CopyIds(String prefix, int count, BitSet retired) {
+    this.prefix = prefix;
+    this.count = count;
+    this.retired = retired;
+    this.size = count - retired.cardinality();
+  }
+
+  /**
+   * The compact form of {@code ids}, if they are all {@code <prefix><n>} with one prefix ending in
+   * {@code .} or {@code -} and copy numbers in ascending order.
+   */
+  public static Optional<CopyIds> of(List<String> ids) {
+    if (ids instanceof CopyIds copyIds) {
+      return Optional.of(copyIds);
+    }
+    if (ids == null || ids.isEmpty()) {
+      return Optional.empty();
+    }
+    String first = ids.get(0);
+    int cut = Math.max(first.lastIndexOf('.'), first.lastIndexOf('-'));
+    if (cut <= 0) {
+      return Optional.empty();
+    }
+    String prefix = first.substring(0, cut + 1);
+    BitSet present = new BitSet();
+    int previous = -1;
+    for (String id : ids) {
+      int copy = id.startsWith(prefix) ? copyNumber(id, prefix.length()) : -1;
+      if (copy <= previous) {
+        return Optional.empty();
+      }
+      present.set(copy);
+      previous = copy;
+    }
+    int count = previous + 1;
+    if (count > MAX_SPARSENESS * ids.size() + SPARSE_SLACK) {
+      return Optional.empty();
+    }
+    BitSet retired = new BitSet(count);
+    retired.set(0, count);
+    retired.andNot(present);
+    return Optional.of(new CopyIds(prefix, count, retired));
+  }
+
+  public static CopyIds decode(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if (buffer.remaining() < 1 || buffer.get() != VERSION) {
+      throw new IllegalArgumentException("Unsupported copy id encoding");
+    }
+    byte[] prefix = new byte[Short.toUnsignedInt(buffer.getShort())];
+    buffer.get(prefix);
+    int count = buffer.getInt();
+    byte[] retired = new byte[buffer.remaining()];
+    buffer.get(retired);
+    return new CopyIds(new String(prefix, StandardCharsets.UTF_8), count, BitSet.valueOf(retired));
+  }
+
+  public byte[] encode() {
+    byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+    byte[] retiredBytes = retired.toByteArray();
+    return ByteBuffer.allocate(1 + 2 + prefixBytes.length + 4 + retiredBytes.length)
+        .put(VERSION)
+        .putShort((short) prefixBytes.length)
+        .put(prefixBytes)
+        .putInt(count)
+        .put(retiredBytes)
+        .array();
+  }
+
+  /** The part every id shares: the ISBN and its separator. */
+  public String prefix() {
+    return prefix;
+  }
+
+  /** One more than the highest copy number, so retired copies in between are counted. */
+  public int registered() {
+    return count;
+  }
+
+  public boolean isRetired(int copy) {
+    return copy < 0 || copy >= count || retired.get(copy);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    if (retired.isEmpty()) {
+      return prefix + index;
+    }
+    int copy = retired.nextClearBit(0);
+    for (int i = 0; i < index; i++) {
+      copy = retired.nextClearBit(copy + 1);
+    }
+    return prefix + copy;
+  }
+
+  @Override
+  public boolean contains(Object id) {
+    return id instanceof String s
+        && s.startsWith(prefix)
+        && !isRetired(copyNumber(s, prefix.length()));
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<>() {
+      private int copy = retired.nextClearBit(0);
+
+      @Override
+      public boolean hasNext() {
+        return copy < count;
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        String id = prefix + copy;
+        copy = retired.nextClearBit(copy + 1);
+        return id;
+      }
+    };
+  }
+
+  /** The decimal copy number after {@code start}, or -1 if it is not a plain one. */
+  private static int copyNumber(String id, int start) {
+    int length = id.length() - start;
+    if (length < 1 || length > MAX_DIGITS || (length > 1 && id.charAt(start) == '0')) {
+      return -1;
+    }
+    int copy = 0;
+    for (int i = start; i < id.length(); i++) {
+      char c = id.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      copy = copy * 10 + (c - '0');
+    }
+    return copy;
+  }
+}
@@ -0,0 +1,44 @@
+package com.loudent.library.dao.catalog;
+
+import java.util.List;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeConverter;
+import software.amazon.awssdk.enhanced.dynamodb.AttributeValueType;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Stores {@code Catalog.bookIds} as an encoded {@link CopyIds} binary when the ids allow it and as
+ * a list of strings otherwise. Reads accept both, so items written as lists keep working until
+ * they are rewritten.
+ */
+public class CopyIdsConverter implements AttributeConverter<List<String>> {
+
+  @Override
+  public AttributeValue transformFrom(List<String> input) {
+    return CopyIds.of(input)
+        .map(ids -> AttributeValue.fromB(SdkBytes.fromByteArrayUnsafe(ids.encode())))
+        .orElseGet(() -> AttributeValue.fromL(input.stream().map(AttributeValue::fromS).toList()));
+  }
+
+  @Override
+  public List<String> transformTo(AttributeValue input) {
+    if (input.b() != null) {
+      return CopyIds.decode(input.b().asByteArrayUnsafe());
+    }
+    if (input.hasL()) {
+      return input.l().stream().map(AttributeValue::s).toList();
+    }
+    throw new IllegalArgumentException("Expected copy ids as B or L but found " + input.type());
+  }
+
+  @Override
+  public EnhancedType<List<String>> type() {
+    return EnhancedType.listOf(String.class);
+  }
+
+  @Override
+  public AttributeValueType attributeValueType() {
+    return AttributeValueType.B;
+  }
+}
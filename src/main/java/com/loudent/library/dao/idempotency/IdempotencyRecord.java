@@ -0,0 +1,68 @@
+package com.loudent.library.dao.idempotency;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
+import lombok.Data;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * The stored outcome of a request sent with an {@code Idempotency-Key}. DynamoDB deletes the item
+ * some time after {@link #expiresAt}, its TTL attribute, so readers must check it themselves.
+ */
+@DynamoDbBean
+@Data
+public class IdempotencyRecord {
+  public static final String BASE_TABLE_NAME = "Idempotency";
+
+  /** Hand-built equivalent of {@code TableSchema.fromBean(IdempotencyRecord.class)}. */
+  public static final TableSchema<IdempotencyRecord> TABLE_SCHEMA = buildTableSchema();
+
+  /** Builds a new instance of {@link #TABLE_SCHEMA}. */
+  public static TableSchema<IdempotencyRecord> buildTableSchema() {
+    return StaticTableSchema.builder(IdempotencyRecord.class)
+        .newItemSupplier(IdempotencyRecord::new)
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("idempotencyKey")
+                    .getter(IdempotencyRecord::getIdempotencyKey)
+                    .setter(IdempotencyRecord::setIdempotencyKey)
+                    .tags(primaryPartitionKey()))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("fingerprint")
+                    .getter(IdempotencyRecord::getFingerprint)
+                    .setter(IdempotencyRecord::setFingerprint))
+        .addAttribute(
+            String.class,
+            a ->
+                a.name("response")
+                    .getter(IdempotencyRecord::getResponse)
+                    .setter(IdempotencyRecord::setResponse))
+        .addAttribute(
+            Long.class,
+            a ->
+                a.name("expiresAt")
+                    .getter(IdempotencyRecord::getExpiresAt)
+                    .setter(IdempotencyRecord::setExpiresAt))
+        .build();
+  }
+
+  private String idempotencyKey; // e.g. checkout#5f0c..., the operation and the client's key
+  private String fingerprint; // hash of the request body the key was first used with
+  private String response; // JSON of the results
+  private Long expiresAt; // epoch seconds
+
+  public static String fullTableName(String prefix) {
+    return prefix + BASE_TABLE_NAME;
+  }
+
+  @DynamoDbPartitionKey
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+}
@@ -0,0 +1,180 @@
+package com.loudent.library.inmemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers over attribute values in their wire form, e.g. {@code {"S": "abc"}} or {@code {"N":
+ * "1.50"}}, which is how {@link InMemoryDynamoDb} stores items.
+ */
+final class AttributeValues {
+
+  private AttributeValues() {
+    // Utility class — prevent instantiation
+  }
+
+  /** The type descriptor of {@code value}: S, N, B, BOOL, NULL, L, M, SS, NS or BS. */
+  static String type(JsonNode value) {
+    Iterator<String> names = value.fieldNames();
+    return names.hasNext() ? names.next() : "";
+  }
+
+  static boolean equal(JsonNode a, JsonNode b) {
+    if (a == null || b == null) {
+      return false;
+    }
+    String type = type(a);
+    if (!type.equals(type(b))) {
+      return false;
+    }
+    JsonNode left = a.get(type);
+    JsonNode right = b.get(type);
+    return switch (type) {
+      case "N" -> number(left).compareTo(number(right)) == 0;
+      case "SS", "NS", "BS" -> setOf(type, left).equals(setOf(type, right));
+      case "L" -> listEqual(left, right);
+      case "M" -> mapEqual(left, right);
+      default -> left.equals(right);
+    };
+  }
+
+  /**
+   * Orders two scalar values of the same type (S, N or B), or returns {@code null} when they
+   * cannot be compared.
+   */
+  static Integer compare(JsonNode a, JsonNode b) {
+    if (a == null || b == null) {
+      return null;
+    }
+    String type = type(a);
+    if (!type.equals(type(b))) {
+      return null;
+    }
+    return switch (type) {
+      case "S" -> a.get("S").asText().compareTo(b.get("S").asText());
+      case "N" -> number(a.get("N")).compareTo(number(b.get("N")));
+      case "B" -> Arrays.compareUnsigned(bytes(a.get("B")), bytes(b.get("B")));
+      default -> null;
+    };
+  }
+
+  /** A canonical string for a key attribute, equal for equal values ("1.0" and "1" included). */
+  static String keyString(JsonNode value) {
+    String type = type(value);
+    JsonNode scalar = value.get(type);
+    if ("N".equals(type)) {
+      return "N:" + number(scalar).stripTrailingZeros().toPlainString();
+    }
+    return type + ":" + scalar.asText();
+  }
+
+  /** The value's size as {@code size()} reports it in a condition expression. */
+  static int size(JsonNode value) {
+    String type = type(value);
+    JsonNode inner = value.get(type);
+    return switch (type) {
+      case "S" -> inner.asText().length();
+      case "B" -> bytes(inner).length;
+      default -> inner.size();
+    };
+  }
+
+  /** Approximate stored size of an item in bytes, for capacity units and page limits. */
+  static int itemSize(JsonNode item) {
+    return item.toString().length();
+  }
+
+  static boolean contains(JsonNode container, JsonNode operand) {
+    if (container == null || operand == null) {
+      return false;
+    }
+    String type = type(container);
+    JsonNode inner = container.get(type);
+    String operandType = type(operand);
+    return switch (type) {
+      case "S" -> "S".equals(operandType) && inner.asText().contains(operand.get("S").asText());
+      case "SS", "NS", "BS" ->
+          type.equals(operandType + "S")
+              && setOf(type, inner).contains(element(type, operand.get(operandType)));
+      case "L" -> {
+        for (JsonNode element : inner) {
+          if (equal(element, operand)) {
+            yield true;
+          }
+        }
+        yield false;
+      }
+      default -> false;
+    };
+  }
+
+  static boolean beginsWith(JsonNode value, JsonNode prefix) {
+    if (value == null || prefix == null || !type(value).equals(type(prefix))) {
+      return false;
+    }
+    return switch (type(value)) {
+      case "S" -> value.get("S").asText().startsWith(prefix.get("S").asText());
+      case "B" -> {
+        byte[] bytes = bytes(value.get("B"));
+        byte[] start = bytes(prefix.get("B"));
+        yield bytes.length >= start.length
+            && Arrays.equals(bytes, 0, start.length, start, 0, start.length);
+      }
+      default -> false;
+    };
+  }
+
+  private static BigDecimal number(JsonNode node) {
+    return new BigDecimal(node.asText());
+  }
+
+  private static byte[] bytes(JsonNode node) {
+    return Base64.getDecoder().decode(node.asText());
+  }
+
+  private static Set<String> setOf(String type, JsonNode elements) {
+    Set<String> set = new HashSet<>();
+    for (JsonNode element : elements) {
+      set.add(element(type, element));
+    }
+    return set;
+  }
+
+  private static String element(String setType, JsonNode element) {
+    return "NS".equals(setType)
+        ? number(element).stripTrailingZeros().toPlainString()
+        : element.asText();
+  }
+
+  private static boolean listEqual(JsonNode left, JsonNode right) {
+    if (left.size() != right.size()) {
+      return false;
+    }
+    for (int i = 0; i < left.size(); i++) {
+      if (!equal(left.get(i), right.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean mapEqual(JsonNode left, JsonNode right) {
+    if (left.size() != right.size()) {
+      return false;
+    }
+    Iterator<Map.Entry<String, JsonNode>> fields = left.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      if (!equal(field.getValue(), right.get(field.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,435 @@
+package com.loudent.library.inmemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A parsed condition, filter or key condition expression. Supports comparisons, {@code BETWEEN},
+ * {@code IN}, {@code AND}/{@code OR}/{@code NOT}, parentheses, nested paths and the {@code
+ * attribute_exists}, {@code attribute_not_exists}, {@code attribute_type}, {@code begins_with},
+ * {@code contains} and {@code size} functions.
+ */
+final class ConditionExpression {
+  private static final int MAX_CACHED = 1024;
+  private static final Map<String, ConditionExpression> CACHE = new ConcurrentHashMap<>();
+
+  private final Condition root;
+
+  private ConditionExpression(Condition root) {
+    this.root = root;
+  }
+
+  /** Parses {@code expression}, reusing earlier parses since clients send few distinct ones. */
+  static ConditionExpression parse(String expression) {
+    ConditionExpression cached = CACHE.get(expression);
+    if (cached != null) {
+      return cached;
+    }
+    ConditionExpression parsed = new ConditionExpression(new Parser(expression).parse());
+    if (CACHE.size() < MAX_CACHED) {
+      CACHE.putIfAbsent(expression, parsed);
+    }
+    return parsed;
+  }
+
+  /** Evaluates the expression against {@code item}, which may be empty for a missing item. */
+  boolean matches(JsonNode item, JsonNode names, JsonNode values) {
+    return root.test(new Context(item, names, values));
+  }
+
+  /**
+   * The value the expression pins {@code attribute} to with a top-level {@code =}, as a key
+   * condition does for the partition key.
+   */
+  Optional<JsonNode> equalityValue(String attribute, JsonNode names, JsonNode values) {
+    return equalityValue(root, attribute, new Context(null, names, values));
+  }
+
+  private static Optional<JsonNode> equalityValue(
+      Condition condition, String attribute, Context context) {
+    if (condition instanceof And and) {
+      return equalityValue(and.left(), attribute, context)
+          .or(() -> equalityValue(and.right(), attribute, context));
+    }
+    if (condition instanceof Compare compare && "=".equals(compare.op())) {
+      if (compare.left() instanceof Path path && attribute.equals(path.topLevel(context))) {
+        return Optional.ofNullable(compare.right().value(context));
+      }
+      if (compare.right() instanceof Path path && attribute.equals(path.topLevel(context))) {
+        return Optional.ofNullable(compare.left().value(context));
+      }
+    }
+    return Optional.empty();
+  }
+
+  private record Context(JsonNode item, JsonNode names, JsonNode values) {
+    String name(String token) {
+      if (!token.startsWith("#")) {
+        return token;
+      }
+      JsonNode name = names == null ? null : names.get(token);
+      if (name == null) {
+        throw InMemoryDynamoDbException.validation(
+            "An expression attribute name used in the document path is not defined: " + token);
+      }
+      return name.asText();
+    }
+
+    JsonNode value(String token) {
+      JsonNode value = values == null ? null : values.get(token);
+      if (value == null) {
+        throw InMemoryDynamoDbException.validation(
+            "An expression attribute value used in expression is not defined: " + token);
+      }
+      return value;
+    }
+  }
+
+  private interface Condition {
+    boolean test(Context context);
+  }
+
+  /** Evaluates to an attribute value, or {@code null} when the path does not exist. */
+  private interface Operand {
+    JsonNode value(Context context);
+  }
+
+  private record Path(List<Object> segments) implements Operand {
+    String topLevel(Context context) {
+      return segments.size() == 1 ? context.name((String) segments.get(0)) : null;
+    }
+
+    @Override
+    public JsonNode value(Context context) {
+      JsonNode current = context.item() == null ? null : context.item().get(context.name(first()));
+      for (int i = 1; i < segments.size() && current != null; i++) {
+        Object segment = segments.get(i);
+        if (segment instanceof Integer index) {
+          JsonNode list = current.get("L");
+          current = list == null ? null : list.get(index);
+        } else {
+          JsonNode map = current.get("M");
+          current = map == null ? null : map.get(context.name((String) segment));
+        }
+      }
+      return current;
+    }
+
+    private String first() {
+      return (String) segments.get(0);
+    }
+  }
+
+  private record Placeholder(String token) implements Operand {
+    @Override
+    public JsonNode value(Context context) {
+      return context.value(token);
+    }
+  }
+
+  private record Size(Path path) implements Operand {
+    @Override
+    public JsonNode value(Context context) {
+      JsonNode value = path.value(context);
+      if (value == null) {
+        return null;
+      }
+      ObjectNode size = JsonNodeFactory.instance.objectNode();
+      size.put("N", String.valueOf(AttributeValues.size(value)));
+      return size;
+    }
+  }
+
+  private record Compare(String op, Operand left, Operand right) implements Condition {
+    @Override
+    public boolean test(Context context) {
+      JsonNode a = left.value(context);
+      JsonNode b = right.value(context);
+      if ("=".equals(op)) {
+        return AttributeValues.equal(a, b);
+      }
+      if ("<>".equals(op)) {
+        return !AttributeValues.equal(a, b);
+      }
+      Integer order = AttributeValues.compare(a, b);
+      if (order == null) {
+        return false;
+      }
+      return switch (op) {
+        case "<" -> order < 0;
+        case "<=" -> order <= 0;
+        case ">" -> order > 0;
+        default -> order >= 0;
+      };
+    }
+  }
+
+  private record Between(Operand value, Operand low, Operand high) implements Condition {
+    @Override
+    public boolean test(Context context) {
+      JsonNode v = value.value(context);
+      Integer above = AttributeValues.compare(v, low.value(context));
+      Integer below = AttributeValues.compare(v, high.value(context));
+      return above != null && below != null && above >= 0 && below <= 0;
+    }
+  }
+
+  private record In(Operand value, List<Operand> candidates) implements Condition {
+    @Override
+    public boolean test(Context context) {
+      JsonNode v = value.value(context);
+      for (Operand candidate : candidates) {
+        if (AttributeValues.equal(v, candidate.value(context))) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private record Function(String name, List<Operand> args) implements Condition {
+    @Override
+    public boolean test(Context context) {
+      JsonNode first = args.get(0).value(context);
+      return switch (name) {
+        case "attribute_exists" -> first != null;
+        case "attribute_not_exists" -> first == null;
+        case "attribute_type" ->
+            first != null
+                && AttributeValues.type(first)
+                    .equals(args.get(1).value(context).path("S").asText());
+        case "begins_with" -> AttributeValues.beginsWith(first, args.get(1).value(context));
+        default -> AttributeValues.contains(first, args.get(1).value(context));
+      };
+    }
+  }
+
+  private record And(Condition left, Condition right) implements Condition {
+    @Override
+    public boolean test(Context context) {
+      return left.test(context) && right.test(context);
+    }
+  }
+
+  private record Or(Condition left, Condition right) implements Condition {
+    @Override
+    public boolean test(Context context) {
+      return left.test(context) || right.test(context);
+    }
+  }
+
+  private record Not(Condition condition) implements Condition {
+    @Override
+    public boolean test(Context context) {
+      return !condition.test(context);
+    }
+  }
+
+  /** Recursive descent over the expression grammar, lowest precedence (OR) first. */
+  private static final class Parser {
+    private static final List<String> FUNCTIONS =
+        List.of(
+            "attribute_exists",
+            "attribute_not_exists",
+            "attribute_type",
+            "begins_with",
+            "contains");
+    private static final List<String> COMPARATORS = List.of("=", "<>", "<", "<=", ">", ">=");
+
+    private final String expression;
+    private final List<String> tokens;
+    private int position;
+
+    Parser(String expression) {
+      this.expression = expression;
+      this.tokens = tokenize(expression);
+    }
+
+    Condition parse() {
+      Condition condition = or();
+      if (position < tokens.size()) {
+        throw invalid("unexpected token '" + tokens.get(position) + "'");
+      }
+      return condition;
+    }
+
+    private Condition or() {
+      Condition left = and();
+      while (keyword("OR")) {
+        left = new Or(left, and());
+      }
+      return left;
+    }
+
+    private Condition and() {
+      Condition left = not();
+      while (keyword("AND")) {
+        left = new And(left, not());
+      }
+      return left;
+    }
+
+    private Condition not() {
+      return keyword("NOT") ? new Not(not()) : primary();
+    }
+
+    private Condition primary() {
+      if (symbol("(")) {
+        Condition inner = or();
+        expect(")");
+        return inner;
+      }
+      String name = peek();
+      if (name != null && FUNCTIONS.contains(name) && "(".equals(peek(1))) {
+        position += 2;
+        List<Operand> args = new ArrayList<>();
+        args.add(operand());
+        while (symbol(",")) {
+          args.add(operand());
+        }
+        expect(")");
+        return new Function(name, args);
+      }
+      Operand left = operand();
+      if (keyword("BETWEEN")) {
+        Operand low = operand();
+        if (!keyword("AND")) {
+          throw invalid("BETWEEN requires AND");
+        }
+        return new Between(left, low, operand());
+      }
+      if (keyword("IN")) {
+        expect("(");
+        List<Operand> candidates = new ArrayList<>();
+        candidates.add(operand());
+        while (symbol(",")) {
+          candidates.add(operand());
+        }
+        expect(")");
+        return new In(left, candidates);
+      }
+      String op = next();
+      if (!COMPARATORS.contains(op)) {
+        throw invalid("expected a comparator but found '" + op + "'");
+      }
+      return new Compare(op, left, operand());
+    }
+
+    private Operand operand() {
+      String token = next();
+      if (token.startsWith(":")) {
+        return new Placeholder(token);
+      }
+      if ("size".equals(token) && symbol("(")) {
+        Path path = path(next());
+        expect(")");
+        return new Size(path);
+      }
+      return path(token);
+    }
+
+    private Path path(String first) {
+      if (!isName(first)) {
+        throw invalid("expected an attribute name but found '" + first + "'");
+      }
+      List<Object> segments = new ArrayList<>();
+      segments.add(first);
+      while (true) {
+        if (symbol(".")) {
+          segments.add(next());
+        } else if (symbol("[")) {
+          segments.add(Integer.parseInt(next()));
+          expect("]");
+        } else {
+          return new Path(segments);
+        }
+      }
+    }
+
+    private boolean keyword(String keyword) {
+      String token = peek();
+      if (token != null && token.toUpperCase(Locale.ROOT).equals(keyword)) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private boolean symbol(String symbol) {
+      if (symbol.equals(peek())) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(String symbol) {
+      if (!symbol(symbol)) {
+        throw invalid("expected '" + symbol + "'");
+      }
+    }
+
+    private String peek() {
+      return peek(0);
+    }
+
+    private String peek(int ahead) {
+      int index = position + ahead;
+      return index < tokens.size() ? tokens.get(index) : null;
+    }
+
+    private String next() {
+      if (position >= tokens.size()) {
+        throw invalid("unexpected end of expression");
+      }
+      return tokens.get(position++);
+    }
+
+    private InMemoryDynamoDbException invalid(String reason) {
+      return InMemoryDynamoDbException.validation(
+          "Invalid expression: " + reason + ": " + expression);
+    }
+
+    private static boolean isName(String token) {
+      char c = token.charAt(0);
+      return c == '#' || c == '_' || Character.isLetter(c);
+    }
+
+    private static List<String> tokenize(String expression) {
+      List<String> tokens = new ArrayList<>();
+      int i = 0;
+      while (i < expression.length()) {
+        char c = expression.charAt(i);
+        if (Character.isWhitespace(c)) {
+          i++;
+        } else if ("(),.[]=".indexOf(c) >= 0) {
+          tokens.add(String.valueOf(c));
+          i++;
+        } else if (c == '<' || c == '>') {
+          char following = i + 1 < expression.length() ? expression.charAt(i + 1) : ' ';
+          boolean pair = following == '=' || (c == '<' && following == '>');
+          tokens.add(expression.substring(i, pair ? i + 2 : i + 1));
+          i += pair ? 2 : 1;
+        } else if (c == ':' || c == '#' || c == '_' || Character.isLetterOrDigit(c)) {
+          int start = i++;
+          while (i < expression.length()
+              && (Character.isLetterOrDigit(expression.charAt(i)) || expression.charAt(i) == '_')) {
+            i++;
+          }
+          tokens.add(expression.substring(start, i));
+        } else {
+          throw InMemoryDynamoDbException.validation(
+              "Invalid expression: unexpected character '" + c + "': " + expression);
+        }
+      }
+      return tokens;
+    }
+  }
+}
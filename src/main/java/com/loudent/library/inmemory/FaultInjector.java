@@ -0,0 +1,83 @@
+package com.loudent.library.inmemory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides, per request, how {@link InMemoryDynamoDb} misbehaves: how long the response takes,
+ * whether the request is throttled and whether a batch item is returned as unprocessed.
+ */
+public class FaultInjector {
+  public static final String NONE = "none";
+  public static final String FIXED = "fixed";
+  public static final String EXPONENTIAL = "exponential";
+  public static final String LOGNORMAL = "lognormal";
+
+  /** z-score of the 99th percentile of a standard normal distribution. */
+  private static final double Z_99 = 2.3263;
+
+  /**
+   * @param latencyDistribution {@code none}, {@code fixed} (always the median), {@code
+   *     exponential} (memoryless, with the given median) or {@code lognormal} (long-tailed, fitted
+   *     to the median and p99)
+   * @param throttleProbability chance that any request fails with a throughput exception
+   * @param unprocessedProbability chance that each batch item comes back unprocessed
+   */
+  public record Settings(
+      String latencyDistribution,
+      double medianLatencyMs,
+      double p99LatencyMs,
+      double throttleProbability,
+      double unprocessedProbability) {
+
+    public static Settings none() {
+      return new Settings(NONE, 0, 0, 0, 0);
+    }
+  }
+
+  private final Settings settings;
+  private final double mu;
+  private final double sigma;
+
+  public FaultInjector(Settings settings) {
+    this.settings = settings;
+    if (!List.of(NONE, FIXED, EXPONENTIAL, LOGNORMAL).contains(settings.latencyDistribution())) {
+      throw new IllegalArgumentException(
+          "Unknown latency distribution: " + settings.latencyDistribution());
+    }
+    double median = Math.max(settings.medianLatencyMs(), 1e-3);
+    this.mu = Math.log(median);
+    this.sigma = Math.max(0, Math.log(Math.max(settings.p99LatencyMs(), median) / median) / Z_99);
+  }
+
+  public Settings getSettings() {
+    return settings;
+  }
+
+  /** A latency drawn from the configured distribution. */
+  public long latencyNanos() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    double millis =
+        switch (settings.latencyDistribution()) {
+          case FIXED -> settings.medianLatencyMs();
+          case EXPONENTIAL ->
+              -settings.medianLatencyMs() / Math.log(2) * Math.log(1 - random.nextDouble());
+          case LOGNORMAL -> Math.exp(mu + sigma * random.nextGaussian());
+          default -> 0;
+        };
+    return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  public boolean throttle() {
+    return chance(settings.throttleProbability());
+  }
+
+  public boolean unprocessed() {
+    return chance(settings.unprocessedProbability());
+  }
+
+  private static boolean chance(double probability) {
+    return probability > 0 && ThreadLocalRandom.current().nextDouble() < probability;
+  }
+}
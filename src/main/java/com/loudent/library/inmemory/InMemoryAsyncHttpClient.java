@@ -0,0 +1,150 @@
+package com.loudent.library.inmemory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Non-blocking SDK HTTP client answering from an {@link InMemoryDynamoDb}. Injected latency is a
+ * scheduled delay rather than a sleep, so like a real network call it holds no thread while the
+ * request is outstanding.
+ */
+class InMemoryAsyncHttpClient implements SdkAsyncHttpClient {
+  private final InMemoryDynamoDb db;
+  private final ScheduledExecutorService scheduler;
+
+  InMemoryAsyncHttpClient(InMemoryDynamoDb db) {
+    this.db = db;
+    this.scheduler =
+        Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            new ThreadFactoryBuilder().threadNamePrefix("dynamodb-in-memory-").daemonThreads(true)
+                .build());
+  }
+
+  @Override
+  public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    SdkAsyncHttpResponseHandler handler = request.responseHandler();
+    request
+        .requestContentPublisher()
+        .subscribe(
+            new BodySubscriber() {
+              @Override
+              void onBody(byte[] body) {
+                scheduler.schedule(
+                    () -> respond(request, body, handler, done),
+                    db.getFaults().latencyNanos(),
+                    TimeUnit.NANOSECONDS);
+              }
+
+              @Override
+              public void onError(Throwable t) {
+                handler.onError(t);
+                done.completeExceptionally(t);
+              }
+            });
+    return done;
+  }
+
+  private void respond(
+      AsyncExecuteRequest request,
+      byte[] body,
+      SdkAsyncHttpResponseHandler handler,
+      CompletableFuture<Void> done) {
+    try {
+      InMemoryDynamoDb.Response response = db.handle(request.request(), body);
+      handler.onHeaders(response.httpResponse());
+      handler.onStream(new SingleBufferPublisher(ByteBuffer.wrap(response.body()), done));
+    } catch (RuntimeException e) {
+      handler.onError(e);
+      done.completeExceptionally(e);
+    }
+  }
+
+  @Override
+  public String clientName() {
+    return InMemorySyncHttpClient.CLIENT_NAME;
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /** Collects the whole request body before handing it over. */
+  private abstract static class BodySubscriber implements Subscriber<ByteBuffer> {
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    abstract void onBody(byte[] body);
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+      byte[] chunk = new byte[buffer.remaining()];
+      buffer.get(chunk);
+      body.writeBytes(chunk);
+    }
+
+    @Override
+    public void onComplete() {
+      onBody(body.toByteArray());
+    }
+  }
+
+  /** Emits the response body as one buffer and completes the request once it is delivered. */
+  private static final class SingleBufferPublisher
+      implements org.reactivestreams.Publisher<ByteBuffer> {
+    private final ByteBuffer body;
+    private final CompletableFuture<Void> done;
+
+    SingleBufferPublisher(ByteBuffer body, CompletableFuture<Void> done) {
+      this.body = body;
+      this.done = done;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+      AtomicBoolean finished = new AtomicBoolean();
+      subscriber.onSubscribe(
+          new Subscription() {
+            @Override
+            public void request(long n) {
+              if (n <= 0) {
+                if (finished.compareAndSet(false, true)) {
+                  IllegalArgumentException error =
+                      new IllegalArgumentException("Demand must be positive (rule 3.9)");
+                  subscriber.onError(error);
+                  done.completeExceptionally(error);
+                }
+              } else if (finished.compareAndSet(false, true)) {
+                subscriber.onNext(body);
+                subscriber.onComplete();
+                done.complete(null);
+              }
+            }
+
+            @Override
+            public void cancel() {
+              if (finished.compareAndSet(false, true)) {
+                done.complete(null);
+              }
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,548 @@
+package com.loudent.library.inmemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+
+/**
+ * An in-process stand-in for the DynamoDB operations this service uses: GetItem, PutItem,
+ * DeleteItem, Query (on the table or a global secondary index), Scan with filters, BatchGetItem,
+ * BatchWriteItem, TransactGetItems and TransactWriteItems.
+ *
+ * <p>It is plugged in below the SDK as an HTTP client ({@link #syncHttpClient()}, {@link
+ * #asyncHttpClient()}) and speaks the DynamoDB JSON protocol, so marshalling, retries, execution
+ * interceptors and the completion executor behave exactly as they do against the real service.
+ * Latency, throttling and unprocessed batch items are injected by a {@link FaultInjector}.
+ */
+@Log4j2
+public class InMemoryDynamoDb {
+  static final String TARGET_HEADER = "X-Amz-Target";
+  static final String ERROR_PREFIX = "com.amazonaws.dynamodb.v20120810#";
+  static final int MAX_BATCH_GET = 100;
+  static final int MAX_BATCH_WRITE = 25;
+  static final int MAX_TRANSACT_ITEMS = 100;
+  static final int MAX_PAGE_BYTES = 1024 * 1024;
+
+  /** Key attribute names of a table or index; {@code sortKey} is {@code null} if there is none. */
+  public record KeySchema(String partitionKey, String sortKey) {}
+
+  /** A serialized response: status code and JSON body. */
+  record Response(int status, byte[] body) {
+    SdkHttpResponse httpResponse() {
+      return SdkHttpResponse.builder()
+          .statusCode(status)
+          .putHeader("Content-Type", "application/x-amz-json-1.0")
+          .putHeader("Content-Length", String.valueOf(body.length))
+          .putHeader("x-amzn-RequestId", UUID.randomUUID().toString())
+          .build();
+    }
+  }
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final Map<String, InMemoryTable> tables = new ConcurrentHashMap<>();
+  private final FaultInjector faults;
+
+  public InMemoryDynamoDb(FaultInjector faults) {
+    this.faults = faults;
+  }
+
+  public FaultInjector getFaults() {
+    return faults;
+  }
+
+  /** Registers an empty table; indexes are global secondary indexes keyed by name. */
+  public void createTable(String name, KeySchema primary, Map<String, KeySchema> indexes) {
+    tables.put(name, new InMemoryTable(name, primary, indexes));
+    log.info("In-memory DynamoDB table {} (key {}, indexes {})", name, primary, indexes.keySet());
+  }
+
+  /** Loads items from a BatchWriteItem request file such as those under {@code scripts/seed}. */
+  public int load(Path batchWriteFile) throws IOException {
+    JsonNode requestItems = mapper.readTree(Files.readAllBytes(batchWriteFile));
+    int loaded = 0;
+    Iterator<Map.Entry<String, JsonNode>> entries = requestItems.fields();
+    while (entries.hasNext()) {
+      Map.Entry<String, JsonNode> entry = entries.next();
+      InMemoryTable table = table(entry.getKey());
+      for (JsonNode request : entry.getValue()) {
+        if (request.has("PutRequest")) {
+          table.put((ObjectNode) request.get("PutRequest").get("Item"));
+          loaded++;
+        }
+      }
+    }
+    return loaded;
+  }
+
+  public SdkHttpClient syncHttpClient() {
+    return new InMemorySyncHttpClient(this);
+  }
+
+  public SdkAsyncHttpClient asyncHttpClient() {
+    return new InMemoryAsyncHttpClient(this);
+  }
+
+  /** Executes the operation named in the request's {@code X-Amz-Target} header. */
+  Response handle(SdkHttpRequest request, byte[] body) {
+    String target = request.firstMatchingHeader(TARGET_HEADER).orElse("");
+    String operation = target.substring(target.indexOf('.') + 1);
+    try {
+      if (faults.throttle()) {
+        throw InMemoryDynamoDbException.throttled();
+      }
+      ObjectNode input = (ObjectNode) mapper.readTree(body);
+      return new Response(200, mapper.writeValueAsBytes(dispatch(operation, input)));
+    } catch (InMemoryDynamoDbException e) {
+      return error(e);
+    } catch (IOException | ClassCastException e) {
+      return error(InMemoryDynamoDbException.validation("Malformed request: " + e.getMessage()));
+    } catch (RuntimeException e) {
+      log.error("In-memory DynamoDB failed on {}", operation, e);
+      return error(
+          new InMemoryDynamoDbException("InternalServerError", 500, e.toString(), null));
+    }
+  }
+
+  private ObjectNode dispatch(String operation, ObjectNode input) {
+    return switch (operation) {
+      case "GetItem" -> getItem(input);
+      case "PutItem" -> putItem(input);
+      case "DeleteItem" -> deleteItem(input);
+      case "Query" -> query(input);
+      case "Scan" -> scan(input);
+      case "BatchGetItem" -> batchGetItem(input);
+      case "BatchWriteItem" -> batchWriteItem(input);
+      case "TransactGetItems" -> transactGetItems(input);
+      case "TransactWriteItems" -> transactWriteItems(input);
+      default ->
+          throw new InMemoryDynamoDbException(
+              "UnknownOperationException", "Operation not supported in memory: " + operation);
+    };
+  }
+
+  private ObjectNode getItem(ObjectNode input) {
+    InMemoryTable table = table(input.path("TableName").asText());
+    ObjectNode item = table.get(input.get("Key"));
+    ObjectNode output = mapper.createObjectNode();
+    if (item != null) {
+      output.set("Item", project(item, input));
+    }
+    readCapacity(output, input, table, item == null ? 0 : AttributeValues.itemSize(item));
+    return output;
+  }
+
+  private ObjectNode putItem(ObjectNode input) {
+    InMemoryTable table = table(input.path("TableName").asText());
+    ObjectNode item = (ObjectNode) input.get("Item");
+    ObjectNode previous = locked(table, () -> checked(table, input, item).put(item));
+    return writeOutput(input, table, previous, item);
+  }
+
+  private ObjectNode deleteItem(ObjectNode input) {
+    InMemoryTable table = table(input.path("TableName").asText());
+    JsonNode key = input.get("Key");
+    ObjectNode previous = locked(table, () -> checked(table, input, key).delete(key));
+    return writeOutput(input, table, previous, previous);
+  }
+
+  private ObjectNode query(ObjectNode input) {
+    InMemoryTable table = table(input.path("TableName").asText());
+    String index = input.hasNonNull("IndexName") ? input.get("IndexName").asText() : null;
+    KeySchema schema = table.schema(index);
+    JsonNode names = input.get("ExpressionAttributeNames");
+    JsonNode values = input.get("ExpressionAttributeValues");
+    if (!input.hasNonNull("KeyConditionExpression")) {
+      throw InMemoryDynamoDbException.validation("KeyConditionExpression is required");
+    }
+    ConditionExpression keyCondition =
+        ConditionExpression.parse(input.get("KeyConditionExpression").asText());
+    JsonNode partitionValue =
+        keyCondition
+            .equalityValue(schema.partitionKey(), names, values)
+            .orElseThrow(
+                () ->
+                    InMemoryDynamoDbException.validation(
+                        "Query condition missed key schema element: " + schema.partitionKey()));
+
+    Comparator<JsonNode> order = table.ordering(index);
+    if (!input.path("ScanIndexForward").asBoolean(true)) {
+      order = order.reversed();
+    }
+    List<ObjectNode> candidates = table.partition(index, partitionValue);
+    candidates.sort(order);
+    JsonNode start = input.get("ExclusiveStartKey");
+    List<ObjectNode> matching = new ArrayList<>(candidates.size());
+    for (ObjectNode item : candidates) {
+      boolean pastStart = start == null || start.isNull() || order.compare(item, start) > 0;
+      if (pastStart && keyCondition.matches(item, names, values)) {
+        matching.add(item);
+      }
+    }
+    return page(input, table, index, matching);
+  }
+
+  private ObjectNode scan(ObjectNode input) {
+    InMemoryTable table = table(input.path("TableName").asText());
+    String index = input.hasNonNull("IndexName") ? input.get("IndexName").asText() : null;
+    int totalSegments = input.path("TotalSegments").asInt(1);
+    int segment = input.path("Segment").asInt(0);
+    Map<String, ObjectNode> items = table.items();
+    if (input.hasNonNull("ExclusiveStartKey")) {
+      items = table.items().tailMap(table.primaryKey(input.get("ExclusiveStartKey")), false);
+    }
+    List<ObjectNode> candidates = new ArrayList<>();
+    for (Map.Entry<String, ObjectNode> entry : items.entrySet()) {
+      if (Math.floorMod(entry.getKey().hashCode(), totalSegments) == segment
+          && (index == null || table.inIndex(index, entry.getValue()))) {
+        candidates.add(entry.getValue());
+      }
+    }
+    return page(input, table, index, candidates);
+  }
+
+  /**
+   * Applies {@code Limit}, the 1 MB page size, the filter, the projection and {@code Select} to
+   * the ordered candidates of a query or scan, like DynamoDB does: the limit counts items
+   * evaluated, not items returned.
+   */
+  private ObjectNode page(
+      ObjectNode input, InMemoryTable table, String index, List<ObjectNode> candidates) {
+    int limit = input.path("Limit").asInt(Integer.MAX_VALUE);
+    ConditionExpression filter =
+        input.hasNonNull("FilterExpression")
+            ? ConditionExpression.parse(input.get("FilterExpression").asText())
+            : null;
+    JsonNode names = input.get("ExpressionAttributeNames");
+    JsonNode values = input.get("ExpressionAttributeValues");
+    boolean countOnly = "COUNT".equals(input.path("Select").asText());
+
+    ArrayNode items = mapper.createArrayNode();
+    int count = 0;
+    int scanned = 0;
+    int bytes = 0;
+    ObjectNode last = null;
+    for (ObjectNode item : candidates) {
+      if (scanned == limit || bytes >= MAX_PAGE_BYTES) {
+        break;
+      }
+      scanned++;
+      bytes += AttributeValues.itemSize(item);
+      last = item;
+      if (filter == null || filter.matches(item, names, values)) {
+        count++;
+        if (!countOnly) {
+          items.add(project(item, input));
+        }
+      }
+    }
+
+    ObjectNode output = mapper.createObjectNode();
+    if (!countOnly) {
+      output.set("Items", items);
+    }
+    output.put("Count", count);
+    output.put("ScannedCount", scanned);
+    if (last != null && scanned < candidates.size()) {
+      output.set("LastEvaluatedKey", table.keyOf(last, index));
+    }
+    readCapacity(output, input, table, bytes);
+    return output;
+  }
+
+  private ObjectNode batchGetItem(ObjectNode input) {
+    JsonNode requestItems = input.path("RequestItems");
+    int keys = 0;
+    for (JsonNode request : requestItems) {
+      keys += request.path("Keys").size();
+    }
+    if (keys > MAX_BATCH_GET) {
+      throw InMemoryDynamoDbException.validation(
+          "Too many items requested for the BatchGetItem call");
+    }
+
+    ObjectNode responses = mapper.createObjectNode();
+    ObjectNode unprocessed = mapper.createObjectNode();
+    Iterator<Map.Entry<String, JsonNode>> entries = requestItems.fields();
+    while (entries.hasNext()) {
+      Map.Entry<String, JsonNode> entry = entries.next();
+      InMemoryTable table = table(entry.getKey());
+      JsonNode request = entry.getValue();
+      ArrayNode found = responses.putArray(entry.getKey());
+      ArrayNode skipped = mapper.createArrayNode();
+      for (JsonNode key : request.path("Keys")) {
+        if (faults.unprocessed()) {
+          skipped.add(key);
+          continue;
+        }
+        ObjectNode item = table.get(key);
+        if (item != null) {
+          found.add(project(item, request));
+        }
+      }
+      if (!skipped.isEmpty()) {
+        ObjectNode retry = ((ObjectNode) request).deepCopy();
+        retry.set("Keys", skipped);
+        unprocessed.set(entry.getKey(), retry);
+      }
+    }
+    ObjectNode output = mapper.createObjectNode();
+    output.set("Responses", responses);
+    output.set("UnprocessedKeys", unprocessed);
+    return output;
+  }
+
+  private ObjectNode batchWriteItem(ObjectNode input) {
+    JsonNode requestItems = input.path("RequestItems");
+    int writes = 0;
+    for (JsonNode requests : requestItems) {
+      writes += requests.size();
+    }
+    if (writes > MAX_BATCH_WRITE) {
+      throw InMemoryDynamoDbException.validation(
+          "Too many items requested for the BatchWriteItem call");
+    }
+
+    ObjectNode unprocessed = mapper.createObjectNode();
+    Iterator<Map.Entry<String, JsonNode>> entries = requestItems.fields();
+    while (entries.hasNext()) {
+      Map.Entry<String, JsonNode> entry = entries.next();
+      InMemoryTable table = table(entry.getKey());
+      ArrayNode skipped = mapper.createArrayNode();
+      for (JsonNode request : entry.getValue()) {
+        if (faults.unprocessed()) {
+          skipped.add(request);
+        } else if (request.has("PutRequest")) {
+          table.put((ObjectNode) request.get("PutRequest").get("Item"));
+        } else if (request.has("DeleteRequest")) {
+          table.delete(request.get("DeleteRequest").get("Key"));
+        }
+      }
+      if (!skipped.isEmpty()) {
+        unprocessed.set(entry.getKey(), skipped);
+      }
+    }
+    ObjectNode output = mapper.createObjectNode();
+    output.set("UnprocessedItems", unprocessed);
+    return output;
+  }
+
+  private ObjectNode transactGetItems(ObjectNode input) {
+    JsonNode transactItems = input.path("TransactItems");
+    if (transactItems.size() > MAX_TRANSACT_ITEMS) {
+      throw InMemoryDynamoDbException.validation("Too many items in the TransactGetItems call");
+    }
+    ArrayNode responses = mapper.createArrayNode();
+    for (JsonNode transactItem : transactItems) {
+      JsonNode get = transactItem.path("Get");
+      ObjectNode item = table(get.path("TableName").asText()).get(get.get("Key"));
+      ObjectNode response = responses.addObject();
+      if (item != null) {
+        response.set("Item", project(item, get));
+      }
+    }
+    ObjectNode output = mapper.createObjectNode();
+    output.set("Responses", responses);
+    return output;
+  }
+
+  /**
+   * Checks every condition with all involved tables locked (in name order, so concurrent
+   * transactions cannot deadlock) and only then applies the writes, so either all or none land.
+   */
+  private ObjectNode transactWriteItems(ObjectNode input) {
+    JsonNode transactItems = input.path("TransactItems");
+    if (transactItems.size() > MAX_TRANSACT_ITEMS) {
+      throw InMemoryDynamoDbException.validation("Too many items in the TransactWriteItems call");
+    }
+    Map<String, InMemoryTable> involved = new TreeMap<>();
+    Set<String> targets = new HashSet<>();
+    for (JsonNode transactItem : transactItems) {
+      String action = transactItem.fieldNames().next();
+      if ("Update".equals(action)) {
+        throw InMemoryDynamoDbException.validation(
+            "Update is not supported by the in-memory DynamoDB");
+      }
+      JsonNode operation = transactItem.get(action);
+      InMemoryTable table = table(operation.path("TableName").asText());
+      involved.put(table.getName(), table);
+      if (!targets.add(table.getName() + '\u0000' + table.primaryKey(target(operation)))) {
+        throw InMemoryDynamoDbException.validation(
+            "Transaction request cannot include multiple operations on one item");
+      }
+    }
+
+    List<ReentrantLock> locks = new ArrayList<>();
+    involved.values().forEach(table -> locks.add(table.getLock()));
+    locks.forEach(ReentrantLock::lock);
+    try {
+      ArrayNode reasons = mapper.createArrayNode();
+      boolean cancelled = false;
+      for (JsonNode transactItem : transactItems) {
+        String action = transactItem.fieldNames().next();
+        JsonNode operation = transactItem.get(action);
+        InMemoryTable table = involved.get(operation.path("TableName").asText());
+        ObjectNode reason = reasons.addObject();
+        if (conditionHolds(operation, table.get(target(operation)))) {
+          reason.put("Code", "None");
+        } else {
+          reason.put("Code", "ConditionalCheckFailed");
+          reason.put("Message", "The conditional request failed");
+          cancelled = true;
+        }
+      }
+      if (cancelled) {
+        ObjectNode details = mapper.createObjectNode();
+        details.set("CancellationReasons", reasons);
+        throw new InMemoryDynamoDbException(
+            "TransactionCanceledException",
+            400,
+            "Transaction cancelled, please refer cancellation reasons for specific reasons",
+            details);
+      }
+      for (JsonNode transactItem : transactItems) {
+        String action = transactItem.fieldNames().next();
+        JsonNode operation = transactItem.get(action);
+        InMemoryTable table = involved.get(operation.path("TableName").asText());
+        if ("Put".equals(action)) {
+          table.put((ObjectNode) operation.get("Item"));
+        } else if ("Delete".equals(action)) {
+          table.delete(operation.get("Key"));
+        }
+      }
+    } finally {
+      Collections.reverse(locks);
+      locks.forEach(ReentrantLock::unlock);
+    }
+    return mapper.createObjectNode();
+  }
+
+  private static JsonNode target(JsonNode operation) {
+    return operation.has("Item") ? operation.get("Item") : operation.get("Key");
+  }
+
+  private InMemoryTable table(String name) {
+    InMemoryTable table = tables.get(name);
+    if (table == null) {
+      throw InMemoryDynamoDbException.resourceNotFound(name);
+    }
+    return table;
+  }
+
+  private <T> T locked(InMemoryTable table, Supplier<T> write) {
+    table.getLock().lock();
+    try {
+      return write.get();
+    } finally {
+      table.getLock().unlock();
+    }
+  }
+
+  /** Returns {@code table} once the request's {@code ConditionExpression} holds for the target. */
+  private InMemoryTable checked(InMemoryTable table, JsonNode input, JsonNode key) {
+    if (!conditionHolds(input, table.get(key))) {
+      throw InMemoryDynamoDbException.conditionalCheckFailed();
+    }
+    return table;
+  }
+
+  private boolean conditionHolds(JsonNode input, ObjectNode existing) {
+    if (!input.hasNonNull("ConditionExpression")) {
+      return true;
+    }
+    return ConditionExpression.parse(input.get("ConditionExpression").asText())
+        .matches(
+            existing == null ? mapper.createObjectNode() : existing,
+            input.get("ExpressionAttributeNames"),
+            input.get("ExpressionAttributeValues"));
+  }
+
+  private ObjectNode writeOutput(
+      ObjectNode input, InMemoryTable table, ObjectNode previous, ObjectNode written) {
+    ObjectNode output = mapper.createObjectNode();
+    if ("ALL_OLD".equals(input.path("ReturnValues").asText()) && previous != null) {
+      output.set("Attributes", previous);
+    }
+    if (wantsCapacity(input)) {
+      int size = written == null ? 0 : AttributeValues.itemSize(written);
+      capacity(output, table, Math.max(1, Math.ceil(size / 1024.0)));
+    }
+    return output;
+  }
+
+  /** Eventually consistent reads cost half a unit per 4 KB, strongly consistent ones a unit. */
+  private void readCapacity(ObjectNode output, JsonNode input, InMemoryTable table, int bytes) {
+    if (wantsCapacity(input)) {
+      double units = Math.max(1, Math.ceil(bytes / 4096.0));
+      capacity(output, table, input.path("ConsistentRead").asBoolean() ? units : units / 2);
+    }
+  }
+
+  private static boolean wantsCapacity(JsonNode input) {
+    String mode = input.path("ReturnConsumedCapacity").asText("NONE");
+    return "TOTAL".equals(mode) || "INDEXES".equals(mode);
+  }
+
+  private void capacity(ObjectNode output, InMemoryTable table, double units) {
+    ObjectNode consumed = output.putObject("ConsumedCapacity");
+    consumed.put("TableName", table.getName());
+    consumed.put("CapacityUnits", units);
+  }
+
+  /** Applies a top-level {@code ProjectionExpression}; nested paths keep their whole attribute. */
+  private ObjectNode project(ObjectNode item, JsonNode input) {
+    if (!input.hasNonNull("ProjectionExpression")) {
+      return item;
+    }
+    JsonNode names = input.get("ExpressionAttributeNames");
+    ObjectNode projected = mapper.createObjectNode();
+    for (String path : input.get("ProjectionExpression").asText().split(",")) {
+      String attribute = path.trim().split("[.\\[]", 2)[0];
+      if (attribute.startsWith("#")) {
+        JsonNode name = names == null ? null : names.get(attribute);
+        if (name == null) {
+          throw InMemoryDynamoDbException.validation(
+              "An expression attribute name used in the document path is not defined: "
+                  + attribute);
+        }
+        attribute = name.asText();
+      }
+      if (item.has(attribute)) {
+        projected.set(attribute, item.get(attribute));
+      }
+    }
+    return projected;
+  }
+
+  private Response error(InMemoryDynamoDbException e) {
+    ObjectNode body = mapper.createObjectNode();
+    body.put("__type", ERROR_PREFIX + e.getType());
+    body.put("message", e.getMessage());
+    if (e.getDetails() != null) {
+      body.setAll(e.getDetails());
+    }
+    return new Response(e.getStatus(), body.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,57 @@
+package com.loudent.library.inmemory;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A DynamoDB service error raised by {@link InMemoryDynamoDb}. It is written back as the JSON error
+ * body the SDK expects, so the client raises the same exception type it would against DynamoDB.
+ */
+class InMemoryDynamoDbException extends RuntimeException {
+  private final String type;
+  private final int status;
+  private final transient ObjectNode details;
+
+  InMemoryDynamoDbException(String type, String message) {
+    this(type, 400, message, null);
+  }
+
+  InMemoryDynamoDbException(String type, int status, String message, ObjectNode details) {
+    super(message, null, false, false);
+    this.type = type;
+    this.status = status;
+    this.details = details;
+  }
+
+  static InMemoryDynamoDbException validation(String message) {
+    return new InMemoryDynamoDbException("ValidationException", message);
+  }
+
+  static InMemoryDynamoDbException resourceNotFound(String table) {
+    return new InMemoryDynamoDbException(
+        "ResourceNotFoundException", "Requested resource not found: Table: " + table);
+  }
+
+  static InMemoryDynamoDbException conditionalCheckFailed() {
+    return new InMemoryDynamoDbException(
+        "ConditionalCheckFailedException", "The conditional request failed");
+  }
+
+  static InMemoryDynamoDbException throttled() {
+    return new InMemoryDynamoDbException(
+        "ProvisionedThroughputExceededException",
+        "The level of configured provisioned throughput for the table was exceeded");
+  }
+
+  String getType() {
+    return type;
+  }
+
+  int getStatus() {
+    return status;
+  }
+
+  /** Extra members for the error body, such as {@code CancellationReasons}, or {@code null}. */
+  ObjectNode getDetails() {
+    return details;
+  }
+}
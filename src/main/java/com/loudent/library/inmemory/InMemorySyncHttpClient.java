@@ -0,0 +1,66 @@
+package com.loudent.library.inmemory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+
+/** Blocking SDK HTTP client answering from an {@link InMemoryDynamoDb} on the calling thread. */
+class InMemorySyncHttpClient implements SdkHttpClient {
+  static final String CLIENT_NAME = "InMemory";
+
+  private final InMemoryDynamoDb db;
+
+  InMemorySyncHttpClient(InMemoryDynamoDb db) {
+    this.db = db;
+  }
+
+  @Override
+  public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+    return new ExecutableHttpRequest() {
+      @Override
+      public HttpExecuteResponse call() throws IOException {
+        byte[] body = new byte[0];
+        if (request.contentStreamProvider().isPresent()) {
+          ContentStreamProvider provider = request.contentStreamProvider().get();
+          try (InputStream in = provider.newStream()) {
+            body = in.readAllBytes();
+          }
+        }
+        try {
+          TimeUnit.NANOSECONDS.sleep(db.getFaults().latencyNanos());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted during injected latency");
+        }
+        InMemoryDynamoDb.Response response = db.handle(request.httpRequest(), body);
+        return HttpExecuteResponse.builder()
+            .response(response.httpResponse())
+            .responseBody(AbortableInputStream.create(new ByteArrayInputStream(response.body())))
+            .build();
+      }
+
+      @Override
+      public void abort() {
+        // Nothing in flight to cancel
+      }
+    };
+  }
+
+  @Override
+  public String clientName() {
+    return CLIENT_NAME;
+  }
+
+  @Override
+  public void close() {
+    // No resources held
+  }
+}
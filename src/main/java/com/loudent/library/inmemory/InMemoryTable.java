@@ -0,0 +1,209 @@
+package com.loudent.library.inmemory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.loudent.library.inmemory.InMemoryDynamoDb.KeySchema;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One table's items, keyed by a canonical form of their primary key, plus a partition-key lookup
+ * per index so a query only touches its own partition. Writes hold the table lock; reads do not,
+ * so like a real global secondary index the partition lookups are only eventually consistent with
+ * the item map.
+ */
+final class InMemoryTable {
+  /** Partition lookup key for the table itself, alongside the named indexes. */
+  static final String PRIMARY = "";
+
+  private final String name;
+  private final Map<String, KeySchema> schemas;
+  private final NavigableMap<String, ObjectNode> items = new ConcurrentSkipListMap<>();
+  private final Map<String, Map<String, Set<String>>> partitions = new ConcurrentHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+
+  InMemoryTable(String name, KeySchema primary, Map<String, KeySchema> indexes) {
+    this.name = name;
+    this.schemas = new ConcurrentHashMap<>(indexes);
+    this.schemas.put(PRIMARY, primary);
+    this.schemas.keySet().forEach(index -> partitions.put(index, new ConcurrentHashMap<>()));
+  }
+
+  String getName() {
+    return name;
+  }
+
+  /** The lock conditional writes and transactions hold across their check and their write. */
+  ReentrantLock getLock() {
+    return lock;
+  }
+
+  /** The key schema of {@code index}, or of the table when {@code index} is {@code null}. */
+  KeySchema schema(String index) {
+    KeySchema schema = schemas.get(index == null ? PRIMARY : index);
+    if (schema == null) {
+      throw InMemoryDynamoDbException.validation(
+          "The table does not have the specified index: " + index);
+    }
+    return schema;
+  }
+
+  /** Canonical primary key of {@code item} (or of a bare key), validating it against the schema. */
+  String primaryKey(JsonNode item) {
+    if (item == null || !item.isObject()) {
+      throw keyMismatch();
+    }
+    KeySchema schema = schemas.get(PRIMARY);
+    JsonNode partition = item.get(schema.partitionKey());
+    JsonNode sort = schema.sortKey() == null ? null : item.get(schema.sortKey());
+    if (partition == null || (schema.sortKey() != null && sort == null)) {
+      throw keyMismatch();
+    }
+    String key = AttributeValues.keyString(partition);
+    return sort == null ? key : key + '\u0000' + AttributeValues.keyString(sort);
+  }
+
+  ObjectNode get(JsonNode key) {
+    return items.get(primaryKey(key));
+  }
+
+  /** Stores {@code item}, returning the item it replaced. */
+  ObjectNode put(ObjectNode item) {
+    String key = primaryKey(item);
+    lock.lock();
+    try {
+      ObjectNode previous = items.put(key, item);
+      unindex(key, previous);
+      index(key, item);
+      return previous;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Removes the item with {@code key}, returning it. */
+  ObjectNode delete(JsonNode key) {
+    String primaryKey = primaryKey(key);
+    lock.lock();
+    try {
+      ObjectNode previous = items.remove(primaryKey);
+      unindex(primaryKey, previous);
+      return previous;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** All items in primary key order, for scans. */
+  NavigableMap<String, ObjectNode> items() {
+    return items;
+  }
+
+  /**
+   * The items of one partition of {@code index} ({@code null} for the table), in sort key order
+   * and then primary key order so paging through them is stable.
+   */
+  List<ObjectNode> partition(String index, JsonNode partitionValue) {
+    Set<String> keys =
+        partitions
+            .get(index == null ? PRIMARY : index)
+            .get(AttributeValues.keyString(partitionValue));
+    List<ObjectNode> result = new ArrayList<>(keys == null ? 0 : keys.size());
+    if (keys != null) {
+      for (String key : keys) {
+        ObjectNode item = items.get(key);
+        if (item != null) {
+          result.add(item);
+        }
+      }
+    }
+    result.sort(ordering(index));
+    return result;
+  }
+
+  /**
+   * Query order within a partition of {@code index}: by its sort key, then by primary key. Works
+   * on items and on {@code ExclusiveStartKey}s alike, so a page resumes even if its last item was
+   * deleted in between.
+   */
+  Comparator<JsonNode> ordering(String index) {
+    Comparator<JsonNode> byPrimaryKey = Comparator.comparing(this::primaryKey);
+    String sortKey = schema(index).sortKey();
+    if (sortKey == null) {
+      return byPrimaryKey;
+    }
+    Comparator<JsonNode> bySortKey =
+        (a, b) -> {
+          Integer order = AttributeValues.compare(a.get(sortKey), b.get(sortKey));
+          return order == null ? 0 : order;
+        };
+    return bySortKey.thenComparing(byPrimaryKey);
+  }
+
+  /** Whether {@code item} appears in {@code index}, i.e. carries its partition key. */
+  boolean inIndex(String index, JsonNode item) {
+    KeySchema schema = schema(index);
+    return item.has(schema.partitionKey())
+        && (schema.sortKey() == null || item.has(schema.sortKey()));
+  }
+
+  /** The {@code LastEvaluatedKey} for {@code item}: the table key plus the index key, if any. */
+  ObjectNode keyOf(ObjectNode item, String index) {
+    ObjectNode key = JsonNodeFactory.instance.objectNode();
+    copyKey(item, schemas.get(PRIMARY), key);
+    if (index != null) {
+      copyKey(item, schema(index), key);
+    }
+    return key;
+  }
+
+  private static InMemoryDynamoDbException keyMismatch() {
+    return InMemoryDynamoDbException.validation(
+        "The provided key element does not match the schema");
+  }
+
+  private static void copyKey(ObjectNode item, KeySchema schema, ObjectNode key) {
+    key.set(schema.partitionKey(), item.get(schema.partitionKey()));
+    if (schema.sortKey() != null) {
+      key.set(schema.sortKey(), item.get(schema.sortKey()));
+    }
+  }
+
+  private void index(String key, ObjectNode item) {
+    schemas.forEach(
+        (index, schema) -> {
+          if (inIndex(index, item)) {
+            partitions
+                .get(index)
+                .computeIfAbsent(
+                    AttributeValues.keyString(item.get(schema.partitionKey())),
+                    k -> ConcurrentHashMap.newKeySet())
+                .add(key);
+          }
+        });
+  }
+
+  private void unindex(String key, ObjectNode item) {
+    if (item == null) {
+      return;
+    }
+    schemas.forEach(
+        (index, schema) -> {
+          JsonNode partition = item.get(schema.partitionKey());
+          if (partition != null) {
+            Set<String> keys = partitions.get(index).get(AttributeValues.keyString(partition));
+            if (keys != null) {
+              keys.remove(key);
+            }
+          }
+        });
+  }
+}
@@ -0,0 +1,56 @@
+package com.loudent.library.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+/**
+ * Publishes the SDK's per-request HTTP pool readings (leased, pending, available and maximum
+ * connections, plus acquire latency) as Micrometer gauges tagged with the client name. Clients that
+ * do not pool, such as URLConnection, simply never update them.
+ */
+public class ConnectionPoolMetricPublisher implements MetricPublisher {
+  static final String PREFIX = "dynamodb.http.pool.";
+  static final String CLIENT_TAG = "client";
+
+  private final AtomicInteger leased = new AtomicInteger();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicInteger available = new AtomicInteger();
+  private final AtomicInteger maximum = new AtomicInteger();
+  private final Timer acquireTimer;
+
+  public ConnectionPoolMetricPublisher(MeterRegistry meterRegistry, String client) {
+    gauge(meterRegistry, "leased", client, leased);
+    gauge(meterRegistry, "pending", client, pending);
+    gauge(meterRegistry, "available", client, available);
+    gauge(meterRegistry, "max", client, maximum);
+    this.acquireTimer =
+        Timer.builder(PREFIX + "acquire.duration").tag(CLIENT_TAG, client).register(meterRegistry);
+  }
+
+  @Override
+  public void publish(MetricCollection metrics) {
+    metrics.metricValues(HttpMetric.LEASED_CONCURRENCY).forEach(leased::set);
+    metrics.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES).forEach(pending::set);
+    metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY).forEach(available::set);
+    metrics.metricValues(HttpMetric.MAX_CONCURRENCY).forEach(maximum::set);
+    metrics.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION).forEach(acquireTimer::record);
+    metrics.children().forEach(this::publish);
+  }
+
+  @Override
+  public void close() {
+    // Nothing to flush; gauges read the latest values directly.
+  }
+
+  private static void gauge(
+      MeterRegistry meterRegistry, String name, String client, AtomicInteger value) {
+    Gauge.builder(PREFIX + name, value, AtomicInteger::get)
+        .tag(CLIENT_TAG, client)
+        .register(meterRegistry);
+  }
+}
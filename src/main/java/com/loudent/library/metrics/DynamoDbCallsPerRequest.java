@@ -0,0 +1,78 @@
+package com.loudent.library.metrics;
+
+import com.loudent.library.context.RequestContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Counts the DynamoDB calls each REST request makes, as {@code library.request.dynamodb.calls}
+ * tagged with the endpoint's operation ID, so a change that quietly multiplies them shows up in
+ * metrics and in the performance gate.
+ *
+ * <p>As an SDK interceptor on both clients it adds every call (not every retry) to the counter in
+ * the caller's {@link RequestContext}, which executors already carry across threads. As a web
+ * interceptor it records the total once the request, including any asynchronous part, completes.
+ */
+public class DynamoDbCallsPerRequest implements ExecutionInterceptor, AsyncHandlerInterceptor {
+  public static final String METRIC = "library.request.dynamodb.calls";
+
+  private static final String CONTEXT_ATTRIBUTE = DynamoDbCallsPerRequest.class.getName();
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+  public DynamoDbCallsPerRequest(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+    RequestContext request = RequestContext.current();
+    if (request != null) {
+      request.dynamoDbCalls().incrementAndGet();
+    }
+  }
+
+  /** Remembers the context, since an asynchronous dispatch may run without it. */
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    RequestContext context = RequestContext.current();
+    if (context != null && request.getAttribute(CONTEXT_ATTRIBUTE) == null) {
+      request.setAttribute(CONTEXT_ATTRIBUTE, context);
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(CONTEXT_ATTRIBUTE) instanceof RequestContext context
+        && handler instanceof HandlerMethod method) {
+      summary(method.getMethod().getName()).record(context.dynamoDbCalls().get());
+    }
+  }
+
+  /** One summary per endpoint, registered on its first request. */
+  private DistributionSummary summary(String endpoint) {
+    DistributionSummary known = summaries.get(endpoint);
+    return known != null
+        ? known
+        : summaries.computeIfAbsent(
+            endpoint,
+            name ->
+                DistributionSummary.builder(METRIC)
+                    .description("DynamoDB calls made to serve one request")
+                    .tag("endpoint", name)
+                    .register(meterRegistry));
+  }
+}
@@ -0,0 +1,278 @@
+package com.loudent.library.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Records what each DynamoDB call costs at the SDK level: latency per table and operation, retries,
+ * throttles, wire sizes and consumed capacity. Table tags are capped at {@code maxTables} distinct
+ * values (the rest report as {@code other}); operation names come from the fixed SDK API. Meters
+ * are registered once per table and operation and looked up once per call.
+ */
+public class DynamoDbMetricsInterceptor implements ExecutionInterceptor {
+  static final String LATENCY_METRIC = "dynamodb.client.latency";
+  static final String RETRIES_METRIC = "dynamodb.client.retries";
+  static final String THROTTLES_METRIC = "dynamodb.client.throttles";
+  static final String REQUEST_BYTES_METRIC = "dynamodb.client.request.bytes";
+  static final String RESPONSE_BYTES_METRIC = "dynamodb.client.response.bytes";
+  static final String CAPACITY_METRIC = "dynamodb.client.consumed.capacity";
+  static final String OTHER_TABLE = "other";
+  static final String BATCH_TABLE = "batch";
+
+  private static final ExecutionAttribute<Long> START_NANOS =
+      new ExecutionAttribute<>("LibraryMetricsStartNanos");
+  private static final ExecutionAttribute<Meters> METERS =
+      new ExecutionAttribute<>("LibraryMetricsMeters");
+  private static final ExecutionAttribute<AtomicInteger> ATTEMPTS =
+      new ExecutionAttribute<>("LibraryMetricsAttempts");
+
+  private final MeterRegistry meterRegistry;
+  private final boolean returnConsumedCapacity;
+  private final int maxTables;
+  private final Map<String, String> tableTags = new ConcurrentHashMap<>();
+  private final Map<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+  private final Map<MeterKey, DistributionSummary> capacities = new ConcurrentHashMap<>();
+
+  private record MeterKey(String table, String operation) {}
+
+  /** The per-call meters of one table and operation. */
+  private record Meters(
+      Timer success,
+      Timer error,
+      Counter retries,
+      Counter throttles,
+      DistributionSummary requestBytes,
+      DistributionSummary responseBytes) {}
+
+  public DynamoDbMetricsInterceptor(
+      MeterRegistry meterRegistry, boolean returnConsumedCapacity, int maxTables) {
+    this.meterRegistry = meterRegistry;
+    this.returnConsumedCapacity = returnConsumedCapacity;
+    this.maxTables = maxTables;
+  }
+
+  @Override
+  public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+    attributes.putAttribute(START_NANOS, System.nanoTime());
+    attributes.putAttribute(
+        METERS, meters(new MeterKey(tableOf(context.request()), operationOf(attributes))));
+    attributes.putAttribute(ATTEMPTS, new AtomicInteger());
+  }
+
+  @Override
+  public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes attributes) {
+    return returnConsumedCapacity ? withConsumedCapacity(context.request()) : context.request();
+  }
+
+  @Override
+  public void beforeTransmission(
+      Context.BeforeTransmission context, ExecutionAttributes attributes) {
+    AtomicInteger attempts = attributes.getAttribute(ATTEMPTS);
+    if (attempts != null) {
+      attempts.incrementAndGet();
+    }
+    Meters meters = attributes.getAttribute(METERS);
+    if (meters != null) {
+      contentLength(context.httpRequest().firstMatchingHeader("Content-Length"))
+          .ifPresent(meters.requestBytes()::record);
+    }
+  }
+
+  @Override
+  public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes attributes) {
+    Meters meters = attributes.getAttribute(METERS);
+    if (meters != null) {
+      contentLength(context.httpResponse().firstMatchingHeader("Content-Length"))
+          .ifPresent(meters.responseBytes()::record);
+    }
+  }
+
+  @Override
+  public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+    complete(attributes, true);
+    recordConsumedCapacity(context.response(), attributes);
+  }
+
+  @Override
+  public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+    complete(attributes, false);
+    Meters meters = attributes.getAttribute(METERS);
+    if (meters != null && isThrottle(context.exception())) {
+      meters.throttles().increment();
+    }
+  }
+
+  private void complete(ExecutionAttributes attributes, boolean success) {
+    Meters meters = attributes.getAttribute(METERS);
+    if (meters == null) {
+      return;
+    }
+    Long start = attributes.getAttribute(START_NANOS);
+    if (start != null) {
+      (success ? meters.success() : meters.error())
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    AtomicInteger attempts = attributes.getAttribute(ATTEMPTS);
+    if (attempts != null && attempts.get() > 1) {
+      meters.retries().increment(attempts.get() - 1);
+    }
+  }
+
+  private void recordConsumedCapacity(SdkResponse response, ExecutionAttributes attributes) {
+    Object consumed = response.getValueForField("ConsumedCapacity", Object.class).orElse(null);
+    String operation = operationOf(attributes);
+    if (consumed instanceof ConsumedCapacity capacity) {
+      recordCapacity(capacity, operation);
+    } else if (consumed instanceof Collection<?> capacities) {
+      capacities.stream()
+          .filter(ConsumedCapacity.class::isInstance)
+          .map(ConsumedCapacity.class::cast)
+          .forEach(capacity -> recordCapacity(capacity, operation));
+    }
+  }
+
+  private void recordCapacity(ConsumedCapacity capacity, String operation) {
+    if (capacity.capacityUnits() == null) {
+      return;
+    }
+    capacities
+        .computeIfAbsent(
+            new MeterKey(tableTag(capacity.tableName()), operation),
+            key ->
+                DistributionSummary.builder(CAPACITY_METRIC)
+                    .baseUnit("capacity.units")
+                    .tags(tags(key))
+                    .register(meterRegistry))
+        .record(capacity.capacityUnits());
+  }
+
+  private Meters meters(MeterKey key) {
+    Meters known = meters.get(key);
+    return known != null ? known : meters.computeIfAbsent(key, this::register);
+  }
+
+  private Meters register(MeterKey key) {
+    Tags tags = tags(key);
+    return new Meters(
+        latency(tags.and("outcome", "success")),
+        latency(tags.and("outcome", "error")),
+        meterRegistry.counter(RETRIES_METRIC, tags),
+        meterRegistry.counter(THROTTLES_METRIC, tags),
+        bytes(REQUEST_BYTES_METRIC, tags),
+        bytes(RESPONSE_BYTES_METRIC, tags));
+  }
+
+  private Timer latency(Tags tags) {
+    return Timer.builder(LATENCY_METRIC)
+        .tags(tags)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private DistributionSummary bytes(String name, Tags tags) {
+    return DistributionSummary.builder(name).baseUnit("bytes").tags(tags).register(meterRegistry);
+  }
+
+  private static Tags tags(MeterKey key) {
+    return Tags.of("table", key.table(), "operation", key.operation());
+  }
+
+  private static String operationOf(ExecutionAttributes attributes) {
+    String operation = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+    return operation == null ? "unknown" : operation;
+  }
+
+  private String tableOf(SdkRequest request) {
+    return request
+        .getValueForField("TableName", String.class)
+        .map(this::tableTag)
+        .orElse(BATCH_TABLE);
+  }
+
+  /** Keeps the table tag bounded: the first {@code maxTables} names are kept verbatim. */
+  String tableTag(String table) {
+    if (table == null) {
+      return OTHER_TABLE;
+    }
+    String known = tableTags.get(table);
+    if (known != null) {
+      return known;
+    }
+    if (tableTags.size() >= maxTables) {
+      return OTHER_TABLE;
+    }
+    return tableTags.computeIfAbsent(table, name -> name);
+  }
+
+  static SdkRequest withConsumedCapacity(SdkRequest request) {
+    ReturnConsumedCapacity total = ReturnConsumedCapacity.TOTAL;
+    if (request instanceof GetItemRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    if (request instanceof QueryRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    if (request instanceof ScanRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    if (request instanceof PutItemRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    if (request instanceof DeleteItemRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    if (request instanceof UpdateItemRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    if (request instanceof BatchGetItemRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    if (request instanceof BatchWriteItemRequest r && r.returnConsumedCapacity() == null) {
+      return r.toBuilder().returnConsumedCapacity(total).build();
+    }
+    return request;
+  }
+
+  static boolean isThrottle(Throwable error) {
+    return error instanceof ProvisionedThroughputExceededException
+        || error instanceof RequestLimitExceededException
+        || (error instanceof AwsServiceException aws && aws.isThrottlingException());
+  }
+
+  private static Optional<Long> contentLength(Optional<String> header) {
+    try {
+      return header.map(Long::parseLong);
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.loudent.library.model;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * One physical copy: its title's {@link Isbn} and a copy number. Parses both separators in use,
+ * {@code <isbn>.<n>} as the service writes and {@code <isbn>-<n>} as the seed data does, and packs
+ * into a single {@code long} (44 bits of ISBN, 20 of copy number) for primitive-keyed structures.
+ */
+public record BookId(Isbn isbn, int copy) {
+  public static final int MAX_COPY = (1 << 20) - 1;
+  private static final int COPY_BITS = 20;
+
+  public BookId {
+    Objects.requireNonNull(isbn, "isbn");
+    if (copy < 0 || copy > MAX_COPY) {
+      throw new IllegalArgumentException("Copy number out of range: " + copy);
+    }
+  }
+
+  public static BookId parse(String text) {
+    return tryParse(text)
+        .orElseThrow(() -> new IllegalArgumentException("Not a valid book id: " + text));
+  }
+
+  public static Optional<BookId> tryParse(String text) {
+    int separator = separator(text);
+    if (separator < 0) {
+      return Optional.empty();
+    }
+    int copy = copyNumber(text, separator + 1);
+    if (copy < 0) {
+      return Optional.empty();
+    }
+    return Isbn.tryParse(text.substring(0, separator)).map(isbn -> new BookId(isbn, copy));
+  }
+
+  /**
+   * The ISBN part of a book id as written, without validating it: everything before the first
+   * {@code .}, or before a trailing {@code -<n>}, or the whole id when it has neither.
+   */
+  public static String isbnOf(String bookId) {
+    int dot = bookId.indexOf('.');
+    if (dot > 0) {
+      return bookId.substring(0, dot);
+    }
+    int dash = bookId.lastIndexOf('-');
+    return dash > 0 && copyNumber(bookId, dash + 1) >= 0 ? bookId.substring(0, dash) : bookId;
+  }
+
+  /** The copy number of a book id as written, or -1 if it has none; the ISBN is not validated. */
+  public static int copyOf(String bookId) {
+    int separator = separator(bookId);
+    return separator < 0 ? -1 : copyNumber(bookId, separator + 1);
+  }
+
+  public static BookId unpack(long packed) {
+    return new BookId(new Isbn(packed >>> COPY_BITS), (int) (packed & MAX_COPY));
+  }
+
+  /** The ISBN in the high 44 bits and the copy number in the low 20. */
+  public long pack() {
+    return (isbn.value() << COPY_BITS) | copy;
+  }
+
+  /** The canonical {@code <isbn>.<n>} form. */
+  @Override
+  public String toString() {
+    return isbn + "." + copy;
+  }
+
+  /** The last {@code .}, or failing that the last {@code -}, that has text on both sides. */
+  private static int separator(String text) {
+    if (text == null) {
+      return -1;
+    }
+    int index = text.lastIndexOf('.');
+    if (index < 0) {
+      index = text.lastIndexOf('-');
+    }
+    return index > 0 && index < text.length() - 1 ? index : -1;
+  }
+
+  /** The decimal copy number from {@code start} to the end, or -1 if it is not one. */
+  private static int copyNumber(String text, int start) {
+    int length = text.length() - start;
+    if (length < 1 || length > 7) {
+      return -1;
+    }
+    int copy = 0;
+    for (int i = start; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      copy = copy * 10 + (c - '0');
+    }
+    return copy <= MAX_COPY ? copy : -1;
+  }
+}
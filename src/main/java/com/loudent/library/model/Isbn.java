@@ -0,0 +1,126 @@
+package com.loudent.library.model;
+
+import java.util.Optional;
+
+/**
+ * A checksum-validated ISBN, held as the thirteen digits of its ISBN-13 form in a {@code long} so
+ * maps, sets and filters keyed by ISBN can use primitive keys instead of strings. ISBN-10s are
+ * converted to their 978-prefixed ISBN-13 when parsed.
+ */
+public record Isbn(long value) implements Comparable<Isbn> {
+  private static final long MIN = 9_780_000_000_000L;
+  private static final long MAX = 9_799_999_999_999L;
+
+  public Isbn {
+    if (value < MIN || value > MAX || checkDigit(value / 10) != value % 10) {
+      throw new IllegalArgumentException("Not a valid ISBN-13: " + value);
+    }
+  }
+
+  /** Parses an ISBN-13 or ISBN-10, ignoring hyphens and spaces between the digits. */
+  public static Isbn parse(String text) {
+    return tryParse(text)
+        .orElseThrow(() -> new IllegalArgumentException("Not a valid ISBN: " + text));
+  }
+
+  public static Optional<Isbn> tryParse(String text) {
+    long value = parseValue(text);
+    return value < 0 ? Optional.empty() : Optional.of(new Isbn(value));
+  }
+
+  /**
+   * The {@link #value} of the ISBN {@code text} reads as, under the rules of {@link #parse}, or -1
+   * when it is not one. Allocates nothing, for lookups on hot paths.
+   */
+  public static long parseValue(String text) {
+    if (text == null) {
+      return -1;
+    }
+    int digits = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (!isSeparator(text.charAt(i))) {
+        digits++;
+      }
+    }
+    long value =
+        switch (digits) {
+          case 13 -> isbn13(text);
+          case 10 -> isbn10(text);
+          default -> -1;
+        };
+    return value < MIN || value > MAX || checkDigit(value / 10) != value % 10 ? -1 : value;
+  }
+
+  @Override
+  public int compareTo(Isbn other) {
+    return Long.compare(value, other.value);
+  }
+
+  /** The thirteen digits, as the tables store them. */
+  @Override
+  public String toString() {
+    return Long.toString(value);
+  }
+
+  /** The ISBN-13 check digit for its first twelve digits, weighted 1, 3, 1, ... from the left. */
+  private static long checkDigit(long twelveDigits) {
+    long sum = 0;
+    long rest = twelveDigits;
+    for (int i = 0; i < 12; i++) {
+      sum += (rest % 10) * (i % 2 == 0 ? 3 : 1);
+      rest /= 10;
+    }
+    return (10 - sum % 10) % 10;
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == '-' || c == ' ';
+  }
+
+  /** The value of thirteen digits, skipping separators. */
+  private static long isbn13(String text) {
+    long value = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isSeparator(c)) {
+        continue;
+      }
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  /** The ISBN-13 of a valid ISBN-10, whose last character may be {@code X} for ten. */
+  private static long isbn10(String text) {
+    long body = 0;
+    int sum = 0;
+    int i = 0;
+    for (int position = 0; position < text.length(); position++) {
+      char c = text.charAt(position);
+      if (isSeparator(c)) {
+        continue;
+      }
+      int digit;
+      if (c >= '0' && c <= '9') {
+        digit = c - '0';
+      } else if (i == 9 && (c == 'X' || c == 'x')) {
+        digit = 10;
+      } else {
+        return -1;
+      }
+      sum += digit * (10 - i);
+      if (i < 9) {
+        body = body * 10 + digit;
+      }
+      i++;
+    }
+    if (sum % 11 != 0) {
+      return -1;
+    }
+    long twelveDigits = 978_000_000_000L + body;
+    return twelveDigits * 10 + checkDigit(twelveDigits);
+  }
+}
@@ -0,0 +1,222 @@
+package com.loudent.library.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker for a single DynamoDB table. The breaker opens when the failure rate
+ * or the slow-call rate over the last {@code windowSize} calls crosses its threshold, rejects calls
+ * for {@code openDuration}, then lets a few probe calls through before closing again.
+ */
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  public record Settings(
+      boolean enabled,
+      double failureRateThreshold,
+      double slowCallRateThreshold,
+      Duration slowCallDuration,
+      int windowSize,
+      int minimumCalls,
+      Duration openDuration,
+      int halfOpenCalls) {
+
+    public static Settings defaults() {
+      return new Settings(true, 50, 80, Duration.ofSeconds(2), 50, 20, Duration.ofSeconds(10), 3);
+    }
+  }
+
+  interface Listener {
+    void onStateChange(String name, State from, State to);
+
+    void onCallNotPermitted(String name);
+  }
+
+  private static final byte SUCCESS = 0;
+  private static final byte FAILURE = 1;
+  private static final byte SLOW = 2;
+
+  private final String name;
+  private final Settings settings;
+  private final Listener listener;
+  private final LongSupplier clock;
+  private final long slowCallNanos;
+  private final long openNanos;
+
+  private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+  private final AtomicInteger halfOpenPermits = new AtomicInteger();
+  private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+  private volatile long openedAtNanos;
+
+  // Guarded by this
+  private final byte[] outcomes;
+  private int position;
+  private int recorded;
+  private int failures;
+  private int slowCalls;
+
+  CircuitBreaker(String name, Settings settings, Listener listener, LongSupplier clock) {
+    this.name = name;
+    this.settings = settings;
+    this.listener = listener;
+    this.clock = clock;
+    this.slowCallNanos = settings.slowCallDuration().toNanos();
+    this.openNanos = settings.openDuration().toNanos();
+    this.outcomes = new byte[Math.max(1, settings.windowSize())];
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public State getState() {
+    return state.get();
+  }
+
+  /** Runs a blocking DynamoDB call, or throws {@link CircuitOpenException} while open. */
+  public <T> T execute(Supplier<T> call) {
+    if (!settings.enabled()) {
+      return call.get();
+    }
+    if (!tryAcquirePermission()) {
+      throw new CircuitOpenException(name);
+    }
+
+    long start = clock.getAsLong();
+    try {
+      T result = call.get();
+      onResult(clock.getAsLong() - start, null);
+      return result;
+    } catch (RuntimeException e) {
+      onResult(clock.getAsLong() - start, e);
+      throw e;
+    }
+  }
+
+  public void run(Runnable call) {
+    execute(
+        () -> {
+          call.run();
+          return null;
+        });
+  }
+
+  /** Runs an async DynamoDB call, failing the future fast while the circuit is open. */
+  public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+    if (!settings.enabled()) {
+      return call.get();
+    }
+    if (!tryAcquirePermission()) {
+      return CompletableFuture.failedFuture(new CircuitOpenException(name));
+    }
+
+    long start = clock.getAsLong();
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      onResult(clock.getAsLong() - start, e);
+      throw e;
+    }
+    return future.whenComplete((result, error) -> onResult(clock.getAsLong() - start, error));
+  }
+
+  boolean tryAcquirePermission() {
+    State current = state.get();
+    if (current == State.CLOSED) {
+      return true;
+    }
+    if (current == State.OPEN) {
+      if (clock.getAsLong() - openedAtNanos < openNanos) {
+        listener.onCallNotPermitted(name);
+        return false;
+      }
+      // Only the caller that moves the breaker on starts the probe period; the rest re-read it
+      if (transition(State.OPEN, State.HALF_OPEN)) {
+        halfOpenSuccesses.set(0);
+        halfOpenPermits.set(settings.halfOpenCalls());
+      }
+    }
+    if (state.get() == State.HALF_OPEN && halfOpenPermits.getAndDecrement() > 0) {
+      return true;
+    }
+    listener.onCallNotPermitted(name);
+    return false;
+  }
+
+  void onResult(long durationNanos, Throwable error) {
+    byte outcome = error != null ? FAILURE : durationNanos >= slowCallNanos ? SLOW : SUCCESS;
+
+    State current = state.get();
+    if (current == State.HALF_OPEN) {
+      if (outcome != SUCCESS) {
+        open(State.HALF_OPEN);
+      } else if (halfOpenSuccesses.incrementAndGet() >= settings.halfOpenCalls()
+          && transition(State.HALF_OPEN, State.CLOSED)) {
+        resetWindow();
+      }
+    } else if (current == State.CLOSED && record(outcome)) {
+      open(State.CLOSED);
+    }
+  }
+
+  private synchronized boolean record(byte outcome) {
+    if (recorded == outcomes.length) {
+      forget(outcomes[position]);
+    } else {
+      recorded++;
+    }
+    outcomes[position] = outcome;
+    if (outcome == FAILURE) {
+      failures++;
+    } else if (outcome == SLOW) {
+      slowCalls++;
+    }
+    position = (position + 1) % outcomes.length;
+
+    if (recorded < settings.minimumCalls()) {
+      return false;
+    }
+    return failures * 100.0 / recorded >= settings.failureRateThreshold()
+        || slowCalls * 100.0 / recorded >= settings.slowCallRateThreshold();
+  }
+
+  private void forget(byte outcome) {
+    if (outcome == FAILURE) {
+      failures--;
+    } else if (outcome == SLOW) {
+      slowCalls--;
+    }
+  }
+
+  private synchronized void resetWindow() {
+    position = 0;
+    recorded = 0;
+    failures = 0;
+    slowCalls = 0;
+  }
+
+  private void open(State from) {
+    openedAtNanos = clock.getAsLong();
+    // No probes are left over for the next half-open period until its first caller grants them
+    halfOpenPermits.set(0);
+    transition(from, State.OPEN);
+  }
+
+  private boolean transition(State from, State to) {
+    if (state.compareAndSet(from, to)) {
+      listener.onStateChange(name, from, to);
+      return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,86 @@
+package com.loudent.library.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Holds one {@link CircuitBreaker} per DynamoDB table and exports their state as metrics. */
+@Log4j2
+@Component
+public class CircuitBreakerRegistry {
+  static final String STATE_METRIC = "dynamodb.circuit.state";
+  static final String TRANSITIONS_METRIC = "dynamodb.circuit.transitions";
+  static final String REJECTED_METRIC = "dynamodb.circuit.rejected";
+  static final String TABLE_TAG = "table";
+
+  private final MeterRegistry meterRegistry;
+  private final CircuitBreaker.Settings settings;
+  private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+  private final CircuitBreaker.Listener listener = new MetricsListener();
+
+  @Autowired
+  public CircuitBreakerRegistry(
+      MeterRegistry meterRegistry,
+      @Value("${service.circuit-breaker.enabled:false}") boolean enabled,
+      @Value("${service.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+      @Value("${service.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+      @Value("${service.circuit-breaker.slow-call-duration-ms:2000}") long slowCallDurationMs,
+      @Value("${service.circuit-breaker.window-size:50}") int windowSize,
+      @Value("${service.circuit-breaker.minimum-calls:20}") int minimumCalls,
+      @Value("${service.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+      @Value("${service.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+    this(
+        meterRegistry,
+        new CircuitBreaker.Settings(
+            enabled,
+            failureRateThreshold,
+            slowCallRateThreshold,
+            Duration.ofMillis(slowCallDurationMs),
+            windowSize,
+            minimumCalls,
+            Duration.ofMillis(openDurationMs),
+            halfOpenCalls));
+  }
+
+  public CircuitBreakerRegistry(MeterRegistry meterRegistry, CircuitBreaker.Settings settings) {
+    this.meterRegistry = meterRegistry;
+    this.settings = settings;
+  }
+
+  public CircuitBreaker forTable(String table) {
+    return breakers.computeIfAbsent(table, this::newBreaker);
+  }
+
+  private CircuitBreaker newBreaker(String table) {
+    CircuitBreaker breaker = new CircuitBreaker(table, settings, listener, System::nanoTime);
+    Gauge.builder(STATE_METRIC, breaker, b -> b.getState().ordinal())
+        .description("0 = closed, 1 = open, 2 = half-open")
+        .tag(TABLE_TAG, table)
+        .register(meterRegistry);
+    return breaker;
+  }
+
+  private class MetricsListener implements CircuitBreaker.Listener {
+
+    @Override
+    public void onStateChange(String name, CircuitBreaker.State from, CircuitBreaker.State to) {
+      meterRegistry.counter(TRANSITIONS_METRIC, TABLE_TAG, name, "state", to.name()).increment();
+      if (to == CircuitBreaker.State.OPEN) {
+        log.warn("Circuit breaker for table {} opened (was {})", name, from);
+      } else {
+        log.info("Circuit breaker for table {} moved from {} to {}", name, from, to);
+      }
+    }
+
+    @Override
+    public void onCallNotPermitted(String name) {
+      meterRegistry.counter(REJECTED_METRIC, TABLE_TAG, name).increment();
+    }
+  }
+}
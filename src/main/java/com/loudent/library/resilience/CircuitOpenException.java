@@ -0,0 +1,11 @@
+package com.loudent.library.resilience;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CircuitOpenException extends RuntimeException {
+  public CircuitOpenException(String table) {
+    super("Circuit breaker is open for table: " + table, null, false, false);
+  }
+}
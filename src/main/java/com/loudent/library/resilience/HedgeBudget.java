@@ -0,0 +1,42 @@
+package com.loudent.library.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps hedges to a percentage of primary requests. Every request deposits a
+ * fraction of a token and every hedge spends a whole one, so a 5% budget allows at most one hedge
+ * per twenty requests over time.
+ */
+class HedgeBudget {
+  private static final long TOKEN = 1_000;
+  private static final long MAX_BALANCE = 10 * TOKEN;
+
+  private final long depositPerRequest;
+  private final AtomicLong balance = new AtomicLong();
+
+  HedgeBudget(double budgetPercent) {
+    this.depositPerRequest = Math.round(Math.max(0, budgetPercent) / 100.0 * TOKEN);
+  }
+
+  void onRequest() {
+    balance.accumulateAndGet(
+        depositPerRequest, (current, deposit) -> Math.min(MAX_BALANCE, current + deposit));
+  }
+
+  /** Returns the token of a hedge that {@link #tryAcquire} paid for but could not send. */
+  void refund() {
+    balance.accumulateAndGet(TOKEN, (current, token) -> Math.min(MAX_BALANCE, current + token));
+  }
+
+  boolean tryAcquire() {
+    while (true) {
+      long current = balance.get();
+      if (current < TOKEN) {
+        return false;
+      }
+      if (balance.compareAndSet(current, current - TOKEN)) {
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,330 @@
+package com.loudent.library.resilience;
+
+import com.loudent.library.context.ContextSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Hedges idempotent DynamoDB point reads. When the first attempt is still outstanding after the
+ * configured percentile of recent latency, an identical second request is sent and whichever
+ * completes first wins; the other is cancelled. Hedges are capped by a per-operation {@link
+ * HedgeBudget}. Reads through the sync client run their attempts on a pool of their own, so a
+ * caller blocked on a hedged read never waits for a thread of its own pool.
+ */
+@Log4j2
+@Component
+public class HedgedReads {
+  static final String REQUESTS_METRIC = "dynamodb.hedge.requests";
+  static final String HEDGES_METRIC = "dynamodb.hedge.sent";
+  static final String WINS_METRIC = "dynamodb.hedge.wins";
+  static final String HEDGE_RATE_METRIC = "dynamodb.hedge.rate";
+  static final String WIN_RATE_METRIC = "dynamodb.hedge.win.rate";
+  static final String OPERATION_TAG = "operation";
+
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final double percentile;
+  private final double budgetPercent;
+  private final int minSamples;
+  private final int windowSize;
+  private final Scheduler scheduler;
+  private final ExecutorService blockingExecutor;
+  private final Map<String, OperationState> operations = new ConcurrentHashMap<>();
+
+  /** Runs a task after a delay; a seam so tests can fire hedges without waiting. */
+  interface Scheduler {
+    void schedule(Runnable task, long delayNanos);
+  }
+
+  @Autowired
+  public HedgedReads(
+      MeterRegistry meterRegistry,
+      @Value("${service.hedging.enabled:false}") boolean enabled,
+      @Value("${service.hedging.percentile:0.95}") double percentile,
+      @Value("${service.hedging.budget-percent:5}") double budgetPercent,
+      @Value("${service.hedging.min-samples:100}") int minSamples,
+      @Value("${service.hedging.window-size:1024}") int windowSize,
+      @Value("${service.hedging.blocking-threads:64}") int blockingThreads) {
+    this(
+        meterRegistry,
+        enabled,
+        percentile,
+        budgetPercent,
+        minSamples,
+        windowSize,
+        enabled ? timer() : null,
+        enabled ? blockingPool(blockingThreads) : null);
+  }
+
+  HedgedReads(
+      MeterRegistry meterRegistry,
+      boolean enabled,
+      double percentile,
+      double budgetPercent,
+      int minSamples,
+      int windowSize,
+      Scheduler scheduler,
+      ExecutorService blockingExecutor) {
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.percentile = percentile;
+    this.budgetPercent = budgetPercent;
+    this.minSamples = minSamples;
+    this.windowSize = windowSize;
+    this.scheduler = scheduler;
+    this.blockingExecutor = blockingExecutor;
+    if (enabled) {
+      log.info(
+          "Hedged reads enabled at p{} with a {}% budget",
+          Math.round(percentile * 100),
+          budgetPercent);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Runs an async read, sending a hedge if it is slower than the recent latency percentile. */
+  public <T> CompletableFuture<T> execute(
+      String operation, Supplier<CompletableFuture<T>> request) {
+    if (!enabled) {
+      return request.get();
+    }
+
+    OperationState state = operations.computeIfAbsent(operation, this::newState);
+    state.requests.increment();
+    state.budget.onRequest();
+
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Attempts attempts = new Attempts();
+    // Whichever way the result settles, including a caller giving up, the other attempt is moot
+    result.whenComplete((value, error) -> attempts.cancelAll());
+    launch(state, request, result, attempts);
+
+    long delay = state.window.thresholdNanos();
+    if (delay >= 0 && !result.isDone()) {
+      scheduler.schedule(
+          ContextSnapshot.wrap(() -> maybeHedge(state, request, result, attempts)), delay);
+    }
+    return result;
+  }
+
+  /**
+   * Blocking variant for reads made through the sync client. Attempts run on the hedging pool
+   * rather than the caller's, and a cancelled attempt is interrupted. When the pool is full the read
+   * runs unhedged on the calling thread.
+   */
+  public <T> T executeBlocking(String operation, Supplier<T> request) {
+    if (!enabled) {
+      return request.get();
+    }
+    try {
+      return execute(operation, () -> submit(request)).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RejectedExecutionException) {
+        return request.get();
+      }
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (scheduler instanceof TimerScheduler timer) {
+      timer.executor().shutdownNow();
+    }
+    if (blockingExecutor != null) {
+      blockingExecutor.shutdownNow();
+    }
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> request) {
+    CompletableFuture<T> attempt = new CompletableFuture<>();
+    Future<?> task =
+        blockingExecutor.submit(
+            ContextSnapshot.wrap(
+                () -> {
+                  try {
+                    attempt.complete(request.get());
+                  } catch (RuntimeException e) {
+                    attempt.completeExceptionally(e);
+                  }
+                }));
+    attempt.whenComplete(
+        (value, error) -> {
+          if (attempt.isCancelled()) {
+            task.cancel(true);
+          }
+        });
+    return attempt;
+  }
+
+  private <T> void maybeHedge(
+      OperationState state,
+      Supplier<CompletableFuture<T>> request,
+      CompletableFuture<T> result,
+      Attempts attempts) {
+    if (result.isDone() || !state.budget.tryAcquire()) {
+      return;
+    }
+    long start = System.nanoTime();
+    CompletableFuture<T> attempt;
+    try {
+      attempt = request.get();
+    } catch (RejectedExecutionException e) {
+      // The pool had no room, so nothing was sent: neither count the hedge nor spend budget on it
+      state.budget.refund();
+      return;
+    } catch (RuntimeException e) {
+      attempt = CompletableFuture.failedFuture(e);
+    }
+    state.hedges.increment();
+    track(state, attempt, start, result, attempts, true);
+  }
+
+  private <T> void launch(
+      OperationState state,
+      Supplier<CompletableFuture<T>> request,
+      CompletableFuture<T> result,
+      Attempts attempts) {
+    long start = System.nanoTime();
+    CompletableFuture<T> attempt;
+    try {
+      attempt = request.get();
+    } catch (RuntimeException e) {
+      attempt = CompletableFuture.failedFuture(e);
+    }
+    track(state, attempt, start, result, attempts, false);
+  }
+
+  /** Settles {@code result} from {@code attempt}, started at {@code start}, unless it already is. */
+  private <T> void track(
+      OperationState state,
+      CompletableFuture<T> attempt,
+      long start,
+      CompletableFuture<T> result,
+      Attempts attempts,
+      boolean hedge) {
+    attempts.add(attempt);
+    if (result.isDone()) {
+      attempt.cancel(true);
+    }
+
+    attempt.whenComplete(
+        (value, error) -> {
+          if (error == null) {
+            state.window.record(System.nanoTime() - start);
+            if (result.complete(value) && hedge) {
+              state.wins.increment();
+            }
+          } else if (attempts.failed()) {
+            result.completeExceptionally(error);
+          }
+        });
+  }
+
+  private OperationState newState(String operation) {
+    OperationState state =
+        new OperationState(
+            new LatencyWindow(windowSize, percentile, minSamples),
+            new HedgeBudget(budgetPercent),
+            meterRegistry.counter(REQUESTS_METRIC, OPERATION_TAG, operation),
+            meterRegistry.counter(HEDGES_METRIC, OPERATION_TAG, operation),
+            meterRegistry.counter(WINS_METRIC, OPERATION_TAG, operation));
+
+    Gauge.builder(HEDGE_RATE_METRIC, state, s -> ratio(s.hedges, s.requests))
+        .tag(OPERATION_TAG, operation)
+        .register(meterRegistry);
+    Gauge.builder(WIN_RATE_METRIC, state, s -> ratio(s.wins, s.hedges))
+        .tag(OPERATION_TAG, operation)
+        .register(meterRegistry);
+    return state;
+  }
+
+  private static double ratio(Counter numerator, Counter denominator) {
+    double total = denominator.count();
+    return total == 0 ? 0 : numerator.count() / total;
+  }
+
+  private static Scheduler timer() {
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .threadNamePrefix("dynamodb-hedge-")
+                .daemonThreads(true)
+                .build());
+    return new TimerScheduler(executor);
+  }
+
+  private static ExecutorService blockingPool(int threads) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            30,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new ThreadFactoryBuilder()
+                .threadNamePrefix("dynamodb-hedge-read-")
+                .daemonThreads(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private record TimerScheduler(ScheduledExecutorService executor) implements Scheduler {
+    @Override
+    public void schedule(Runnable task, long delayNanos) {
+      executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** The attempts of one read: the result fails only once every attempt has failed. */
+  private static final class Attempts {
+    private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    void add(Future<?> attempt) {
+      outstanding.incrementAndGet();
+      futures.add(attempt);
+    }
+
+    boolean failed() {
+      return outstanding.decrementAndGet() == 0;
+    }
+
+    void cancelAll() {
+      futures.forEach(attempt -> attempt.cancel(true));
+    }
+  }
+
+  private record OperationState(
+      LatencyWindow window, HedgeBudget budget, Counter requests, Counter hedges, Counter wins) {}
+}
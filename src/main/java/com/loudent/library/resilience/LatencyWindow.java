@@ -0,0 +1,55 @@
+package com.loudent.library.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size ring of recent latency samples. The configured percentile is recomputed every {@link
+ * #REFRESH_EVERY} samples so that reading it on the request path is a single volatile read.
+ */
+class LatencyWindow {
+  static final int REFRESH_EVERY = 64;
+
+  private final AtomicLongArray samples;
+  private final AtomicLong count = new AtomicLong();
+  private final double percentile;
+  private final int minSamples;
+  private volatile long thresholdNanos = -1;
+
+  LatencyWindow(int size, double percentile, int minSamples) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Latency window size must be positive");
+    }
+    if (percentile <= 0 || percentile > 1) {
+      throw new IllegalArgumentException("Percentile must be in (0, 1]");
+    }
+    this.samples = new AtomicLongArray(size);
+    this.percentile = percentile;
+    this.minSamples = Math.max(1, minSamples);
+  }
+
+  void record(long nanos) {
+    long total = count.incrementAndGet();
+    samples.set((int) ((total - 1) % samples.length()), nanos);
+    if (total >= minSamples && (thresholdNanos < 0 || total % REFRESH_EVERY == 0)) {
+      refresh(total);
+    }
+  }
+
+  /** Returns the percentile latency in nanos, or -1 until enough samples have been seen. */
+  long thresholdNanos() {
+    return thresholdNanos;
+  }
+
+  private void refresh(long total) {
+    int filled = (int) Math.min(total, samples.length());
+    long[] copy = new long[filled];
+    for (int i = 0; i < filled; i++) {
+      copy[i] = samples.get(i);
+    }
+    Arrays.sort(copy);
+    int index = (int) Math.ceil(percentile * filled) - 1;
+    thresholdNanos = copy[Math.max(0, Math.min(filled - 1, index))];
+  }
+}
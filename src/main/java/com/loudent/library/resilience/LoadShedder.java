@@ -0,0 +1,92 @@
+package com.loudent.library.resilience;
+
+import com.loudent.library.config.DynamoDbConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sheds requests before the DynamoDB completion executor overflows. Pressure is how full its queue
+ * is: a bounded queue only fills once the core threads are busy, and the pool only grows past its
+ * core once the queue is full, so the active-thread ratio says nothing until it is too late. For a
+ * pool without queue capacity it falls back to the active-thread ratio. Low-priority endpoints are
+ * rejected once pressure crosses the low-priority threshold and every endpoint once it crosses the
+ * critical threshold.
+ */
+@Component
+public class LoadShedder {
+  static final String SHED_METRIC = "loadshedding.shed";
+  static final String PRESSURE_METRIC = "loadshedding.pressure";
+
+  public enum Priority {
+    HIGH,
+    LOW
+  }
+
+  private final MeterRegistry meterRegistry;
+  private final DynamoDbConfig dynamoDbConfig;
+  private final boolean enabled;
+  private final double lowPriorityThreshold;
+  private final double criticalThreshold;
+  private final Set<String> lowPriorityEndpoints;
+
+  public LoadShedder(
+      MeterRegistry meterRegistry,
+      DynamoDbConfig dynamoDbConfig,
+      @Value("${service.load-shedding.enabled:false}") boolean enabled,
+      @Value("${service.load-shedding.low-priority-threshold:0.5}") double lowPriorityThreshold,
+      @Value("${service.load-shedding.critical-threshold:0.9}") double criticalThreshold,
+      @Value("${service.load-shedding.low-priority-endpoints:searchCatalog,getBookByTitle}")
+          List<String> lowPriorityEndpoints) {
+    this.meterRegistry = meterRegistry;
+    this.dynamoDbConfig = dynamoDbConfig;
+    this.enabled = enabled;
+    this.lowPriorityThreshold = lowPriorityThreshold;
+    this.criticalThreshold = criticalThreshold;
+    this.lowPriorityEndpoints = Set.copyOf(lowPriorityEndpoints);
+
+    Gauge.builder(PRESSURE_METRIC, this, LoadShedder::pressure).register(meterRegistry);
+  }
+
+  public Priority priorityOf(String endpoint) {
+    return lowPriorityEndpoints.contains(endpoint) ? Priority.LOW : Priority.HIGH;
+  }
+
+  /** Returns true, and counts the shed, when a request for {@code endpoint} should be rejected. */
+  public boolean shouldShed(String endpoint) {
+    if (!enabled) {
+      return false;
+    }
+
+    double pressure = pressure();
+    Priority priority = priorityOf(endpoint);
+    boolean shed =
+        pressure >= criticalThreshold
+            || (priority == Priority.LOW && pressure >= lowPriorityThreshold);
+    if (shed) {
+      meterRegistry
+          .counter(SHED_METRIC, "endpoint", endpoint, "priority", priority.name())
+          .increment();
+    }
+    return shed;
+  }
+
+  double pressure() {
+    ThreadPoolExecutor executor = dynamoDbConfig.getDynamoAsyncThreadPool();
+    if (executor == null) {
+      return 0;
+    }
+    BlockingQueue<Runnable> queue = executor.getQueue();
+    int depth = queue.size();
+    int capacity = depth + queue.remainingCapacity();
+    if (capacity > 0) {
+      return (double) depth / capacity;
+    }
+    return (double) executor.getActiveCount() / executor.getMaximumPoolSize();
+  }
+}
@@ -0,0 +1,38 @@
+package com.loudent.library.resilience;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/** Bounded store of the last known good value per key, used while a circuit breaker is open. */
+public class StaleCache<V> {
+
+  public record Entry<V>(V value, Instant storedAt) {
+    public Duration age() {
+      return Duration.between(storedAt, Instant.now());
+    }
+  }
+
+  private final Cache<String, Entry<V>> cache;
+
+  public StaleCache(long maximumSize, Duration maximumAge) {
+    this.cache =
+        CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(maximumAge).build();
+  }
+
+  public void put(String key, V value) {
+    if (key != null && value != null) {
+      cache.put(key, new Entry<>(value, Instant.now()));
+    }
+  }
+
+  public Optional<Entry<V>> get(String key) {
+    return key == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  public long size() {
+    return cache.size();
+  }
+}
@@ -1,18 +1,27 @@
 package com.loudent.library.service.account;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.loudent.library.api.error.InvalidRequestException;
 import com.loudent.library.api.error.NotFoundException;
 import com.loudent.library.config.DynamoDbConfig;
 import com.loudent.library.dao.account.Account;
 import com.loudent.library.dao.activity.Activity;
 import com.loudent.library.oas.codegen.model.BorrowedBook;
 import com.loudent.library.oas.codegen.model.UserResponse;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.CircuitOpenException;
+import com.loudent.library.resilience.HedgedReads;
+import com.loudent.library.service.activity.AccountCursor;
+import com.loudent.library.service.activity.ActivityPage;
 import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.tracing.Traced;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.enhanced.dynamodb.*;
@@ -24,18 +33,45 @@ public class AccountService {
 
   private final DynamoDbAsyncTable<Account> accountTable;
   private final ActivityService activityService;
+  private final HedgedReads hedgedReads;
+  private final CircuitBreaker circuitBreaker;
+  private final int defaultBorrowedLimit;
+  private final int maxBorrowedLimit;
 
   public AccountService(
       DynamoDbEnhancedAsyncClient client,
       DynamoDbConfig config,
-      @Lazy ActivityService activityService) {
+      @Lazy ActivityService activityService,
+      HedgedReads hedgedReads,
+      CircuitBreakerRegistry circuitBreakers,
+      @Value("${service.borrowed-books.default-limit:50}") int defaultBorrowedLimit,
+      @Value("${service.borrowed-books.max-limit:500}") int maxBorrowedLimit) {
     this.accountTable =
-        client.table(config.getPrefixedTableName("Accounts"), TableSchema.fromBean(Account.class));
+        client.table(config.getPrefixedTableName("Accounts"), Account.TABLE_SCHEMA);
     this.activityService = activityService;
+    this.hedgedReads = hedgedReads;
+    this.circuitBreaker = circuitBreakers.forTable("Accounts");
+    this.defaultBorrowedLimit = defaultBorrowedLimit;
+    this.maxBorrowedLimit = maxBorrowedLimit;
   }
 
   // Blocking
   public UserResponse getByAccountNumber(String accountNumber) {
+    return getByAccountNumber(accountNumber, null, null);
+  }
+
+  /**
+   * The account with one page of its borrowed books, soonest due first. {@code limit} defaults to
+   * {@code service.borrowed-books.default-limit}; {@code cursor} is the previous page's {@code
+   * nextCursor}.
+   */
+  @Traced
+  public UserResponse getByAccountNumber(String accountNumber, Integer limit, String cursor) {
+    int pageSize = limit != null ? limit : defaultBorrowedLimit;
+    if (pageSize < 1 || pageSize > maxBorrowedLimit) {
+      throw new InvalidRequestException("limit must be between 1 and " + maxBorrowedLimit);
+    }
+    AccountCursor after = cursor != null ? AccountCursor.decode(cursor) : null;
     try {
       Account account = getByAccountNumberAsync(accountNumber).join();
       if (account == null) {
@@ -43,7 +79,9 @@ public class AccountService {
       }
 
       UserResponse response = mapToUserResponse(account);
-      return enrichWithBorrowedBooks(response, accountNumber);
+      return enrichWithBorrowedBooks(response, accountNumber, pageSize, after);
+    } catch (NotFoundException e) {
+      throw e;
     } catch (Exception e) {
       throw new RuntimeException("Failed to retrieve account #" + accountNumber, e);
     }
@@ -54,6 +92,9 @@ public class AccountService {
       Account account = getByAccountNumberAsync(accountNumber).join();
       return account != null;
     } catch (Exception e) {
+      if (e.getCause() instanceof CircuitOpenException open) {
+        throw open; // fail fast instead of reporting the account as missing
+      }
       log.debug("Account lookup failed for {}: {}", accountNumber, e.toString());
     }
     return false;
@@ -61,7 +102,11 @@ public class AccountService {
 
   // Async
   public CompletableFuture<Account> getByAccountNumberAsync(String accountNumber) {
-    return accountTable.getItem(requestForAccount(accountNumber));
+    GetItemEnhancedRequest request = requestForAccount(accountNumber);
+    return circuitBreaker.executeAsync(
+        () ->
+            hedgedReads.execute(
+                "accounts.getByAccountNumber", () -> accountTable.getItem(request)));
   }
 
   /** Builds a DynamoDB GetItemEnhancedRequest with the partition key for the account. */
@@ -83,12 +128,16 @@ public class AccountService {
   }
 
   @VisibleForTesting
-  UserResponse enrichWithBorrowedBooks(UserResponse response, String accountNumber) {
-    List<Activity> checkouts = activityService.getByAccountNumber(accountNumber);
+  UserResponse enrichWithBorrowedBooks(
+      UserResponse response, String accountNumber, int limit, AccountCursor after) {
+    ActivityPage page = activityService.getByAccountNumber(accountNumber, limit, after);
+    List<Activity> checkouts = page != null ? page.items() : null;
     List<BorrowedBook> borrowedBooks =
         (checkouts != null ? checkouts : Collections.<Activity>emptyList())
             .stream().map(this::mapToBorrowedBook).collect(Collectors.toList());
-    return response.borrowedBooks(borrowedBooks);
+    return response
+        .borrowedBooks(borrowedBooks)
+        .nextCursor(page != null && page.next() != null ? page.next().encode() : null);
   }
 
   @VisibleForTesting
@@ -0,0 +1,44 @@
+package com.loudent.library.service.activity;
+
+import com.loudent.library.api.error.InvalidRequestException;
+import com.loudent.library.dao.activity.Activity;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Where a page of an account's checkouts ended: the due date and book id of its last item. The
+ * account number comes from the request, so a token cannot page through another account.
+ */
+public record AccountCursor(LocalDate dueDate, String bookId) {
+
+  public static AccountCursor of(Activity activity) {
+    return new AccountCursor(activity.getDueDate(), activity.getBookId());
+  }
+
+  /** Parses a token from {@link #encode()}, rejecting anything else as a bad request. */
+  public static AccountCursor decode(String token) {
+    String[] values = CursorTokens.decode(token, 2);
+    try {
+      if (values != null) {
+        return new AccountCursor(LocalDate.parse(values[0]), values[1]);
+      }
+    } catch (DateTimeParseException e) {
+      // rejected below
+    }
+    throw new InvalidRequestException("Invalid cursor: " + token);
+  }
+
+  public String encode() {
+    return CursorTokens.encode(dueDate.toString(), bookId);
+  }
+
+  /** The {@code ExclusiveStartKey} that resumes the account-index query after this checkout. */
+  Map<String, AttributeValue> exclusiveStartKey(String accountNumber) {
+    return Map.of(
+        "bookId", AttributeValue.fromS(bookId),
+        "accountNumber", AttributeValue.fromS(accountNumber),
+        "dueDate", AttributeValue.fromS(dueDate.toString()));
+  }
+}
@@ -0,0 +1,7 @@
+package com.loudent.library.service.activity;
+
+import com.loudent.library.dao.activity.Activity;
+import java.util.List;
+
+/** One page of checkouts, with the cursor for the next page or {@code null} on the last one. */
+public record ActivityPage(List<Activity> items, AccountCursor next) {}
@@ -2,79 +2,213 @@ package com.loudent.library.service.activity;
 
 import static com.loudent.library.dao.activity.Activity.ACCOUNT_INDEX;
 import static com.loudent.library.dao.activity.Activity.ISBN_INDEX;
+import static com.loudent.library.dao.activity.Activity.ISBN_SHARD_INDEX;
+import static com.loudent.library.dao.activity.Activity.OVERDUE_INDEX;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.loudent.library.api.error.ExceptionUtils;
+import com.loudent.library.api.error.InvalidRequestException;
 import com.loudent.library.config.DynamoDbConfig;
 import com.loudent.library.dao.activity.Activity;
 import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CatalogProjection;
+import com.loudent.library.model.BookId;
 import com.loudent.library.model.BookOperationNote;
 import com.loudent.library.oas.codegen.model.BookOperationResult;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.CircuitOpenException;
+import com.loudent.library.resilience.HedgedReads;
 import com.loudent.library.service.account.AccountService;
+import com.loudent.library.service.availability.AvailabilityIndex;
 import com.loudent.library.service.catalog.CatalogService;
+import com.loudent.library.tracing.Traced;
 import com.loudent.library.util.ConcurrentUtils;
+import com.loudent.library.util.SampledLogger;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.enhanced.dynamodb.*;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedResponse;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 
 @Service
 @Log4j2
 public class ActivityService {
+  private static final SampledLogger failures = SampledLogger.of(log);
+  private static final int OVERDUE_PAGE_SIZE = 500;
+
   private final DynamoDbTable<Activity> activityTable;
   private final CatalogService catalogService;
   private final AccountService accountService;
   private final ExecutorService serviceThreadPool;
+  private final ExecutorService queryThreadPool;
+  private final HedgedReads hedgedReads;
+  private final CircuitBreaker circuitBreaker;
+  private final AvailabilityIndex availabilityIndex;
+  private final int isbnShards;
+  private final int overdueShards;
 
   public ActivityService(
       DynamoDbEnhancedClient client,
       DynamoDbConfig config,
       CatalogService catalogService,
       AccountService accountService,
-      ExecutorService serviceThreadPool) {
+      ExecutorService serviceThreadPool,
+      ExecutorService queryThreadPool,
+      HedgedReads hedgedReads,
+      CircuitBreakerRegistry circuitBreakers,
+      AvailabilityIndex availabilityIndex,
+      @Value("${service.activity.isbn-shards:1}") int isbnShards,
+      @Value("${service.activity.overdue-shards:1}") int overdueShards) {
+    if (isbnShards < 1) {
+      throw new IllegalArgumentException("isbn-shards must be at least 1: " + isbnShards);
+    }
+    if (overdueShards < 1) {
+      throw new IllegalArgumentException("overdue-shards must be at least 1: " + overdueShards);
+    }
     this.activityTable =
-        client.table(config.getPrefixedTableName("Activity"), TableSchema.fromBean(Activity.class));
+        client.table(config.getPrefixedTableName("Activity"), Activity.TABLE_SCHEMA);
     this.catalogService = catalogService;
     this.serviceThreadPool = serviceThreadPool;
+    this.queryThreadPool = queryThreadPool;
     this.accountService = accountService;
+    this.hedgedReads = hedgedReads;
+    this.circuitBreaker = circuitBreakers.forTable("Activity");
+    this.availabilityIndex = availabilityIndex;
+    this.isbnShards = isbnShards;
+    this.overdueShards = overdueShards;
   }
 
   public Activity getByBookId(String bookId) {
-    return activityTable.getItem(Key.builder().partitionValue(bookId).build());
+    Key key = Key.builder().partitionValue(bookId).build();
+    return circuitBreaker.execute(
+        () ->
+            hedgedReads.executeBlocking("activity.getByBookId", () -> activityTable.getItem(key)));
   }
 
+  /**
+   * Every checkout of the title. Unsharded titles are read from the {@link Activity#ISBN_INDEX}
+   * under the plain ISBN; sharded ones from every {@link Activity#ISBN_SHARD_INDEX} shard, queried
+   * in parallel on the query pool, since callers may already hold a service pool thread.
+   */
   public List<Activity> getByIsbn(String isbn) {
-    DynamoDbIndex<Activity> index = activityTable.index(ISBN_INDEX);
-    return collectItems(index.query(QueryConditional.keyEqualTo(k -> k.partitionValue(isbn))));
+    if (isbnShards == 1) {
+      return queryIsbnPartition(activityTable.index(ISBN_INDEX), isbn);
+    }
+    DynamoDbIndex<Activity> index = activityTable.index(ISBN_SHARD_INDEX);
+    List<String> shards =
+        IntStream.range(0, isbnShards).mapToObj(shard -> Activity.isbnShard(isbn, shard)).toList();
+    List<List<Activity>> results =
+        ConcurrentUtils.parallelMap(
+            shards, shard -> queryIsbnPartition(index, shard), queryThreadPool);
+    List<Activity> merged = new ArrayList<>();
+    results.forEach(merged::addAll);
+    return merged;
   }
 
-  public List<Activity> getByAccountNumber(String accountNumber) {
+  private List<Activity> queryIsbnPartition(DynamoDbIndex<Activity> index, String partition) {
+    QueryConditional key = QueryConditional.keyEqualTo(k -> k.partitionValue(partition));
+    return circuitBreaker.execute(() -> collectItems(index.query(key)));
+  }
+
+  /**
+   * One page of the account's checkouts, soonest due first, read from the {@link
+   * Activity#ACCOUNT_INDEX} sorted by due date. Reads at most {@code limit} items however many
+   * the account holds; {@code after} resumes from a previous page.
+   */
+  public ActivityPage getByAccountNumber(String accountNumber, int limit, AccountCursor after) {
     DynamoDbIndex<Activity> index = activityTable.index(ACCOUNT_INDEX);
-    return collectItems(
-        index.query(QueryConditional.keyEqualTo(k -> k.partitionValue(accountNumber))));
+    QueryEnhancedRequest.Builder request =
+        QueryEnhancedRequest.builder()
+            .queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(accountNumber)))
+            .limit(limit);
+    if (after != null) {
+      request.exclusiveStartKey(after.exclusiveStartKey(accountNumber));
+    }
+    Page<Activity> page =
+        circuitBreaker.execute(() -> index.query(request.build()).iterator().next());
+    List<Activity> items = page.items();
+    boolean more = page.lastEvaluatedKey() != null && !items.isEmpty();
+    return new ActivityPage(items, more ? AccountCursor.of(items.get(items.size() - 1)) : null);
+  }
+
+  /**
+   * Hands checkouts due before {@code asOf} to {@code sink}, oldest due month first, by querying
+   * the {@link Activity#OVERDUE_INDEX} buckets from {@code oldest} through the month of {@code
+   * asOf}; only the current month needs a sort key condition. A month's shards are read in turn,
+   * each in due date order, so the stream stays ordered by month and can resume from one cursor.
+   * Each page fetch goes through the circuit breaker. Stops after {@code limit} checkouts and
+   * returns where to resume, or empty once every bucket is exhausted.
+   */
+  @Traced
+  public Optional<OverdueCursor> forEachOverdue(
+      LocalDate asOf, YearMonth oldest, OverdueCursor after, int limit, Consumer<Activity> sink) {
+    DynamoDbIndex<Activity> index = activityTable.index(OVERDUE_INDEX);
+    YearMonth current = YearMonth.from(asOf);
+    YearMonth month = after != null ? after.month() : oldest;
+    int remaining = limit;
+    for (; !month.isAfter(current); month = month.plusMonths(1)) {
+      boolean resumed = after != null && month.equals(after.month());
+      for (int shard = resumed ? after.shard() : 0; shard < overdueShards; shard++) {
+        String bucket = Activity.overdueBucket(month, shard);
+        QueryEnhancedRequest.Builder request =
+            QueryEnhancedRequest.builder()
+                .queryConditional(
+                    month.equals(current)
+                        ? QueryConditional.sortLessThan(
+                            k -> k.partitionValue(bucket).sortValue(asOf.toString()))
+                        : QueryConditional.keyEqualTo(k -> k.partitionValue(bucket)))
+                .limit(Math.min(remaining, OVERDUE_PAGE_SIZE));
+        if (after != null && after.bucket().equals(bucket)) {
+          request.exclusiveStartKey(after.exclusiveStartKey());
+        }
+
+        Iterator<Page<Activity>> pages = index.query(request.build()).iterator();
+        while (circuitBreaker.execute(pages::hasNext)) {
+          for (Activity activity : pages.next().items()) {
+            sink.accept(activity);
+            if (--remaining == 0) {
+              return Optional.of(OverdueCursor.of(activity));
+            }
+          }
+        }
+      }
+    }
+    return Optional.empty();
   }
 
   public boolean isBookCheckedOut(String bookId) {
     return getByBookId(bookId) != null;
   }
 
+  @Traced
   public List<BookOperationResult> checkoutBooks(String accountNumber, List<String> bookIds) {
     if (accountNumber == null || bookIds == null || bookIds.isEmpty()) {
-      throw new IllegalArgumentException("Account number and book IDs must be provided");
+      throw new InvalidRequestException("Account number and book IDs must be provided");
     }
 
     if (!accountService.accountExists(accountNumber)) {
-      throw new IllegalArgumentException("Account not found: " + accountNumber);
+      throw new InvalidRequestException("Account not found: " + accountNumber);
     }
     return ConcurrentUtils.parallelMap(
         bookIds, bookId -> processCheckout(accountNumber, bookId), serviceThreadPool);
   }
 
+  @Traced
   public List<BookOperationResult> checkinBooks(List<String> bookIds) {
     return ConcurrentUtils.parallelMap(bookIds, this::processCheckin, serviceThreadPool);
   }
@@ -82,7 +216,11 @@ public class ActivityService {
   public void deleteByBookId(String bookId) {
     Activity existing = getByBookId(bookId);
     if (existing != null) {
-      activityTable.deleteItem(existing);
+      Activity deleted = circuitBreaker.execute(() -> activityTable.deleteItem(existing));
+      // Only count the checkin this call made; another request may have deleted it first.
+      if (deleted != null) {
+        availabilityIndex.checkedIn(bookId);
+      }
       log.debug("Deleted checkout activity for bookId: {}", bookId);
     } else {
       log.warn("No checkout record found for bookId: {}", bookId);
@@ -111,11 +249,19 @@ public class ActivityService {
       Activity activity = new Activity();
       activity.setBookId(bookId);
       activity.setIsbn(extractIsbn(bookId));
+      activity.setIsbnShard(Activity.isbnShardOf(bookId, isbnShards));
       activity.setAccountNumber(accountNumber);
       activity.setCheckOutDate(now);
       activity.setDueDate(due);
+      activity.setOverdueBucket(Activity.overdueBucketOf(bookId, due, overdueShards));
 
-      activityTable.putItem(activity);
+      PutItemEnhancedResponse<Activity> written =
+          circuitBreaker.execute(
+              () -> activityTable.putItemWithResponse(putReturningOld(activity)));
+      // A put that replaced a checkout, e.g. one a concurrent request wrote, adds no copy.
+      if (written.attributes() == null) {
+        availabilityIndex.checkedOut(bookId);
+      }
 
       return new BookOperationResult()
           .bookId(bookId)
@@ -126,8 +272,10 @@ public class ActivityService {
               bBookCheckedOut
                   ? BookOperationNote.REPLACED_EXISTING.getMessage()
                   : BookOperationNote.OK.getMessage());
+    } catch (CircuitOpenException e) {
+      throw e; // the whole request fails fast as a 503 rather than as per-book errors
     } catch (Exception e) {
-      log.error("Checkout failed for bookId {}: {}", bookId, e.toString());
+      failures.failure(e, "Checkout failed for bookId {}", bookId);
       return new BookOperationResult().bookId(bookId).notes("Error: " + e.getMessage());
     }
   }
@@ -161,16 +309,24 @@ public class ActivityService {
             .notes(BookOperationNote.ALREADY_CHECKED_IN.getMessage());
       }
 
+    } catch (CircuitOpenException e) {
+      throw e; // the whole request fails fast as a 503 rather than as per-book errors
     } catch (Exception e) {
-      log.error("Check in failed for bookId {}: {}", bookId, e.toString());
+      failures.failure(e, "Check in failed for bookId {}", bookId);
       return new BookOperationResult().bookId(bookId).notes("Error: " + e.getMessage());
     }
   }
 
+  private static PutItemEnhancedRequest<Activity> putReturningOld(Activity activity) {
+    return PutItemEnhancedRequest.builder(Activity.class)
+        .item(activity)
+        .returnValues(ReturnValue.ALL_OLD)
+        .build();
+  }
+
   @VisibleForTesting
   String extractIsbn(String bookId) {
-    int dotIndex = bookId.indexOf('.');
-    return (dotIndex > 0) ? bookId.substring(0, dotIndex) : bookId;
+    return BookId.isbnOf(bookId);
   }
 
   @VisibleForTesting
@@ -186,10 +342,13 @@ public class ActivityService {
   Optional<Catalog> fetchCatalogSafely(String bookId) {
     String isbn = extractIsbn(bookId);
     try {
-      Catalog catalog = catalogService.getByIsbnAsync(isbn).join();
+      Catalog catalog = catalogService.getByIsbnAsync(isbn, CatalogProjection.TITLE).join();
       return Optional.ofNullable(catalog);
     } catch (Exception e) {
-      log.warn("Failed to retrieve catalog for bookId {}: {}", bookId, e.toString());
+      if (ExceptionUtils.unwrap(e) instanceof CircuitOpenException open) {
+        throw open;
+      }
+      failures.warn(e, "Failed to retrieve catalog for bookId {}", bookId);
       return Optional.empty();
     }
   }
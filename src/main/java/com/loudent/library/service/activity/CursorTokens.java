@@ -0,0 +1,50 @@
+package com.loudent.library.service.activity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque, URL-safe pagination tokens holding a few key values. The last value may contain the
+ * separator, so it is the place for ids that are not under our control.
+ */
+final class CursorTokens {
+  private static final char SEPARATOR = '|';
+
+  private CursorTokens() {
+    // utility class
+  }
+
+  static String encode(String... values) {
+    String text = String.join(String.valueOf(SEPARATOR), values);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** The {@code count} non-empty values in {@code token}, or {@code null} if it is malformed. */
+  static String[] decode(String token, int count) {
+    String text;
+    try {
+      text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    String[] values = new String[count];
+    int start = 0;
+    for (int i = 0; i < count - 1; i++) {
+      int end = text.indexOf(SEPARATOR, start);
+      if (end < 0) {
+        return null;
+      }
+      values[i] = text.substring(start, end);
+      start = end + 1;
+    }
+    values[count - 1] = text.substring(start);
+    for (String value : values) {
+      if (value.isEmpty()) {
+        return null;
+      }
+    }
+    return values;
+  }
+}
@@ -0,0 +1,62 @@
+package com.loudent.library.service.activity;
+
+import com.loudent.library.api.error.InvalidRequestException;
+import com.loudent.library.dao.activity.Activity;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Where an overdue listing stopped: the {@link Activity#OVERDUE_INDEX} key of the last checkout
+ * returned, whose bucket names the month and shard to resume in. Handed to clients as an opaque
+ * URL-safe token.
+ */
+public record OverdueCursor(String bucket, LocalDate dueDate, String bookId) {
+
+  public static OverdueCursor of(Activity activity) {
+    return new OverdueCursor(
+        activity.getOverdueBucket(), activity.getDueDate(), activity.getBookId());
+  }
+
+  /** Parses a token from {@link #encode()}, rejecting anything else as a bad request. */
+  public static OverdueCursor decode(String token) {
+    String[] values = CursorTokens.decode(token, 3);
+    try {
+      if (values != null) {
+        OverdueCursor cursor = new OverdueCursor(values[0], LocalDate.parse(values[1]), values[2]);
+        int shard = cursor.shard();
+        if (shard >= 0 && values[0].equals(Activity.overdueBucket(cursor.month(), shard))) {
+          return cursor;
+        }
+      }
+    } catch (DateTimeParseException | NumberFormatException e) {
+      // rejected below
+    }
+    throw new InvalidRequestException("Invalid cursor: " + token);
+  }
+
+  /** The month {@link #bucket} covers. */
+  YearMonth month() {
+    return YearMonth.from(dueDate);
+  }
+
+  /** The shard of the month {@link #bucket} is; 0 for a plain month. */
+  int shard() {
+    int separator = bucket.indexOf('#');
+    return separator < 0 ? 0 : Integer.parseInt(bucket.substring(separator + 1));
+  }
+
+  public String encode() {
+    return CursorTokens.encode(bucket, dueDate.toString(), bookId);
+  }
+
+  /** The {@code ExclusiveStartKey} that resumes an index query just after this checkout. */
+  Map<String, AttributeValue> exclusiveStartKey() {
+    return Map.of(
+        "bookId", AttributeValue.fromS(bookId),
+        "overdueBucket", AttributeValue.fromS(bucket),
+        "dueDate", AttributeValue.fromS(dueDate.toString()));
+  }
+}
@@ -0,0 +1,253 @@
+package com.loudent.library.service.availability;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.loudent.library.config.DynamoDbConfig;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.model.BookId;
+import com.loudent.library.model.Isbn;
+import com.loudent.library.util.ConcurrentUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * In-process count of checked-out copies per ISBN, so catalog reads can answer {@code
+ * availableCopies} without querying the isbn index. Rebuilt from a parallel scan of the Activity
+ * table once the application is ready, and optionally every {@code rebuild-interval-ms}, and kept
+ * current in between by the checkout and checkin paths of this instance. With several instances
+ * each only sees its own writes until its next rebuild, so set an interval to bound their drift by
+ * the others' traffic over it. Reads never add entries: an ISBN without one has nothing checked
+ * out. Until the first rebuild completes, or after checkouts fill the table, callers fall back to
+ * querying.
+ */
+@Component
+@Log4j2
+public class AvailabilityIndex {
+  static final String SIZE_METRIC = "availability.index.size";
+  static final String LOAD_FACTOR_METRIC = "availability.index.load.factor";
+  static final String REBUILD_METRIC = "availability.index.rebuild";
+
+  private final DynamoDbTable<Activity> activityTable;
+  private final boolean enabled;
+  private final int capacity;
+  private final int rebuildSegments;
+  private final long rebuildIntervalMs;
+  private final Timer rebuildTimer;
+
+  /** Runs the rebuilds; {@code null} until the application is ready or when disabled. */
+  private volatile ScheduledExecutorService rebuilds;
+
+  /** The table serving reads; {@code null} until the first rebuild completes or once it fills. */
+  private volatile AvailabilityTable current;
+
+  /** The table a rebuild is filling, which also receives updates made while it runs. */
+  private volatile AvailabilityTable building;
+
+  public AvailabilityIndex(
+      DynamoDbEnhancedClient client,
+      DynamoDbConfig config,
+      MeterRegistry meterRegistry,
+      @Value("${service.availability-index.enabled:false}") boolean enabled,
+      @Value("${service.availability-index.capacity:1048576}") int capacity,
+      @Value("${service.availability-index.rebuild-segments:8}") int rebuildSegments,
+      @Value("${service.availability-index.rebuild-interval-ms:0}") long rebuildIntervalMs) {
+    this.activityTable =
+        client.table(config.getPrefixedTableName("Activity"), Activity.TABLE_SCHEMA);
+    this.enabled = enabled;
+    this.capacity = capacity;
+    this.rebuildSegments = Math.max(1, rebuildSegments);
+    this.rebuildIntervalMs = rebuildIntervalMs;
+    this.rebuildTimer = Timer.builder(REBUILD_METRIC).register(meterRegistry);
+
+    Gauge.builder(SIZE_METRIC, this, index -> index.stat(AvailabilityTable::size))
+        .register(meterRegistry);
+    Gauge.builder(LOAD_FACTOR_METRIC, this, index -> index.stat(AvailabilityTable::loadFactor))
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts rebuilding on a dedicated thread: now, and then every {@code rebuild-interval-ms} unless
+   * that is zero or less.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    if (!enabled) {
+      return;
+    }
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .threadNamePrefix("availability-rebuild-")
+                .daemonThreads(true)
+                .build());
+    rebuilds = executor;
+    if (rebuildIntervalMs > 0) {
+      executor.scheduleWithFixedDelay(this::rebuild, 0, rebuildIntervalMs, TimeUnit.MILLISECONDS);
+    } else {
+      executor.execute(this::rebuild);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (rebuilds != null) {
+      rebuilds.shutdownNow();
+    }
+  }
+
+  /**
+   * Replaces the index with one counted from a segmented scan of the Activity table. The scan is
+   * not a snapshot, so a checkout landing mid-scan may be counted twice; the error is bounded by
+   * the writes made during the rebuild and clamped when serving. The segments are scanned on a
+   * pool of their own, so a rebuild never takes threads from request work.
+   */
+  public void rebuild() {
+    AvailabilityTable table = new AvailabilityTable(capacity);
+    ExecutorService scans =
+        Executors.newFixedThreadPool(
+            rebuildSegments,
+            new ThreadFactoryBuilder()
+                .threadNamePrefix("availability-scan-")
+                .daemonThreads(true)
+                .build());
+    building = table;
+    try {
+      List<Boolean> fitted =
+          rebuildTimer.record(
+              () ->
+                  ConcurrentUtils.parallelMap(
+                      IntStream.range(0, rebuildSegments).boxed().toList(),
+                      segment -> scanSegment(table, segment),
+                      scans));
+      if (fitted.contains(false)) {
+        log.warn("Availability index is full at {} ISBNs; serving from queries", table.size());
+        current = null;
+        return;
+      }
+      current = table;
+      log.info(
+          "Rebuilt availability index: {} ISBNs, load factor {}", table.size(), table.loadFactor());
+    } catch (Exception e) {
+      log.warn("Availability index rebuild failed; serving from queries", e);
+    } finally {
+      building = null;
+      scans.shutdownNow();
+    }
+  }
+
+  /** Available copies of {@code isbn} out of {@code totalCopies}; empty while not serving. */
+  public OptionalInt availableCopies(String isbn, int totalCopies) {
+    AvailabilityTable table = current;
+    long key = key(isbn);
+    if (table == null || key == 0) {
+      return OptionalInt.empty();
+    }
+    int checkedOut = Math.max(0, table.checkedOut(key));
+    return OptionalInt.of(Math.max(0, totalCopies - checkedOut));
+  }
+
+  public void checkedOut(String bookId) {
+    adjust(bookId, 1);
+  }
+
+  public void checkedIn(String bookId) {
+    adjust(bookId, -1);
+  }
+
+  public boolean isReady() {
+    return current != null;
+  }
+
+  private void adjust(String bookId, int delta) {
+    if (!enabled || bookId == null) {
+      return;
+    }
+    long key = key(BookId.isbnOf(bookId));
+    if (key == 0) {
+      return;
+    }
+    // Building first: a rebuild publishes its table as current before clearing building, so
+    // reading them in this order cannot miss a table that is about to serve reads.
+    AvailabilityTable rebuilding = building;
+    AvailabilityTable table = current;
+    if (table != null && !table.adjustCheckedOut(key, delta)) {
+      log.warn("Availability index is full at {} ISBNs; serving from queries", table.size());
+      current = null;
+    }
+    if (rebuilding != null && rebuilding != table) {
+      rebuilding.adjustCheckedOut(key, delta);
+    }
+  }
+
+  private boolean scanSegment(AvailabilityTable table, int segment) {
+    ScanEnhancedRequest request =
+        ScanEnhancedRequest.builder()
+            .segment(segment)
+            .totalSegments(rebuildSegments)
+            .attributesToProject("bookId", "isbn")
+            .build();
+    for (Page<Activity> page : activityTable.scan(request)) {
+      for (Activity activity : page.items()) {
+        String isbn =
+            activity.getIsbn() != null ? activity.getIsbn() : BookId.isbnOf(activity.getBookId());
+        long key = key(isbn);
+        if (key != 0 && !table.adjustCheckedOut(key, 1)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private double stat(ToDoubleFunction<AvailabilityTable> statistic) {
+    AvailabilityTable table = current;
+    return table == null ? 0 : statistic.applyAsDouble(table);
+  }
+
+  /**
+   * The primitive key for {@code isbn}: its ISBN-13 value when it parses, otherwise the digits
+   * themselves, since seeded ISBNs do not always carry a valid checksum. Zero when neither works.
+   * Allocates nothing, as every catalog read computes it.
+   */
+  @VisibleForTesting
+  static long key(String isbn) {
+    if (isbn == null) {
+      return 0;
+    }
+    long value = Isbn.parseValue(isbn);
+    if (value > 0) {
+      return value;
+    }
+    if (isbn.isEmpty() || isbn.length() > 18) {
+      return 0;
+    }
+    long digits = 0;
+    for (int i = 0; i < isbn.length(); i++) {
+      char c = isbn.charAt(i);
+      if (c < '0' || c > '9') {
+        return 0;
+      }
+      digits = digits * 10 + (c - '0');
+    }
+    return digits;
+  }
+}
@@ -0,0 +1,121 @@
+package com.loudent.library.service.availability;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-capacity open-addressing map from a non-zero {@code long} key to a checked-out copy count,
+ * held in two primitive arrays so lookups allocate nothing and the whole table is two objects to
+ * the garbage collector. Slots are claimed with a compare-and-set on the key array and never freed.
+ * At most three quarters of the slots are claimed, so a lookup of an absent key reaches an empty
+ * slot after a short probe; an absent key has nothing checked out.
+ */
+final class AvailabilityTable {
+  private static final long EMPTY = 0L;
+
+  private final AtomicLongArray keys;
+  private final AtomicIntegerArray counts;
+  private final int mask;
+  private final int maxSize;
+  private final AtomicInteger size = new AtomicInteger();
+
+  /** @param capacity rounded up to a power of two */
+  AvailabilityTable(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+    }
+    int slots = Integer.highestOneBit(capacity);
+    if (slots < capacity) {
+      slots <<= 1;
+    }
+    this.keys = new AtomicLongArray(slots);
+    this.counts = new AtomicIntegerArray(slots);
+    this.mask = slots - 1;
+    this.maxSize = slots - slots / 4;
+  }
+
+  /**
+   * Adds {@code delta} to the checked-out count of {@code key}, claiming a slot if needed. Returns
+   * false when the key is new and the table is at its maximum load.
+   */
+  boolean adjustCheckedOut(long key, int delta) {
+    int slot = slotFor(key, true);
+    if (slot < 0) {
+      return false;
+    }
+    counts.addAndGet(slot, delta);
+    return true;
+  }
+
+  /** The checked-out count of {@code key}; zero when it was never recorded. */
+  int checkedOut(long key) {
+    int slot = slotFor(key, false);
+    return slot < 0 ? 0 : counts.get(slot);
+  }
+
+  int size() {
+    return size.get();
+  }
+
+  int capacity() {
+    return keys.length();
+  }
+
+  double loadFactor() {
+    return (double) size() / capacity();
+  }
+
+  /**
+   * The slot holding {@code key}, claiming the first empty one on its probe path when {@code
+   * claim} is set; -1 when the key is absent (or, when claiming, the table is at its maximum load).
+   */
+  private int slotFor(long key, boolean claim) {
+    if (key == EMPTY) {
+      throw new IllegalArgumentException("Key must be non-zero");
+    }
+    int start = spread(key) & mask;
+    for (int probe = 0; probe <= mask; probe++) {
+      int slot = (start + probe) & mask;
+      long existing = keys.get(slot);
+      if (existing == key) {
+        return slot;
+      }
+      if (existing == EMPTY) {
+        if (!claim || !reserve()) {
+          return -1;
+        }
+        if (keys.compareAndSet(slot, EMPTY, key)) {
+          return slot;
+        }
+        size.decrementAndGet();
+        if (keys.get(slot) == key) {
+          return slot;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /** Counts one more claimed slot, unless that would take the table past its maximum load. */
+  private boolean reserve() {
+    int claimed;
+    do {
+      claimed = size.get();
+      if (claimed >= maxSize) {
+        return false;
+      }
+    } while (!size.compareAndSet(claimed, claimed + 1));
+    return true;
+  }
+
+  /** Murmur3 finalizer, so sequential ISBNs do not cluster in adjacent slots. */
+  private static int spread(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+}
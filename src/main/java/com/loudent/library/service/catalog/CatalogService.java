@@ -6,10 +6,15 @@ import com.loudent.library.aspect.TimedSync;
 import com.loudent.library.config.DynamoDbConfig;
 import com.loudent.library.dao.activity.Activity;
 import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CatalogProjection;
 import com.loudent.library.dao.catalog.CatalogSearchExpressionBuilder;
 import com.loudent.library.oas.codegen.model.CatalogResponse;
 import com.loudent.library.oas.codegen.model.CatalogSearchRequest;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.HedgedReads;
 import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.service.availability.AvailabilityIndex;
 import com.loudent.library.util.ConcurrentUtils;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -21,8 +26,9 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
@@ -34,18 +40,27 @@ public class CatalogService {
   private final ActivityService activityService;
   private final CatalogSearchExpressionBuilder catalogSearchExpressionBuilder;
   private final ExecutorService serviceThreadPool;
+  private final HedgedReads hedgedReads;
+  private final CircuitBreaker circuitBreaker;
+  private final AvailabilityIndex availabilityIndex;
 
   public CatalogService(
       DynamoDbEnhancedAsyncClient client,
       DynamoDbConfig config,
       @Lazy ActivityService activityService,
       CatalogSearchExpressionBuilder catalogSearchExpressionBuilder,
-      ExecutorService serviceThreadPool) {
+      ExecutorService serviceThreadPool,
+      HedgedReads hedgedReads,
+      CircuitBreakerRegistry circuitBreakers,
+      AvailabilityIndex availabilityIndex) {
     this.catalogTable =
-        client.table(config.getPrefixedTableName("Catalog"), TableSchema.fromBean(Catalog.class));
+        client.table(config.getPrefixedTableName("Catalog"), Catalog.TABLE_SCHEMA);
     this.activityService = activityService;
     this.catalogSearchExpressionBuilder = catalogSearchExpressionBuilder;
     this.serviceThreadPool = serviceThreadPool;
+    this.hedgedReads = hedgedReads;
+    this.circuitBreaker = circuitBreakers.forTable("Catalog");
+    this.availabilityIndex = availabilityIndex;
   }
 
   @TimedSync(
@@ -53,20 +68,48 @@ public class CatalogService {
       tags = {"component:catalog"})
   public CatalogResponse getByIsbn(String isbn) {
     try {
-      Catalog catalog = getByIsbnAsync(isbn).join();
+      Catalog catalog = getByIsbnAsync(isbn, CatalogProjection.SUMMARY).join();
       if (catalog == null) {
         throw new NotFoundException("Book not found for ISBN: " + isbn);
       }
 
       CatalogResponse response = mapToCatalogResponse(catalog);
       return enrichWithAvailability(response, isbn);
+    } catch (NotFoundException e) {
+      throw e;
     } catch (Exception e) {
       throw new RuntimeException("Failed to retrieve book with ISBN " + isbn, e);
     }
   }
 
   public CompletableFuture<Catalog> getByIsbnAsync(String isbn) {
-    return catalogTable.getItem(requestForIsbn(isbn));
+    GetItemEnhancedRequest request = requestForIsbn(isbn);
+    return circuitBreaker.executeAsync(
+        () -> hedgedReads.execute("catalog.getByIsbn", () -> catalogTable.getItem(request)));
+  }
+
+  /**
+   * Reads only the attributes {@code projection} names. The enhanced client cannot project a
+   * {@code GetItem}, so this queries the item's partition, which for this hash-only table holds
+   * exactly the one item and costs the same read capacity.
+   */
+  public CompletableFuture<Catalog> getByIsbnAsync(String isbn, CatalogProjection projection) {
+    if (projection == CatalogProjection.FULL) {
+      return getByIsbnAsync(isbn);
+    }
+    QueryEnhancedRequest request = queryForIsbn(isbn, projection);
+    return circuitBreaker.executeAsync(
+        () ->
+            hedgedReads.execute(
+                "catalog.queryByIsbn",
+                () -> {
+                  List<Catalog> result = new ArrayList<>(1);
+                  return catalogTable
+                      .query(request)
+                      .items()
+                      .subscribe(result::add)
+                      .thenApply(v -> result.isEmpty() ? null : result.get(0));
+                }));
   }
 
   @TimedSync(
@@ -80,6 +123,8 @@ public class CatalogService {
       }
       CatalogResponse response = mapToCatalogResponse(catalog);
       return enrichWithAvailability(response, catalog.getIsbn());
+    } catch (NotFoundException e) {
+      throw e;
     } catch (Exception e) {
       throw new RuntimeException("Failed to retrieve book with title " + title, e);
     }
@@ -96,11 +141,16 @@ public class CatalogService {
             .build();
 
     ScanEnhancedRequest request =
-        ScanEnhancedRequest.builder().filterExpression(expression).build();
+        ScanEnhancedRequest.builder()
+            .filterExpression(expression)
+            .attributesToProject(CatalogProjection.SUMMARY.attributes())
+            .build();
 
     List<Catalog> results = new ArrayList<>();
 
-    CompletableFuture<Void> scanFuture = catalogTable.scan(request).items().subscribe(results::add);
+    CompletableFuture<Void> scanFuture =
+        circuitBreaker.executeAsync(
+            () -> catalogTable.scan(request).items().subscribe(results::add));
 
     return scanFuture.thenApply(v -> results.isEmpty() ? null : results.get(0));
   }
@@ -127,13 +177,16 @@ public class CatalogService {
 
   public CompletableFuture<List<Catalog>> searchCatalogAsync(CatalogSearchRequest request) {
     Expression expression = catalogSearchExpressionBuilder.from(request);
-    ScanEnhancedRequest.Builder builder = ScanEnhancedRequest.builder();
+    ScanEnhancedRequest.Builder builder =
+        ScanEnhancedRequest.builder().attributesToProject(CatalogProjection.SUMMARY.attributes());
     if (expression != null) {
       builder.filterExpression(expression);
     }
 
     List<Catalog> result = new ArrayList<>();
-    return catalogTable.scan(builder.build()).items().subscribe(result::add).thenApply(v -> result);
+    return circuitBreaker
+        .executeAsync(() -> catalogTable.scan(builder.build()).items().subscribe(result::add))
+        .thenApply(v -> result);
   }
 
   @VisibleForTesting
@@ -141,24 +194,35 @@ public class CatalogService {
     return GetItemEnhancedRequest.builder().key(Key.builder().partitionValue(isbn).build()).build();
   }
 
+  @VisibleForTesting
+  QueryEnhancedRequest queryForIsbn(String isbn, CatalogProjection projection) {
+    return QueryEnhancedRequest.builder()
+        .queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(isbn)))
+        .attributesToProject(projection.attributes())
+        .build();
+  }
+
   @VisibleForTesting
   CatalogResponse mapToCatalogResponse(Catalog catalog) {
     if (catalog == null) return null;
 
-    int totalCopies = Optional.ofNullable(catalog.getBookIds()).map(List::size).orElse(0);
-
     return new CatalogResponse()
         .isbn(catalog.getIsbn())
         .title(catalog.getTitle())
         .authorFirstName(catalog.getAuthorFirstName())
         .authorLastName(catalog.getAuthorLastName())
-        .totalCopies(totalCopies);
+        .totalCopies(catalog.totalCopies());
   }
 
   @VisibleForTesting
   CatalogResponse enrichWithAvailability(CatalogResponse response, String isbn) {
     if (response == null || isbn == null) return response;
 
+    OptionalInt indexed = availabilityIndex.availableCopies(isbn, response.getTotalCopies());
+    if (indexed.isPresent()) {
+      return response.availableCopies(indexed.getAsInt());
+    }
+
     List<Activity> checkouts = activityService.getByIsbn(isbn);
     int checkedOut = checkouts != null ? checkouts.size() : 0;
     int available = Math.max(0, response.getTotalCopies() - checkedOut);
@@ -0,0 +1,243 @@
+package com.loudent.library.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.loudent.library.api.error.InvalidRequestException;
+import com.loudent.library.config.DynamoDbConfig;
+import com.loudent.library.dao.idempotency.IdempotencyRecord;
+import com.loudent.library.model.BookOperationNote;
+import com.loudent.library.oas.codegen.model.BookOperationResult;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.util.SampledLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+/**
+ * Results of activity requests sent with an {@code Idempotency-Key}, so a retried batch is answered
+ * from one lookup instead of being run again. Outcomes live for {@code ttl}, in process and in the
+ * Idempotency table, whose {@code expiresAt} attribute is its native TTL.
+ *
+ * <p>Each key holds a future while its request runs: a duplicate on this instance waits for that
+ * result, for at most the request timeout, rather than starting its own run. Failed requests, and
+ * those where any book ended in an error note, are not stored, so their retries and any waiting
+ * duplicates run again. The table is an optimisation; when it cannot be read or written, requests
+ * still run.
+ */
+@Log4j2
+@Component
+public class IdempotencyStore {
+  static final String REPLAYED_METRIC = "idempotency.replayed";
+  static final String SIZE_METRIC = "idempotency.size";
+  static final int MAX_KEY_LENGTH = 255;
+  private static final SampledLogger failures = SampledLogger.of(log);
+  private static final TypeReference<List<BookOperationResult>> RESULTS = new TypeReference<>() {};
+
+  /** What a key was first used for and what it returned. */
+  private record Outcome(String fingerprint, List<BookOperationResult> results) {}
+
+  private final DynamoDbTable<IdempotencyRecord> table;
+  private final CircuitBreaker circuitBreaker;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final Duration ttl;
+  private final long waitTimeoutMs;
+  private final Cache<String, CompletableFuture<Outcome>> outcomes;
+
+  public IdempotencyStore(
+      DynamoDbEnhancedClient client,
+      DynamoDbConfig config,
+      CircuitBreakerRegistry circuitBreakers,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${service.idempotency.ttl-ms:86400000}") long ttlMs,
+      @Value("${service.idempotency.maximum-size:100000}") long maximumSize,
+      @Value("${service.requestTimeoutMs:8000}") long waitTimeoutMs) {
+    this.table =
+        client.table(
+            config.getPrefixedTableName(IdempotencyRecord.BASE_TABLE_NAME),
+            IdempotencyRecord.TABLE_SCHEMA);
+    this.circuitBreaker = circuitBreakers.forTable(IdempotencyRecord.BASE_TABLE_NAME);
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.ttl = Duration.ofMillis(ttlMs);
+    this.waitTimeoutMs = waitTimeoutMs;
+    this.outcomes =
+        CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+
+    Gauge.builder(SIZE_METRIC, outcomes, Cache::size).register(meterRegistry);
+  }
+
+  /**
+   * Runs {@code work} once per {@code operation} and {@code key} within the TTL and returns its
+   * results, replaying them for later calls with the same key. {@code request} identifies the
+   * request body: reusing a key for a different one is rejected. Without a key, just runs {@code
+   * work}.
+   */
+  public List<BookOperationResult> execute(
+      String operation, String key, String request, Supplier<List<BookOperationResult>> work) {
+    if (key == null) {
+      return work.get();
+    }
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      throw new InvalidRequestException(
+          "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+    }
+    String id = operation + "#" + key;
+    String fingerprint = fingerprint(request);
+
+    CompletableFuture<Outcome> mine = new CompletableFuture<>();
+    CompletableFuture<Outcome> inFlight = outcomes.asMap().putIfAbsent(id, mine);
+    if (inFlight != null) {
+      Outcome outcome = await(inFlight);
+      // The run it waited for had errors and was not kept: run as a retry would.
+      return outcome != null
+          ? replay(outcome, fingerprint, "memory")
+          : execute(operation, key, request, work);
+    }
+
+    try {
+      Optional<Outcome> stored = load(id);
+      if (stored.isPresent()) {
+        mine.complete(stored.get());
+        return replay(stored.get(), fingerprint, "table");
+      }
+      Outcome outcome = new Outcome(fingerprint, work.get());
+      if (hasErrors(outcome.results())) {
+        outcomes.asMap().remove(id, mine);
+        mine.complete(null);
+        return outcome.results();
+      }
+      save(id, outcome);
+      mine.complete(outcome);
+      return outcome.results();
+    } catch (RuntimeException e) {
+      outcomes.asMap().remove(id, mine);
+      mine.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private List<BookOperationResult> replay(Outcome outcome, String fingerprint, String source) {
+    if (!outcome.fingerprint().equals(fingerprint)) {
+      throw new InvalidRequestException("Idempotency-Key was already used for a different request");
+    }
+    meterRegistry.counter(REPLAYED_METRIC, "source", source).increment();
+    return outcome.results();
+  }
+
+  /**
+   * Waits for a duplicate's run, failing the same way it did, or with a {@link TimeoutException}
+   * once the request timeout passes. {@code null} when the run had errors and was not kept.
+   */
+  private Outcome await(CompletableFuture<Outcome> inFlight) {
+    try {
+      return inFlight.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException cause
+          ? cause
+          : new CompletionException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new CompletionException(
+          new TimeoutException("Timed out waiting for a request with the same Idempotency-Key"));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(e);
+    }
+  }
+
+  /** Whether any book ended in an error, which a retry could still succeed on. */
+  private static boolean hasErrors(List<BookOperationResult> results) {
+    return results.stream()
+        .map(BookOperationResult::getNotes)
+        .anyMatch(notes -> notes != null && notes.startsWith(BookOperationNote.ERROR.getMessage()));
+  }
+
+  private Optional<Outcome> load(String id) {
+    try {
+      IdempotencyRecord item =
+          circuitBreaker.execute(() -> table.getItem(Key.builder().partitionValue(id).build()));
+      if (item == null || isExpired(item)) {
+        return Optional.empty();
+      }
+      List<BookOperationResult> results = objectMapper.readValue(item.getResponse(), RESULTS);
+      // Written before outcomes with errors were left out; those are not replayed either.
+      if (hasErrors(results)) {
+        return Optional.empty();
+      }
+      return Optional.of(new Outcome(item.getFingerprint(), results));
+    } catch (Exception e) {
+      failures.warn(e, "Idempotency lookup failed for {}; running the request", id);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the outcome unless another instance got there first, whose outcome then stands. Expired
+   * items that DynamoDB has not deleted yet are overwritten.
+   */
+  private void save(String id, Outcome outcome) {
+    try {
+      long now = Instant.now().getEpochSecond();
+      IdempotencyRecord item = new IdempotencyRecord();
+      item.setIdempotencyKey(id);
+      item.setFingerprint(outcome.fingerprint());
+      item.setResponse(objectMapper.writeValueAsString(outcome.results()));
+      item.setExpiresAt(now + ttl.toSeconds());
+      PutItemEnhancedRequest<IdempotencyRecord> request =
+          PutItemEnhancedRequest.builder(IdempotencyRecord.class)
+              .item(item)
+              .conditionExpression(
+                  Expression.builder()
+                      .expression("attribute_not_exists(idempotencyKey) OR expiresAt <= :now")
+                      .putExpressionValue(":now", AttributeValue.fromN(Long.toString(now)))
+                      .build())
+              .build();
+      circuitBreaker.run(
+          () -> {
+            try {
+              table.putItem(request);
+            } catch (ConditionalCheckFailedException e) {
+              log.debug("Idempotency record {} was stored by another instance", id);
+            }
+          });
+    } catch (JsonProcessingException | RuntimeException e) {
+      failures.warn(e, "Could not store idempotency record {}", id);
+    }
+  }
+
+  private static boolean isExpired(IdempotencyRecord item) {
+    return item.getExpiresAt() == null || item.getExpiresAt() <= Instant.now().getEpochSecond();
+  }
+
+  @VisibleForTesting
+  static String fingerprint(String request) {
+    return Hashing.sha256().hashString(request, StandardCharsets.UTF_8).toString();
+  }
+}
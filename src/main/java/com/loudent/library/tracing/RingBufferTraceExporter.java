@@ -0,0 +1,49 @@
+package com.loudent.library.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Keeps the most recent {@code capacity} traces in memory for the {@code traces} endpoint. */
+@Component
+public class RingBufferTraceExporter implements TraceExporter {
+  private final AtomicReferenceArray<Trace> buffer;
+  private final AtomicLong next = new AtomicLong();
+
+  public RingBufferTraceExporter(@Value("${service.tracing.buffer-size:256}") int capacity) {
+    this.buffer = new AtomicReferenceArray<>(capacity);
+  }
+
+  @Override
+  public void export(Trace trace) {
+    buffer.set((int) (next.getAndIncrement() % buffer.length()), trace);
+  }
+
+  /** Up to {@code limit} traces, newest first; none for a negative limit. */
+  public List<Trace> recent(int limit) {
+    long last = next.get();
+    int count = (int) Math.min(Math.min(Math.max(0, limit), buffer.length()), last);
+    List<Trace> traces = new ArrayList<>(count);
+    for (long i = last - 1; i >= last - count; i--) {
+      Trace trace = buffer.get((int) (i % buffer.length()));
+      if (trace != null) {
+        traces.add(trace);
+      }
+    }
+    return traces;
+  }
+
+  public Optional<Trace> find(String traceId) {
+    for (int i = 0; i < buffer.length(); i++) {
+      Trace trace = buffer.get(i);
+      if (trace != null && trace.getTraceId().equals(traceId)) {
+        return Optional.of(trace);
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,90 @@
+package com.loudent.library.tracing;
+
+import com.loudent.library.api.error.ExceptionUtils;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** One timed operation within a {@link Trace}. Spans are created by the tracer or a parent span. */
+public final class Span {
+  private final Trace trace;
+  private final long spanId;
+  private final long parentId;
+  private final String name;
+  private final long startNanos;
+  private final Map<String, String> attributes = new ConcurrentHashMap<>(4);
+  private final AtomicBoolean ended = new AtomicBoolean();
+  private volatile long durationNanos = -1;
+  private volatile String error;
+
+  Span(Trace trace, long parentId, String name) {
+    this.trace = trace;
+    this.spanId = ThreadLocalRandom.current().nextLong();
+    this.parentId = parentId;
+    this.name = name;
+    this.startNanos = System.nanoTime();
+  }
+
+  /** Starts a span nested under this one, in the same trace. */
+  public Span child(String childName) {
+    return new Span(trace, spanId, childName);
+  }
+
+  public Span tag(String key, String value) {
+    if (key != null && value != null) {
+      attributes.put(key, value);
+    }
+    return this;
+  }
+
+  /** Marks the span failed with the unwrapped exception's class name. */
+  public Span error(Throwable t) {
+    error = ExceptionUtils.unwrap(t).getClass().getSimpleName();
+    return this;
+  }
+
+  /** Ends the span; only the first call has any effect. */
+  public void end() {
+    if (ended.compareAndSet(false, true)) {
+      durationNanos = System.nanoTime() - startNanos;
+      trace.onSpanEnd(this);
+    }
+  }
+
+  public Trace getTrace() {
+    return trace;
+  }
+
+  public long getSpanId() {
+    return spanId;
+  }
+
+  public long getParentId() {
+    return parentId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getStartNanos() {
+    return startNanos;
+  }
+
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public Map<String, String> getAttributes() {
+    return Map.copyOf(attributes);
+  }
+
+  boolean isRoot() {
+    return parentId == 0;
+  }
+}
@@ -0,0 +1,66 @@
+package com.loudent.library.tracing;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the active span for the current thread and carries it across executor hops. When no span
+ * is active (the request was not sampled) every operation here is a thread-local read.
+ */
+public final class SpanContext {
+  private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+  private static final Scope NO_OP_SCOPE = () -> {};
+
+  /** Restores the previously active span when closed. */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private SpanContext() {
+    // utility class
+  }
+
+  /** The active span, or null when this thread is not part of a sampled trace. */
+  public static Span current() {
+    return CURRENT.get();
+  }
+
+  /** Starts a child of the active span, or returns null when there is none. */
+  public static Span startChild(String name) {
+    Span parent = CURRENT.get();
+    return parent == null ? null : parent.child(name);
+  }
+
+  public static Scope activate(Span span) {
+    Span previous = CURRENT.get();
+    if (span == previous) {
+      return NO_OP_SCOPE;
+    }
+    CURRENT.set(span);
+    return previous == null ? CURRENT::remove : () -> CURRENT.set(previous);
+  }
+
+  public static Runnable wrap(Runnable task) {
+    Span span = CURRENT.get();
+    if (span == null) {
+      return task;
+    }
+    return () -> {
+      try (Scope ignored = activate(span)) {
+        task.run();
+      }
+    };
+  }
+
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    Span span = CURRENT.get();
+    if (span == null) {
+      return task;
+    }
+    return () -> {
+      try (Scope ignored = activate(span)) {
+        return task.call();
+      }
+    };
+  }
+}
@@ -0,0 +1,68 @@
+package com.loudent.library.tracing;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The spans of one sampled request. The trace is handed to the exporters when its root span ends;
+ * spans that finish later (a losing hedge, say) are still appended, up to {@code maxSpans}.
+ */
+public final class Trace {
+  private final String traceId;
+  private final Instant startTime;
+  private final int maxSpans;
+  private final Consumer<Trace> onComplete;
+  private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger spanCount = new AtomicInteger();
+  private final AtomicInteger dropped = new AtomicInteger();
+  private volatile Span root;
+
+  Trace(int maxSpans, Consumer<Trace> onComplete) {
+    this.traceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    this.startTime = Instant.now();
+    this.maxSpans = maxSpans;
+    this.onComplete = onComplete;
+  }
+
+  Span start(String name) {
+    return new Span(this, 0, name);
+  }
+
+  void onSpanEnd(Span span) {
+    if (spanCount.incrementAndGet() <= maxSpans) {
+      spans.add(span);
+    } else {
+      dropped.incrementAndGet();
+    }
+    if (span.isRoot()) {
+      root = span;
+      onComplete.accept(this);
+    }
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public Instant getStartTime() {
+    return startTime;
+  }
+
+  /** The root span, or null while the trace is still in flight. */
+  public Span getRoot() {
+    return root;
+  }
+
+  public List<Span> getSpans() {
+    return List.copyOf(spans);
+  }
+
+  public int getDroppedSpans() {
+    return dropped.get();
+  }
+}
@@ -0,0 +1,6 @@
+package com.loudent.library.tracing;
+
+/** Receives each completed trace. Implementations must be fast and must not throw. */
+public interface TraceExporter {
+  void export(Trace trace);
+}
@@ -0,0 +1,51 @@
+package com.loudent.library.tracing;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/** JSON shape of a trace for the {@code traces} actuator endpoint. Times are in microseconds. */
+public record TraceView(
+    String traceId,
+    String name,
+    Instant startTime,
+    long durationMicros,
+    int droppedSpans,
+    List<SpanView> spans) {
+
+  public record SpanView(
+      String spanId,
+      String parentId,
+      String name,
+      long offsetMicros,
+      long durationMicros,
+      String error,
+      Map<String, String> attributes) {}
+
+  public static TraceView of(Trace trace) {
+    Span root = trace.getRoot();
+    long origin = root == null ? 0 : root.getStartNanos();
+    List<SpanView> spans =
+        trace.getSpans().stream()
+            .sorted(Comparator.comparingLong(Span::getStartNanos))
+            .map(
+                span ->
+                    new SpanView(
+                        Long.toHexString(span.getSpanId()),
+                        span.getParentId() == 0 ? null : Long.toHexString(span.getParentId()),
+                        span.getName(),
+                        (span.getStartNanos() - origin) / 1_000,
+                        span.getDurationNanos() / 1_000,
+                        span.getError(),
+                        span.getAttributes()))
+            .toList();
+    return new TraceView(
+        trace.getTraceId(),
+        root == null ? null : root.getName(),
+        trace.getStartTime(),
+        root == null ? -1 : root.getDurationNanos() / 1_000,
+        trace.getDroppedSpans(),
+        spans);
+  }
+}
@@ -0,0 +1,11 @@
+package com.loudent.library.tracing;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a service entry point the controllers call, so {@link TracingAspect} gives it a child span
+ * within an active trace. Methods annotated with {@code TimedSync} are already traced.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Traced {}
@@ -0,0 +1,62 @@
+package com.loudent.library.tracing;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts traces at request entry points. Only a {@code sampleRate} fraction of requests get a
+ * trace; for the rest no span objects are created at all, so downstream {@link
+ * SpanContext#startChild} calls return null and cost a single thread-local read.
+ */
+@Log4j2
+@Component
+public class Tracer {
+  private final List<TraceExporter> exporters;
+  private final boolean enabled;
+  private final double sampleRate;
+  private final int maxSpansPerTrace;
+
+  public Tracer(
+      List<TraceExporter> exporters,
+      @Value("${service.tracing.enabled:true}") boolean enabled,
+      @Value("${service.tracing.sample-rate:0.01}") double sampleRate,
+      @Value("${service.tracing.max-spans-per-trace:256}") int maxSpansPerTrace) {
+    this.exporters = List.copyOf(exporters);
+    this.enabled = enabled;
+    this.sampleRate = sampleRate;
+    this.maxSpansPerTrace = maxSpansPerTrace;
+  }
+
+  public static Tracer noop() {
+    return new Tracer(List.of(), false, 0, 0);
+  }
+
+  /**
+   * Starts a child of the active span, or a new root span when this request is sampled.
+   *
+   * @return the span, or null when the request is not traced
+   */
+  public Span startSpan(String name) {
+    Span parent = SpanContext.current();
+    if (parent != null) {
+      return parent.child(name);
+    }
+    if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      return null;
+    }
+    return new Trace(maxSpansPerTrace, this::export).start(name);
+  }
+
+  private void export(Trace trace) {
+    for (TraceExporter exporter : exporters) {
+      try {
+        exporter.export(trace);
+      } catch (RuntimeException e) {
+        log.warn("Trace exporter {} failed: {}", exporter.getClass().getSimpleName(), e.toString());
+      }
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.loudent.library.tracing;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/traces}: recent sampled traces, newest first, optionally only those slower than
+ * {@code minDurationMs}. {@code /actuator/traces/{traceId}} returns a single trace.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+  private static final int DEFAULT_LIMIT = 50;
+
+  private final RingBufferTraceExporter exporter;
+
+  public TracesEndpoint(RingBufferTraceExporter exporter) {
+    this.exporter = exporter;
+  }
+
+  @ReadOperation
+  public List<TraceView> traces(@Nullable Integer limit, @Nullable Long minDurationMs) {
+    long minMicros = minDurationMs == null ? 0 : minDurationMs * 1_000;
+    return exporter.recent(limit == null ? DEFAULT_LIMIT : limit).stream()
+        .map(TraceView::of)
+        .filter(view -> view.durationMicros() >= minMicros)
+        .toList();
+  }
+
+  @ReadOperation
+  public TraceView trace(@Selector String traceId) {
+    return exporter.find(traceId).map(TraceView::of).orElse(null);
+  }
+}
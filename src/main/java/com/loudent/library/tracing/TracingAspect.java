@@ -0,0 +1,89 @@
+package com.loudent.library.tracing;
+
+import com.loudent.library.aspect.TimedAsync;
+import com.loudent.library.aspect.TimedSync;
+import java.util.concurrent.CompletableFuture;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens spans around {@code @TimedAsync} entry points (starting a trace when sampled), {@code
+ * TimedSync} methods and {@link Traced} service entry points. Other service methods, such as the
+ * per-book lookups a batch fans out to, are not traced. Spans for methods returning a {@link
+ * CompletableFuture} end when the future completes.
+ *
+ * <p>Runs before the method timers on the same methods, so a span covers everything they time.
+ */
+@Aspect
+@Order(TracingAspect.ORDER)
+@Component
+public class TracingAspect {
+  /** Outside {@link com.loudent.library.aspect.AbstractMethodTimer#ORDER}. */
+  public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+  private final Tracer tracer;
+
+  public TracingAspect(Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Around("@annotation(timedAsync)")
+  public Object traceEntryPoint(ProceedingJoinPoint joinPoint, TimedAsync timedAsync)
+      throws Throwable {
+    String name = timedAsync.metric().isEmpty() ? methodName(joinPoint) : timedAsync.metric();
+    return proceed(joinPoint, tracer.startSpan(name));
+  }
+
+  @Around("@annotation(timedSync)")
+  public Object traceTimedSync(ProceedingJoinPoint joinPoint, TimedSync timedSync)
+      throws Throwable {
+    return proceed(joinPoint, SpanContext.startChild(timedSync.metric()));
+  }
+
+  @Around(
+      "@annotation(com.loudent.library.tracing.Traced)"
+          + " && !@annotation(com.loudent.library.aspect.TimedSync)")
+  public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (SpanContext.current() == null) {
+      return joinPoint.proceed();
+    }
+    return proceed(joinPoint, SpanContext.startChild(methodName(joinPoint)));
+  }
+
+  private Object proceed(ProceedingJoinPoint joinPoint, Span span) throws Throwable {
+    if (span == null) {
+      return joinPoint.proceed();
+    }
+
+    Object result;
+    try (SpanContext.Scope ignored = SpanContext.activate(span)) {
+      result = joinPoint.proceed();
+    } catch (Throwable t) {
+      span.error(t).end();
+      throw t;
+    }
+
+    if (result instanceof CompletableFuture<?> future) {
+      future.whenComplete(
+          (value, error) -> {
+            if (error != null) {
+              span.error(error);
+            }
+            span.end();
+          });
+    } else {
+      span.end();
+    }
+    return result;
+  }
+
+  private static String methodName(ProceedingJoinPoint joinPoint) {
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    return signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+  }
+}
@@ -0,0 +1,66 @@
+package com.loudent.library.tracing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Adds a {@code dynamodb.<Operation>} span for each SDK call made inside a sampled trace. The span
+ * travels in the execution attributes, so it is ended correctly even though async calls complete
+ * on SDK threads that carry no span of their own.
+ */
+public class TracingExecutionInterceptor implements ExecutionInterceptor {
+  private static final ExecutionAttribute<Span> SPAN =
+      new ExecutionAttribute<>("LibraryTracingSpan");
+  private static final ExecutionAttribute<AtomicInteger> ATTEMPTS =
+      new ExecutionAttribute<>("LibraryTracingAttempts");
+
+  @Override
+  public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+    Span parent = SpanContext.current();
+    if (parent == null) {
+      return;
+    }
+    String operation = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+    Span span = parent.child("dynamodb." + operation);
+    context
+        .request()
+        .getValueForField("TableName", String.class)
+        .ifPresent(table -> span.tag("table", table));
+    attributes.putAttribute(SPAN, span);
+    attributes.putAttribute(ATTEMPTS, new AtomicInteger());
+  }
+
+  @Override
+  public void beforeTransmission(
+      Context.BeforeTransmission context, ExecutionAttributes attributes) {
+    AtomicInteger attempts = attributes.getAttribute(ATTEMPTS);
+    if (attempts != null) {
+      attempts.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+    Span span = attributes.getAttribute(SPAN);
+    if (span != null) {
+      finish(span, attributes);
+    }
+  }
+
+  @Override
+  public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+    Span span = attributes.getAttribute(SPAN);
+    if (span != null) {
+      finish(span.error(context.exception()), attributes);
+    }
+  }
+
+  private static void finish(Span span, ExecutionAttributes attributes) {
+    AtomicInteger attempts = attributes.getAttribute(ATTEMPTS);
+    span.tag("attempts", String.valueOf(attempts == null ? 0 : attempts.get())).end();
+  }
+}
@@ -0,0 +1,175 @@
+package com.loudent.library.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.loudent.library.api.error.ErrorStatus;
+import com.loudent.library.api.error.ExceptionUtils;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Rate-limited failure logging for hot error paths. Each distinct message template and exception
+ * type logs at most {@code burst} times per interval; repeats past that are counted and reported
+ * as one summary line when the interval closes, so a failing dependency costs a handful of lines
+ * instead of one per request.
+ *
+ * <p>Exceptions the API answers with a non-500 status (not found, timeouts, validation, shed load)
+ * are expected and log as a single line at WARN without a stack trace; anything else logs at ERROR
+ * with the unwrapped cause attached.
+ */
+public final class SampledLogger {
+
+  static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(30);
+  static final int DEFAULT_BURST = 5;
+  static final int MAX_KEYS = 1024;
+
+  private static final Key OVERFLOW = new Key("*", Throwable.class);
+
+  private final Logger logger;
+  private final long intervalNanos;
+  private final int burst;
+  private final LongSupplier clock;
+  private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+  @VisibleForTesting
+  SampledLogger(Logger logger, Duration interval, int burst, LongSupplier clock) {
+    this.logger = logger;
+    this.intervalNanos = interval.toNanos();
+    this.burst = burst;
+    this.clock = clock;
+  }
+
+  /** A sampled logger for {@code logger} using the default interval and burst. */
+  public static SampledLogger of(Logger logger) {
+    return of(logger, DEFAULT_INTERVAL, DEFAULT_BURST);
+  }
+
+  /** A sampled logger that flushes its suppression summaries every {@code interval}. */
+  public static SampledLogger of(Logger logger, Duration interval, int burst) {
+    SampledLogger sampled = new SampledLogger(logger, interval, burst, System::nanoTime);
+    long millis = interval.toMillis();
+    Flusher.SCHEDULER.scheduleWithFixedDelay(
+        sampled::flush, millis, millis, TimeUnit.MILLISECONDS);
+    return sampled;
+  }
+
+  /**
+   * Logs {@code message} for {@code error}, at WARN without a stack trace when the error is
+   * expected and at ERROR with the stack trace otherwise.
+   */
+  public void failure(Throwable error, String message, Object... args) {
+    Throwable cause = ExceptionUtils.unwrap(error);
+    if (expected(error)) {
+      log(Level.WARN, cause, message, args, false);
+    } else {
+      log(Level.ERROR, cause, message, args, true);
+    }
+  }
+
+  /** Logs {@code message} for {@code error} at WARN, never with a stack trace. */
+  public void warn(Throwable error, String message, Object... args) {
+    log(Level.WARN, ExceptionUtils.unwrap(error), message, args, false);
+  }
+
+  /** Reports and resets every window whose interval has closed. */
+  public void flush() {
+    long now = clock.getAsLong();
+    windows.forEach((key, window) -> summarize(key, window.roll(now, intervalNanos)));
+  }
+
+  private void log(Level level, Throwable cause, String message, Object[] args, boolean trace) {
+    Key key = key(message, cause);
+    Window window = windows.computeIfAbsent(key, k -> new Window(clock.getAsLong()));
+    summarize(key, window.roll(clock.getAsLong(), intervalNanos));
+    if (!window.admit(burst)) {
+      return;
+    }
+    if (trace) {
+      logger.log(level, new ParameterizedMessage(message, args), cause);
+    } else {
+      Object[] withCause = Arrays.copyOf(args, args.length + 1);
+      withCause[args.length] = cause.toString();
+      logger.log(level, new ParameterizedMessage(message + ": {}", withCause));
+    }
+  }
+
+  /** The key for this failure, or the shared overflow key once {@link #MAX_KEYS} are tracked. */
+  private Key key(String message, Throwable cause) {
+    Key key = new Key(message, cause.getClass());
+    if (windows.size() >= MAX_KEYS && !windows.containsKey(key)) {
+      return OVERFLOW;
+    }
+    return key;
+  }
+
+  private void summarize(Key key, long suppressed) {
+    if (suppressed > 0) {
+      logger.log(
+          Level.WARN,
+          new ParameterizedMessage(
+              "Suppressed {} repeats of \"{}\" ({}) in the last {}s",
+              suppressed,
+              key.message(),
+              key.type().getSimpleName(),
+              TimeUnit.NANOSECONDS.toSeconds(intervalNanos)));
+    }
+  }
+
+  private static boolean expected(Throwable error) {
+    return ErrorStatus.of(error) != HttpStatus.INTERNAL_SERVER_ERROR;
+  }
+
+  private record Key(String message, Class<?> type) {}
+
+  /** Log and suppression counts for one key within the current interval. */
+  private static final class Window {
+    private long start;
+    private int logged;
+    private long suppressed;
+
+    Window(long start) {
+      this.start = start;
+    }
+
+    synchronized boolean admit(int burst) {
+      if (logged < burst) {
+        logged++;
+        return true;
+      }
+      suppressed++;
+      return false;
+    }
+
+    /** Starts a new interval if the current one has closed, returning the suppressed count. */
+    synchronized long roll(long now, long intervalNanos) {
+      if (now - start < intervalNanos) {
+        return 0;
+      }
+      long closed = suppressed;
+      start = now;
+      logged = 0;
+      suppressed = 0;
+      return closed;
+    }
+  }
+
+  /** Single daemon thread shared by every sampled logger for its periodic summaries. */
+  private static final class Flusher {
+    static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "sampled-log-flusher");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+}
@@ -0,0 +1,47 @@
+package com.loudent.library.api;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.loudent.library.api.error.ServiceOverloadedException;
+import com.loudent.library.resilience.LoadShedder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.method.HandlerMethod;
+
+class LoadSheddingInterceptorTest {
+
+  private final LoadShedder loadShedder = mock(LoadShedder.class);
+  private final LoadSheddingInterceptor interceptor = new LoadSheddingInterceptor(loadShedder);
+  private final HttpServletRequest request = mock(HttpServletRequest.class);
+  private final HttpServletResponse response = mock(HttpServletResponse.class);
+
+  @Test
+  void preHandle_shouldThrowWhenShed() throws Exception {
+    HandlerMethod handler = new HandlerMethod(new Endpoints(), "searchCatalog");
+    when(loadShedder.shouldShed("searchCatalog")).thenReturn(true);
+
+    assertThrows(
+        ServiceOverloadedException.class, () -> interceptor.preHandle(request, response, handler));
+  }
+
+  @Test
+  void preHandle_shouldContinueWhenNotShed() throws Exception {
+    HandlerMethod handler = new HandlerMethod(new Endpoints(), "searchCatalog");
+    when(loadShedder.shouldShed("searchCatalog")).thenReturn(false);
+
+    assertTrue(interceptor.preHandle(request, response, handler));
+  }
+
+  @Test
+  void preHandle_shouldIgnoreNonControllerHandlers() {
+    assertTrue(interceptor.preHandle(request, response, new Object()));
+  }
+
+  static class Endpoints {
+    public void searchCatalog() {}
+  }
+}
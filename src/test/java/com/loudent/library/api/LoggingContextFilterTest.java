@@ -1,6 +1,7 @@
 package com.loudent.library.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doThrow;
@@ -8,11 +9,14 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.loudent.library.context.RequestContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.logging.log4j.ThreadContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -28,25 +32,40 @@ class LoggingContextFilterTest {
 
   @Test
   void doFilter_shouldAddContextAndClearItAfterward() throws IOException, ServletException {
-    // Arrange
     HttpServletRequest mockRequest = mock(HttpServletRequest.class);
     ServletResponse mockResponse = mock(ServletResponse.class);
-    FilterChain mockChain = mock(FilterChain.class);
+    AtomicReference<RequestContext> seen = new AtomicReference<>();
+    FilterChain chain = (req, res) -> seen.set(RequestContext.current());
 
     when(mockRequest.getMethod()).thenReturn("GET");
     when(mockRequest.getRequestURI()).thenReturn("/api/test");
 
-    // Act
-    filter.doFilter(mockRequest, mockResponse, mockChain);
+    filter.doFilter(mockRequest, mockResponse, chain);
 
-    // Assert (executing this after doFilter ensures context was cleared)
-    assertNull(ThreadContext.get("requestId"));
-    assertNull(ThreadContext.get("method"));
-    assertNull(ThreadContext.get("path"));
+    assertNotNull(seen.get());
+    assertNotNull(seen.get().requestId());
+    assertEquals("GET", seen.get().method());
+    assertEquals("/api/test", seen.get().path());
+    assertNull(RequestContext.current());
+  }
 
-    verify(mockRequest).getMethod();
-    verify(mockRequest).getRequestURI();
-    verify(mockChain).doFilter(mockRequest, mockResponse);
+  @Test
+  void doFilter_shouldEchoRequestIdAndExposeContextToTheChain()
+      throws IOException, ServletException {
+    HttpServletRequest mockRequest = mock(HttpServletRequest.class);
+    HttpServletResponse mockResponse = mock(HttpServletResponse.class);
+    AtomicReference<RequestContext> seen = new AtomicReference<>();
+    FilterChain chain = (req, res) -> seen.set(RequestContext.current());
+
+    when(mockRequest.getHeader(RequestContext.REQUEST_ID_HEADER)).thenReturn("caller-42");
+    when(mockRequest.getMethod()).thenReturn("GET");
+    when(mockRequest.getRequestURI()).thenReturn("/api/v1/catalog/isbn/1");
+
+    filter.doFilter(mockRequest, mockResponse, chain);
+
+    verify(mockResponse).setHeader(RequestContext.REQUEST_ID_HEADER, "caller-42");
+    assertEquals(new RequestContext("caller-42", "GET", "/api/v1/catalog/isbn/1"), seen.get());
+    assertNull(RequestContext.current());
   }
 
   @Test
@@ -4,7 +4,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.loudent.library.config.LibraryConfig;
@@ -12,15 +16,19 @@ import com.loudent.library.oas.codegen.model.BookOperationResult;
 import com.loudent.library.oas.codegen.model.CheckinRequest;
 import com.loudent.library.oas.codegen.model.CheckoutRequest;
 import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.service.idempotency.IdempotencyStore;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class ActivityLibraryControllerTest {
 
   private ActivityService activityService;
+  private IdempotencyStore idempotencyStore;
   private LibraryConfig libraryConfig;
   private ExecutorService controllerThreadPool;
   private ActivityLibraryController controller;
@@ -28,10 +36,15 @@ class ActivityLibraryControllerTest {
   @BeforeEach
   void setup() {
     activityService = mock(ActivityService.class);
+    idempotencyStore = mock(IdempotencyStore.class);
+    when(idempotencyStore.execute(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> invocation.<Supplier<List<BookOperationResult>>>getArgument(3).get());
     libraryConfig = mock(LibraryConfig.class);
     controllerThreadPool = Executors.newSingleThreadExecutor();
     controller =
-        new ActivityLibraryController(libraryConfig, activityService, controllerThreadPool);
+        new ActivityLibraryController(
+            libraryConfig, activityService, idempotencyStore, controllerThreadPool);
 
     when(libraryConfig.getRequestTimeout()).thenReturn(1000L); // 1 second timeout
   }
@@ -50,7 +63,8 @@ class ActivityLibraryControllerTest {
 
     when(activityService.checkoutBooks("acct1", request.getBookIds())).thenReturn(mockResults);
 
-    List<BookOperationResult> result = controller.checkoutBooks(request).get().getBody();
+    List<BookOperationResult> result =
+        controller.checkoutBooks(Optional.empty(), request).get().getBody();
 
     assertNotNull(result);
     assertEquals(2, result.size());
@@ -65,10 +79,24 @@ class ActivityLibraryControllerTest {
     when(activityService.checkoutBooks("acct2", request.getBookIds()))
         .thenThrow(new RuntimeException("Simulated checkout failure"));
 
-    Exception ex = assertThrows(Exception.class, () -> controller.checkoutBooks(request).get());
+    Exception ex =
+        assertThrows(
+            Exception.class, () -> controller.checkoutBooks(Optional.empty(), request).get());
     assertTrue(ex.getCause().getMessage().contains("Simulated checkout failure"));
   }
 
+  @Test
+  void checkoutBooks_passesIdempotencyKeyAndRequest() throws Exception {
+    CheckoutRequest request =
+        new CheckoutRequest().accountNumber("acct1").bookIds(List.of("isbn.copy1"));
+    List<BookOperationResult> stored = List.of(new BookOperationResult().bookId("isbn.copy1"));
+    when(idempotencyStore.execute(eq("checkout"), eq("key-1"), eq("acct1|[isbn.copy1]"), any()))
+        .thenReturn(stored);
+
+    assertEquals(stored, controller.checkoutBooks(Optional.of("key-1"), request).get().getBody());
+    verify(activityService, never()).checkoutBooks(any(), any());
+  }
+
   // === CHECKIN TESTS ===
 
   @Test
@@ -79,7 +107,8 @@ class ActivityLibraryControllerTest {
 
     when(activityService.checkinBooks(request.getBookIds())).thenReturn(mockResults);
 
-    List<BookOperationResult> result = controller.checkinBooks(request).get().getBody();
+    List<BookOperationResult> result =
+        controller.checkinBooks(Optional.empty(), request).get().getBody();
 
     assertNotNull(result);
     assertEquals(1, result.size());
@@ -93,7 +122,20 @@ class ActivityLibraryControllerTest {
     when(activityService.checkinBooks(request.getBookIds()))
         .thenThrow(new RuntimeException("Simulated checkin failure"));
 
-    Exception ex = assertThrows(Exception.class, () -> controller.checkinBooks(request).get());
+    Exception ex =
+        assertThrows(
+            Exception.class, () -> controller.checkinBooks(Optional.empty(), request).get());
     assertTrue(ex.getCause().getMessage().contains("Simulated checkin failure"));
   }
+
+  @Test
+  void checkinBooks_passesIdempotencyKeyAndRequest() throws Exception {
+    CheckinRequest request = new CheckinRequest().bookIds(List.of("isbn.copy1"));
+    List<BookOperationResult> stored = List.of(new BookOperationResult().bookId("isbn.copy1"));
+    when(idempotencyStore.execute(eq("checkin"), eq("key-1"), eq("[isbn.copy1]"), any()))
+        .thenReturn(stored);
+
+    assertEquals(stored, controller.checkinBooks(Optional.of("key-1"), request).get().getBody());
+    verify(activityService, never()).checkinBooks(any());
+  }
 }
@@ -0,0 +1,229 @@
+package com.loudent.library.api.activity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.loudent.library.api.error.InvalidRequestException;
+import com.loudent.library.context.RequestContext;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.service.activity.OverdueCursor;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+class OverdueActivityControllerTest {
+
+  private static final LocalDate AS_OF = LocalDate.of(2025, 7, 10);
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .findAndRegisterModules()
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private ActivityService activityService;
+  private OverdueActivityController controller;
+
+  @BeforeEach
+  void setup() {
+    activityService = mock(ActivityService.class);
+    controller = new OverdueActivityController(activityService, objectMapper, 2, 5, 12);
+  }
+
+  @Test
+  void getOverdueBooks_streamsOneLinePerCheckout() throws Exception {
+    Activity overdue = overdue("111.1", LocalDate.of(2025, 7, 1));
+    stubOverdue(null, 2, Optional.empty(), overdue);
+
+    List<JsonNode> lines = stream(controller.getOverdueBooks(null, null, AS_OF, null));
+
+    assertEquals(1, lines.size());
+    assertEquals("111.1", lines.get(0).get("bookId").asText());
+    assertEquals("ACC1", lines.get(0).get("accountNumber").asText());
+    assertEquals("2025-07-01", lines.get(0).get("dueDate").asText());
+    assertEquals(9, lines.get(0).get("daysOverdue").asLong());
+  }
+
+  @Test
+  void getOverdueBooks_endsWithCursorWhenLimited() throws Exception {
+    Activity first = overdue("111.1", LocalDate.of(2025, 6, 1));
+    Activity second = overdue("111.2", LocalDate.of(2025, 6, 2));
+    stubOverdue(null, 2, Optional.of(OverdueCursor.of(second)), first, second);
+
+    List<JsonNode> lines = stream(controller.getOverdueBooks(null, null, AS_OF, null));
+
+    assertEquals(3, lines.size());
+    assertEquals(
+        OverdueCursor.of(second), OverdueCursor.decode(lines.get(2).get("nextCursor").asText()));
+  }
+
+  @Test
+  void getOverdueBooks_passesDecodedCursorAndLimit() throws Exception {
+    OverdueCursor after = new OverdueCursor("2025-06", LocalDate.of(2025, 6, 2), "111.2");
+    stubOverdue(after, 4, Optional.empty());
+
+    List<JsonNode> lines = stream(controller.getOverdueBooks(4, after.encode(), AS_OF, null));
+
+    assertEquals(0, lines.size());
+  }
+
+  @Test
+  void getOverdueBooks_reportsFailuresWithResumeCursor() throws Exception {
+    Activity first = overdue("111.1", LocalDate.of(2025, 6, 1));
+    doAnswer(
+            invocation -> {
+              Consumer<Activity> sink = invocation.getArgument(4);
+              sink.accept(first);
+              throw new IllegalStateException("table name dev_Activity throttled");
+            })
+        .when(activityService)
+        .forEachOverdue(any(), any(), any(), eq(2), any());
+
+    List<JsonNode> lines = stream(controller.getOverdueBooks(null, null, AS_OF, null));
+
+    assertEquals(2, lines.size());
+    assertEquals("An unexpected error occurred.", lines.get(1).get("error").asText());
+    assertEquals(500, lines.get(1).get("status").asInt());
+    assertEquals(
+        OverdueCursor.of(first), OverdueCursor.decode(lines.get(1).get("nextCursor").asText()));
+  }
+
+  @Test
+  void getOverdueBooks_namesTheOldestMonthListed() throws Exception {
+    stubOverdue(null, 2, Optional.empty());
+
+    ResponseEntity<StreamingResponseBody> response =
+        controller.getOverdueBooks(null, null, AS_OF, null);
+
+    assertEquals(
+        "2024-07", response.getHeaders().getFirst(OverdueActivityController.SINCE_HEADER));
+    assertEquals(0, stream(response).size());
+  }
+
+  @Test
+  void getOverdueBooks_listsFromSinceWhenGiven() throws Exception {
+    YearMonth since = YearMonth.of(2019, 1);
+    when(activityService.forEachOverdue(eq(AS_OF), eq(since), isNull(), eq(2), any()))
+        .thenReturn(Optional.empty());
+
+    ResponseEntity<StreamingResponseBody> response =
+        controller.getOverdueBooks(null, null, AS_OF, since);
+
+    assertEquals(
+        "2019-01", response.getHeaders().getFirst(OverdueActivityController.SINCE_HEADER));
+    assertEquals(0, stream(response).size());
+    assertThrows(
+        InvalidRequestException.class,
+        () -> controller.getOverdueBooks(null, null, AS_OF, YearMonth.of(2025, 8)));
+  }
+
+  @Test
+  void getOverdueBooks_writesTheBodyInTheRequestContext() throws Exception {
+    AtomicReference<RequestContext> seen = new AtomicReference<>();
+    when(activityService.forEachOverdue(any(), any(), any(), eq(2), any()))
+        .thenAnswer(
+            invocation -> {
+              seen.set(RequestContext.current());
+              return Optional.empty();
+            });
+    RequestContext context = new RequestContext("req-1", "GET", "/activity/overdue");
+    ResponseEntity<StreamingResponseBody> response;
+    try (RequestContext.Scope ignored = RequestContext.attach(context)) {
+      response = controller.getOverdueBooks(null, null, AS_OF, null);
+    }
+
+    CompletableFuture.runAsync(
+            () -> {
+              try {
+                response.getBody().writeTo(new ByteArrayOutputStream());
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            })
+        .join();
+
+    assertSame(context, seen.get());
+  }
+
+  @Test
+  void getOverdueBooks_rejectsLimitsOutOfRange() {
+    assertThrows(
+        InvalidRequestException.class, () -> controller.getOverdueBooks(0, null, AS_OF, null));
+    assertThrows(
+        InvalidRequestException.class, () -> controller.getOverdueBooks(6, null, AS_OF, null));
+  }
+
+  @Test
+  void getOverdueBooks_rejectsBadCursorBeforeStreaming() {
+    assertThrows(
+        InvalidRequestException.class,
+        () -> controller.getOverdueBooks(null, "bogus", AS_OF, null));
+  }
+
+  private void stubOverdue(
+      OverdueCursor after, int limit, Optional<OverdueCursor> next, Activity... items) {
+    YearMonth oldest = YearMonth.of(2024, 7);
+    if (after == null) {
+      when(activityService.forEachOverdue(eq(AS_OF), eq(oldest), isNull(), eq(limit), any()))
+          .thenAnswer(invocation -> feed(invocation.getArgument(4), next, items));
+    } else {
+      when(activityService.forEachOverdue(eq(AS_OF), eq(oldest), eq(after), eq(limit), any()))
+          .thenAnswer(invocation -> feed(invocation.getArgument(4), next, items));
+    }
+  }
+
+  private static Optional<OverdueCursor> feed(
+      Consumer<Activity> sink, Optional<OverdueCursor> next, Activity... items) {
+    for (Activity item : items) {
+      sink.accept(item);
+    }
+    return next;
+  }
+
+  private List<JsonNode> stream(ResponseEntity<StreamingResponseBody> response) throws Exception {
+    assertEquals(
+        OverdueActivityController.NDJSON, response.getHeaders().getContentType().toString());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      if (!line.isEmpty()) {
+        lines.add(objectMapper.readTree(line));
+      }
+    }
+    return lines;
+  }
+
+  private static Activity overdue(String bookId, LocalDate dueDate) {
+    Activity activity = new Activity();
+    activity.setBookId(bookId);
+    activity.setIsbn(bookId.substring(0, bookId.indexOf('.')));
+    activity.setAccountNumber("ACC1");
+    activity.setCheckOutDate(dueDate.minusWeeks(3));
+    activity.setDueDate(dueDate);
+    activity.setOverdueBucket(Activity.overdueBucket(dueDate));
+    return activity;
+  }
+}
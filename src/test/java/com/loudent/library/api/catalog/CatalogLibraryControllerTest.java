@@ -1,21 +1,27 @@
 package com.loudent.library.api.catalog;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.loudent.library.api.ResponseFallbackStore;
 import com.loudent.library.config.LibraryConfig;
 import com.loudent.library.oas.codegen.model.CatalogResponse;
 import com.loudent.library.oas.codegen.model.GetBookByTitleRequest;
+import com.loudent.library.resilience.CircuitOpenException;
 import com.loudent.library.service.catalog.CatalogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 
 class CatalogLibraryControllerTest {
 
@@ -29,7 +35,12 @@ class CatalogLibraryControllerTest {
     catalogService = mock(CatalogService.class);
     libraryConfig = mock(LibraryConfig.class);
     controllerThreadPool = Executors.newSingleThreadExecutor();
-    controller = new CatalogLibraryController(libraryConfig, catalogService, controllerThreadPool);
+    controller =
+        new CatalogLibraryController(
+            libraryConfig,
+            catalogService,
+            controllerThreadPool,
+            new ResponseFallbackStore(new SimpleMeterRegistry(), 100, 60_000));
 
     when(libraryConfig.getRequestTimeout()).thenReturn(1000L); // 1 second timeout
   }
@@ -124,4 +135,31 @@ class CatalogLibraryControllerTest {
     Exception ex = assertThrows(Exception.class, () -> controller.searchCatalog(request).get());
     assertTrue(ex.getCause().getMessage().contains("Search failed"));
   }
+
+  @Test
+  void getBookByISBN_circuitOpen_shouldServeLastKnownGoodResponse() throws Exception {
+    String isbn = "9781234567890";
+    CatalogResponse cached = new CatalogResponse().isbn(isbn).title("Cached Title");
+
+    when(catalogService.getByIsbn(isbn))
+        .thenReturn(cached)
+        .thenThrow(new RuntimeException(new CircuitOpenException("Catalog")));
+
+    controller.getBookByISBN(isbn).get();
+    ResponseEntity<CatalogResponse> stale = controller.getBookByISBN(isbn).get();
+
+    assertEquals(200, stale.getStatusCode().value());
+    assertEquals("Cached Title", stale.getBody().getTitle());
+    assertEquals("true", stale.getHeaders().getFirst(ResponseFallbackStore.STALE_HEADER));
+    assertNotNull(stale.getHeaders().getFirst(HttpHeaders.AGE));
+  }
+
+  @Test
+  void getBookByISBN_circuitOpenWithoutCache_shouldPropagate() {
+    String isbn = "9780000000000";
+    when(catalogService.getByIsbn(isbn)).thenThrow(new CircuitOpenException("Catalog"));
+
+    Exception ex = assertThrows(Exception.class, () -> controller.getBookByISBN(isbn).get());
+    assertInstanceOf(CircuitOpenException.class, ex.getCause());
+  }
 }
@@ -0,0 +1,49 @@
+package com.loudent.library.api.error;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.loudent.library.resilience.CircuitOpenException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class ErrorStatusTest {
+
+  @Test
+  void of_shouldMatchControllerAdviceStatuses() {
+    assertEquals(HttpStatus.NOT_FOUND, ErrorStatus.of(new NotFoundException("missing")));
+    assertEquals(HttpStatus.REQUEST_TIMEOUT, ErrorStatus.of(new TimeoutException()));
+    assertEquals(HttpStatus.BAD_REQUEST, ErrorStatus.of(new IllegalArgumentException("bad")));
+    assertEquals(
+        HttpStatus.SERVICE_UNAVAILABLE, ErrorStatus.of(new CircuitOpenException("Catalog")));
+    assertEquals(
+        HttpStatus.SERVICE_UNAVAILABLE, ErrorStatus.of(new ServiceOverloadedException("search")));
+    assertEquals(
+        HttpStatus.SERVICE_UNAVAILABLE, ErrorStatus.of(new RejectedExecutionException("full")));
+    assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ErrorStatus.of(new IllegalStateException()));
+  }
+
+  @Test
+  void of_shouldUnwrapAsyncWrappers() {
+    assertEquals(
+        HttpStatus.NOT_FOUND,
+        ErrorStatus.of(new CompletionException(new NotFoundException("missing"))));
+    assertEquals(
+        HttpStatus.REQUEST_TIMEOUT,
+        ErrorStatus.of(
+            new ExecutionException(new CompletionException(new TimeoutException("slow")))));
+  }
+
+  @Test
+  void expectedExceptions_shouldNotCaptureStackTraces() {
+    assertEquals(0, new NotFoundException("missing").getStackTrace().length);
+    assertEquals(0, new InvalidRequestException("bad").getStackTrace().length);
+    assertEquals(0, new CircuitOpenException("Catalog").getStackTrace().length);
+    assertEquals(0, new ServiceOverloadedException("search").getStackTrace().length);
+    assertEquals(
+        HttpStatus.BAD_REQUEST, ErrorStatus.of(new InvalidRequestException("Account not found")));
+  }
+}
@@ -82,4 +82,25 @@ class ExceptionUtilsTest {
 
     assertSame(b, result); // stops before infinite loop
   }
+
+  @Test
+  void unwrap_handlesLongerCycle() {
+    Throwable a = new RuntimeException("A");
+    Throwable b = new RuntimeException("B", a);
+    Throwable c = new RuntimeException("C", b);
+    a.initCause(c); // a → c → b → a
+
+    assertSame(b, ExceptionUtils.unwrap(a));
+  }
+
+  @Test
+  void unwrap_followsDeepChainToRoot() {
+    Throwable root = new NotFoundException("deep");
+    Throwable wrapped = root;
+    for (int i = 0; i < 10; i++) {
+      wrapped = new CompletionException(wrapped);
+    }
+
+    assertSame(root, ExceptionUtils.unwrap(wrapped));
+  }
 }
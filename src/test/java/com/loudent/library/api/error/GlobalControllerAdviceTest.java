@@ -4,11 +4,14 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.loudent.library.oas.codegen.model.ErrorResponse;
+import com.loudent.library.resilience.CircuitOpenException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -84,6 +87,44 @@ class GlobalControllerAdviceTest {
     assertEquals("Catalog item not found", response.getBody().getMessage());
   }
 
+  @Test
+  void handleUnhandled_delegatesCircuitOpenToServiceUnavailable() {
+    Exception ex =
+        new CompletionException(new RuntimeException(new CircuitOpenException("Catalog")));
+
+    ResponseEntity<ErrorResponse> response = advice.handleUnhandled(ex);
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+  }
+
+  @Test
+  void handleUnhandled_delegatesRejectedExecutionToServiceUnavailable() {
+    Exception ex = new CompletionException(new RejectedExecutionException("queue full"));
+
+    ResponseEntity<ErrorResponse> response = advice.handleUnhandled(ex);
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+  }
+
+  @Test
+  void handleUnhandled_answersWrappedCausesFromTheStatusTable() {
+    Exception ex = new CompletionException(new IllegalArgumentException("bad isbn"));
+
+    ResponseEntity<ErrorResponse> response = advice.handleUnhandled(ex);
+
+    assertEquals(ErrorStatus.of(ex), response.getStatusCode());
+    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    assertEquals("Argument error: bad isbn", response.getBody().getMessage());
+  }
+
+  @Test
+  void handleOverloaded_returnsServiceUnavailable() {
+    ResponseEntity<ErrorResponse> response =
+        advice.handleOverloaded(new ServiceOverloadedException("searchCatalog"));
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+  }
+
   @Test
   void handleIllegalArguments_returnsIllegalArgumentsResponse() {
     IllegalArgumentException ex = new IllegalArgumentException("Catalog item not found");
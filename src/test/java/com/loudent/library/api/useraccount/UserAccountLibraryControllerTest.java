@@ -5,11 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
+import com.loudent.library.api.ResponseFallbackStore;
 import com.loudent.library.api.error.NotFoundException;
 import com.loudent.library.config.LibraryConfig;
 import com.loudent.library.oas.codegen.model.UserResponse;
 import com.loudent.library.service.account.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -46,17 +49,23 @@ class UserAccountLibraryControllerTest {
             .memberSince(LocalDate.of(2020, 1, 15));
     controllerThreadPool = Executors.newSingleThreadExecutor();
     controller =
-        new UserAccountLibraryController(libraryConfig, accountService, controllerThreadPool);
+        new UserAccountLibraryController(
+            libraryConfig,
+            accountService,
+            controllerThreadPool,
+            new ResponseFallbackStore(new SimpleMeterRegistry(), 100, 60_000));
     when(libraryConfig.getRequestTimeout()).thenReturn(2000L);
   }
 
   @Test
   @SneakyThrows
   void getUserByAccountNumber_success() {
-    when(accountService.getByAccountNumber("ACC123456")).thenReturn(sampleUser);
+    when(accountService.getByAccountNumber("ACC123456", null, null)).thenReturn(sampleUser);
 
     ResponseEntity<UserResponse> result =
-        controller.getUserByAccountNumber("ACC123456").get(3, TimeUnit.SECONDS);
+        controller
+            .getUserByAccountNumber("ACC123456", Optional.empty(), Optional.empty())
+            .get(3, TimeUnit.SECONDS);
 
     assertEquals(200, result.getStatusCode().value());
     assertEquals(sampleUser, result.getBody());
@@ -65,11 +74,16 @@ class UserAccountLibraryControllerTest {
   @Test
   @SneakyThrows
   void getUserByAccountNumber_shouldThrowException_whenServiceFails() {
-    when(accountService.getByAccountNumber("BROKEN")).thenThrow(new RuntimeException("boom"));
+    when(accountService.getByAccountNumber("BROKEN", null, null))
+        .thenThrow(new RuntimeException("boom"));
 
     CompletionException ex =
         assertThrows(
-            CompletionException.class, () -> controller.getUserByAccountNumber("BROKEN").join());
+            CompletionException.class,
+            () ->
+                controller
+                    .getUserByAccountNumber("BROKEN", Optional.empty(), Optional.empty())
+                    .join());
 
     assertEquals("boom", ex.getCause().getMessage());
   }
@@ -77,13 +91,49 @@ class UserAccountLibraryControllerTest {
   @Test
   @SneakyThrows
   void getUserByAccountNumber_shouldThrowNotFound_whenUserIsNull() {
-    when(accountService.getByAccountNumber("MISSING")).thenReturn(null);
+    when(accountService.getByAccountNumber("MISSING", null, null)).thenReturn(null);
 
     CompletionException ex =
         assertThrows(
-            CompletionException.class, () -> controller.getUserByAccountNumber("MISSING").join());
+            CompletionException.class,
+            () ->
+                controller
+                    .getUserByAccountNumber("MISSING", Optional.empty(), Optional.empty())
+                    .join());
 
     assertInstanceOf(NotFoundException.class, ex.getCause());
     assertEquals("User not found for account #: MISSING", ex.getCause().getMessage());
   }
+
+  @Test
+  @SneakyThrows
+  void getUserByAccountNumber_passesPagingThrough() {
+    when(accountService.getByAccountNumber("ACC123456", 10, "abc")).thenReturn(sampleUser);
+
+    ResponseEntity<UserResponse> result =
+        controller
+            .getUserByAccountNumber("ACC123456", Optional.of(10), Optional.of("abc"))
+            .get(3, TimeUnit.SECONDS);
+
+    assertEquals(sampleUser, result.getBody());
+  }
+
+  @Test
+  void getUserByAccountNumber_servesStalePagesSeparately() {
+    ResponseFallbackStore fallbackStore =
+        new ResponseFallbackStore(new SimpleMeterRegistry(), 100, 60_000);
+    controller =
+        new UserAccountLibraryController(
+            libraryConfig, accountService, controllerThreadPool, fallbackStore);
+    UserResponse secondPage = new UserResponse().accountNumber("ACC123456");
+    when(accountService.getByAccountNumber("ACC123456", null, null)).thenReturn(sampleUser);
+    when(accountService.getByAccountNumber("ACC123456", 10, "abc")).thenReturn(secondPage);
+    controller.getUserByAccountNumber("ACC123456", Optional.empty(), Optional.empty()).join();
+    controller.getUserByAccountNumber("ACC123456", Optional.of(10), Optional.of("abc")).join();
+
+    assertEquals(sampleUser, fallbackStore.getUsers().get("ACC123456").orElseThrow().value());
+    assertEquals(
+        secondPage,
+        fallbackStore.getUsers().get("ACC123456?limit=10&cursor=abc").orElseThrow().value());
+  }
 }
@@ -4,11 +4,16 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.loudent.library.api.error.NotFoundException;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.Test;
@@ -20,6 +25,19 @@ class AbstractMethodTimerTest {
       super(new SimpleMeterRegistry());
     }
 
+    TestMethodTimer(SimpleMeterRegistry registry, TimerHistograms histograms) {
+      super(registry, histograms);
+    }
+
+    TestMethodTimer(int maxExceptionTags) {
+      super(new SimpleMeterRegistry(), TimerHistograms.none(), maxExceptionTags);
+    }
+
+    @Override
+    protected Tags statusTags(Tags methodTags, int status) {
+      return methodTags.and(STATUS_TAG, String.valueOf(status));
+    }
+
     // Expose protected method for testing
     public Tags testGetMetricTags(String[] tags) {
       return getMetricTags(tags);
@@ -61,6 +79,93 @@ class AbstractMethodTimerTest {
     assertEquals(500, timer.testMapExceptionToStatus(new RuntimeException()));
   }
 
+  @Test
+  void meters_shouldBeRegisteredOncePerStatus() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TestMethodTimer cachingTimer = new TestMethodTimer(registry, TimerHistograms.none());
+    AbstractMethodTimer.TimedMethod method =
+        new AbstractMethodTimer.TimedMethod("cached", Tags.of("env", "test"));
+
+    AbstractMethodTimer.Meters ok = cachingTimer.meters(method, 200);
+    ok.record(1_500);
+    cachingTimer.meters(method, 200).record(2_500);
+    cachingTimer.meters(method, 500).record(1_000);
+
+    assertSame(ok, cachingTimer.meters(method, 200));
+    assertEquals(2.0, registry.get("cached.success").counter().count(), 0.01);
+    assertEquals(1.0, registry.get("cached.failure").counter().count(), 0.01);
+    assertEquals(
+        4_000,
+        registry
+            .get("cached.duration")
+            .tag(AbstractMethodTimer.STATUS_TAG, "200")
+            .timer()
+            .totalTime(TimeUnit.NANOSECONDS),
+        0.01);
+  }
+
+  @Test
+  void meters_shouldApplyConfiguredHistograms() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TestMethodTimer histogramTimer =
+        new TestMethodTimer(
+            registry, new TimerHistograms(false, new double[] {0.99}, new long[] {250, 50}));
+
+    histogramTimer
+        .meters(new AbstractMethodTimer.TimedMethod("slo", Tags.empty()), 200)
+        .record(TimeUnit.MILLISECONDS.toNanos(10));
+
+    HistogramSnapshot snapshot = registry.get("slo.duration").timer().takeSnapshot();
+    assertEquals(1, snapshot.percentileValues().length);
+    assertEquals(2, snapshot.histogramCounts().length);
+    assertEquals(1.0, snapshot.histogramCounts()[0].count(), 0.01);
+  }
+
+  @Test
+  void testMapExceptionToStatus_shouldFollowControllerAdvice() {
+    assertEquals(404, timer.testMapExceptionToStatus(new NotFoundException("missing")));
+    assertEquals(
+        400,
+        timer.testMapExceptionToStatus(
+            new CompletionException(new IllegalArgumentException("bad isbn"))));
+    assertEquals(408, timer.testMapExceptionToStatus(new TimeoutException()));
+  }
+
+  @Test
+  void exceptionTag_shouldUnwrapAndStayBounded() {
+    assertEquals(
+        "NotFoundException",
+        timer.exceptionTag(new CompletionException(new NotFoundException("missing"))));
+
+    TestMethodTimer bounded = new TestMethodTimer(2);
+    assertEquals("IllegalStateException", bounded.exceptionTag(new IllegalStateException()));
+    assertEquals("TimeoutException", bounded.exceptionTag(new TimeoutException()));
+
+    assertEquals("IllegalStateException", bounded.exceptionTag(new IllegalStateException()));
+    assertEquals(AbstractMethodTimer.OTHER_EXCEPTION, bounded.exceptionTag(new Error()));
+  }
+
+  @Test
+  void meters_shouldSeparateClientErrorLatency() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TestMethodTimer splitTimer = new TestMethodTimer(registry, TimerHistograms.none());
+    AbstractMethodTimer.TimedMethod method =
+        new AbstractMethodTimer.TimedMethod("split", Tags.empty());
+
+    splitTimer.meters(method, new NotFoundException("missing")).record(1_000);
+    splitTimer.meters(method, 200).record(1_000);
+
+    assertEquals(
+        1,
+        registry
+            .get("split.client.error.duration")
+            .tags(AbstractMethodTimer.STATUS_TAG, "404", "exception", "NotFoundException")
+            .timer()
+            .count());
+    assertEquals(1, registry.get("split.duration").timer().count());
+    assertEquals(1.0, registry.get("split.failure").counter().count(), 0.01);
+  }
+
   @Test
   void getMethod_shouldReturnMethodFromJoinPoint() throws NoSuchMethodException {
     ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
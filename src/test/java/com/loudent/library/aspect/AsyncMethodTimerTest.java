@@ -5,10 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.loudent.library.api.error.NotFoundException;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Method;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
@@ -63,6 +65,12 @@ class AsyncMethodTimerTest {
       return f;
     }
 
+    @TimedAsync(metric = "async.missing")
+    public CompletableFuture<ResponseEntity<String>> missing() {
+      return CompletableFuture.failedFuture(
+          new CompletionException(new NotFoundException("no such isbn")));
+    }
+
     @TimedAsync(metric = "")
     public CompletableFuture<ResponseEntity<String>> noArgsFail() {
       CompletableFuture<ResponseEntity<String>> f = new CompletableFuture<>();
@@ -96,6 +104,20 @@ class AsyncMethodTimerTest {
     assertEquals(1.0, meterRegistry.get("async.fail.failure").counter().count(), 0.01);
   }
 
+  @Test
+  void testClientErrorMetrics() {
+    assertThrows(CompletionException.class, () -> asyncTestTarget.missing().join());
+
+    assertEquals(
+        1,
+        meterRegistry
+            .get("async.missing.client.error.duration")
+            .tags("status", "404", "status_group", "4xx", "exception", "NotFoundException")
+            .timer()
+            .count());
+    assertEquals(1.0, meterRegistry.get("async.missing.failure").counter().count(), 0.01);
+  }
+
   @Test
   void testFailureMetricsNoArgs() {
     assertThrows(RuntimeException.class, () -> asyncTestTarget.noArgsFail().join());
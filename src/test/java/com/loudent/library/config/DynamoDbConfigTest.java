@@ -1,9 +1,18 @@
 package com.loudent.library.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.loudent.library.inmemory.FaultInjector;
+import com.loudent.library.inmemory.InMemoryDynamoDb;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -24,6 +33,20 @@ class DynamoDbConfigTest {
     ReflectionTestUtils.setField(config, "dynamoDbEndpoint", "http://localhost:8000");
     ReflectionTestUtils.setField(config, "accessKey", "fake");
     ReflectionTestUtils.setField(config, "secretKey", "secret");
+    ReflectionTestUtils.setField(config, "executorQueueCapacity", 1000);
+    ReflectionTestUtils.setField(config, "executorRejectionPolicy", "abort");
+    ReflectionTestUtils.setField(config, "asyncHttpClient", "netty");
+    ReflectionTestUtils.setField(config, "syncHttpClient", "apache");
+    ReflectionTestUtils.setField(config, "maxConnections", 50);
+    ReflectionTestUtils.setField(config, "maxPendingAcquires", 100);
+    ReflectionTestUtils.setField(config, "connectionAcquisitionTimeoutMs", 1000L);
+    ReflectionTestUtils.setField(config, "connectionTimeoutMs", 1000L);
+    ReflectionTestUtils.setField(config, "connectionTtlMs", 60000L);
+    ReflectionTestUtils.setField(config, "connectionMaxIdleMs", 30000L);
+    ReflectionTestUtils.setField(config, "tcpKeepAlive", true);
+    ReflectionTestUtils.setField(config, "useIdleConnectionReaper", true);
+    ReflectionTestUtils.setField(config, "returnConsumedCapacity", true);
+    ReflectionTestUtils.setField(config, "metricsMaxTables", 32);
   }
 
   @Test
@@ -39,6 +62,74 @@ class DynamoDbConfigTest {
     executor.shutdownNow();
   }
 
+  @Test
+  void testDynamoAsyncThreadPoolIsExposed() {
+    ExecutorService executor = config.dynamoAsyncExecutor();
+    assertThat(config.getDynamoAsyncThreadPool()).isNotNull();
+    assertThat(config.getDynamoAsyncThreadPool().getQueue().remainingCapacity()).isEqualTo(1000);
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testRejectionHandler_shouldCountAndApplyPolicy() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    DynamoDbConfig countingConfig = new DynamoDbConfig(registry);
+    ThreadPoolExecutor saturated =
+        new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1));
+    AtomicBoolean ranOnCaller = new AtomicBoolean();
+
+    countingConfig
+        .rejectionHandler("caller-runs")
+        .rejectedExecution(() -> ranOnCaller.set(true), saturated);
+
+    assertThat(ranOnCaller).isTrue();
+    assertThat(registry.get("dynamodbAsyncExecutor.rejected").counter().count()).isEqualTo(1.0);
+    assertThatThrownBy(
+            () -> countingConfig.rejectionHandler("abort").rejectedExecution(() -> {}, saturated))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThatThrownBy(() -> countingConfig.rejectionHandler("bogus"))
+        .isInstanceOf(IllegalArgumentException.class);
+    saturated.shutdownNow();
+  }
+
+  @Test
+  void testHttpSettings_shouldReflectConfiguredValues() {
+    DynamoDbHttpClients.Settings settings = config.httpSettings();
+    assertThat(settings.asyncClient()).isEqualTo("netty");
+    assertThat(settings.syncClient()).isEqualTo("apache");
+    assertThat(settings.maxConnections()).isEqualTo(50);
+    assertThat(settings.connectionTimeToLive()).isEqualTo(Duration.ofMinutes(1));
+  }
+
+  @Test
+  void testInMemoryClients_shouldTagPoolMetricsAsInMemory() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    DynamoDbConfig inMemoryConfig =
+        new DynamoDbConfig(
+            registry, new InMemoryDynamoDb(new FaultInjector(FaultInjector.Settings.none())));
+    ReflectionTestUtils.setField(inMemoryConfig, "awsRegion", "us-west-2");
+    ReflectionTestUtils.setField(inMemoryConfig, "dynamoDbEndpoint", "");
+    ReflectionTestUtils.setField(inMemoryConfig, "accessKey", "fake");
+    ReflectionTestUtils.setField(inMemoryConfig, "secretKey", "secret");
+    ReflectionTestUtils.setField(inMemoryConfig, "syncHttpClient", "apache");
+    ReflectionTestUtils.setField(inMemoryConfig, "asyncHttpClient", "netty");
+    ReflectionTestUtils.setField(inMemoryConfig, "metricsMaxTables", 32);
+
+    inMemoryConfig.enhancedSyncClient();
+
+    assertThat(registry.find("dynamodb.http.pool.leased").tag("client", "in-memory").gauge())
+        .isNotNull();
+    assertThat(registry.find("dynamodb.http.pool.leased").tag("client", "apache").gauge())
+        .isNull();
+    assertThat(config.httpClientName("netty")).isEqualTo("netty");
+  }
+
+  @Test
+  void testEnhancedClientCreation_withAlternativeHttpClients() {
+    ReflectionTestUtils.setField(config, "syncHttpClient", "url-connection");
+    assertThat(config.enhancedSyncClient()).isNotNull();
+  }
+
   @Test
   void testEnhancedSyncClientCreation() {
     DynamoDbEnhancedClient client = config.enhancedSyncClient();
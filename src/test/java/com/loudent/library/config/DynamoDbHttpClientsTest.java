@@ -0,0 +1,49 @@
+package com.loudent.library.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+
+class DynamoDbHttpClientsTest {
+
+  @Test
+  void asyncClient_shouldBuildEachSupportedImplementation() {
+    for (String name : new String[] {DynamoDbHttpClients.NETTY, DynamoDbHttpClients.CRT}) {
+      try (SdkAsyncHttpClient client =
+          DynamoDbHttpClients.asyncClient(
+              DynamoDbHttpClients.Settings.defaults()
+                  .withClients(name, DynamoDbHttpClients.APACHE))) {
+        assertThat(client.clientName()).isNotBlank();
+      }
+    }
+  }
+
+  @Test
+  void syncClient_shouldBuildEachSupportedImplementation() {
+    for (String name :
+        new String[] {DynamoDbHttpClients.APACHE, DynamoDbHttpClients.URL_CONNECTION}) {
+      try (SdkHttpClient client =
+          DynamoDbHttpClients.syncClient(
+              DynamoDbHttpClients.Settings.defaults()
+                  .withClients(DynamoDbHttpClients.NETTY, name))) {
+        assertThat(client.clientName()).isNotBlank();
+      }
+    }
+  }
+
+  @Test
+  void shouldRejectUnknownClientNames() {
+    DynamoDbHttpClients.Settings bogus =
+        DynamoDbHttpClients.Settings.defaults().withClients("okhttp", "jetty");
+
+    assertThatThrownBy(() -> DynamoDbHttpClients.asyncClient(bogus))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("okhttp");
+    assertThatThrownBy(() -> DynamoDbHttpClients.syncClient(bogus))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("jetty");
+  }
+}
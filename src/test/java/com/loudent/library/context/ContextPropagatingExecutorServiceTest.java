@@ -0,0 +1,60 @@
+package com.loudent.library.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.loudent.library.tracing.Span;
+import com.loudent.library.tracing.SpanContext;
+import com.loudent.library.tracing.Tracer;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ContextPropagatingExecutorServiceTest {
+
+  private final ExecutorService executor =
+      new ContextPropagatingExecutorService(Executors.newSingleThreadExecutor());
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void submit_shouldCarryActiveSpanToWorkerThread() throws Exception {
+    Span span = new Tracer(List.of(), true, 1.0, 16).startSpan("checkoutBooks");
+
+    try (SpanContext.Scope ignored = SpanContext.activate(span)) {
+      assertSame(span, executor.submit(SpanContext::current).get());
+      assertSame(span, CompletableFuture.supplyAsync(SpanContext::current, executor).join());
+    }
+
+    assertNull(executor.submit(SpanContext::current).get());
+  }
+
+  @Test
+  void submit_shouldCarryRequestContextAndClearItAfterwards() throws Exception {
+    RequestContext context = new RequestContext("req-1", "POST", "/api/v1/checkout");
+
+    try (RequestContext.Scope ignored = RequestContext.attach(context)) {
+      assertSame(context, executor.submit(RequestContext::current).get());
+      for (Future<String> result :
+          executor.invokeAll(List.<Callable<String>>of(this::requestId, this::requestId))) {
+        assertEquals("req-1", result.get());
+      }
+    }
+
+    assertNull(RequestContext.current());
+    assertNull(executor.submit(RequestContext::current).get());
+  }
+
+  private String requestId() {
+    return RequestContext.current().requestId();
+  }
+}
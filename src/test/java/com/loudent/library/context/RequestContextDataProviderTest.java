@@ -0,0 +1,75 @@
+package com.loudent.library.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.loudent.library.tracing.Span;
+import com.loudent.library.tracing.SpanContext;
+import com.loudent.library.tracing.Tracer;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RequestContextDataProviderTest {
+
+  private final RequestContextDataProvider provider = new RequestContextDataProvider();
+
+  @Test
+  void supplyContextData_shouldExposeRequestAndTrace() {
+    Span span = new Tracer(List.of(), true, 1.0, 16).startSpan("getUser");
+    RequestContext context = new RequestContext("req-7", "GET", "/api/v1/users/42");
+
+    try (RequestContext.Scope request = RequestContext.attach(context);
+        SpanContext.Scope active = SpanContext.activate(span)) {
+      Map<String, String> data = provider.supplyContextData();
+
+      assertEquals("req-7", data.get(RequestContextDataProvider.REQUEST_ID));
+      assertEquals("GET", data.get(RequestContextDataProvider.METHOD));
+      assertEquals("/api/v1/users/42", data.get(RequestContextDataProvider.PATH));
+      assertEquals(span.getTrace().getTraceId(), data.get(RequestContextDataProvider.TRACE_ID));
+    }
+
+    assertTrue(provider.supplyContextData().isEmpty());
+  }
+
+  @Test
+  void supplyContextData_shouldReuseTheMapWhileTheRequestIsUnchanged() {
+    RequestContext first = new RequestContext("req-1", "GET", "/api/v1/users/1");
+    RequestContext second = new RequestContext("req-2", "GET", "/api/v1/users/2");
+
+    Map<String, String> data;
+    try (RequestContext.Scope request = RequestContext.attach(first)) {
+      data = provider.supplyContextData();
+      assertSame(data, provider.supplyContextData());
+    }
+    try (RequestContext.Scope request = RequestContext.attach(second)) {
+      assertNotSame(data, provider.supplyContextData());
+      assertEquals(
+          "req-2", provider.supplyContextData().get(RequestContextDataProvider.REQUEST_ID));
+    }
+  }
+
+  @Test
+  void supplyContextData_shouldNotKeepTheRequestOnceItsScopeCloses() throws Exception {
+    RequestContext context = new RequestContext("req-1", "GET", "/api/v1/users/1");
+    try (RequestContext.Scope request = RequestContext.attach(context)) {
+      provider.supplyContextData();
+    }
+
+    Field last = RequestContextDataProvider.class.getDeclaredField("LAST");
+    last.setAccessible(true);
+    assertNull(((ThreadLocal<?>) last.get(null)).get());
+  }
+
+  @Test
+  void requestId_shouldReuseSafeCallerIdsOnly() {
+    assertEquals("abc-123", RequestContext.requestId("abc-123"));
+    assertNotEquals("bad id\r\n", RequestContext.requestId("bad id\r\n"));
+    assertEquals(32, RequestContext.requestId(null).length());
+  }
+}
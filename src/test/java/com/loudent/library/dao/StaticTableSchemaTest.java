@@ -0,0 +1,104 @@
+package com.loudent.library.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.loudent.library.dao.account.Account;
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.idempotency.IdempotencyRecord;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.IndexMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/** The hand-built schemas must stay interchangeable with the annotated beans they replace. */
+class StaticTableSchemaTest {
+
+  @Test
+  void catalogSchema_matchesBeanSchema() {
+    Catalog item = new Catalog();
+    item.setIsbn("9780201896831");
+    item.setTitle("The Art of Computer Programming");
+    item.setAuthorFirstName("Donald");
+    item.setAuthorLastName("Knuth");
+    item.setBookIds(List.of("9780201896831.0", "9780201896831.1"));
+
+    assertInterchangeable(TableSchema.fromBean(Catalog.class), Catalog.TABLE_SCHEMA, item);
+  }
+
+  @Test
+  void accountSchema_matchesBeanSchema() {
+    Account item = new Account();
+    item.setAccountNumber("ACC0000001");
+    item.setFirstName("Ada");
+    item.setLastName("Lovelace");
+    item.setMemberSince(LocalDate.of(2020, 1, 15));
+
+    assertInterchangeable(TableSchema.fromBean(Account.class), Account.TABLE_SCHEMA, item);
+  }
+
+  @Test
+  void activitySchema_matchesBeanSchema() {
+    Activity item = new Activity();
+    item.setBookId("9780201896831.0");
+    item.setIsbn("9780201896831");
+    item.setIsbnShard(Activity.isbnShardOf(item.getBookId(), 4));
+    item.setTitle("The Art of Computer Programming");
+    item.setAccountNumber("ACC0000001");
+    item.setCheckOutDate(LocalDate.of(2024, 3, 1));
+    item.setDueDate(LocalDate.of(2024, 3, 15));
+    item.setOverdueBucket(Activity.overdueBucket(item.getDueDate()));
+
+    assertInterchangeable(TableSchema.fromBean(Activity.class), Activity.TABLE_SCHEMA, item);
+  }
+
+  @Test
+  void idempotencyRecordSchema_matchesBeanSchema() {
+    IdempotencyRecord item = new IdempotencyRecord();
+    item.setIdempotencyKey("checkout#5f0c2a");
+    item.setFingerprint("9f86d081884c7d65");
+    item.setResponse("[{\"bookId\":\"9780201896831.0\",\"notes\":\"OK\"}]");
+    item.setExpiresAt(1_750_000_000L);
+
+    assertInterchangeable(
+        TableSchema.fromBean(IdempotencyRecord.class), IdempotencyRecord.TABLE_SCHEMA, item);
+  }
+
+  @Test
+  void nullAttributes_areOmittedLikeTheBeanSchema() {
+    Catalog item = new Catalog();
+    item.setIsbn("9780201896831");
+
+    assertEquals(
+        TableSchema.fromBean(Catalog.class).itemToMap(item, true),
+        Catalog.TABLE_SCHEMA.itemToMap(item, true));
+  }
+
+  private static <T> void assertInterchangeable(TableSchema<T> bean, TableSchema<T> hand, T item) {
+    assertEquals(Set.copyOf(bean.attributeNames()), Set.copyOf(hand.attributeNames()));
+    assertEquals(keys(bean.tableMetadata()), keys(hand.tableMetadata()));
+
+    Map<String, AttributeValue> attributes = bean.itemToMap(item, false);
+    assertEquals(attributes, hand.itemToMap(item, false));
+    assertEquals(item, hand.mapToItem(attributes));
+  }
+
+  /** Each index (the table's own included) with its partition and sort key names. */
+  private static Map<String, String> keys(TableMetadata metadata) {
+    return metadata.indices().stream()
+        .map(IndexMetadata::name)
+        .collect(
+            Collectors.toMap(
+                index -> index,
+                index ->
+                    metadata.indexPartitionKey(index)
+                        + "/"
+                        + metadata.indexSortKey(index).orElse("")));
+  }
+}
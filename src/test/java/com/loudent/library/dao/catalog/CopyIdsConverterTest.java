@@ -0,0 +1,54 @@
+package com.loudent.library.dao.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class CopyIdsConverterTest {
+
+  private final CopyIdsConverter converter = new CopyIdsConverter();
+
+  @Test
+  void writesCompactBinary_whenIdsAllow() {
+    List<String> ids = List.of("9781234567897.0", "9781234567897.1");
+
+    AttributeValue value = converter.transformFrom(ids);
+
+    assertNotNull(value.b());
+    assertEquals(ids, converter.transformTo(value));
+  }
+
+  @Test
+  void writesList_whenIdsDoNotFitTheCompactForm() {
+    List<String> ids = List.of("copy-a", "copy-b");
+
+    AttributeValue value = converter.transformFrom(ids);
+
+    assertTrue(value.hasL());
+    assertEquals(ids, converter.transformTo(value));
+  }
+
+  @Test
+  void readsItemsStoredAsLists() {
+    AttributeValue list =
+        AttributeValue.fromL(
+            List.of(
+                AttributeValue.fromS("9781234567897-0"), AttributeValue.fromS("9781234567897-1")));
+    Map<String, AttributeValue> legacy =
+        Map.of("isbn", AttributeValue.fromS("9781234567897"), "bookIds", list);
+
+    Catalog catalog = Catalog.TABLE_SCHEMA.mapToItem(legacy);
+
+    assertEquals(List.of("9781234567897-0", "9781234567897-1"), catalog.getBookIds());
+    assertEquals(2, catalog.totalCopies());
+  }
+
+  @Test
+  void rejectsOtherAttributeTypes() {
+    assertThrows(
+        IllegalArgumentException.class, () -> converter.transformTo(AttributeValue.fromS("x")));
+  }
+}
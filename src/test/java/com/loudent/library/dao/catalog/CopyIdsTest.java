@@ -0,0 +1,75 @@
+package com.loudent.library.dao.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class CopyIdsTest {
+
+  private static final String ISBN = "9781234567897";
+
+  @Test
+  void compactsDenseIds() {
+    CopyIds ids = CopyIds.of(ids(".", 0, 1, 2)).orElseThrow();
+
+    assertEquals(3, ids.size());
+    assertEquals(3, ids.registered());
+    assertEquals(ISBN + ".", ids.prefix());
+    assertEquals(List.of(ISBN + ".0", ISBN + ".1", ISBN + ".2"), ids);
+  }
+
+  @Test
+  void recordsGapsAsRetiredCopies() {
+    List<String> original = ids("-", 0, 2, 3, 7);
+    CopyIds ids = CopyIds.of(original).orElseThrow();
+
+    assertEquals(4, ids.size());
+    assertEquals(8, ids.registered());
+    assertTrue(ids.isRetired(1));
+    assertFalse(ids.isRetired(2));
+    assertEquals(ISBN + "-3", ids.get(2));
+    assertEquals(original, new ArrayList<>(ids));
+    assertTrue(ids.contains(ISBN + "-7"));
+    assertFalse(ids.contains(ISBN + "-1"));
+    assertFalse(ids.contains("9780000000000-0"));
+  }
+
+  @Test
+  void roundTripsThroughItsEncoding() {
+    CopyIds ids = CopyIds.of(ids(".", 0, 1, 5, 6, 40)).orElseThrow();
+
+    CopyIds decoded = CopyIds.decode(ids.encode());
+
+    assertEquals(ids, decoded);
+    assertEquals(ids.registered(), decoded.registered());
+  }
+
+  @Test
+  void leavesIdsItCannotRepresentAsLists() {
+    assertEquals(Optional.empty(), CopyIds.of(null));
+    assertEquals(Optional.empty(), CopyIds.of(List.of()));
+    assertEquals(Optional.empty(), CopyIds.of(List.of("1", "2")));
+    assertEquals(Optional.empty(), CopyIds.of(List.of("isbn.copy1")));
+    assertEquals(Optional.empty(), CopyIds.of(List.of(ISBN + ".01")));
+    assertEquals(Optional.empty(), CopyIds.of(ids(".", 1, 0)));
+    assertEquals(Optional.empty(), CopyIds.of(ids(".", 1, 1)));
+    assertEquals(Optional.empty(), CopyIds.of(List.of(ISBN + ".0", "9780000000000.1")));
+    assertEquals(Optional.empty(), CopyIds.of(ids(".", 0, 100_000)));
+  }
+
+  @Test
+  void rejectsUnknownEncodings() {
+    assertThrows(IllegalArgumentException.class, () -> CopyIds.decode(new byte[] {9}));
+  }
+
+  private static List<String> ids(String separator, int... copies) {
+    List<String> ids = new ArrayList<>();
+    for (int copy : copies) {
+      ids.add(ISBN + separator + copy);
+    }
+    return ids;
+  }
+}
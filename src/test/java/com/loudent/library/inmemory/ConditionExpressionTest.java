@@ -0,0 +1,85 @@
+package com.loudent.library.inmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+class ConditionExpressionTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final JsonNode item =
+      json(
+          "{'isbn': {'S': '978-1'}, 'title': {'S': 'Dune'}, 'copies': {'N': '3'},"
+              + " 'tags': {'SS': ['sf', 'classic']},"
+              + " 'meta': {'M': {'shelf': {'L': [{'S': 'A'}, {'N': '12'}]}}}}");
+
+  @Test
+  void comparesNumbersNumerically() {
+    JsonNode values = json("{':n': {'N': '3.0'}, ':m': {'N': '10'}}");
+
+    assertThat(matches("copies = :n", null, values)).isTrue();
+    assertThat(matches("copies < :m", null, values)).isTrue();
+    assertThat(matches("copies BETWEEN :n AND :m", null, values)).isTrue();
+    assertThat(matches("copies > :n", null, values)).isFalse();
+  }
+
+  @Test
+  void evaluatesBooleanOperatorsWithPrecedence() {
+    JsonNode values = json("{':a': {'S': 'Dune'}, ':b': {'S': 'Emma'}, ':n': {'N': '1'}}");
+
+    assertThat(matches("title = :b OR title = :a AND copies > :n", null, values)).isTrue();
+    assertThat(matches("(title = :b OR title = :a) AND NOT copies > :n", null, values))
+        .isFalse();
+    assertThat(matches("title IN (:b, :a)", null, values)).isTrue();
+  }
+
+  @Test
+  void supportsFunctionsNamesAndNestedPaths() {
+    JsonNode names = json("{'#t': 'title', '#m': 'meta'}");
+    JsonNode values =
+        json("{':p': {'S': 'Du'}, ':tag': {'S': 'sf'}, ':s': {'S': 'A'}, ':len': {'N': '2'}}");
+
+    assertThat(matches("begins_with(#t, :p)", names, values)).isTrue();
+    assertThat(matches("contains(tags, :tag)", names, values)).isTrue();
+    assertThat(matches("#m.shelf[0] = :s", names, values)).isTrue();
+    assertThat(matches("size(tags) = :len", names, values)).isTrue();
+    assertThat(matches("attribute_exists(isbn) AND attribute_not_exists(dueDate)", names, values))
+        .isTrue();
+  }
+
+  @Test
+  void extractsPartitionKeyEquality() {
+    ConditionExpression keyCondition = ConditionExpression.parse("#k = :v AND copies > :n");
+    JsonNode values = json("{':v': {'S': '978-1'}, ':n': {'N': '1'}}");
+
+    assertThat(keyCondition.equalityValue("isbn", json("{'#k': 'isbn'}"), values))
+        .contains(values.get(":v"));
+    assertThat(keyCondition.equalityValue("copies", json("{'#k': 'isbn'}"), values)).isEmpty();
+  }
+
+  @Test
+  void rejectsMalformedExpressionsAndUndefinedPlaceholders() {
+    assertThatThrownBy(() -> ConditionExpression.parse("title = "))
+        .isInstanceOf(InMemoryDynamoDbException.class)
+        .hasMessageContaining("unexpected end");
+    assertThatThrownBy(() -> matches("title = :missing", null, json("{}")))
+        .isInstanceOf(InMemoryDynamoDbException.class)
+        .extracting(e -> ((InMemoryDynamoDbException) e).getType())
+        .isEqualTo("ValidationException");
+  }
+
+  private boolean matches(String expression, JsonNode names, JsonNode values) {
+    return ConditionExpression.parse(expression).matches(item, names, values);
+  }
+
+  private static JsonNode json(String singleQuoted) {
+    try {
+      return MAPPER.readTree(singleQuoted.replace('\'', '"'));
+    } catch (Exception e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+}
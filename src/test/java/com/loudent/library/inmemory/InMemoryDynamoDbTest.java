@@ -0,0 +1,304 @@
+package com.loudent.library.inmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.inmemory.InMemoryDynamoDb.KeySchema;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+class InMemoryDynamoDbTest {
+  private static final String CATALOG = "test_Catalog";
+  private static final String ACTIVITY = "test_Activity";
+
+  private DynamoDbClient client;
+
+  @BeforeEach
+  void setUp() {
+    client = client(FaultInjector.Settings.none());
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+  }
+
+  @Test
+  void putThenGetReturnsItem() {
+    client.putItem(r -> r.tableName(CATALOG).item(book("111", "Dune", 3)));
+
+    GetItemResponse response = client.getItem(r -> r.tableName(CATALOG).key(isbn("111")));
+
+    assertThat(response.item().get("title").s()).isEqualTo("Dune");
+    assertThat(client.getItem(r -> r.tableName(CATALOG).key(isbn("999"))).hasItem()).isFalse();
+  }
+
+  @Test
+  void conditionalPutFailsWhenItemExists() {
+    client.putItem(r -> r.tableName(CATALOG).item(book("111", "Dune", 3)));
+
+    assertThatThrownBy(
+            () ->
+                client.putItem(
+                    r ->
+                        r.tableName(CATALOG)
+                            .item(book("111", "Emma", 1))
+                            .conditionExpression("attribute_not_exists(isbn)")))
+        .isInstanceOf(ConditionalCheckFailedException.class);
+    assertThat(client.getItem(r -> r.tableName(CATALOG).key(isbn("111"))).item().get("title").s())
+        .isEqualTo("Dune");
+  }
+
+  @Test
+  void unknownTableIsResourceNotFound() {
+    assertThatThrownBy(() -> client.getItem(r -> r.tableName("nope").key(isbn("111"))))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  void enhancedClientQueriesGlobalSecondaryIndex() {
+    DynamoDbTable<Activity> table =
+        DynamoDbEnhancedClient.builder()
+            .dynamoDbClient(client)
+            .build()
+            .table(ACTIVITY, Activity.TABLE_SCHEMA);
+    table.putItem(activity("111-1", "111", "ACC1"));
+    table.putItem(activity("111-2", "111", "ACC2"));
+    table.putItem(activity("222-1", "222", "ACC1"));
+
+    List<String> bookIds =
+        table.index(Activity.ISBN_INDEX)
+            .query(QueryConditional.keyEqualTo(Key.builder().partitionValue("111").build()))
+            .stream()
+            .flatMap(page -> page.items().stream())
+            .map(Activity::getBookId)
+            .sorted()
+            .toList();
+
+    assertThat(bookIds).containsExactly("111-1", "111-2");
+  }
+
+  @Test
+  void sparseIndexSkipsItemsWithoutItsKeyAndOrdersBySortKey() {
+    DynamoDbTable<Activity> table =
+        DynamoDbEnhancedClient.builder()
+            .dynamoDbClient(client)
+            .build()
+            .table(ACTIVITY, Activity.TABLE_SCHEMA);
+    table.putItem(due(activity("111-1", "111", "ACC1"), LocalDate.of(2025, 7, 9)));
+    table.putItem(due(activity("111-2", "111", "ACC2"), LocalDate.of(2025, 7, 2)));
+    table.putItem(due(activity("222-1", "222", "ACC1"), LocalDate.of(2025, 7, 20)));
+    Activity legacy = activity("333-1", "333", "ACC3");
+    legacy.setDueDate(LocalDate.of(2025, 7, 1));
+    table.putItem(legacy);
+
+    List<String> bookIds =
+        table.index(Activity.OVERDUE_INDEX)
+            .query(
+                QueryConditional.sortLessThan(
+                    Key.builder().partitionValue("2025-07").sortValue("2025-07-10").build()))
+            .stream()
+            .flatMap(page -> page.items().stream())
+            .map(Activity::getBookId)
+            .toList();
+
+    assertThat(bookIds).containsExactly("111-2", "111-1");
+  }
+
+  @Test
+  void scanLimitCountsEvaluatedItemsAndPagesThroughFilter() {
+    for (int i = 0; i < 10; i++) {
+      Map<String, AttributeValue> item = book("isbn-" + i, "Title", i);
+      client.putItem(r -> r.tableName(CATALOG).item(item));
+    }
+
+    Map<String, AttributeValue> values = Map.of(":min", AttributeValue.fromN("5"));
+    List<ScanResponse> pages =
+        client
+            .scanPaginator(
+                r ->
+                    r.tableName(CATALOG)
+                        .limit(3)
+                        .filterExpression("copies >= :min")
+                        .expressionAttributeValues(values))
+            .stream()
+            .toList();
+
+    assertThat(pages).hasSize(4);
+    assertThat(pages.get(0).scannedCount()).isEqualTo(3);
+    assertThat(pages.stream().mapToInt(ScanResponse::count).sum()).isEqualTo(5);
+  }
+
+  @Test
+  void batchWriteReturnsUnprocessedItems() {
+    client.close();
+    client = client(new FaultInjector.Settings(FaultInjector.NONE, 0, 0, 0, 1.0));
+
+    BatchWriteItemResponse response =
+        client.batchWriteItem(
+            r ->
+                r.requestItems(
+                    Map.of(
+                        CATALOG,
+                        List.of(
+                            WriteRequest.builder()
+                                .putRequest(PutRequest.builder().item(book("1", "A", 1)).build())
+                                .build()))));
+
+    assertThat(response.unprocessedItems().get(CATALOG)).hasSize(1);
+    assertThat(client.getItem(r -> r.tableName(CATALOG).key(isbn("1"))).hasItem()).isFalse();
+  }
+
+  @Test
+  void transactionIsCancelledAsAWholeWhenOneConditionFails() {
+    client.putItem(r -> r.tableName(CATALOG).item(book("111", "Dune", 3)));
+
+    assertThatThrownBy(
+            () ->
+                client.transactWriteItems(
+                    r ->
+                        r.transactItems(
+                            TransactWriteItem.builder()
+                                .put(Put.builder().tableName(CATALOG).item(book("222", "B", 1)))
+                                .build(),
+                            TransactWriteItem.builder()
+                                .delete(
+                                    Delete.builder()
+                                        .tableName(CATALOG)
+                                        .key(isbn("111"))
+                                        .conditionExpression("copies > :n")
+                                        .expressionAttributeValues(
+                                            Map.of(":n", AttributeValue.fromN("10"))))
+                                .build())))
+        .isInstanceOfSatisfying(
+            TransactionCanceledException.class,
+            e ->
+                assertThat(e.cancellationReasons().stream().map(CancellationReason::code))
+                    .containsExactly("None", "ConditionalCheckFailed"));
+    assertThat(client.getItem(r -> r.tableName(CATALOG).key(isbn("222"))).hasItem()).isFalse();
+    assertThat(client.getItem(r -> r.tableName(CATALOG).key(isbn("111"))).hasItem()).isTrue();
+  }
+
+  @Test
+  void throttledRequestsSurfaceAsThroughputExceeded() {
+    client.close();
+    client = client(new FaultInjector.Settings(FaultInjector.NONE, 0, 0, 1.0, 0));
+
+    assertThatThrownBy(() -> client.getItem(r -> r.tableName(CATALOG).key(isbn("111"))))
+        .isInstanceOf(ProvisionedThroughputExceededException.class);
+  }
+
+  @Test
+  void asyncClientRoundTripsWithInjectedLatency() throws Exception {
+    InMemoryDynamoDb db =
+        database(new FaultInjector.Settings(FaultInjector.FIXED, 20, 20, 0, 0));
+    try (DynamoDbAsyncClient async =
+        DynamoDbAsyncClient.builder()
+            .region(Region.US_WEST_2)
+            .endpointOverride(URI.create("http://in-memory.dynamodb:8000"))
+            .credentialsProvider(credentials())
+            .httpClient(db.asyncHttpClient())
+            .build()) {
+      long start = System.nanoTime();
+      async
+          .putItem(r -> r.tableName(CATALOG).item(book("111", "Dune", 3)))
+          .get(5, TimeUnit.SECONDS);
+      Map<String, AttributeValue> item =
+          async
+              .getItem(r -> r.tableName(CATALOG).key(isbn("111")))
+              .get(5, TimeUnit.SECONDS)
+              .item();
+
+      assertThat(item.get("title").s()).isEqualTo("Dune");
+      assertThat(System.nanoTime() - start)
+          .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+  }
+
+  /** A real SDK client without retries, so injected faults reach the test. */
+  private DynamoDbClient client(FaultInjector.Settings faults) {
+    return DynamoDbClient.builder()
+        .region(Region.US_WEST_2)
+        .endpointOverride(URI.create("http://in-memory.dynamodb:8000"))
+        .credentialsProvider(credentials())
+        .httpClient(database(faults).syncHttpClient())
+        .overrideConfiguration(o -> o.retryPolicy(RetryPolicy.none()))
+        .build();
+  }
+
+  private static InMemoryDynamoDb database(FaultInjector.Settings faults) {
+    InMemoryDynamoDb db = new InMemoryDynamoDb(new FaultInjector(faults));
+    db.createTable(CATALOG, new KeySchema("isbn", null), Map.of());
+    db.createTable(
+        ACTIVITY,
+        new KeySchema("bookId", null),
+        Map.of(
+            Activity.ISBN_INDEX, new KeySchema("isbn", null),
+            Activity.ISBN_SHARD_INDEX, new KeySchema("isbnShard", null),
+            Activity.ACCOUNT_INDEX, new KeySchema("accountNumber", "dueDate"),
+            Activity.OVERDUE_INDEX, new KeySchema("overdueBucket", "dueDate")));
+    return db;
+  }
+
+  private static StaticCredentialsProvider credentials() {
+    return StaticCredentialsProvider.create(AwsBasicCredentials.create("fake", "secret"));
+  }
+
+  private static Map<String, AttributeValue> isbn(String isbn) {
+    return Map.of("isbn", AttributeValue.fromS(isbn));
+  }
+
+  private static Map<String, AttributeValue> book(String isbn, String title, int copies) {
+    Map<String, AttributeValue> item = new HashMap<>(isbn(isbn));
+    item.put("title", AttributeValue.fromS(title));
+    item.put("copies", AttributeValue.fromN(String.valueOf(copies)));
+    return item;
+  }
+
+  private static Activity activity(String bookId, String isbn, String accountNumber) {
+    Activity activity = new Activity();
+    activity.setBookId(bookId);
+    activity.setIsbn(isbn);
+    activity.setIsbnShard(Activity.isbnShard(isbn, 0));
+    activity.setAccountNumber(accountNumber);
+    return activity;
+  }
+
+  private static Activity due(Activity activity, LocalDate dueDate) {
+    activity.setDueDate(dueDate);
+    activity.setOverdueBucket(Activity.overdueBucket(dueDate));
+    return activity;
+  }
+}
@@ -0,0 +1,109 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+class BulkLoaderTest {
+  private final DynamoDbClient client = mock(DynamoDbClient.class);
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void writesEveryItemInBatchesOfTwentyFive() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    AtomicInteger largest = new AtomicInteger();
+    when(client.batchWriteItem(any(Consumer.class)))
+        .thenAnswer(
+            invocation -> {
+              BatchWriteItemRequest request = build(invocation.getArgument(0));
+              requests.incrementAndGet();
+              largest.accumulateAndGet(request.requestItems().get("t").size(), Math::max);
+              return BatchWriteItemResponse.builder().build();
+            });
+
+    BulkLoader.Result result = loader(3).load("t", items(101));
+
+    assertThat(result.written()).isEqualTo(101);
+    assertThat(result.failed()).isZero();
+    assertThat(requests.get()).isEqualTo(5);
+    assertThat(largest.get()).isEqualTo(BulkLoader.BATCH_SIZE);
+    assertThat(output.toString()).contains("t: done, 101 written");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void resubmitsUnprocessedItems() throws Exception {
+    AtomicBoolean first = new AtomicBoolean(true);
+    when(client.batchWriteItem(any(Consumer.class)))
+        .thenAnswer(
+            invocation -> {
+              List<WriteRequest> writes = build(invocation.getArgument(0)).requestItems().get("t");
+              if (first.getAndSet(false)) {
+                return BatchWriteItemResponse.builder()
+                    .unprocessedItems(Map.of("t", writes.subList(0, 10)))
+                    .build();
+              }
+              return BatchWriteItemResponse.builder().build();
+            });
+
+    BulkLoader.Result result = loader(1).load("t", items(25));
+
+    assertThat(result.written()).isEqualTo(25);
+    assertThat(result.retries()).isEqualTo(10);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void countsItemsThatStillFailAfterTheLastAttempt() throws Exception {
+    when(client.batchWriteItem(any(Consumer.class)))
+        .thenThrow(ProvisionedThroughputExceededException.builder().message("slow down").build());
+
+    BulkLoader.Result result =
+        new BulkLoader(client, 2, 2, Duration.ofSeconds(10), new PrintStream(output))
+            .load("t", items(30));
+
+    assertThat(result.written()).isZero();
+    assertThat(result.failed()).isEqualTo(30);
+  }
+
+  @Test
+  void backoffStaysWithinTheCap() {
+    for (int attempt = 1; attempt < 40; attempt++) {
+      assertThat(BulkLoader.backoff(attempt)).isLessThanOrEqualTo(BulkLoader.MAX_BACKOFF);
+    }
+  }
+
+  private BulkLoader loader(int parallelism) {
+    return new BulkLoader(client, parallelism, 5, Duration.ofSeconds(10), new PrintStream(output));
+  }
+
+  private static BatchWriteItemRequest build(Consumer<BatchWriteItemRequest.Builder> customizer) {
+    BatchWriteItemRequest.Builder builder = BatchWriteItemRequest.builder();
+    customizer.accept(builder);
+    return builder.build();
+  }
+
+  private static Stream<Map<String, AttributeValue>> items(int count) {
+    return IntStream.range(0, count).mapToObj(i -> Map.of("id", AttributeValue.fromS("id" + i)));
+  }
+}
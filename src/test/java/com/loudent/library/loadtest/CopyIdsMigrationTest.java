@@ -0,0 +1,61 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.loudent.library.dao.catalog.CopyIds;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class CopyIdsMigrationTest {
+
+  @Test
+  void reencodesListsAndKeepsOtherAttributes() {
+    Map<String, AttributeValue> item =
+        Map.of(
+            "isbn",
+            AttributeValue.fromS("9781234567897"),
+            "shelf",
+            AttributeValue.fromS("B12"),
+            "bookIds",
+            list("9781234567897.0", "9781234567897.1", "9781234567897.3"));
+
+    Map<String, AttributeValue> migrated = CopyIdsMigration.migrate(item);
+
+    assertThat(migrated).containsEntry("isbn", item.get("isbn"));
+    assertThat(migrated).containsEntry("shelf", item.get("shelf"));
+    assertThat(migrated.get("copyCount").n()).isEqualTo("3");
+    assertThat(CopyIds.decode(migrated.get("bookIds").b().asByteArray()))
+        .containsExactly("9781234567897.0", "9781234567897.1", "9781234567897.3");
+  }
+
+  @Test
+  void leavesIdsWithoutACompactFormAsLists() {
+    Map<String, AttributeValue> item =
+        Map.of("isbn", AttributeValue.fromS("1"), "bookIds", list("copy-a", "copy-b"));
+
+    Map<String, AttributeValue> migrated = CopyIdsMigration.migrate(item);
+
+    assertThat(migrated.get("bookIds")).isEqualTo(item.get("bookIds"));
+    assertThat(migrated.get("copyCount").n()).isEqualTo("2");
+  }
+
+  @Test
+  void leavesCountedListsUnchanged() {
+    Map<String, AttributeValue> item =
+        Map.of(
+            "isbn",
+            AttributeValue.fromS("1"),
+            "bookIds",
+            list("copy-a", "copy-b"),
+            "copyCount",
+            AttributeValue.fromN("2"));
+
+    assertThat(CopyIdsMigration.migrate(item)).isEqualTo(item);
+  }
+
+  private static AttributeValue list(String... ids) {
+    return AttributeValue.fromL(List.of(ids).stream().map(AttributeValue::fromS).toList());
+  }
+}
@@ -0,0 +1,50 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.loudent.library.dao.catalog.CopyIds;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class CopyIdsReportTest {
+  private static final int BOOKS = 500;
+
+  private final DataGenerator generator = new DataGenerator(7, BOOKS, 1, 0);
+
+  @Test
+  void compactEncodingIsSmallerInTheItemAndOnTheHeap() {
+    List<CopyIdsReport.Encoding> encodings = CopyIdsReport.measure(generator, BOOKS);
+
+    CopyIdsReport.Encoding list = encodings.get(0);
+    CopyIdsReport.Encoding compact = encodings.get(1);
+    assertThat(compact.itemBytes()).isLessThan(list.itemBytes());
+    assertThat(compact.readUnits()).isLessThanOrEqualTo(list.readUnits());
+    assertThat(compact.heapBytes()).isLessThan(list.heapBytes());
+  }
+
+  @Test
+  void compactHeapDoesNotGrowWithTheCopyCount() {
+    List<String> few = List.of("9781234567897.0", "9781234567897.1");
+    List<String> many = IntStream.range(0, 300).mapToObj(i -> "9781234567897." + i).toList();
+
+    assertThat(CopyIdsReport.compactHeap(CopyIds.of(many).orElseThrow()))
+        .isEqualTo(CopyIdsReport.compactHeap(CopyIds.of(few).orElseThrow()));
+    assertThat(CopyIdsReport.listHeap(many)).isGreaterThan(100 * CopyIdsReport.listHeap(few));
+  }
+
+  @Test
+  void printsBothEncodings() {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    CopyIdsReport.print(
+        CopyIdsReport.measure(generator, BOOKS),
+        BOOKS,
+        new PrintStream(buffer, true, StandardCharsets.UTF_8));
+
+    assertThat(buffer.toString(StandardCharsets.UTF_8)).contains("list", "compact", "MB");
+  }
+}
@@ -0,0 +1,96 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.loudent.library.dao.activity.Activity;
+import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.model.BookId;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class DataGeneratorTest {
+  private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+  private final DataGenerator generator = new DataGenerator(7, 2_000, 500, 3_000);
+
+  @Test
+  void isDeterministicPerIndex() {
+    DataGenerator again = new DataGenerator(7, 2_000, 500, 3_000);
+
+    assertThat(again.catalog(123)).isEqualTo(generator.catalog(123));
+    assertThat(again.account(45)).isEqualTo(generator.account(45));
+    assertThat(new DataGenerator(8, 2_000, 500, 3_000).catalog(123))
+        .isNotEqualTo(generator.catalog(123));
+  }
+
+  @Test
+  void generatesValidIsbnsAndCompoundBookIds() {
+    Catalog catalog = generator.catalog(17);
+
+    assertThat(DataGenerator.isbn(17)).hasSize(13).startsWith("979");
+    assertThat(isbnCheckSum(DataGenerator.isbn(17)) % 10).isZero();
+    assertThat(catalog.getBookIds()).hasSize(generator.copies(17));
+    assertThat(catalog.getBookIds().get(0)).isEqualTo(catalog.getIsbn() + ".0");
+  }
+
+  @Test
+  void skewsAuthorsAndCopies() {
+    List<Catalog> books = generator.catalog().toList();
+    Map<String, Long> byAuthor =
+        books.stream()
+            .collect(
+                Collectors.groupingBy(
+                    b -> b.getAuthorFirstName() + " " + b.getAuthorLastName(),
+                    Collectors.counting()));
+
+    long topAuthor = byAuthor.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+    assertThat(topAuthor).isGreaterThan(books.size() / byAuthor.size() * 3L);
+    assertThat(books.get(0).getBookIds().size()).isGreaterThanOrEqualTo(10);
+    assertThat(books.stream().filter(b -> b.getBookIds().size() <= 3).count())
+        .isGreaterThan(books.size() * 8L / 10);
+  }
+
+  @Test
+  void checkoutsNeverReuseACopy() {
+    List<Activity> activity = generator.activity(TODAY).toList();
+
+    assertThat(activity).hasSize(3_000);
+    Map<String, Activity> byBookId =
+        activity.stream().collect(Collectors.toMap(Activity::getBookId, Function.identity()));
+    assertThat(byBookId).hasSize(3_000);
+    Activity first = activity.get(0);
+    assertThat(first.getBookId()).startsWith(first.getIsbn() + ".");
+    assertThat(first.getDueDate()).isEqualTo(first.getCheckOutDate().plusDays(14));
+    assertThat(first.getIsbnShard()).isEqualTo(first.getIsbn() + "#0");
+    assertThat(first.getOverdueBucket()).isEqualTo(Activity.overdueBucket(first.getDueDate()));
+    assertThat(first.getCheckOutDate()).isAfter(TODAY.minusDays(61)).isBeforeOrEqualTo(TODAY);
+  }
+
+  @Test
+  void checkoutsSpreadOverIsbnShardsByCopy() {
+    Activity activity = generator.activity(TODAY, 4).findFirst().orElseThrow();
+
+    assertThat(activity.getIsbnShard())
+        .isEqualTo(activity.getIsbn() + "#" + BookId.copyOf(activity.getBookId()) % 4);
+  }
+
+  @Test
+  void stopsWhenEveryCopyIsOut() {
+    DataGenerator small = new DataGenerator(1, 3, 1, 1_000);
+    int copies = small.copies(0) + small.copies(1) + small.copies(2);
+
+    assertThat(small.activity(TODAY).count()).isEqualTo(copies);
+  }
+
+  private static int isbnCheckSum(String isbn) {
+    int sum = 0;
+    for (int i = 0; i < isbn.length(); i++) {
+      sum += (isbn.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,48 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EndpointStatsTest {
+
+  @Test
+  void chargesResponseTimeFromTheIntendedSendTime() {
+    EndpointStats stats = new EndpointStats();
+    long intended = 0;
+    long sent = TimeUnit.MILLISECONDS.toNanos(90);
+    long done = TimeUnit.MILLISECONDS.toNanos(100);
+
+    stats.record(intended, sent, done, 200);
+    EndpointStats.Snapshot snapshot = stats.snapshot();
+
+    assertThat(snapshot.responseTime().getMaxValue()).isBetween(99_000L, 101_000L);
+    assertThat(snapshot.serviceTime().getMaxValue()).isBetween(9_900L, 10_100L);
+  }
+
+  @Test
+  void countsOutcomesByStatusClass() {
+    EndpointStats stats = new EndpointStats();
+    stats.record(0, 0, 1_000, 200);
+    stats.record(0, 0, 1_000, 404);
+    stats.record(0, 0, 1_000, 0);
+
+    EndpointStats.Snapshot snapshot = stats.snapshot();
+
+    assertThat(snapshot.outcomes()).containsEntry("2xx", 1L).containsEntry("4xx", 1L);
+    assertThat(snapshot.outcomes()).containsEntry("failed", 1L);
+    assertThat(snapshot.errors()).isEqualTo(2);
+  }
+
+  @Test
+  void resetDiscardsTheWarmup() {
+    EndpointStats stats = new EndpointStats();
+    stats.record(0, 0, 1_000, 200);
+
+    stats.reset();
+
+    assertThat(stats.snapshot().responseTime().getTotalCount()).isZero();
+    assertThat(stats.snapshot().outcomes()).isEmpty();
+  }
+}
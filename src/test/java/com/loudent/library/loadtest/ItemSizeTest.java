@@ -0,0 +1,46 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class ItemSizeTest {
+
+  @Test
+  void countsNamesAndStringValuesInUtf8() {
+    Map<String, AttributeValue> item = Map.of("isbn", s("9780000000000"), "title", s("Café"));
+
+    assertThat(ItemSize.of(item)).isEqualTo(4 + 13 + 5 + 5);
+  }
+
+  @Test
+  void countsNumbersBySignificantDigits() {
+    assertThat(ItemSize.of(Map.of("n", n("12345")))).isEqualTo(1 + 4);
+    assertThat(ItemSize.of(Map.of("n", n("1000")))).isEqualTo(1 + 2);
+  }
+
+  @Test
+  void addsOverheadForListsAndTheirElements() {
+    AttributeValue list = AttributeValue.fromL(List.of(s("ab"), s("cd")));
+
+    assertThat(ItemSize.of(Map.of("l", list))).isEqualTo(1 + 3 + 2 * (1 + 2));
+  }
+
+  @Test
+  void roundsEventuallyConsistentReadsUpToWholeUnits() {
+    assertThat(ItemSize.readUnits(1)).isEqualTo(0.5);
+    assertThat(ItemSize.readUnits(ItemSize.READ_UNIT_BYTES)).isEqualTo(0.5);
+    assertThat(ItemSize.readUnits(ItemSize.READ_UNIT_BYTES + 1)).isEqualTo(1.0);
+  }
+
+  private static AttributeValue s(String value) {
+    return AttributeValue.fromS(value);
+  }
+
+  private static AttributeValue n(String value) {
+    return AttributeValue.fromN(value);
+  }
+}
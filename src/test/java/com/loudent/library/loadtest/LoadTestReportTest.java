@@ -0,0 +1,54 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LoadTestReportTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void writesPerEndpointAndTotalPercentiles() throws Exception {
+    LoadTestSettings settings = LoadTestSettings.parse("--duration-seconds=10");
+    EndpointStats isbn = new EndpointStats();
+    EndpointStats user = new EndpointStats();
+    for (int i = 1; i <= 100; i++) {
+      isbn.record(0, 0, TimeUnit.MILLISECONDS.toNanos(i), 200);
+    }
+    user.record(0, 0, TimeUnit.MILLISECONDS.toNanos(500), 503);
+    Map<Endpoint, EndpointStats.Snapshot> results = new EnumMap<>(Endpoint.class);
+    results.put(Endpoint.ISBN, isbn.snapshot());
+    results.put(Endpoint.USER, user.snapshot());
+    results.put(Endpoint.TITLE, new EndpointStats().snapshot());
+
+    Path written = new LoadTestReport(settings, results).write(dir);
+
+    JsonNode endpoints = new ObjectMapper().readTree(written.toFile()).path("endpoints");
+    assertThat(endpoints.has("title")).isFalse();
+    assertThat(endpoints.path("isbn").path("requests").asLong()).isEqualTo(100);
+    assertThat(endpoints.path("isbn").path("throughputRps").asDouble()).isEqualTo(10.0);
+    assertThat(endpoints.path("isbn").path("responseTime").path("p50").asDouble())
+        .isBetween(49.0, 51.0);
+    assertThat(endpoints.path("total").path("requests").asLong()).isEqualTo(101);
+    assertThat(endpoints.path("total").path("errors").asLong()).isEqualTo(1);
+    assertThat(endpoints.path("total").path("responseTime").path("max").asDouble())
+        .isBetween(499.0, 501.0);
+    assertThat(Files.readString(dir.resolve("report.html"))).contains("<th>p999</th>", "isbn");
+  }
+
+  @Test
+  void labelsPercentilesTheUsualWay() {
+    assertThat(LoadTestReport.label(50)).isEqualTo("50");
+    assertThat(LoadTestReport.label(99.9)).isEqualTo("999");
+    assertThat(LoadTestReport.label(99.99)).isEqualTo("9999");
+  }
+}
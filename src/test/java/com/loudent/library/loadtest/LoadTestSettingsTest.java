@@ -0,0 +1,46 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class LoadTestSettingsTest {
+
+  @Test
+  void defaultsToAnOpenModelAgainstLocalhost() {
+    LoadTestSettings settings = LoadTestSettings.parse();
+
+    assertThat(settings.model()).isEqualTo(LoadTestSettings.OPEN);
+    assertThat(settings.baseUrl().toString()).isEqualTo("http://localhost:8080/api/v1");
+    assertThat(settings.mix().getWeights()).containsEntry(Endpoint.ISBN, 40);
+  }
+
+  @Test
+  void parsesArgumentsAndLetsLaterOnesWin() {
+    LoadTestSettings settings =
+        LoadTestSettings.parse(
+            "--model=closed",
+            "--rps=0",
+            "--concurrency=8",
+            "--duration-seconds=5",
+            "--report-dir=a",
+            "--report-dir=b");
+
+    assertThat(settings.model()).isEqualTo(LoadTestSettings.CLOSED);
+    assertThat(settings.concurrency()).isEqualTo(8);
+    assertThat(settings.duration()).isEqualTo(Duration.ofSeconds(5));
+    assertThat(settings.reportDir()).hasToString("b");
+  }
+
+  @Test
+  void rejectsUnknownOrInconsistentSettings() {
+    assertThatThrownBy(() -> LoadTestSettings.parse("--rsp=10"))
+        .hasMessageContaining("Unknown settings");
+    assertThatThrownBy(() -> LoadTestSettings.parse("--model=open", "--rps=0"))
+        .hasMessageContaining("positive rps");
+    assertThatThrownBy(() -> LoadTestSettings.parse("rps=10"))
+        .hasMessageContaining("--name=value");
+  }
+}
@@ -0,0 +1,52 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.loudent.library.dao.activity.Activity;
+import java.time.LocalDate;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+class OverdueBucketMigrationTest {
+
+  @Test
+  void setsTheBucketOfTheDueMonthOnlyIfTheCheckoutIsUnchanged() {
+    Map<String, AttributeValue> item =
+        Map.of(
+            "bookId",
+            AttributeValue.fromS("9781234567897.1"),
+            "dueDate",
+            AttributeValue.fromS("2025-07-04"));
+
+    UpdateItemRequest request = OverdueBucketMigration.backfill("dev_Activity", item, 1);
+
+    assertThat(request.tableName()).isEqualTo("dev_Activity");
+    assertThat(request.key()).isEqualTo(Map.of("bookId", item.get("bookId")));
+    assertThat(request.updateExpression()).isEqualTo("SET overdueBucket = :bucket");
+    assertThat(request.conditionExpression())
+        .isEqualTo("dueDate = :due AND attribute_not_exists(overdueBucket)");
+    assertThat(request.expressionAttributeValues())
+        .containsEntry(":bucket", AttributeValue.fromS("2025-07"))
+        .containsEntry(":due", item.get("dueDate"));
+  }
+
+  @Test
+  void spreadsTheBucketOverTheServiceShards() {
+    Map<String, AttributeValue> item =
+        Map.of(
+            "bookId",
+            AttributeValue.fromS("9781234567897.1"),
+            "dueDate",
+            AttributeValue.fromS("2025-07-04"));
+
+    UpdateItemRequest request = OverdueBucketMigration.backfill("dev_Activity", item, 4);
+
+    assertThat(request.expressionAttributeValues())
+        .containsEntry(
+            ":bucket",
+            AttributeValue.fromS(
+                Activity.overdueBucketOf("9781234567897.1", LocalDate.of(2025, 7, 4), 4)));
+  }
+}
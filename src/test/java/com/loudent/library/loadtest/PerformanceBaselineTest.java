@@ -0,0 +1,88 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.loudent.library.loadtest.PerformanceBaseline.Comparison;
+import com.loudent.library.loadtest.PerformanceBaseline.Metric;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PerformanceBaselineTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void flagsMetricsThatMovedTheWrongWayPastTheThreshold() {
+    PerformanceBaseline baseline = new PerformanceBaseline();
+    baseline.put("p99", new Metric("ms", 20, false, 2));
+    baseline.put("calls", new Metric("calls", 2, false, 0.05));
+    baseline.put("rps", new Metric("rps", 200, true, 1));
+    baseline.put("fast", new Metric("ms", 0.5, false, 1));
+    PerformanceBaseline current = new PerformanceBaseline();
+    current.put("p99", new Metric("ms", 24, false, 2));
+    current.put("calls", new Metric("calls", 4, false, 0.05));
+    current.put("rps", new Metric("rps", 120, true, 1));
+    current.put("fast", new Metric("ms", 1.2, false, 1));
+    current.put("brandNew", new Metric("ms", 99, false, 1));
+
+    Map<String, Comparison> comparisons =
+        current.compareTo(baseline, name -> 0.25).stream()
+            .collect(Collectors.toMap(Comparison::name, Function.identity()));
+
+    assertThat(comparisons.get("p99").regressed()).isFalse();
+    assertThat(comparisons.get("calls").regressed()).isTrue();
+    assertThat(comparisons.get("calls").change()).isEqualTo(1.0);
+    assertThat(comparisons.get("rps").regressed()).isTrue();
+    assertThat(comparisons.get("fast").regressed()).as("below the noise floor").isFalse();
+    assertThat(comparisons.get("brandNew").regressed()).isFalse();
+    assertThat(comparisons.get("brandNew").baseline()).isNaN();
+  }
+
+  @Test
+  void roundTripsThroughJsonAndTreatsAMissingFileAsEmpty() throws Exception {
+    PerformanceBaseline baseline = new PerformanceBaseline();
+    baseline.put("loadtest.isbn.throughput", new Metric("rps", 199.5, true, 1));
+    Path file = dir.resolve("nested/baseline.json");
+
+    baseline.write(file);
+
+    assertThat(PerformanceBaseline.read(file).getMetrics()).isEqualTo(baseline.getMetrics());
+    assertThat(PerformanceBaseline.read(dir.resolve("missing.json")).getMetrics()).isEmpty();
+  }
+
+  @Test
+  void namesJmhScoresByBenchmarkAndParameters() throws Exception {
+    Path results = dir.resolve("results.json");
+    Files.writeString(
+        results,
+        """
+        [{"benchmark": "a.B.run", "mode": "avgt", "params": {"size": "5", "kind": "x"},
+          "primaryMetric": {"score": 1.5, "scoreUnit": "us/op"}},
+         {"benchmark": "a.B.ops", "mode": "thrpt",
+          "primaryMetric": {"score": 1000, "scoreUnit": "ops/s"}}]
+        """);
+    PerformanceBaseline current = new PerformanceBaseline();
+
+    PerformanceGate.addJmhResults(results, current);
+
+    assertThat(current.getMetrics())
+        .containsEntry("jmh.a.B.run[kind=x][size=5]", new Metric("us/op", 1.5, false, 0))
+        .containsEntry("jmh.a.B.ops", new Metric("ops/s", 1000, true, 0));
+  }
+
+  @Test
+  void formatsOneLinePerMetric() {
+    PerformanceBaseline current = new PerformanceBaseline();
+    current.put("m", new Metric("ms", 3, false, 0));
+
+    List<Comparison> comparisons = current.compareTo(new PerformanceBaseline(), name -> 0.1);
+
+    assertThat(PerformanceBaseline.format(comparisons).lines()).hasSize(2);
+  }
+}
@@ -0,0 +1,62 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CatalogProjection;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class ProjectionReportTest {
+  private static final int BOOKS = 500;
+
+  private final DataGenerator generator = new DataGenerator(7, BOOKS, 1, 0);
+
+  @Test
+  void projectsOnlyTheNamedAttributes() {
+    Map<String, AttributeValue> item = Catalog.TABLE_SCHEMA.itemToMap(generator.catalog(3), true);
+
+    assertThat(ProjectionReport.project(item, CatalogProjection.TITLE))
+        .containsOnlyKeys("isbn", "title");
+    assertThat(ProjectionReport.project(item, CatalogProjection.SUMMARY))
+        .containsKeys("copyCount", "bookIds");
+    assertThat(ProjectionReport.project(item, CatalogProjection.FULL)).isSameAs(item);
+  }
+
+  @Test
+  void reportsBytesSavedButUnchangedReadUnits() {
+    List<ProjectionReport.Row> rows = ProjectionReport.rows(generator, BOOKS);
+
+    assertThat(rows).hasSize(ProjectionReport.READS.size());
+    for (ProjectionReport.Row row : rows) {
+      assertThat(row.projectedBytes()).isLessThanOrEqualTo(row.fullBytes());
+      assertThat(row.bytesSaved()).isBetween(0.0, 1.0);
+      assertThat(row.readUnits()).isPositive();
+    }
+    ProjectionReport.Row isbn = rows.get(0);
+    ProjectionReport.Row checkout = rows.get(3);
+    assertThat(checkout.projectedBytes()).isLessThan(isbn.projectedBytes());
+    assertThat(isbn.readUnits()).isGreaterThanOrEqualTo(0.5);
+  }
+
+  @Test
+  void printsOneLinePerEndpoint() {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    ProjectionReport.print(
+        ProjectionReport.rows(generator, BOOKS),
+        new PrintStream(buffer, true, StandardCharsets.UTF_8));
+
+    String report = buffer.toString(StandardCharsets.UTF_8);
+    for (Endpoint endpoint :
+        List.of(
+            Endpoint.ISBN, Endpoint.TITLE, Endpoint.SEARCH, Endpoint.CHECKOUT, Endpoint.CHECKIN)) {
+      assertThat(report).contains(endpoint.operationId());
+    }
+  }
+}
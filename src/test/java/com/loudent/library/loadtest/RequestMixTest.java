@@ -0,0 +1,38 @@
+package com.loudent.library.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.EnumMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RequestMixTest {
+
+  @Test
+  void keepsTheConfiguredProportions() {
+    RequestMix mix = RequestMix.parse("isbn:60, user:30, checkout:10, checkin:0");
+    Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+
+    int draws = 100_000;
+    for (int i = 0; i < draws; i++) {
+      counts.merge(mix.next(), 1, Integer::sum);
+    }
+
+    assertThat(counts).doesNotContainKeys(Endpoint.CHECKIN, Endpoint.TITLE);
+    assertThat(counts.get(Endpoint.ISBN) / (double) draws).isCloseTo(0.6, within(0.01));
+    assertThat(counts.get(Endpoint.USER) / (double) draws).isCloseTo(0.3, within(0.01));
+    assertThat(counts.get(Endpoint.CHECKOUT) / (double) draws).isCloseTo(0.1, within(0.01));
+  }
+
+  @Test
+  void rejectsMalformedMixes() {
+    assertThatThrownBy(() -> RequestMix.parse("isbn"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RequestMix.parse("books:10"))
+        .hasMessageContaining("Unknown endpoint");
+    assertThatThrownBy(() -> RequestMix.parse("isbn:0"))
+        .hasMessageContaining("positive weight");
+  }
+}
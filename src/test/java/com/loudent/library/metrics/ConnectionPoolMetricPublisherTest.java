@@ -0,0 +1,56 @@
+package com.loudent.library.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+class ConnectionPoolMetricPublisherTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ConnectionPoolMetricPublisher publisher =
+      new ConnectionPoolMetricPublisher(meterRegistry, "netty");
+
+  @Test
+  void publish_shouldReadPoolMetricsFromNestedCollections() {
+    MetricCollector root = MetricCollector.create("ApiCall");
+    MetricCollector http = root.createChild("HttpClient");
+    http.reportMetric(HttpMetric.LEASED_CONCURRENCY, 7);
+    http.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, 3);
+    http.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 2);
+    http.reportMetric(HttpMetric.MAX_CONCURRENCY, 200);
+    http.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, Duration.ofMillis(4));
+
+    publisher.publish(root.collect());
+
+    assertEquals(7.0, gauge("leased"), 0.01);
+    assertEquals(3.0, gauge("pending"), 0.01);
+    assertEquals(2.0, gauge("available"), 0.01);
+    assertEquals(200.0, gauge("max"), 0.01);
+    assertEquals(
+        1,
+        meterRegistry
+            .get(ConnectionPoolMetricPublisher.PREFIX + "acquire.duration")
+            .tag(ConnectionPoolMetricPublisher.CLIENT_TAG, "netty")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void publish_shouldLeaveGaugesUntouchedWithoutPoolMetrics() {
+    publisher.publish(MetricCollector.create("ApiCall").collect());
+
+    assertEquals(0.0, gauge("leased"), 0.01);
+  }
+
+  private double gauge(String name) {
+    return meterRegistry
+        .get(ConnectionPoolMetricPublisher.PREFIX + name)
+        .tag(ConnectionPoolMetricPublisher.CLIENT_TAG, "netty")
+        .gauge()
+        .value();
+  }
+}
@@ -0,0 +1,76 @@
+package com.loudent.library.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+import com.loudent.library.context.RequestContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+
+class DynamoDbCallsPerRequestTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DynamoDbCallsPerRequest calls = new DynamoDbCallsPerRequest(meterRegistry);
+  private final HttpServletResponse response = mock(HttpServletResponse.class);
+
+  @Test
+  void recordsCallsMadeOnAnyThreadOnceTheRequestCompletes() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    HandlerMethod handler = handler();
+    RequestContext context = new RequestContext("r1", "GET", "/catalog/isbn/1");
+
+    try (RequestContext.Scope ignored = RequestContext.attach(context)) {
+      calls.preHandle(request, response, handler);
+      sdkCall();
+    }
+    Thread worker =
+        new Thread(
+            () -> {
+              try (RequestContext.Scope ignored = RequestContext.attach(context)) {
+                sdkCall();
+              }
+            });
+    worker.start();
+    worker.join();
+    // The asynchronous dispatch runs without the context and must not replace it
+    calls.preHandle(request, response, handler);
+    calls.afterCompletion(request, response, handler, null);
+
+    DistributionSummary summary =
+        meterRegistry
+            .get(DynamoDbCallsPerRequest.METRIC)
+            .tag("endpoint", "getBookByISBN")
+            .summary();
+    assertEquals(1, summary.count());
+    assertEquals(2, summary.totalAmount());
+  }
+
+  @Test
+  void ignoresCallsOutsideARequest() {
+    sdkCall();
+
+    assertNull(meterRegistry.find(DynamoDbCallsPerRequest.METRIC).summary());
+  }
+
+  private void sdkCall() {
+    calls.beforeExecution(mock(Context.BeforeExecution.class), new ExecutionAttributes());
+  }
+
+  private static HandlerMethod handler() throws NoSuchMethodException {
+    return new HandlerMethod(
+        new Handlers(), Handlers.class.getDeclaredMethod("getBookByISBN", String.class));
+  }
+
+  static class Handlers {
+    String getBookByISBN(String isbn) {
+      return isbn;
+    }
+  }
+}
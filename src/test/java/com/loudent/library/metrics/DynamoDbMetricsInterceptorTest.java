@@ -0,0 +1,196 @@
+package com.loudent.library.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ListTablesRequest;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+
+class DynamoDbMetricsInterceptorTest {
+
+  private static final GetItemRequest GET =
+      GetItemRequest.builder().tableName("dev_Catalog").key(Map.of()).build();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DynamoDbMetricsInterceptor interceptor =
+      new DynamoDbMetricsInterceptor(meterRegistry, true, 2);
+  private ExecutionAttributes attributes;
+
+  @BeforeEach
+  void setUp() {
+    attributes = new ExecutionAttributes();
+    attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "GetItem");
+  }
+
+  @Test
+  void afterExecution_shouldRecordLatencyRetriesBytesAndCapacity() {
+    start(GET);
+    transmit();
+    transmit();
+
+    Context.AfterExecution after = mock(Context.AfterExecution.class);
+    when(after.response())
+        .thenReturn(
+            GetItemResponse.builder()
+                .consumedCapacity(
+                    ConsumedCapacity.builder().tableName("dev_Catalog").capacityUnits(0.5).build())
+                .build());
+    interceptor.afterExecution(after, attributes);
+
+    assertEquals(
+        1,
+        meterRegistry
+            .get(DynamoDbMetricsInterceptor.LATENCY_METRIC)
+            .tags("table", "dev_Catalog", "operation", "GetItem", "outcome", "success")
+            .timer()
+            .count());
+    assertEquals(
+        1.0,
+        meterRegistry.get(DynamoDbMetricsInterceptor.RETRIES_METRIC).counter().count(),
+        0.01);
+    assertEquals(
+        84.0,
+        meterRegistry
+            .get(DynamoDbMetricsInterceptor.REQUEST_BYTES_METRIC)
+            .summary()
+            .totalAmount(),
+        0.01);
+    assertEquals(
+        0.5,
+        meterRegistry
+            .get(DynamoDbMetricsInterceptor.CAPACITY_METRIC)
+            .tags("table", "dev_Catalog", "operation", "GetItem")
+            .summary()
+            .totalAmount(),
+        0.01);
+  }
+
+  @Test
+  void onExecutionFailure_shouldCountThrottles() {
+    start(GET);
+
+    Context.FailedExecution failed = mock(Context.FailedExecution.class);
+    when(failed.exception())
+        .thenReturn(ProvisionedThroughputExceededException.builder().message("slow down").build());
+    interceptor.onExecutionFailure(failed, attributes);
+
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get(DynamoDbMetricsInterceptor.THROTTLES_METRIC)
+            .tag("table", "dev_Catalog")
+            .counter()
+            .count(),
+        0.01);
+    assertEquals(
+        1,
+        meterRegistry
+            .get(DynamoDbMetricsInterceptor.LATENCY_METRIC)
+            .tag("outcome", "error")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void modifyRequest_shouldAskForConsumedCapacityOnlyWhenUnset() {
+    Context.ModifyRequest modify = mock(Context.ModifyRequest.class);
+    when(modify.request()).thenReturn(GET);
+
+    SdkRequest modified = interceptor.modifyRequest(modify, attributes);
+
+    assertEquals(
+        ReturnConsumedCapacity.TOTAL, ((GetItemRequest) modified).returnConsumedCapacity());
+
+    GetItemRequest explicit =
+        GET.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.NONE).build();
+    assertSame(explicit, DynamoDbMetricsInterceptor.withConsumedCapacity(explicit));
+    ListTablesRequest unsupported = ListTablesRequest.builder().build();
+    assertSame(unsupported, DynamoDbMetricsInterceptor.withConsumedCapacity(unsupported));
+  }
+
+  @Test
+  void modifyRequest_shouldLeaveRequestAloneWhenCapacityIsNotWanted() {
+    Context.ModifyRequest modify = mock(Context.ModifyRequest.class);
+    when(modify.request()).thenReturn(GET);
+
+    DynamoDbMetricsInterceptor withoutCapacity =
+        new DynamoDbMetricsInterceptor(meterRegistry, false, 2);
+
+    assertSame(GET, withoutCapacity.modifyRequest(modify, attributes));
+  }
+
+  @Test
+  void afterExecution_shouldReuseMetersAcrossCalls() {
+    Context.AfterExecution after = mock(Context.AfterExecution.class);
+    when(after.response()).thenReturn(GetItemResponse.builder().build());
+    start(GET);
+    interceptor.afterExecution(after, attributes);
+    int registered = meterRegistry.getMeters().size();
+
+    setUp();
+    start(GET);
+    interceptor.afterExecution(after, attributes);
+
+    assertEquals(registered, meterRegistry.getMeters().size());
+    assertEquals(
+        2,
+        meterRegistry
+            .get(DynamoDbMetricsInterceptor.LATENCY_METRIC)
+            .tag("outcome", "success")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void tableTag_shouldCapDistinctTables() {
+    assertEquals("dev_Catalog", interceptor.tableTag("dev_Catalog"));
+    assertEquals("dev_Accounts", interceptor.tableTag("dev_Accounts"));
+    assertEquals(DynamoDbMetricsInterceptor.OTHER_TABLE, interceptor.tableTag("dev_Activity"));
+    assertEquals("dev_Catalog", interceptor.tableTag("dev_Catalog"));
+  }
+
+  @Test
+  void isThrottle_shouldIgnoreOtherErrors() {
+    assertTrue(
+        DynamoDbMetricsInterceptor.isThrottle(
+            ProvisionedThroughputExceededException.builder().build()));
+    assertFalse(DynamoDbMetricsInterceptor.isThrottle(new IllegalStateException("boom")));
+  }
+
+  private void start(SdkRequest request) {
+    Context.BeforeExecution before = mock(Context.BeforeExecution.class);
+    when(before.request()).thenReturn(request);
+    interceptor.beforeExecution(before, attributes);
+  }
+
+  private void transmit() {
+    Context.BeforeTransmission transmission = mock(Context.BeforeTransmission.class);
+    when(transmission.httpRequest())
+        .thenReturn(
+            SdkHttpFullRequest.builder()
+                .method(SdkHttpMethod.POST)
+                .protocol("http")
+                .host("localhost")
+                .putHeader("Content-Length", "42")
+                .build());
+    interceptor.beforeTransmission(transmission, attributes);
+  }
+}
@@ -0,0 +1,62 @@
+package com.loudent.library.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class BookIdTest {
+
+  private static final Isbn ISBN = Isbn.parse("9781234567897");
+
+  @Test
+  void parsesBothSeparators() {
+    assertEquals(new BookId(ISBN, 2), BookId.parse("9781234567897.2"));
+    assertEquals(new BookId(ISBN, 2), BookId.parse("9781234567897-2"));
+    assertEquals(new BookId(ISBN, 15), BookId.parse("978-1-234-56789-7.15"));
+    assertEquals(new BookId(ISBN, 15), BookId.parse("978-1-234-56789-7-15"));
+  }
+
+  @Test
+  void rejectsMalformedIds() {
+    assertEquals(Optional.empty(), BookId.tryParse("9781234567897"));
+    assertEquals(Optional.empty(), BookId.tryParse("9781234567897."));
+    assertEquals(Optional.empty(), BookId.tryParse("9781234567897.copy1"));
+    assertEquals(Optional.empty(), BookId.tryParse("9781234567890.1"));
+    assertEquals(Optional.empty(), BookId.tryParse("9781234567897.99999999"));
+    assertEquals(Optional.empty(), BookId.tryParse(null));
+    assertThrows(IllegalArgumentException.class, () -> BookId.parse("isbn.copy1"));
+    assertThrows(IllegalArgumentException.class, () -> new BookId(ISBN, BookId.MAX_COPY + 1));
+  }
+
+  @Test
+  void packsIntoOneLongAndBack() {
+    BookId id = new BookId(Isbn.parse("9799999999990"), BookId.MAX_COPY);
+
+    assertEquals(id, BookId.unpack(id.pack()));
+    assertEquals(new BookId(ISBN, 0), BookId.unpack(new BookId(ISBN, 0).pack()));
+    assertNotEquals(new BookId(ISBN, 1).pack(), new BookId(ISBN, 2).pack());
+  }
+
+  @Test
+  void formatsWithTheServiceSeparator() {
+    assertEquals("9781234567897.3", BookId.parse("9781234567897-3").toString());
+  }
+
+  @Test
+  void isbnOf_splitsWithoutValidating() {
+    assertEquals("9781234567890", BookId.isbnOf("9781234567890.1"));
+    assertEquals("9781234567890", BookId.isbnOf("9781234567890-1"));
+    assertEquals("1234567890", BookId.isbnOf("1234567890.abc123"));
+    assertEquals("onlyisbn", BookId.isbnOf("onlyisbn"));
+    assertEquals("some-title", BookId.isbnOf("some-title"));
+  }
+
+  @Test
+  void copyOf_readsTheCopyNumberWithoutValidating() {
+    assertEquals(1, BookId.copyOf("9781234567890.1"));
+    assertEquals(12, BookId.copyOf("9781234567890-12"));
+    assertEquals(-1, BookId.copyOf("1234567890.abc123"));
+    assertEquals(-1, BookId.copyOf("onlyisbn"));
+  }
+}
@@ -0,0 +1,50 @@
+package com.loudent.library.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class IsbnTest {
+
+  @Test
+  void parsesIsbn13_withOrWithoutHyphens() {
+    assertEquals(9780201896831L, Isbn.parse("9780201896831").value());
+    assertEquals(9780201896831L, Isbn.parse("978-0-201-89683-1").value());
+    assertEquals("9780201896831", Isbn.parse("978 0 201 89683 1").toString());
+  }
+
+  @Test
+  void convertsIsbn10ToIsbn13() {
+    assertEquals(Isbn.parse("9780201896831"), Isbn.parse("0-201-89683-4"));
+    assertEquals(9780804429573L, Isbn.parse("080442957X").value());
+    assertEquals(9780804429573L, Isbn.parse("080442957x").value());
+  }
+
+  @Test
+  void rejectsBadChecksumsAndShapes() {
+    assertEquals(Optional.empty(), Isbn.tryParse("9781234567890"));
+    assertEquals(Optional.empty(), Isbn.tryParse("0201896835"));
+    assertEquals(Optional.empty(), Isbn.tryParse("X201896834"));
+    assertEquals(Optional.empty(), Isbn.tryParse("1234567890123"));
+    assertEquals(Optional.empty(), Isbn.tryParse("97802018968"));
+    assertEquals(Optional.empty(), Isbn.tryParse("978020189683a"));
+    assertEquals(Optional.empty(), Isbn.tryParse(null));
+    assertThrows(IllegalArgumentException.class, () -> Isbn.parse("not an isbn"));
+    assertThrows(IllegalArgumentException.class, () -> new Isbn(9781234567890L));
+  }
+
+  @Test
+  void parseValue_matchesTryParseWithoutTheRecord() {
+    assertEquals(9780201896831L, Isbn.parseValue("0-201-89683-4"));
+    assertEquals(9780804429573L, Isbn.parseValue("080442957X"));
+    assertEquals(-1, Isbn.parseValue("9781234567890"));
+    assertEquals(-1, Isbn.parseValue("978-020189683a"));
+    assertEquals(-1, Isbn.parseValue(null));
+  }
+
+  @Test
+  void ordersByValue() {
+    assertTrue(Isbn.parse("9780201896831").compareTo(Isbn.parse("9781234567897")) < 0);
+  }
+}
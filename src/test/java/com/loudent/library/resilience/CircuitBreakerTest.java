@@ -0,0 +1,166 @@
+package com.loudent.library.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private static final CircuitBreaker.Settings SETTINGS =
+      new CircuitBreaker.Settings(
+          true, 50, 80, Duration.ofMillis(100), 10, 4, Duration.ofSeconds(5), 2);
+
+  private static final CircuitBreaker.Listener NO_OP_LISTENER =
+      new CircuitBreaker.Listener() {
+        @Override
+        public void onStateChange(
+            String name, CircuitBreaker.State from, CircuitBreaker.State to) {}
+
+        @Override
+        public void onCallNotPermitted(String name) {}
+      };
+
+  private final AtomicLong clock = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private CircuitBreaker breaker;
+
+  @BeforeEach
+  void setUp() {
+    breaker = new CircuitBreaker("Catalog", SETTINGS, NO_OP_LISTENER, clock::get);
+  }
+
+  @Test
+  void execute_shouldOpenAfterFailureRateThreshold() {
+    breaker.execute(() -> "ok");
+    breaker.execute(() -> "ok");
+    fail();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+    fail();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertThrows(CircuitOpenException.class, () -> breaker.execute(() -> "rejected"));
+  }
+
+  @Test
+  void execute_shouldOpenOnSlowCalls() {
+    for (int i = 0; i < 4; i++) {
+      breaker.execute(
+          () -> {
+            clock.addAndGet(Duration.ofMillis(150).toNanos());
+            return "slow";
+          });
+    }
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void execute_shouldCloseAfterSuccessfulProbes() {
+    openBreaker();
+
+    clock.addAndGet(Duration.ofSeconds(6).toNanos());
+    breaker.execute(() -> "probe");
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+    breaker.execute(() -> "probe");
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  void execute_shouldReopenWhenProbeFails() {
+    openBreaker();
+
+    clock.addAndGet(Duration.ofSeconds(6).toNanos());
+    fail();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  void executeAsync_shouldFailFastWhenOpen() {
+    openBreaker();
+
+    CompletableFuture<String> result =
+        breaker.executeAsync(() -> CompletableFuture.completedFuture("never"));
+
+    CompletionException ex = assertThrows(CompletionException.class, result::join);
+    assertEquals(CircuitOpenException.class, ex.getCause().getClass());
+  }
+
+  @Test
+  void execute_shouldPassThroughWhenDisabled() {
+    CircuitBreaker.Settings disabled =
+        new CircuitBreaker.Settings(
+            false, 50, 80, Duration.ofMillis(100), 10, 1, Duration.ofSeconds(5), 2);
+    CircuitBreaker passThrough =
+        new CircuitBreakerRegistry(meterRegistry, disabled).forTable("Accounts");
+
+    for (int i = 0; i < 5; i++) {
+      assertThrows(
+          IllegalStateException.class,
+          () ->
+              passThrough.execute(
+                  () -> {
+                    throw new IllegalStateException("throttled");
+                  }));
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, passThrough.getState());
+  }
+
+  @Test
+  void registry_shouldExportStateAndTransitions() {
+    CircuitBreakerRegistry registry = new CircuitBreakerRegistry(meterRegistry, SETTINGS);
+    CircuitBreaker activity = registry.forTable("Activity");
+
+    assertEquals(0.0, stateOf("Activity"), 0.01);
+    for (int i = 0; i < 4; i++) {
+      assertThrows(
+          IllegalStateException.class,
+          () ->
+              activity.execute(
+                  () -> {
+                    throw new IllegalStateException("throttled");
+                  }));
+    }
+
+    assertEquals(1.0, stateOf("Activity"), 0.01);
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get(CircuitBreakerRegistry.TRANSITIONS_METRIC)
+            .tags("table", "Activity", "state", "OPEN")
+            .counter()
+            .count(),
+        0.01);
+  }
+
+  private void openBreaker() {
+    for (int i = 0; i < 4; i++) {
+      fail();
+    }
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  private void fail() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            breaker.execute(
+                () -> {
+                  throw new IllegalStateException("throttled");
+                }));
+  }
+
+  private double stateOf(String table) {
+    return meterRegistry
+        .get(CircuitBreakerRegistry.STATE_METRIC)
+        .tag(CircuitBreakerRegistry.TABLE_TAG, table)
+        .gauge()
+        .value();
+  }
+}
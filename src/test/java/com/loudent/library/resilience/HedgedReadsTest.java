@@ -0,0 +1,321 @@
+package com.loudent.library.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HedgedReadsTest {
+
+  private static final String OPERATION = "catalog.getByIsbn";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final ExecutorService pool = Executors.newCachedThreadPool();
+  private HedgedReads hedgedReads;
+
+  @AfterEach
+  void tearDown() {
+    if (hedgedReads != null) {
+      hedgedReads.shutdown();
+    }
+    pool.shutdownNow();
+  }
+
+  @Test
+  void execute_shouldPassThroughWhenDisabled() {
+    hedgedReads = new HedgedReads(meterRegistry, false, 0.95, 5, 1, 16, 4);
+    CompletableFuture<String> primary = CompletableFuture.completedFuture("value");
+
+    assertSame(primary, hedgedReads.execute(OPERATION, () -> primary));
+    assertFalse(hedgedReads.isEnabled());
+  }
+
+  @Test
+  void execute_shouldHedgeSlowRequestAfterWarmup() {
+    hedgedReads = hedged(100);
+    warmUp(10);
+
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<String> result =
+        hedgedReads.execute(
+            OPERATION,
+            () ->
+                attempts.incrementAndGet() == 1
+                    ? primary
+                    : CompletableFuture.completedFuture("hedged"));
+    assertEquals(1, attempts.get());
+
+    scheduler.fire();
+
+    assertEquals("hedged", result.join());
+    assertEquals(2, attempts.get());
+    assertTrue(primary.isCancelled());
+    assertEquals(1.0, meterRegistry.get(HedgedReads.HEDGES_METRIC).counter().count(), 0.01);
+    assertEquals(1.0, meterRegistry.get(HedgedReads.WINS_METRIC).counter().count(), 0.01);
+    assertEquals(1.0, meterRegistry.get(HedgedReads.WIN_RATE_METRIC).gauge().value(), 0.01);
+  }
+
+  @Test
+  void execute_shouldCancelHedgeWhenPrimaryWins() {
+    hedgedReads = hedged(100);
+    warmUp(10);
+
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    CompletableFuture<String> hedge = new CompletableFuture<>();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<String> result =
+        hedgedReads.execute(OPERATION, () -> attempts.incrementAndGet() == 1 ? primary : hedge);
+    scheduler.fire();
+
+    primary.complete("primary");
+
+    assertEquals("primary", result.join());
+    assertTrue(hedge.isCancelled());
+    assertEquals(0.0, meterRegistry.get(HedgedReads.WINS_METRIC).counter().count(), 0.01);
+  }
+
+  @Test
+  void execute_shouldNotHedgeWhenBudgetExhausted() {
+    hedgedReads = hedged(0);
+    warmUp(10);
+
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<String> result =
+        hedgedReads.execute(
+            OPERATION,
+            () -> {
+              attempts.incrementAndGet();
+              return primary;
+            });
+
+    scheduler.fire();
+    primary.complete("primary");
+
+    assertEquals("primary", result.join());
+    assertEquals(1, attempts.get());
+    assertEquals(0.0, meterRegistry.get(HedgedReads.HEDGES_METRIC).counter().count(), 0.01);
+  }
+
+  @Test
+  void execute_shouldUseHedgeWhenPrimaryFails() {
+    hedgedReads = hedged(100);
+    warmUp(10);
+
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    CompletableFuture<String> hedge = new CompletableFuture<>();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<String> result =
+        hedgedReads.execute(OPERATION, () -> attempts.incrementAndGet() == 1 ? primary : hedge);
+
+    scheduler.fire();
+    assertEquals(2, attempts.get());
+    primary.completeExceptionally(new IllegalStateException("throttled"));
+    assertFalse(result.isDone());
+
+    hedge.complete("hedged");
+    assertEquals("hedged", result.join());
+  }
+
+  @Test
+  void execute_shouldNotScheduleHedgeBeforeWarmup() {
+    hedgedReads = new HedgedReads(meterRegistry, true, 0.95, 5, 100, 16, scheduler, pool);
+
+    CompletableFuture<String> result =
+        hedgedReads.execute(
+            OPERATION, () -> CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+    CompletionException ex = assertThrows(CompletionException.class, result::join);
+    assertEquals("boom", ex.getCause().getMessage());
+    assertTrue(scheduler.tasks.isEmpty());
+  }
+
+  @Test
+  void executeBlocking_shouldRethrowRuntimeCause() {
+    hedgedReads = hedged(5);
+
+    IllegalStateException ex =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                hedgedReads.executeBlocking(
+                    OPERATION,
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }));
+    assertEquals("boom", ex.getMessage());
+  }
+
+  @Test
+  void executeBlocking_shouldRunOffTheCallersThreadAndInterruptTheLoser() throws Exception {
+    hedgedReads = hedged(100);
+    warmUp(10);
+
+    AtomicReference<Thread> caller = new AtomicReference<>();
+    Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    CountDownLatch primaryStarted = new CountDownLatch(1);
+    CountDownLatch primaryInterrupted = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<String> result =
+        CompletableFuture.supplyAsync(
+            () -> {
+              caller.set(Thread.currentThread());
+              return hedgedReads.executeBlocking(
+                  OPERATION,
+                  () -> {
+                    workers.add(Thread.currentThread());
+                    if (attempts.incrementAndGet() > 1) {
+                      return "hedged";
+                    }
+                    primaryStarted.countDown();
+                    try {
+                      new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                      primaryInterrupted.countDown();
+                    }
+                    return "primary";
+                  });
+            });
+
+    assertTrue(primaryStarted.await(5, TimeUnit.SECONDS));
+    scheduler.awaitTask().run();
+
+    assertEquals("hedged", result.get(5, TimeUnit.SECONDS));
+    assertTrue(primaryInterrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(2, workers.size());
+    assertFalse(workers.contains(caller.get()));
+  }
+
+  @Test
+  void executeBlocking_shouldRunInlineWhenThePoolIsFull() {
+    ExecutorService full = mock(ExecutorService.class);
+    when(full.submit(any(Runnable.class))).thenThrow(new RejectedExecutionException("full"));
+    hedgedReads = new HedgedReads(meterRegistry, true, 0.95, 5, 100, 16, scheduler, full);
+
+    Thread caller = Thread.currentThread();
+    assertEquals(
+        "inline",
+        hedgedReads.executeBlocking(
+            OPERATION, () -> Thread.currentThread() == caller ? "inline" : "pooled"));
+  }
+
+  @Test
+  void execute_shouldNotCountAHedgeThePoolRejected() {
+    hedgedReads = hedged(100);
+    warmUp(10);
+
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<String> result =
+        hedgedReads.execute(
+            OPERATION,
+            () -> {
+              if (attempts.incrementAndGet() > 1) {
+                throw new RejectedExecutionException("full");
+              }
+              return primary;
+            });
+
+    scheduler.fire();
+    primary.complete("primary");
+
+    assertEquals("primary", result.join());
+    assertEquals(2, attempts.get());
+    assertEquals(0.0, meterRegistry.get(HedgedReads.HEDGES_METRIC).counter().count(), 0.01);
+  }
+
+  @Test
+  void hedgeBudget_shouldGiveBackARefundedToken() {
+    HedgeBudget budget = new HedgeBudget(5);
+    for (int i = 0; i < 20; i++) {
+      budget.onRequest();
+    }
+    assertTrue(budget.tryAcquire());
+
+    budget.refund();
+
+    assertTrue(budget.tryAcquire());
+    assertFalse(budget.tryAcquire());
+  }
+
+  @Test
+  void latencyWindow_shouldReportPercentileOnceWarm() {
+    LatencyWindow window = new LatencyWindow(100, 0.9, 10);
+    for (int i = 1; i <= 9; i++) {
+      window.record(i);
+    }
+    assertEquals(-1, window.thresholdNanos());
+
+    window.record(10);
+    assertEquals(9, window.thresholdNanos());
+  }
+
+  @Test
+  void hedgeBudget_shouldAllowOneHedgePerTwentyRequestsAtFivePercent() {
+    HedgeBudget budget = new HedgeBudget(5);
+    for (int i = 0; i < 19; i++) {
+      budget.onRequest();
+    }
+    assertFalse(budget.tryAcquire());
+
+    budget.onRequest();
+    assertTrue(budget.tryAcquire());
+    assertFalse(budget.tryAcquire());
+  }
+
+  private HedgedReads hedged(double budgetPercent) {
+    return new HedgedReads(meterRegistry, true, 0.5, budgetPercent, 1, 16, scheduler, pool);
+  }
+
+  private void warmUp(int requests) {
+    for (int i = 0; i < requests; i++) {
+      hedgedReads.execute(OPERATION, () -> CompletableFuture.completedFuture("warm")).join();
+    }
+  }
+
+  /** Holds hedge timers until the test fires them, so no test waits on the clock. */
+  private static final class ManualScheduler implements HedgedReads.Scheduler {
+    private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+
+    @Override
+    public void schedule(Runnable task, long delayNanos) {
+      tasks.add(task);
+    }
+
+    void fire() {
+      for (Runnable task; (task = tasks.poll()) != null; ) {
+        task.run();
+      }
+    }
+
+    Runnable awaitTask() throws InterruptedException {
+      Runnable task = tasks.poll(5, TimeUnit.SECONDS);
+      assertNotNull(task, "no hedge was scheduled");
+      return task;
+    }
+  }
+}
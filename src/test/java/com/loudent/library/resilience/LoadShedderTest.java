@@ -0,0 +1,129 @@
+package com.loudent.library.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.loudent.library.config.DynamoDbConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoadShedderTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ThreadPoolExecutor executor;
+  private DynamoDbConfig dynamoDbConfig;
+
+  @BeforeEach
+  void setUp() {
+    executor = new ThreadPoolExecutor(1, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(10));
+    dynamoDbConfig = mock(DynamoDbConfig.class);
+    when(dynamoDbConfig.getDynamoAsyncThreadPool()).thenReturn(executor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldShed_neverWhenDisabled() {
+    LoadShedder shedder = shedder(false);
+    fillQueue(10);
+
+    assertFalse(shedder.shouldShed("searchCatalog"));
+  }
+
+  @Test
+  void shouldShed_onlyLowPriorityAboveLowThreshold() {
+    LoadShedder shedder = shedder(true);
+    fillQueue(6);
+
+    assertTrue(shedder.shouldShed("searchCatalog"));
+    assertFalse(shedder.shouldShed("checkoutBooks"));
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get(LoadShedder.SHED_METRIC)
+            .tags("endpoint", "searchCatalog", "priority", "LOW")
+            .counter()
+            .count(),
+        0.01);
+  }
+
+  @Test
+  void shouldShed_everythingAboveCriticalThreshold() {
+    LoadShedder shedder = shedder(true);
+    fillQueue(10);
+
+    assertTrue(shedder.shouldShed("checkoutBooks"));
+  }
+
+  @Test
+  void shouldShed_nothingWhenIdle() {
+    LoadShedder shedder = shedder(true);
+
+    assertFalse(shedder.shouldShed("searchCatalog"));
+    assertEquals(0.0, meterRegistry.get(LoadShedder.PRESSURE_METRIC).gauge().value(), 0.01);
+  }
+
+  @Test
+  void pressure_ignoresBusyCoreThreadsWhileTheQueueIsEmpty() {
+    LoadShedder shedder = shedder(true);
+    fillQueue(0);
+
+    assertEquals(0.0, shedder.pressure(), 0.01);
+  }
+
+  @Test
+  void pressure_usesActiveThreadsWhenThePoolHasNoQueue() throws InterruptedException {
+    executor.shutdownNow();
+    executor = new ThreadPoolExecutor(2, 2, 1, TimeUnit.SECONDS, new SynchronousQueue<>());
+    when(dynamoDbConfig.getDynamoAsyncThreadPool()).thenReturn(executor);
+    LoadShedder shedder = shedder(true);
+    CountDownLatch running = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          running.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+
+    assertEquals(0.5, shedder.pressure(), 0.01);
+  }
+
+  private LoadShedder shedder(boolean enabled) {
+    return new LoadShedder(
+        meterRegistry, dynamoDbConfig, enabled, 0.5, 0.9, List.of("searchCatalog"));
+  }
+
+  /** Blocks the single worker, then queues {@code queued} tasks behind it. */
+  private void fillQueue(int queued) {
+    for (int i = 0; i <= queued; i++) {
+      executor.execute(
+          () -> {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+    }
+  }
+}
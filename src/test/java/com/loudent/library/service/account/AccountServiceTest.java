@@ -3,13 +3,20 @@ package com.loudent.library.service.account;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.loudent.library.api.error.InvalidRequestException;
 import com.loudent.library.api.error.NotFoundException;
 import com.loudent.library.config.DynamoDbConfig;
 import com.loudent.library.dao.account.Account;
 import com.loudent.library.dao.activity.Activity;
 import com.loudent.library.oas.codegen.model.BorrowedBook;
 import com.loudent.library.oas.codegen.model.UserResponse;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.HedgedReads;
+import com.loudent.library.service.activity.AccountCursor;
+import com.loudent.library.service.activity.ActivityPage;
 import com.loudent.library.service.activity.ActivityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -43,7 +50,16 @@ class AccountServiceTest {
     when(client.table(eq("Accounts"), any(TableSchema.class))).thenReturn(accountTable);
 
     // Manually call constructor to trigger real initialization
-    accountService = new AccountService(client, config, activityService);
+    accountService =
+        new AccountService(
+            client,
+            config,
+            activityService,
+            new HedgedReads(new SimpleMeterRegistry(), false, 0.95, 5, 100, 1024, 64),
+            new CircuitBreakerRegistry(
+                new SimpleMeterRegistry(), CircuitBreaker.Settings.defaults()),
+            50,
+            500);
 
     // Sample account
     sampleAccount = new Account();
@@ -66,7 +82,8 @@ class AccountServiceTest {
   void getByAccountNumber_success_withBorrowedBooks() {
     when(accountTable.getItem(any(GetItemEnhancedRequest.class)))
         .thenReturn(CompletableFuture.completedFuture(sampleAccount));
-    when(activityService.getByAccountNumber("ACC123")).thenReturn(List.of(sampleActivity));
+    when(activityService.getByAccountNumber("ACC123", 50, null))
+        .thenReturn(new ActivityPage(List.of(sampleActivity), null));
 
     UserResponse result = accountService.getByAccountNumber("ACC123");
 
@@ -86,7 +103,8 @@ class AccountServiceTest {
   void getByAccountNumber_success_noBorrowedBooks() {
     when(accountTable.getItem(any(GetItemEnhancedRequest.class)))
         .thenReturn(CompletableFuture.completedFuture(sampleAccount));
-    when(activityService.getByAccountNumber("ACC123")).thenReturn(Collections.emptyList());
+    when(activityService.getByAccountNumber("ACC123", 50, null))
+        .thenReturn(new ActivityPage(Collections.emptyList(), null));
 
     UserResponse result = accountService.getByAccountNumber("ACC123");
 
@@ -101,15 +119,14 @@ class AccountServiceTest {
     when(accountTable.getItem(any(GetItemEnhancedRequest.class)))
         .thenReturn(CompletableFuture.completedFuture(null));
 
-    RuntimeException ex =
+    NotFoundException ex =
         assertThrows(
-            RuntimeException.class,
+            NotFoundException.class,
             () -> {
               accountService.getByAccountNumber("MISSING");
             });
 
-    assertTrue(ex.getMessage().contains("Failed to retrieve account #MISSING"));
-    assertInstanceOf(NotFoundException.class, ex.getCause());
+    assertEquals("Account not found for account number: MISSING", ex.getMessage());
   }
 
   @Test
@@ -128,13 +145,45 @@ class AccountServiceTest {
 
   @Test
   void enrichWithBorrowedBooks_nullSafeActivityList() {
-    when(activityService.getByAccountNumber("ACC123")).thenReturn(null);
+    when(activityService.getByAccountNumber("ACC123", 50, null)).thenReturn(null);
 
     UserResponse base = new UserResponse().accountNumber("ACC123");
-    UserResponse enriched = accountService.enrichWithBorrowedBooks(base, "ACC123");
+    UserResponse enriched = accountService.enrichWithBorrowedBooks(base, "ACC123", 50, null);
 
     assertNotNull(enriched.getBorrowedBooks());
     assertTrue(enriched.getBorrowedBooks().isEmpty());
+    assertNull(enriched.getNextCursor());
+  }
+
+  @Test
+  void getByAccountNumber_returnsRequestedPageWithNextCursor() {
+    when(accountTable.getItem(any(GetItemEnhancedRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(sampleAccount));
+    AccountCursor after = new AccountCursor(LocalDate.of(2024, 6, 20), "9781234567890.000");
+    AccountCursor next = AccountCursor.of(sampleActivity);
+    when(activityService.getByAccountNumber("ACC123", 1, after))
+        .thenReturn(new ActivityPage(List.of(sampleActivity), next));
+
+    UserResponse result = accountService.getByAccountNumber("ACC123", 1, after.encode());
+
+    assertEquals(1, result.getBorrowedBooks().size());
+    assertEquals(next, AccountCursor.decode(result.getNextCursor()));
+  }
+
+  @Test
+  void getByAccountNumber_rejectsLimitOutOfRange() {
+    assertThrows(
+        InvalidRequestException.class, () -> accountService.getByAccountNumber("ACC123", 0, null));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> accountService.getByAccountNumber("ACC123", 501, null));
+  }
+
+  @Test
+  void getByAccountNumber_rejectsMalformedCursor() {
+    assertThrows(
+        InvalidRequestException.class,
+        () -> accountService.getByAccountNumber("ACC123", null, "%%%"));
   }
 
   @Test
@@ -0,0 +1,42 @@
+package com.loudent.library.service.activity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.loudent.library.api.error.InvalidRequestException;
+import java.time.LocalDate;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class AccountCursorTest {
+
+  @Test
+  void encode_roundTrips() {
+    AccountCursor cursor = new AccountCursor(LocalDate.of(2025, 7, 4), "9781234567890.1");
+
+    assertEquals(cursor, AccountCursor.decode(cursor.encode()));
+    assertEquals("MjAyNS0wNy0wNHw5NzgxMjM0NTY3ODkwLjE", cursor.encode());
+  }
+
+  @Test
+  void exclusiveStartKey_takesTheAccountFromTheRequest() {
+    Map<String, AttributeValue> key =
+        new AccountCursor(LocalDate.of(2025, 7, 4), "111.1").exclusiveStartKey("ACC1");
+
+    assertEquals(AttributeValue.fromS("ACC1"), key.get("accountNumber"));
+    assertEquals(AttributeValue.fromS("2025-07-04"), key.get("dueDate"));
+    assertEquals(AttributeValue.fromS("111.1"), key.get("bookId"));
+  }
+
+  @Test
+  void decode_rejectsMalformedTokens() {
+    assertThrows(InvalidRequestException.class, () -> AccountCursor.decode("%%%"));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> AccountCursor.decode(CursorTokens.encode("July", "111.1")));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> AccountCursor.decode(CursorTokens.encode("2025-07-04")));
+  }
+}
@@ -2,8 +2,11 @@ package com.loudent.library.service.activity;
 
 import static com.loudent.library.dao.activity.Activity.ACCOUNT_INDEX;
 import static com.loudent.library.dao.activity.Activity.ISBN_INDEX;
+import static com.loudent.library.dao.activity.Activity.ISBN_SHARD_INDEX;
+import static com.loudent.library.dao.activity.Activity.OVERDUE_INDEX;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
@@ -11,20 +14,34 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.loudent.library.config.DynamoDbConfig;
 import com.loudent.library.dao.activity.Activity;
 import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CatalogProjection;
 import com.loudent.library.model.BookOperationNote;
 import com.loudent.library.oas.codegen.model.BookOperationResult;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.CircuitOpenException;
+import com.loudent.library.resilience.HedgedReads;
 import com.loudent.library.service.account.AccountService;
+import com.loudent.library.service.availability.AvailabilityIndex;
 import com.loudent.library.service.catalog.CatalogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,13 +51,20 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.OngoingStubbing;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedResponse;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 
 class ActivityServiceTest {
 
@@ -48,13 +72,17 @@ class ActivityServiceTest {
   @Mock private DynamoDbConfig config;
   @Mock private CatalogService catalogService;
   @Mock private AccountService accountService;
+  @Mock private AvailabilityIndex availabilityIndex;
   @Mock private DynamoDbTable<Activity> activityTable;
   @Mock private DynamoDbIndex<Activity> isbnIndex;
   @Mock private DynamoDbIndex<Activity> accountIndex;
+  @Mock private DynamoDbIndex<Activity> overdueIndex;
 
-  @Captor private ArgumentCaptor<Activity> activityCaptor;
+  @Captor private ArgumentCaptor<PutItemEnhancedRequest<Activity>> putCaptor;
+  @Captor private ArgumentCaptor<QueryEnhancedRequest> queryCaptor;
 
   private ExecutorService executor;
+  private ExecutorService queryExecutor;
   private ActivityService service;
 
   @BeforeEach
@@ -64,14 +92,36 @@ class ActivityServiceTest {
     when(enhancedClient.table(eq("Activity"), ArgumentMatchers.<TableSchema<Activity>>any()))
         .thenReturn(activityTable);
     when(accountService.accountExists(any())).thenReturn(true);
+    stubPut(null);
     executor = Executors.newFixedThreadPool(2);
-    service = new ActivityService(enhancedClient, config, catalogService, accountService, executor);
+    queryExecutor = Executors.newFixedThreadPool(2, task -> new Thread(task, "query"));
+    service = service(1);
+  }
+
+  private ActivityService service(int isbnShards) {
+    return service(isbnShards, 1);
+  }
+
+  private ActivityService service(int isbnShards, int overdueShards) {
+    return new ActivityService(
+        enhancedClient,
+        config,
+        catalogService,
+        accountService,
+        executor,
+        queryExecutor,
+        new HedgedReads(new SimpleMeterRegistry(), false, 0.95, 5, 100, 1024, 64),
+        new CircuitBreakerRegistry(new SimpleMeterRegistry(), CircuitBreaker.Settings.defaults()),
+        availabilityIndex,
+        isbnShards,
+        overdueShards);
   }
 
   @Test
   void extractIsbn_shouldExtractCorrectly() {
     assertEquals("1234567890", service.extractIsbn("1234567890.abc123"));
     assertEquals("onlyisbn", service.extractIsbn("onlyisbn"));
+    assertEquals("9781234567890", service.extractIsbn("9781234567890-2"));
   }
 
   @SuppressWarnings("unchecked")
@@ -86,33 +136,109 @@ class ActivityServiceTest {
     assertEquals(1, results.size());
   }
 
-  @SuppressWarnings("unchecked")
   @Test
-  void getByAccount_shouldReturnActivities() {
+  void getByIsbn_withoutShards_shouldQueryThePlainIsbn() {
+    when(activityTable.index(ISBN_INDEX)).thenReturn(isbnIndex);
+    ArgumentCaptor<QueryConditional> condition = ArgumentCaptor.forClass(QueryConditional.class);
+    when(isbnIndex.query(condition.capture())).thenReturn(() -> Collections.emptyIterator());
+
+    service.getByIsbn("111");
+
+    assertEquals("111", partitionOf(condition.getValue(), ISBN_INDEX));
+    verify(activityTable, never()).index(ISBN_SHARD_INDEX);
+  }
+
+  @Test
+  void getByIsbn_withShards_shouldQueryEveryShardOnTheQueryPoolAndMerge() {
+    when(activityTable.index(ISBN_SHARD_INDEX)).thenReturn(isbnIndex);
+    List<String> queried = Collections.synchronizedList(new ArrayList<>());
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    when(isbnIndex.query(any(QueryConditional.class)))
+        .thenAnswer(
+            invocation -> {
+              String shard = partitionOf(invocation.getArgument(0), ISBN_SHARD_INDEX);
+              queried.add(shard);
+              threads.add(Thread.currentThread().getName());
+              Activity activity = new Activity();
+              activity.setIsbnShard(shard);
+              List<Page<Activity>> pages = List.of(Page.create(List.of(activity)));
+              return (SdkIterable<Page<Activity>>) pages::iterator;
+            });
+
+    List<Activity> results = service(3).getByIsbn("111");
+
+    assertEquals(3, results.size());
+    assertEquals(Set.of("111#0", "111#1", "111#2"), Set.copyOf(queried));
+    assertEquals(Set.of("query"), threads);
+  }
+
+  @Test
+  void processCheckout_shouldWriteTheShardOfTheCopy() {
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenReturn(CompletableFuture.completedFuture(mock(Catalog.class)));
+
+    service(4).processCheckout("acct1", "111.6");
+
+    verify(activityTable).putItemWithResponse(putCaptor.capture());
+    assertEquals("111", putCaptor.getValue().item().getIsbn());
+    assertEquals("111#2", putCaptor.getValue().item().getIsbnShard());
+  }
+
+  @Test
+  void constructor_shouldRejectNoShards() {
+    assertThrows(IllegalArgumentException.class, () -> service(0));
+  }
+
+  @Test
+  void getByAccount_shouldReturnOnePageWithCursor() {
     when(activityTable.index(ACCOUNT_INDEX)).thenReturn(accountIndex);
-    Page<Activity> page = mock(Page.class);
-    when(page.items()).thenReturn(List.of(new Activity()));
-    when(accountIndex.query(any(QueryConditional.class)))
-        .thenReturn(() -> List.of(page).iterator());
+    Activity first = checkout("111.1", LocalDate.of(2025, 7, 1));
+    Activity second = checkout("111.2", LocalDate.of(2025, 7, 8));
+    Map<String, AttributeValue> lastKey =
+        new AccountCursor(second.getDueDate(), second.getBookId()).exclusiveStartKey("acct123");
+    when(accountIndex.query(any(QueryEnhancedRequest.class)))
+        .thenReturn(() -> List.of(Page.create(List.of(first, second), lastKey)).iterator());
+
+    ActivityPage page = service.getByAccountNumber("acct123", 2, null);
+
+    assertEquals(List.of(first, second), page.items());
+    assertEquals(AccountCursor.of(second), page.next());
+    verify(accountIndex).query(queryCaptor.capture());
+    assertEquals(2, queryCaptor.getValue().limit());
+    assertNull(queryCaptor.getValue().exclusiveStartKey());
+  }
 
-    List<Activity> results = service.getByAccountNumber("acct123");
-    assertEquals(1, results.size());
+  @Test
+  void getByAccount_shouldResumeAfterCursorAndEndWithoutOne() {
+    when(activityTable.index(ACCOUNT_INDEX)).thenReturn(accountIndex);
+    Activity last = checkout("111.3", LocalDate.of(2025, 7, 9));
+    when(accountIndex.query(any(QueryEnhancedRequest.class)))
+        .thenReturn(() -> List.of(Page.create(List.of(last))).iterator());
+    AccountCursor after = new AccountCursor(LocalDate.of(2025, 7, 8), "111.2");
+
+    ActivityPage page = service.getByAccountNumber("acct123", 2, after);
+
+    assertEquals(List.of(last), page.items());
+    assertNull(page.next());
+    verify(accountIndex).query(queryCaptor.capture());
+    assertEquals(after.exclusiveStartKey("acct123"), queryCaptor.getValue().exclusiveStartKey());
   }
 
   @Test
   void processCheckout_unregisteredBook_shouldReturnUnregisteredNote() {
-    when(catalogService.getByIsbnAsync("isbn")).thenReturn(CompletableFuture.completedFuture(null));
+    when(catalogService.getByIsbnAsync("isbn", CatalogProjection.TITLE))
+        .thenReturn(CompletableFuture.completedFuture(null));
 
     BookOperationResult result = service.processCheckout("acct1", "isbn.copy123");
 
     assertEquals("isbn.copy123", result.getBookId());
     assertEquals(BookOperationNote.UNREGISTERED.getMessage(), result.getNotes());
-    verify(activityTable, never()).putItem(any(Activity.class));
+    verify(activityTable, never()).putItemWithResponse(any(PutItemEnhancedRequest.class));
   }
 
   @Test
   void processCheckin_bookNotCheckedOut_shouldReturnAlreadyCheckedIn() {
-    when(catalogService.getByIsbnAsync("isbn"))
+    when(catalogService.getByIsbnAsync("isbn", CatalogProjection.TITLE))
         .thenReturn(CompletableFuture.completedFuture(mock(Catalog.class)));
     when(activityTable.getItem(any(Activity.class))).thenReturn(null);
 
@@ -129,18 +255,22 @@ class ActivityServiceTest {
     String account = "acctA";
     Catalog catalog = mock(Catalog.class);
     when(catalog.getTitle()).thenReturn("Title A");
-    when(catalogService.getByIsbnAsync("isbn"))
+    when(catalogService.getByIsbnAsync("isbn", CatalogProjection.TITLE))
         .thenReturn(CompletableFuture.completedFuture(catalog));
 
     // Correct the stubbing for getItem(Key)
-    when(activityTable.getItem(any(Key.class))).thenReturn(new Activity());
+    Activity existing = new Activity();
+    when(activityTable.getItem(any(Key.class))).thenReturn(existing);
+    when(activityTable.deleteItem(existing)).thenReturn(existing);
 
     BookOperationResult result = service.processCheckout(account, bookId);
 
     assertEquals(bookId, result.getBookId());
     assertEquals("Title A", result.getTitle());
     assertEquals(BookOperationNote.REPLACED_EXISTING.getMessage(), result.getNotes());
-    verify(activityTable).putItem(any(Activity.class));
+    verify(activityTable).putItemWithResponse(any(PutItemEnhancedRequest.class));
+    verify(availabilityIndex).checkedIn(bookId);
+    verify(availabilityIndex).checkedOut(bookId);
   }
 
   @Test
@@ -183,7 +313,7 @@ class ActivityServiceTest {
   void checkinBooks_shouldReturnResultsForAll() {
     Catalog catalog = mock(Catalog.class);
     when(catalog.getTitle()).thenReturn("Test Book");
-    when(catalogService.getByIsbnAsync(any()))
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
         .thenReturn(CompletableFuture.completedFuture(catalog));
     when(activityTable.getItem(any(Key.class))).thenReturn(new Activity());
 
@@ -199,18 +329,42 @@ class ActivityServiceTest {
     verify(activityTable).deleteItem(activity);
   }
 
+  @Test
+  void deleteByBookId_shouldNotCountACheckinAnotherRequestMade() {
+    when(activityTable.getItem(any(Key.class))).thenReturn(new Activity());
+    when(activityTable.deleteItem(any(Activity.class))).thenReturn(null);
+
+    service.deleteByBookId("book123");
+
+    verify(availabilityIndex, never()).checkedIn(any());
+  }
+
+  @Test
+  void processCheckout_shouldNotCountAPutThatReplacedACheckout() {
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenReturn(CompletableFuture.completedFuture(mock(Catalog.class)));
+    stubPut(new Activity());
+
+    service.processCheckout("acct1", "isbn.copy1");
+
+    verify(activityTable).putItemWithResponse(putCaptor.capture());
+    assertEquals(ReturnValue.ALL_OLD, putCaptor.getValue().returnValues());
+    verify(availabilityIndex, never()).checkedOut(any());
+  }
+
   @Test
   void deleteByBookId_shouldLogWarningIfNotPresent() {
     when(activityTable.getItem(any(Key.class))).thenReturn(null);
     service.deleteByBookId("book123");
     verify(activityTable, never()).deleteItem(any(Activity.class));
+    verify(availabilityIndex, never()).checkedIn(any());
   }
 
   @Test
   void processCheckin_bookCheckedOut_shouldReturnSuccess() {
     Catalog catalog = mock(Catalog.class);
     when(catalog.getTitle()).thenReturn("Book Title");
-    when(catalogService.getByIsbnAsync(any()))
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
         .thenReturn(CompletableFuture.completedFuture(catalog));
     Activity activity = new Activity();
     activity.setCheckOutDate(LocalDate.now().minusDays(3));
@@ -221,6 +375,7 @@ class ActivityServiceTest {
 
     assertEquals("Book Title", result.getTitle());
     assertEquals(BookOperationNote.OK.getMessage(), result.getNotes());
+    verify(availabilityIndex).checkedIn("isbn.copy123");
   }
 
   @Test
@@ -238,7 +393,7 @@ class ActivityServiceTest {
     when(accountService.accountExists("acctA")).thenReturn(true);
     Catalog catalog = mock(Catalog.class);
     when(catalog.getTitle()).thenReturn("Test Book");
-    when(catalogService.getByIsbnAsync(any()))
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
         .thenReturn(CompletableFuture.completedFuture(catalog));
     when(activityTable.getItem(any(Key.class))).thenReturn(null); // book not previously checked out
 
@@ -254,7 +409,7 @@ class ActivityServiceTest {
   void checkinBooks_shouldHandleBooksNotCheckedOut() {
     Catalog catalog = mock(Catalog.class);
     when(catalog.getTitle()).thenReturn("Test Book");
-    when(catalogService.getByIsbnAsync(any()))
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
         .thenReturn(CompletableFuture.completedFuture(catalog));
     when(activityTable.getItem(any(Key.class))).thenReturn(null); // book not checked out
 
@@ -265,7 +420,8 @@ class ActivityServiceTest {
 
   @Test
   void checkinBooks_shouldHandleCatalogServiceException() {
-    when(catalogService.getByIsbnAsync(any())).thenThrow(new RuntimeException("Simulated failure"));
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenThrow(new RuntimeException("Simulated failure"));
 
     List<BookOperationResult> results = service.checkinBooks(List.of("isbn.copy1"));
 
@@ -275,7 +431,8 @@ class ActivityServiceTest {
 
   @Test
   void processCheckin_shouldHandleCatalogServiceException() {
-    when(catalogService.getByIsbnAsync(any())).thenThrow(new RuntimeException("Simulated failure"));
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenThrow(new RuntimeException("Simulated failure"));
 
     BookOperationResult result = service.processCheckin("isbn.copyX");
     assertEquals(result.getNotes(), BookOperationNote.UNREGISTERED.getMessage());
@@ -286,7 +443,8 @@ class ActivityServiceTest {
     CompletableFuture<Catalog> failingFuture = new CompletableFuture<>();
     failingFuture.completeExceptionally(new RuntimeException("Catalog error"));
 
-    when(catalogService.getByIsbnAsync(any())).thenReturn(failingFuture);
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenReturn(failingFuture);
 
     Optional<Catalog> result = service.fetchCatalogSafely("isbn.copyX");
 
@@ -297,25 +455,47 @@ class ActivityServiceTest {
   void processCheckout_shouldHandlePutItemException() {
     Catalog catalog = mock(Catalog.class);
     when(catalog.getTitle()).thenReturn("Some Title");
-    when(catalogService.getByIsbnAsync(any()))
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
         .thenReturn(CompletableFuture.completedFuture(catalog));
 
     // Simulate putItem throwing an exception
     doThrow(new RuntimeException("putItem failed"))
         .when(activityTable)
-        .putItem(any(Activity.class));
+        .putItemWithResponse(any(PutItemEnhancedRequest.class));
 
     BookOperationResult result = service.processCheckout("acct1", "isbn.copy123");
 
     assertEquals("isbn.copy123", result.getBookId());
     assertTrue(result.getNotes().startsWith("Error:"));
+    verify(availabilityIndex, never()).checkedOut(any());
+  }
+
+  @Test
+  void processCheckout_shouldPropagateOpenCircuit() {
+    Catalog catalog = mock(Catalog.class);
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenReturn(CompletableFuture.completedFuture(catalog));
+    doThrow(new CircuitOpenException("Activity"))
+        .when(activityTable)
+        .putItemWithResponse(any(PutItemEnhancedRequest.class));
+
+    assertThrows(
+        CircuitOpenException.class, () -> service.processCheckout("acct1", "isbn.copy123"));
+  }
+
+  @Test
+  void processCheckin_shouldPropagateOpenCatalogCircuit() {
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenReturn(CompletableFuture.failedFuture(new CircuitOpenException("Catalog")));
+
+    assertThrows(CircuitOpenException.class, () -> service.processCheckin("isbn.copy123"));
   }
 
   @Test
   void processCheckin_shouldHandleDeleteException() {
     Catalog catalog = mock(Catalog.class);
     when(catalog.getTitle()).thenReturn("Some Title");
-    when(catalogService.getByIsbnAsync(any()))
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
         .thenReturn(CompletableFuture.completedFuture(catalog));
 
     Activity activity = new Activity();
@@ -334,4 +514,165 @@ class ActivityServiceTest {
     assertEquals("isbn.copy123", result.getBookId());
     assertTrue(result.getNotes().startsWith("Error:"));
   }
+
+  @Test
+  void processCheckout_shouldWriteOverdueBucketForDueMonth() {
+    Catalog catalog = mock(Catalog.class);
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenReturn(CompletableFuture.completedFuture(catalog));
+
+    service.processCheckout("acct1", "isbn.copy1");
+
+    verify(activityTable).putItemWithResponse(putCaptor.capture());
+    Activity written = putCaptor.getValue().item();
+    assertEquals(YearMonth.from(written.getDueDate()).toString(), written.getOverdueBucket());
+  }
+
+  @Test
+  void processCheckout_withOverdueShards_shouldWriteTheShardOfTheBook() {
+    Catalog catalog = mock(Catalog.class);
+    when(catalogService.getByIsbnAsync(any(), eq(CatalogProjection.TITLE)))
+        .thenReturn(CompletableFuture.completedFuture(catalog));
+
+    service(1, 4).processCheckout("acct1", "isbn.copy1");
+
+    verify(activityTable).putItemWithResponse(putCaptor.capture());
+    Activity written = putCaptor.getValue().item();
+    assertEquals(
+        Activity.overdueBucketOf("isbn.copy1", written.getDueDate(), 4),
+        written.getOverdueBucket());
+  }
+
+  @Test
+  void forEachOverdue_shouldQueryEachBucketOldestFirst() {
+    Activity first = checkout("111.1", LocalDate.of(2025, 5, 2));
+    Activity second = checkout("111.2", LocalDate.of(2025, 5, 20));
+    Activity third = checkout("222.1", LocalDate.of(2025, 7, 1));
+    stubOverdueBuckets(List.of(first, second), List.of(), List.of(third));
+    List<Activity> seen = new ArrayList<>();
+
+    Optional<OverdueCursor> next =
+        service.forEachOverdue(
+            LocalDate.of(2025, 7, 10), YearMonth.of(2025, 5), null, 10, seen::add);
+
+    assertTrue(next.isEmpty());
+    assertEquals(List.of(first, second, third), seen);
+    verify(overdueIndex, times(3)).query(queryCaptor.capture());
+    queryCaptor.getAllValues().forEach(request -> assertNull(request.exclusiveStartKey()));
+  }
+
+  @Test
+  void forEachOverdue_shouldStopAtLimitWithCursor() {
+    Activity first = checkout("111.1", LocalDate.of(2025, 5, 2));
+    Activity second = checkout("111.2", LocalDate.of(2025, 5, 20));
+    stubOverdueBuckets(List.of(first, second));
+    List<Activity> seen = new ArrayList<>();
+
+    Optional<OverdueCursor> next =
+        service.forEachOverdue(
+            LocalDate.of(2025, 7, 10), YearMonth.of(2025, 5), null, 1, seen::add);
+
+    assertEquals(List.of(first), seen);
+    assertEquals(Optional.of(OverdueCursor.of(first)), next);
+    verify(overdueIndex).query(queryCaptor.capture());
+    assertEquals(1, queryCaptor.getValue().limit());
+  }
+
+  @Test
+  void forEachOverdue_shouldResumeAfterCursorInItsBucket() {
+    Activity resumed = checkout("333.1", LocalDate.of(2025, 6, 9));
+    stubOverdueBuckets(List.of(resumed), List.of());
+    OverdueCursor after = new OverdueCursor("2025-06", LocalDate.of(2025, 6, 3), "111.9");
+    List<Activity> seen = new ArrayList<>();
+
+    service.forEachOverdue(LocalDate.of(2025, 7, 10), YearMonth.of(2025, 1), after, 10, seen::add);
+
+    assertEquals(List.of(resumed), seen);
+    verify(overdueIndex, times(2)).query(queryCaptor.capture());
+    assertEquals(
+        AttributeValue.fromS("111.9"),
+        queryCaptor.getAllValues().get(0).exclusiveStartKey().get("bookId"));
+    assertNull(queryCaptor.getAllValues().get(1).exclusiveStartKey());
+  }
+
+  @Test
+  void forEachOverdue_withShards_shouldQueryEveryShardOfAMonthInTurn() {
+    Activity first = checkout("111.1", LocalDate.of(2025, 6, 2));
+    Activity second = checkout("111.2", LocalDate.of(2025, 6, 1));
+    stubOverdueBuckets(List.of(first), List.of(second), List.of(), List.of());
+    List<Activity> seen = new ArrayList<>();
+
+    service(1, 2)
+        .forEachOverdue(LocalDate.of(2025, 7, 10), YearMonth.of(2025, 6), null, 10, seen::add);
+
+    assertEquals(List.of(first, second), seen);
+    assertEquals(List.of("2025-06", "2025-06#1", "2025-07", "2025-07#1"), bucketsQueried(4));
+  }
+
+  @Test
+  void forEachOverdue_withShards_shouldResumeInTheShardOfTheCursor() {
+    stubOverdueBuckets(List.of(), List.of(), List.of());
+    OverdueCursor after = new OverdueCursor("2025-06#1", LocalDate.of(2025, 6, 3), "111.9");
+
+    service(1, 2)
+        .forEachOverdue(LocalDate.of(2025, 7, 10), YearMonth.of(2025, 1), after, 10, a -> {});
+
+    assertEquals(List.of("2025-06#1", "2025-07", "2025-07#1"), bucketsQueried(3));
+    assertEquals(
+        AttributeValue.fromS("2025-06#1"),
+        queryCaptor.getAllValues().get(0).exclusiveStartKey().get("overdueBucket"));
+  }
+
+  /** The overdue buckets of the {@code count} index queries made, in order. */
+  private List<String> bucketsQueried(int count) {
+    verify(overdueIndex, times(count)).query(queryCaptor.capture());
+    return queryCaptor.getAllValues().stream()
+        .map(
+            request ->
+                request
+                    .queryConditional()
+                    .expression(Activity.TABLE_SCHEMA, OVERDUE_INDEX)
+                    .expressionValues()
+                    .values()
+                    .stream()
+                    .map(AttributeValue::s)
+                    .filter(value -> !value.matches("\\d{4}-\\d{2}-\\d{2}"))
+                    .findFirst()
+                    .orElseThrow())
+        .toList();
+  }
+
+  private static String partitionOf(QueryConditional condition, String index) {
+    return condition
+        .expression(Activity.TABLE_SCHEMA, index)
+        .expressionValues()
+        .values()
+        .iterator()
+        .next()
+        .s();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubPut(Activity replaced) {
+    when(activityTable.putItemWithResponse(any(PutItemEnhancedRequest.class)))
+        .thenReturn(PutItemEnhancedResponse.builder(Activity.class).attributes(replaced).build());
+  }
+
+  @SafeVarargs
+  private void stubOverdueBuckets(List<Activity>... buckets) {
+    when(activityTable.index(OVERDUE_INDEX)).thenReturn(overdueIndex);
+    OngoingStubbing<SdkIterable<Page<Activity>>> stubbing =
+        when(overdueIndex.query(any(QueryEnhancedRequest.class)));
+    for (List<Activity> items : buckets) {
+      stubbing = stubbing.thenReturn(() -> List.of(Page.create(items)).iterator());
+    }
+  }
+
+  private static Activity checkout(String bookId, LocalDate dueDate) {
+    Activity activity = new Activity();
+    activity.setBookId(bookId);
+    activity.setDueDate(dueDate);
+    activity.setOverdueBucket(Activity.overdueBucket(dueDate));
+    return activity;
+  }
 }
@@ -0,0 +1,85 @@
+package com.loudent.library.service.activity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.loudent.library.api.error.InvalidRequestException;
+import com.loudent.library.dao.activity.Activity;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class OverdueCursorTest {
+
+  @Test
+  void encode_roundTrips() {
+    OverdueCursor cursor = new OverdueCursor("2025-07", LocalDate.of(2025, 7, 4), "978.1|odd");
+
+    String token = cursor.encode();
+
+    assertFalse(token.contains("="));
+    assertEquals(cursor, OverdueCursor.decode(token));
+  }
+
+  @Test
+  void decode_acceptsShardedBucketsOfTheDueMonth() {
+    OverdueCursor cursor = new OverdueCursor("2025-07#3", LocalDate.of(2025, 7, 4), "111.1");
+
+    OverdueCursor decoded = OverdueCursor.decode(cursor.encode());
+
+    assertEquals(cursor, decoded);
+    assertEquals(YearMonth.of(2025, 7), decoded.month());
+    assertEquals(3, decoded.shard());
+  }
+
+  @Test
+  void of_usesTheIndexKeyOfTheActivity() {
+    Activity activity = new Activity();
+    activity.setBookId("9781234567890.1");
+    activity.setDueDate(LocalDate.of(2025, 7, 4));
+    activity.setOverdueBucket("2025-07");
+
+    assertEquals(
+        new OverdueCursor("2025-07", LocalDate.of(2025, 7, 4), "9781234567890.1"),
+        OverdueCursor.of(activity));
+  }
+
+  @Test
+  void exclusiveStartKey_holdsTableAndIndexKeys() {
+    OverdueCursor cursor = new OverdueCursor("2025-07", LocalDate.of(2025, 7, 4), "111.1");
+
+    assertEquals(AttributeValue.fromS("111.1"), cursor.exclusiveStartKey().get("bookId"));
+    assertEquals(AttributeValue.fromS("2025-07"), cursor.exclusiveStartKey().get("overdueBucket"));
+    assertEquals(AttributeValue.fromS("2025-07-04"), cursor.exclusiveStartKey().get("dueDate"));
+  }
+
+  @Test
+  void decode_rejectsMalformedTokens() {
+    assertThrows(InvalidRequestException.class, () -> OverdueCursor.decode("not base64!"));
+    assertThrows(InvalidRequestException.class, () -> OverdueCursor.decode(token("2025-07")));
+    assertThrows(
+        InvalidRequestException.class, () -> OverdueCursor.decode(token("2025-07|July|111.1")));
+    assertThrows(
+        InvalidRequestException.class, () -> OverdueCursor.decode(token("2025-07|2025-07-04|")));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> OverdueCursor.decode(token("2025-06|2025-07-04|111.1")));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> OverdueCursor.decode(token("2025-07#x|2025-07-04|111.1")));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> OverdueCursor.decode(token("2025-07#0|2025-07-04|111.1")));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> OverdueCursor.decode(token("2025-07#-1|2025-07-04|111.1")));
+  }
+
+  private static String token(String text) {
+    return Base64.getUrlEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
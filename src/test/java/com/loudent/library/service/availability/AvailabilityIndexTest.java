@@ -0,0 +1,192 @@
+package com.loudent.library.service.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.loudent.library.config.DynamoDbConfig;
+import com.loudent.library.dao.activity.Activity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+
+class AvailabilityIndexTest {
+
+  private static final String ISBN = "9780131103627";
+  private static final String SEEDED_ISBN = "9781234567890";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private DynamoDbEnhancedClient client;
+  private DynamoDbConfig config;
+  private DynamoDbTable<Activity> activityTable;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    client = mock(DynamoDbEnhancedClient.class);
+    activityTable = mock(DynamoDbTable.class);
+    config = mock(DynamoDbConfig.class);
+    when(config.getPrefixedTableName("Activity")).thenReturn("Activity");
+    when(client.table(eq("Activity"), ArgumentMatchers.<TableSchema<Activity>>any()))
+        .thenReturn(activityTable);
+    when(activityTable.scan(any(ScanEnhancedRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ScanEnhancedRequest request = invocation.getArgument(0);
+              List<Activity> items =
+                  request.segment() == 0
+                      ? List.of(activity(ISBN + ".1", ISBN), activity(ISBN + ".2", null))
+                      : List.of(activity(SEEDED_ISBN + ".1", SEEDED_ISBN));
+              return PageIterable.create(() -> List.of(Page.create(items)).iterator());
+            });
+  }
+
+  @Test
+  void availableCopies_isEmptyUntilRebuilt() {
+    AvailabilityIndex index = index(true, 16);
+
+    assertFalse(index.isReady());
+    assertEquals(OptionalInt.empty(), index.availableCopies(ISBN, 3));
+  }
+
+  @Test
+  void rebuild_countsCheckoutsFromEverySegment() {
+    AvailabilityIndex index = index(true, 16);
+
+    index.rebuild();
+
+    assertTrue(index.isReady());
+    assertEquals(OptionalInt.of(1), index.availableCopies(ISBN, 3));
+    assertEquals(OptionalInt.of(1), index.availableCopies(SEEDED_ISBN, 2));
+    assertEquals(OptionalInt.of(4), index.availableCopies("9780201633610", 4));
+    assertEquals(1, meterRegistry.get(AvailabilityIndex.REBUILD_METRIC).timer().count());
+  }
+
+  @Test
+  void checkoutsAndCheckins_adjustTheCount() {
+    AvailabilityIndex index = index(true, 16);
+    index.rebuild();
+
+    index.checkedOut(ISBN + ".3");
+    assertEquals(OptionalInt.of(0), index.availableCopies(ISBN, 3));
+
+    index.checkedIn(ISBN + ".1");
+    index.checkedIn(ISBN + ".3");
+    assertEquals(OptionalInt.of(2), index.availableCopies(ISBN, 3));
+  }
+
+  @Test
+  void availableCopies_doesNotAddUnindexedIsbns() {
+    AvailabilityIndex index = index(true, 16);
+    index.rebuild();
+
+    assertEquals(OptionalInt.of(4), index.availableCopies("9780201633610", 4));
+
+    assertEquals(2, meterRegistry.get(AvailabilityIndex.SIZE_METRIC).gauge().value());
+  }
+
+  @Test
+  void availableCopies_isClampedToTheTotal() {
+    AvailabilityIndex index = index(true, 16);
+    index.rebuild();
+
+    index.checkedIn(ISBN + ".1");
+    index.checkedIn(ISBN + ".2");
+    index.checkedIn(ISBN + ".2");
+
+    assertEquals(OptionalInt.of(3), index.availableCopies(ISBN, 3));
+    assertEquals(OptionalInt.of(0), index.availableCopies(SEEDED_ISBN, 0));
+  }
+
+  @Test
+  void availableCopies_isEmptyForUnindexableIsbns() {
+    AvailabilityIndex index = index(true, 16);
+    index.rebuild();
+
+    assertEquals(OptionalInt.empty(), index.availableCopies("not-an-isbn", 3));
+    assertEquals(OptionalInt.empty(), index.availableCopies(null, 3));
+  }
+
+  @Test
+  void rebuild_thatOverflowsLeavesTheIndexUnready() {
+    AvailabilityIndex index = index(true, 1);
+
+    index.rebuild();
+
+    assertFalse(index.isReady());
+    assertEquals(OptionalInt.empty(), index.availableCopies(ISBN, 3));
+  }
+
+  @Test
+  void metrics_reportSizeAndLoadFactor() {
+    AvailabilityIndex index = index(true, 16);
+    index.rebuild();
+
+    assertEquals(2, meterRegistry.get(AvailabilityIndex.SIZE_METRIC).gauge().value());
+    assertEquals(
+        2.0 / 16, meterRegistry.get(AvailabilityIndex.LOAD_FACTOR_METRIC).gauge().value());
+  }
+
+  @Test
+  void disabled_indexNeverScans() {
+    AvailabilityIndex index = index(false, 16);
+
+    index.rebuildOnStartup();
+    index.checkedOut(ISBN + ".1");
+
+    assertFalse(index.isReady());
+    verify(activityTable, never()).scan(any(ScanEnhancedRequest.class));
+  }
+
+  @Test
+  void key_acceptsHyphenatedIsbnsAndBareDigits() {
+    assertEquals(9780131103627L, AvailabilityIndex.key("978-0-13-110362-7"));
+    assertEquals(9780131103627L, AvailabilityIndex.key("0131103628"));
+    assertEquals(9781234567890L, AvailabilityIndex.key(SEEDED_ISBN));
+    assertEquals(0, AvailabilityIndex.key("isbn"));
+    assertEquals(0, AvailabilityIndex.key(""));
+  }
+
+  @Test
+  void rebuildOnStartup_rebuildsEveryInterval() {
+    AvailabilityIndex index =
+        new AvailabilityIndex(client, config, meterRegistry, true, 16, 2, 10);
+
+    index.rebuildOnStartup();
+    try {
+      // Two segments per rebuild: three rebuilds have scanned six times.
+      verify(activityTable, timeout(5_000).atLeast(6)).scan(any(ScanEnhancedRequest.class));
+      assertTrue(index.isReady());
+    } finally {
+      index.shutdown();
+    }
+  }
+
+  private AvailabilityIndex index(boolean enabled, int capacity) {
+    return new AvailabilityIndex(client, config, meterRegistry, enabled, capacity, 2, 0);
+  }
+
+  private static Activity activity(String bookId, String isbn) {
+    Activity activity = new Activity();
+    activity.setBookId(bookId);
+    activity.setIsbn(isbn);
+    return activity;
+  }
+}
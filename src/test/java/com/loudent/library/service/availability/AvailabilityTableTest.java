@@ -0,0 +1,103 @@
+package com.loudent.library.service.availability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class AvailabilityTableTest {
+
+  private static final long ISBN = 9780131103627L;
+
+  @Test
+  void capacity_isRoundedUpToAPowerOfTwo() {
+    assertEquals(8, new AvailabilityTable(5).capacity());
+    assertEquals(8, new AvailabilityTable(8).capacity());
+    assertThrows(IllegalArgumentException.class, () -> new AvailabilityTable(0));
+  }
+
+  @Test
+  void counts_startAtZeroAndTrackAdjustments() {
+    AvailabilityTable table = new AvailabilityTable(16);
+    assertEquals(0, table.checkedOut(ISBN));
+
+    table.adjustCheckedOut(ISBN, 1);
+    table.adjustCheckedOut(ISBN, 1);
+    table.adjustCheckedOut(ISBN, -1);
+
+    assertEquals(1, table.checkedOut(ISBN));
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  void checkedOut_mayGoNegative() {
+    AvailabilityTable table = new AvailabilityTable(16);
+
+    table.adjustCheckedOut(ISBN, -1);
+
+    assertEquals(-1, table.checkedOut(ISBN));
+  }
+
+  @Test
+  void lookups_doNotClaimSlots() {
+    AvailabilityTable table = new AvailabilityTable(16);
+
+    assertEquals(0, table.checkedOut(ISBN));
+
+    assertEquals(0, table.size());
+  }
+
+  @Test
+  void full_tableRejectsNewKeysAboveThreeQuartersButUpdatesExistingOnes() {
+    AvailabilityTable table = new AvailabilityTable(8);
+    for (long key = 1; key <= 6; key++) {
+      assertTrue(table.adjustCheckedOut(key, 1));
+    }
+
+    assertFalse(table.adjustCheckedOut(7, 1));
+    assertTrue(table.adjustCheckedOut(3, 1));
+    assertEquals(2, table.checkedOut(3));
+    assertEquals(0, table.checkedOut(7));
+    assertEquals(0.75, table.loadFactor());
+  }
+
+  @Test
+  void zeroKey_isRejected() {
+    assertThrows(
+        IllegalArgumentException.class, () -> new AvailabilityTable(4).adjustCheckedOut(0, 1));
+  }
+
+  @Test
+  void concurrentAdjustments_areNotLost() throws Exception {
+    AvailabilityTable table = new AvailabilityTable(1024);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  for (int i = 0; i < 10_000; i++) {
+                    table.adjustCheckedOut(ISBN + (i % 100), 1);
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(100, table.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(800, table.checkedOut(ISBN + i));
+    }
+  }
+}
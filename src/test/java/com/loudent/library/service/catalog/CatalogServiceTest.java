@@ -7,10 +7,16 @@ import com.loudent.library.api.error.NotFoundException;
 import com.loudent.library.config.DynamoDbConfig;
 import com.loudent.library.dao.activity.Activity;
 import com.loudent.library.dao.catalog.Catalog;
+import com.loudent.library.dao.catalog.CatalogProjection;
 import com.loudent.library.dao.catalog.CatalogSearchExpressionBuilder;
 import com.loudent.library.oas.codegen.model.CatalogResponse;
 import com.loudent.library.oas.codegen.model.CatalogSearchRequest;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import com.loudent.library.resilience.HedgedReads;
 import com.loudent.library.service.activity.ActivityService;
+import com.loudent.library.service.availability.AvailabilityIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.*;
 import java.util.concurrent.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +30,7 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
 
 @SuppressWarnings("unchecked")
@@ -37,6 +44,8 @@ class CatalogServiceTest {
 
   @Mock ActivityService activityService;
 
+  @Mock AvailabilityIndex availabilityIndex;
+
   @Mock CatalogSearchExpressionBuilder expressionBuilder;
 
   @Mock DynamoDbEnhancedAsyncClient client;
@@ -58,13 +67,22 @@ class CatalogServiceTest {
     catalog.setBookIds(List.of("1", "2", "3"));
     when(config.getPrefixedTableName("Catalog")).thenReturn("Catalog");
     when(client.table(eq("Catalog"), any(TableSchema.class))).thenReturn(catalogTable);
-    service = new CatalogService(client, config, activityService, expressionBuilder, executor);
+    service =
+        new CatalogService(
+            client,
+            config,
+            activityService,
+            expressionBuilder,
+            executor,
+            new HedgedReads(new SimpleMeterRegistry(), false, 0.95, 5, 100, 1024, 64),
+            new CircuitBreakerRegistry(
+                new SimpleMeterRegistry(), CircuitBreaker.Settings.defaults()),
+            availabilityIndex);
   }
 
   @Test
   void getByIsbn_shouldReturnEnrichedResponse() {
-    when(catalogTable.getItem(any(GetItemEnhancedRequest.class)))
-        .thenReturn(CompletableFuture.completedFuture(catalog));
+    mockQueryWithResult(List.of(catalog));
     when(activityService.getByIsbn("1234567890123")).thenReturn(List.of(new Activity()));
 
     CatalogResponse response = service.getByIsbn("1234567890123");
@@ -76,11 +94,11 @@ class CatalogServiceTest {
 
   @Test
   void getByIsbn_shouldThrowNotFound_ifNull() {
-    when(catalogTable.getItem(any(GetItemEnhancedRequest.class)))
-        .thenReturn(CompletableFuture.completedFuture(null));
+    mockQueryWithResult(List.of());
 
-    RuntimeException ex = assertThrows(RuntimeException.class, () -> service.getByIsbn("notfound"));
-    assertInstanceOf(NotFoundException.class, ex.getCause());
+    NotFoundException ex =
+        assertThrows(NotFoundException.class, () -> service.getByIsbn("notfound"));
+    assertEquals("Book not found for ISBN: notfound", ex.getMessage());
   }
 
   @Test
@@ -97,9 +115,9 @@ class CatalogServiceTest {
   void getBookByTitle_shouldThrowNotFound_ifNoMatch() {
     mockScanWithResult(List.of());
 
-    RuntimeException ex =
-        assertThrows(RuntimeException.class, () -> service.getBookByTitle("Unknown"));
-    assertInstanceOf(NotFoundException.class, ex.getCause());
+    NotFoundException ex =
+        assertThrows(NotFoundException.class, () -> service.getBookByTitle("Unknown"));
+    assertEquals("Book not found for title: Unknown", ex.getMessage());
   }
 
   @SuppressWarnings("unchecked")
@@ -144,6 +162,18 @@ class CatalogServiceTest {
     assertEquals(3, enriched.getAvailableCopies());
   }
 
+  @Test
+  void enrichWithAvailability_shouldPreferAvailabilityIndex() {
+    CatalogResponse response =
+        new CatalogResponse().isbn("1234567890123").title("Test Book").totalCopies(5);
+    when(availabilityIndex.availableCopies("1234567890123", 5)).thenReturn(OptionalInt.of(4));
+
+    CatalogResponse enriched = service.enrichWithAvailability(response, "1234567890123");
+
+    assertEquals(4, enriched.getAvailableCopies());
+    verify(activityService, never()).getByIsbn(any());
+  }
+
   @Test
   void mapToCatalogResponse_shouldHandleNullBookIds() {
     catalog.setBookIds(null);
@@ -217,40 +247,101 @@ class CatalogServiceTest {
     assertEquals(3, enriched.getAvailableCopies()); // 3 - 0
   }
 
+  @Test
+  void getByIsbnAsync_full_shouldUseGetItem() {
+    when(catalogTable.getItem(any(GetItemEnhancedRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(catalog));
+
+    assertSame(catalog, service.getByIsbnAsync("1234567890123", CatalogProjection.FULL).join());
+    verify(catalogTable, never()).query(any(QueryEnhancedRequest.class));
+  }
+
+  @Test
+  void queryForIsbn_shouldProjectOnlyTheRequestedAttributes() {
+    QueryEnhancedRequest request = service.queryForIsbn("1234567890123", CatalogProjection.TITLE);
+
+    assertEquals(List.of("isbn", "title"), request.attributesToProject());
+  }
+
+  @Test
+  void scans_shouldProjectTheSummary() {
+    CatalogSearchRequest request = new CatalogSearchRequest().authorLastName("Doe");
+    when(expressionBuilder.from(request)).thenReturn(null);
+    mockScanWithResult(List.of(catalog));
+
+    service.searchCatalogAsync(request).join();
+
+    ArgumentCaptor<ScanEnhancedRequest> scan = ArgumentCaptor.forClass(ScanEnhancedRequest.class);
+    verify(catalogTable, atLeastOnce()).scan(scan.capture());
+    assertEquals(CatalogProjection.SUMMARY.attributes(), scan.getValue().attributesToProject());
+  }
+
+  @Test
+  void mapToCatalogResponse_shouldPreferStoredCopyCount() {
+    Catalog summary = new Catalog();
+    summary.setIsbn("1234567890123");
+    summary.setCopyCount(7);
+
+    assertEquals(7, service.mapToCatalogResponse(summary).getTotalCopies());
+  }
+
+  @Test
+  void searchCatalogAsync_shouldCountCopiesOfItemsWithoutCopyCountFromTheSummary() {
+    Catalog legacy = new Catalog();
+    legacy.setIsbn("1234567890123");
+    legacy.setTitle("Test Book");
+    legacy.setBookIds(List.of("1234567890123.0", "1234567890123.1", "1234567890123.2"));
+    legacy.setCopyCount(null);
+    CatalogSearchRequest request = new CatalogSearchRequest().authorLastName("Doe");
+    when(expressionBuilder.from(request)).thenReturn(null);
+    mockScanWithResult(List.of(legacy));
+
+    List<Catalog> results = service.searchCatalogAsync(request).join();
+
+    assertEquals(3, service.mapToCatalogResponse(results.get(0)).getTotalCopies());
+    verify(catalogTable, never()).query(any(QueryEnhancedRequest.class));
+  }
+
   private void mockScanWithResult(List<Catalog> items) {
     when(catalogTable.scan(any(ScanEnhancedRequest.class)).items())
-        .thenAnswer(
-            invocation ->
-                new SdkPublisher<Catalog>() {
-                  @Override
-                  public void subscribe(
-                      org.reactivestreams.Subscriber<? super Catalog> subscriber) {
-                    subscriber.onSubscribe(
-                        new org.reactivestreams.Subscription() {
-                          private int currentIndex = 0;
-                          private boolean cancelled = false;
-
-                          @Override
-                          public void request(long n) {
-                            if (cancelled) return;
-
-                            int sent = 0;
-                            while (sent < n && currentIndex < items.size()) {
-                              subscriber.onNext(items.get(currentIndex++));
-                              sent++;
-                            }
-
-                            if (currentIndex >= items.size()) {
-                              subscriber.onComplete();
-                            }
-                          }
-
-                          @Override
-                          public void cancel() {
-                            cancelled = true;
-                          }
-                        });
-                  }
-                });
+        .thenAnswer(invocation -> publisherOf(items));
+  }
+
+  private void mockQueryWithResult(List<Catalog> items) {
+    when(catalogTable.query(any(QueryEnhancedRequest.class)).items())
+        .thenAnswer(invocation -> publisherOf(items));
+  }
+
+  private static SdkPublisher<Catalog> publisherOf(List<Catalog> items) {
+    return new SdkPublisher<Catalog>() {
+      @Override
+      public void subscribe(org.reactivestreams.Subscriber<? super Catalog> subscriber) {
+        subscriber.onSubscribe(
+            new org.reactivestreams.Subscription() {
+              private int currentIndex = 0;
+              private boolean cancelled = false;
+
+              @Override
+              public void request(long n) {
+                if (cancelled) return;
+
+                int sent = 0;
+                while (sent < n && currentIndex < items.size()) {
+                  subscriber.onNext(items.get(currentIndex++));
+                  sent++;
+                }
+
+                if (currentIndex >= items.size()) {
+                  subscriber.onComplete();
+                }
+              }
+
+              @Override
+              public void cancel() {
+                cancelled = true;
+              }
+            });
+      }
+    };
   }
 }
@@ -0,0 +1,299 @@
+package com.loudent.library.service.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loudent.library.api.error.InvalidRequestException;
+import com.loudent.library.config.DynamoDbConfig;
+import com.loudent.library.dao.idempotency.IdempotencyRecord;
+import com.loudent.library.oas.codegen.model.BookOperationResult;
+import com.loudent.library.resilience.CircuitBreaker;
+import com.loudent.library.resilience.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+
+class IdempotencyStoreTest {
+  private static final long TTL_MS = 3_600_000;
+  private static final List<BookOperationResult> RESULTS =
+      List.of(
+          new BookOperationResult()
+              .bookId("111.1")
+              .title("Title")
+              .checkOutDate(LocalDate.of(2025, 7, 1))
+              .dueByDate(LocalDate.of(2025, 7, 22))
+              .notes("OK"));
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private DynamoDbTable<IdempotencyRecord> table;
+  private DynamoDbEnhancedClient client;
+  private DynamoDbConfig config;
+  private SimpleMeterRegistry meterRegistry;
+  private IdempotencyStore store;
+  private AtomicInteger runs;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setup() {
+    table = mock(DynamoDbTable.class);
+    client = mock(DynamoDbEnhancedClient.class);
+    config = mock(DynamoDbConfig.class);
+    when(config.getPrefixedTableName("Idempotency")).thenReturn("Idempotency");
+    when(client.table(eq("Idempotency"), ArgumentMatchers.<TableSchema<IdempotencyRecord>>any()))
+        .thenReturn(table);
+    meterRegistry = new SimpleMeterRegistry();
+    store = store(5_000);
+    runs = new AtomicInteger();
+  }
+
+  @Test
+  void withoutKey_runsEveryTime() {
+    store.execute("checkout", null, "acct|[111.1]", work());
+    store.execute("checkout", null, "acct|[111.1]", work());
+
+    assertEquals(2, runs.get());
+    verify(table, never()).getItem(any(Key.class));
+  }
+
+  @Test
+  void repeatedKey_replaysWithoutRunningAgain() {
+    assertEquals(RESULTS, store.execute("checkout", "k1", "acct|[111.1]", work()));
+    assertEquals(RESULTS, store.execute("checkout", "k1", "acct|[111.1]", work()));
+
+    assertEquals(1, runs.get());
+    assertEquals(
+        1, meterRegistry.counter(IdempotencyStore.REPLAYED_METRIC, "source", "memory").count());
+  }
+
+  @Test
+  void sameKey_isScopedByOperation() {
+    store.execute("checkout", "k1", "[111.1]", work());
+    store.execute("checkin", "k1", "[111.1]", work());
+
+    assertEquals(2, runs.get());
+  }
+
+  @Test
+  void reusedKeyForDifferentRequest_isRejected() {
+    store.execute("checkout", "k1", "acct|[111.1]", work());
+
+    assertThrows(
+        InvalidRequestException.class,
+        () -> store.execute("checkout", "k1", "acct|[222.1]", work()));
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void invalidKeys_areRejected() {
+    assertThrows(InvalidRequestException.class, () -> store.execute("checkout", " ", "r", work()));
+    assertThrows(
+        InvalidRequestException.class,
+        () -> store.execute("checkout", "k".repeat(256), "r", work()));
+  }
+
+  @Test
+  void concurrentDuplicate_waitsForTheInFlightResult() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<List<BookOperationResult>> slow =
+        () -> {
+          runs.incrementAndGet();
+          started.countDown();
+          await(release);
+          return RESULTS;
+        };
+
+    CompletableFuture<List<BookOperationResult>> first =
+        CompletableFuture.supplyAsync(() -> store.execute("checkout", "k1", "r", slow));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<List<BookOperationResult>> second =
+        CompletableFuture.supplyAsync(() -> store.execute("checkout", "k1", "r", slow));
+    release.countDown();
+
+    assertEquals(RESULTS, first.get(5, TimeUnit.SECONDS));
+    assertEquals(RESULTS, second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void failedRun_isNotStored() {
+    Supplier<List<BookOperationResult>> failing =
+        () -> {
+          runs.incrementAndGet();
+          throw new InvalidRequestException("Account not found: acct");
+        };
+
+    assertThrows(
+        InvalidRequestException.class, () -> store.execute("checkout", "k1", "r", failing));
+    assertEquals(RESULTS, store.execute("checkout", "k1", "r", work()));
+
+    assertEquals(2, runs.get());
+  }
+
+  @Test
+  void outcomeWithErrors_isNotStoredOrReplayed() {
+    List<BookOperationResult> failed =
+        List.of(new BookOperationResult().bookId("111.1").notes("Error: throttled"));
+    Supplier<List<BookOperationResult>> flaky =
+        () -> runs.incrementAndGet() == 1 ? failed : RESULTS;
+
+    assertEquals(failed, store.execute("checkout", "k1", "r", flaky));
+    assertEquals(RESULTS, store.execute("checkout", "k1", "r", flaky));
+
+    assertEquals(2, runs.get());
+    verify(table).putItem(any(PutItemEnhancedRequest.class));
+  }
+
+  @Test
+  void storedOutcomeWithErrors_runsAgain() throws Exception {
+    IdempotencyRecord item = stored("r", Instant.now().getEpochSecond() + 60);
+    item.setResponse(
+        objectMapper.writeValueAsString(
+            List.of(new BookOperationResult().bookId("111.1").notes("Error: throttled"))));
+    when(table.getItem(any(Key.class))).thenReturn(item);
+
+    assertEquals(RESULTS, store.execute("checkout", "k1", "r", work()));
+
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void concurrentDuplicate_stopsWaitingAtTheRequestTimeout() throws Exception {
+    IdempotencyStore impatient = store(50);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<List<BookOperationResult>> slow =
+        () -> {
+          started.countDown();
+          await(release);
+          return RESULTS;
+        };
+
+    CompletableFuture<List<BookOperationResult>> first =
+        CompletableFuture.supplyAsync(() -> impatient.execute("checkout", "k1", "r", slow));
+    try {
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      CompletionException e =
+          assertThrows(
+              CompletionException.class, () -> impatient.execute("checkout", "k1", "r", slow));
+      assertTrue(e.getCause() instanceof TimeoutException);
+    } finally {
+      release.countDown();
+    }
+    assertEquals(RESULTS, first.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void newOutcome_isStoredWithTtl() throws Exception {
+    store.execute("checkout", "k1", "r", work());
+
+    ArgumentCaptor<PutItemEnhancedRequest<IdempotencyRecord>> captor =
+        ArgumentCaptor.forClass(PutItemEnhancedRequest.class);
+    verify(table).putItem(captor.capture());
+    IdempotencyRecord item = captor.getValue().item();
+    assertEquals("checkout#k1", item.getIdempotencyKey());
+    assertEquals(IdempotencyStore.fingerprint("r"), item.getFingerprint());
+    assertEquals(
+        RESULTS, List.of(objectMapper.readValue(item.getResponse(), BookOperationResult[].class)));
+    long expected = Instant.now().getEpochSecond() + TTL_MS / 1000;
+    assertTrue(Math.abs(item.getExpiresAt() - expected) <= 5);
+  }
+
+  @Test
+  void storedOutcome_isReplayedFromTheTable() throws Exception {
+    when(table.getItem(any(Key.class)))
+        .thenReturn(stored("r", Instant.now().getEpochSecond() + 60));
+
+    assertEquals(RESULTS, store.execute("checkout", "k1", "r", work()));
+
+    assertEquals(0, runs.get());
+    verify(table, never()).putItem(any(PutItemEnhancedRequest.class));
+    assertEquals(
+        1, meterRegistry.counter(IdempotencyStore.REPLAYED_METRIC, "source", "table").count());
+  }
+
+  @Test
+  void expiredStoredOutcome_runsAgain() throws Exception {
+    when(table.getItem(any(Key.class))).thenReturn(stored("r", Instant.now().getEpochSecond() - 1));
+
+    store.execute("checkout", "k1", "r", work());
+
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void unavailableTable_stillRunsTheRequest() {
+    when(table.getItem(any(Key.class))).thenThrow(new RuntimeException("table down"));
+    doThrow(new RuntimeException("table down"))
+        .when(table)
+        .putItem(any(PutItemEnhancedRequest.class));
+
+    assertEquals(RESULTS, store.execute("checkout", "k1", "r", work()));
+    assertEquals(RESULTS, store.execute("checkout", "k1", "r", work()));
+
+    assertEquals(1, runs.get());
+  }
+
+  private IdempotencyStore store(long waitTimeoutMs) {
+    return new IdempotencyStore(
+        client,
+        config,
+        new CircuitBreakerRegistry(meterRegistry, CircuitBreaker.Settings.defaults()),
+        objectMapper,
+        meterRegistry,
+        TTL_MS,
+        1_000,
+        waitTimeoutMs);
+  }
+
+  private Supplier<List<BookOperationResult>> work() {
+    return () -> {
+      runs.incrementAndGet();
+      return RESULTS;
+    };
+  }
+
+  private IdempotencyRecord stored(String request, long expiresAt) throws Exception {
+    IdempotencyRecord item = new IdempotencyRecord();
+    item.setIdempotencyKey("checkout#k1");
+    item.setFingerprint(IdempotencyStore.fingerprint(request));
+    item.setResponse(objectMapper.writeValueAsString(RESULTS));
+    item.setExpiresAt(expiresAt);
+    return item;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
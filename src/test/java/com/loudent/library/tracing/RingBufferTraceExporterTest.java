@@ -0,0 +1,43 @@
+package com.loudent.library.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RingBufferTraceExporterTest {
+
+  private final RingBufferTraceExporter exporter = new RingBufferTraceExporter(3);
+  private final Tracer tracer = new Tracer(List.of(exporter), true, 1.0, 16);
+
+  @Test
+  void recent_shouldReturnNewestFirstAndOverwriteOldest() {
+    for (int i = 0; i < 5; i++) {
+      tracer.startSpan("request-" + i).end();
+    }
+
+    List<Trace> recent = exporter.recent(10);
+
+    assertEquals(3, recent.size());
+    assertEquals("request-4", recent.get(0).getRoot().getName());
+    assertEquals("request-2", recent.get(2).getRoot().getName());
+    assertEquals(1, exporter.recent(1).size());
+  }
+
+  @Test
+  void recent_shouldReturnNothingForANegativeLimit() {
+    tracer.startSpan("request").end();
+
+    assertTrue(exporter.recent(-1).isEmpty());
+  }
+
+  @Test
+  void find_shouldLocateTraceById() {
+    Span root = tracer.startSpan("getBookByIsbn");
+    root.end();
+
+    assertEquals(root.getTrace(), exporter.find(root.getTrace().getTraceId()).orElseThrow());
+    assertTrue(exporter.find("missing").isEmpty());
+  }
+}
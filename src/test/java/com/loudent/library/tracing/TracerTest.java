@@ -0,0 +1,67 @@
+package com.loudent.library.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TracerTest {
+
+  private final List<Trace> exported = new ArrayList<>();
+  private final TraceExporter collecting = exported::add;
+
+  @Test
+  void startSpan_shouldNotTraceUnsampledRequests() {
+    Tracer tracer = new Tracer(List.of(collecting), true, 0.0, 16);
+
+    assertNull(tracer.startSpan("checkoutBooks"));
+    assertNull(Tracer.noop().startSpan("checkoutBooks"));
+  }
+
+  @Test
+  void startSpan_shouldExportTraceWhenRootEnds() {
+    Tracer tracer = new Tracer(List.of(collecting), true, 1.0, 16);
+
+    Span root = tracer.startSpan("checkoutBooks");
+    assertNotNull(root);
+    try (SpanContext.Scope ignored = SpanContext.activate(root)) {
+      Span child = tracer.startSpan("ActivityService.checkoutBooks");
+      assertEquals(root.getSpanId(), child.getParentId());
+      assertSame(root.getTrace(), child.getTrace());
+      child.tag("bookCount", "2").end();
+    }
+    assertNull(SpanContext.current());
+    assertEquals(0, exported.size());
+
+    root.end();
+    root.end();
+
+    assertEquals(1, exported.size());
+    Trace trace = exported.get(0);
+    assertSame(root, trace.getRoot());
+    assertEquals(2, trace.getSpans().size());
+  }
+
+  @Test
+  void trace_shouldCapSpansAndSurviveFailingExporters() {
+    TraceExporter failing =
+        trace -> {
+          throw new IllegalStateException("exporter down");
+        };
+    Tracer tracer = new Tracer(List.of(failing, collecting), true, 1.0, 2);
+
+    Span root = tracer.startSpan("checkinBooks");
+    for (int i = 0; i < 3; i++) {
+      root.child("dynamodb.GetItem").end();
+    }
+    root.end();
+
+    assertEquals(1, exported.size());
+    assertEquals(2, exported.get(0).getSpans().size());
+    assertEquals(2, exported.get(0).getDroppedSpans());
+  }
+}
@@ -0,0 +1,41 @@
+package com.loudent.library.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TracesEndpointTest {
+
+  private final RingBufferTraceExporter exporter = new RingBufferTraceExporter(8);
+  private final Tracer tracer = new Tracer(List.of(exporter), true, 1.0, 16);
+  private final TracesEndpoint endpoint = new TracesEndpoint(exporter);
+
+  @Test
+  void traces_shouldRenderSpansRelativeToRoot() {
+    Span root = tracer.startSpan("checkoutBooks");
+    root.child("dynamodb.PutItem").tag("table", "dev_Activity").end();
+    root.end();
+
+    List<TraceView> traces = endpoint.traces(null, null);
+
+    assertEquals(1, traces.size());
+    TraceView view = traces.get(0);
+    assertEquals("checkoutBooks", view.name());
+    assertEquals(2, view.spans().size());
+    TraceView.SpanView first = view.spans().get(0);
+    assertEquals("checkoutBooks", first.name());
+    assertNull(first.parentId());
+    assertEquals("dev_Activity", view.spans().get(1).attributes().get("table"));
+    assertEquals(view, endpoint.trace(view.traceId()));
+  }
+
+  @Test
+  void traces_shouldFilterByMinimumDuration() {
+    tracer.startSpan("fast").end();
+
+    assertEquals(0, endpoint.traces(10, 60_000L).size());
+    assertNull(endpoint.trace("missing"));
+  }
+}
@@ -0,0 +1,101 @@
+package com.loudent.library.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.loudent.library.api.error.NotFoundException;
+import com.loudent.library.aspect.TimedAsync;
+import com.loudent.library.aspect.TimedSync;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+class TracingAspectTest {
+
+  @Service
+  public static class TracedService {
+    @TimedSync(metric = "catalog.lookup")
+    public String lookup() {
+      return SpanContext.current().getName();
+    }
+
+    @Traced
+    public String entry() {
+      return name();
+    }
+
+    public String plain() {
+      return name();
+    }
+
+    private static String name() {
+      return SpanContext.current() == null ? "untraced" : SpanContext.current().getName();
+    }
+  }
+
+  public static class TracedController {
+    private final TracedService service;
+
+    public TracedController(TracedService service) {
+      this.service = service;
+    }
+
+    @TimedAsync(metric = "getBook")
+    public CompletableFuture<String> getBook() {
+      return CompletableFuture.completedFuture(
+          String.join(",", service.lookup(), service.entry(), service.plain()));
+    }
+
+    @TimedAsync(metric = "missingBook")
+    public CompletableFuture<String> missingBook() {
+      return CompletableFuture.failedFuture(new NotFoundException("no such isbn"));
+    }
+  }
+
+  private final List<Trace> exported = new ArrayList<>();
+  private TracedService service;
+  private TracedController controller;
+
+  @BeforeEach
+  void setUp() {
+    TracingAspect aspect = new TracingAspect(new Tracer(List.of(exported::add), true, 1.0, 16));
+    service = proxy(new TracedService(), aspect);
+    controller = proxy(new TracedController(service), aspect);
+  }
+
+  @Test
+  void entryPoint_shouldTraceNestedCalls() {
+    assertEquals("catalog.lookup,TracedService.entry,getBook", controller.getBook().join());
+
+    assertEquals(1, exported.size());
+    List<String> names = exported.get(0).getSpans().stream().map(Span::getName).toList();
+    assertEquals(List.of("catalog.lookup", "TracedService.entry", "getBook"), names);
+    assertNull(SpanContext.current());
+  }
+
+  @Test
+  void entryPoint_shouldRecordFailedFutures() {
+    assertThrows(CompletionException.class, () -> controller.missingBook().join());
+
+    assertEquals("NotFoundException", exported.get(0).getRoot().getError());
+  }
+
+  @Test
+  void serviceCalls_shouldNotStartTraces() {
+    assertEquals("untraced", service.entry());
+    assertEquals(0, exported.size());
+  }
+
+  private static <T> T proxy(T target, TracingAspect aspect) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.setProxyTargetClass(true);
+    factory.addAspect(aspect);
+    return factory.getProxy();
+  }
+}
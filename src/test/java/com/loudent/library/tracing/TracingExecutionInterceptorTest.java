@@ -0,0 +1,64 @@
+package com.loudent.library.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+class TracingExecutionInterceptorTest {
+
+  private final TracingExecutionInterceptor interceptor = new TracingExecutionInterceptor();
+  private final List<Trace> exported = new ArrayList<>();
+  private ExecutionAttributes attributes;
+  private Context.BeforeExecution before;
+
+  @BeforeEach
+  void setUp() {
+    attributes = new ExecutionAttributes();
+    attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "GetItem");
+    before = mock(Context.BeforeExecution.class);
+    when(before.request())
+        .thenReturn(GetItemRequest.builder().tableName("dev_Catalog").key(Map.of()).build());
+  }
+
+  @Test
+  void shouldRecordSdkCallUnderActiveSpan() {
+    Span root = new Tracer(List.of(exported::add), true, 1.0, 16).startSpan("getBookByIsbn");
+    try (SpanContext.Scope ignored = SpanContext.activate(root)) {
+      interceptor.beforeExecution(before, attributes);
+    }
+    interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+    interceptor.beforeTransmission(mock(Context.BeforeTransmission.class), attributes);
+    Context.FailedExecution failed = mock(Context.FailedExecution.class);
+    when(failed.exception())
+        .thenReturn(ProvisionedThroughputExceededException.builder().message("slow").build());
+    interceptor.onExecutionFailure(failed, attributes);
+    root.end();
+
+    Span call = exported.get(0).getSpans().get(0);
+    assertEquals("dynamodb.GetItem", call.getName());
+    assertEquals(root.getSpanId(), call.getParentId());
+    assertEquals("dev_Catalog", call.getAttributes().get("table"));
+    assertEquals("2", call.getAttributes().get("attempts"));
+    assertEquals("ProvisionedThroughputExceededException", call.getError());
+  }
+
+  @Test
+  void shouldDoNothingOutsideATrace() {
+    interceptor.beforeExecution(before, attributes);
+    interceptor.afterExecution(mock(Context.AfterExecution.class), attributes);
+
+    assertTrue(exported.isEmpty());
+  }
+}
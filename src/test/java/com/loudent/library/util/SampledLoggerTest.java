@@ -0,0 +1,124 @@
+package com.loudent.library.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.loudent.library.api.error.NotFoundException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class SampledLoggerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private Logger logger;
+  private SampledLogger sampled;
+
+  @BeforeEach
+  void setUp() {
+    logger = mock(Logger.class);
+    sampled = new SampledLogger(logger, Duration.ofSeconds(10), 2, clock::get);
+  }
+
+  @Test
+  void failure_shouldLogExpectedErrorsWithoutStackTrace() {
+    sampled.failure(new CompletionException(new NotFoundException("gone")), "Lookup {}", "42");
+
+    ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+    verify(logger).log(eq(Level.WARN), message.capture());
+    verify(logger, never()).log(any(Level.class), any(Message.class), any(Throwable.class));
+    assertEquals(
+        "Lookup 42: com.loudent.library.api.error.NotFoundException: gone",
+        message.getValue().getFormattedMessage());
+  }
+
+  @Test
+  void failure_shouldLogUnexpectedErrorsWithUnwrappedCause() {
+    IllegalStateException cause = new IllegalStateException("boom");
+    sampled.failure(new CompletionException(cause), "Lookup {}", "42");
+
+    ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+    ArgumentCaptor<Throwable> thrown = ArgumentCaptor.forClass(Throwable.class);
+    verify(logger).log(eq(Level.ERROR), message.capture(), thrown.capture());
+    assertEquals("Lookup 42", message.getValue().getFormattedMessage());
+    assertSame(cause, thrown.getValue());
+  }
+
+  @Test
+  void warn_shouldNeverAttachStackTrace() {
+    sampled.warn(new IllegalStateException("boom"), "Fetch {}", "42");
+
+    verify(logger).log(eq(Level.WARN), any(Message.class));
+    verify(logger, never()).log(any(Level.class), any(Message.class), any(Throwable.class));
+  }
+
+  @Test
+  void failure_shouldSuppressRepeatsAndSummarizeOnFlush() {
+    for (int i = 0; i < 5; i++) {
+      sampled.failure(new NotFoundException("gone " + i), "Lookup {}", i);
+    }
+    verify(logger, times(2)).log(eq(Level.WARN), any(Message.class));
+
+    sampled.flush();
+    verify(logger, times(2)).log(eq(Level.WARN), any(Message.class));
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    sampled.flush();
+
+    ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+    verify(logger, times(3)).log(eq(Level.WARN), messages.capture());
+    assertEquals(
+        "Suppressed 3 repeats of \"Lookup {}\" (NotFoundException) in the last 10s",
+        messages.getValue().getFormattedMessage());
+  }
+
+  @Test
+  void failure_shouldStartNewBurstOnceIntervalCloses() {
+    for (int i = 0; i < 3; i++) {
+      sampled.failure(new NotFoundException("gone"), "Lookup");
+    }
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    sampled.failure(new NotFoundException("gone"), "Lookup");
+
+    ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+    verify(logger, times(4)).log(eq(Level.WARN), messages.capture());
+    List<Message> logged = messages.getAllValues();
+    assertEquals(
+        "Suppressed 1 repeats of \"Lookup\" (NotFoundException) in the last 10s",
+        logged.get(2).getFormattedMessage());
+  }
+
+  @Test
+  void failure_shouldLimitEachMessageAndExceptionTypeSeparately() {
+    for (int i = 0; i < 3; i++) {
+      sampled.failure(new NotFoundException("gone"), "Lookup");
+      sampled.failure(new IllegalArgumentException("bad"), "Lookup");
+      sampled.failure(new NotFoundException("gone"), "Search");
+    }
+
+    verify(logger, times(6)).log(eq(Level.WARN), any(Message.class));
+  }
+
+  @Test
+  void failure_shouldShareOneWindowOnceKeyCapIsReached() {
+    for (int i = 0; i < SampledLogger.MAX_KEYS + 5; i++) {
+      sampled.failure(new NotFoundException("gone"), "Lookup " + i);
+    }
+
+    verify(logger, times(SampledLogger.MAX_KEYS + 2)).log(eq(Level.WARN), any(Message.class));
+  }
+}